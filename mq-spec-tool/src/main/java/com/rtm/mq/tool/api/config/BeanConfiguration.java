@@ -2,18 +2,28 @@ package com.rtm.mq.tool.api.config;
 
 import com.rtm.mq.tool.config.Config;
 import com.rtm.mq.tool.config.ConfigLoader;
+import com.rtm.mq.tool.generator.LayoutArtifactGenerator;
 import com.rtm.mq.tool.generator.java.JavaBeanGenerator;
 import com.rtm.mq.tool.generator.java.JavaGenerator;
+import com.rtm.mq.tool.generator.java.MessageCodecGenerator;
 import com.rtm.mq.tool.generator.openapi.OpenApiGenerator;
 import com.rtm.mq.tool.generator.openapi.OpenApiGeneratorImpl;
 import com.rtm.mq.tool.generator.xml.CompositeXmlGenerator;
 import com.rtm.mq.tool.generator.xml.XmlGenerator;
 import com.rtm.mq.tool.output.AtomicOutputManager;
+import com.rtm.mq.tool.config.ParserConfig;
+import com.rtm.mq.tool.parser.CachingParser;
 import com.rtm.mq.tool.parser.ExcelParser;
+import com.rtm.mq.tool.parser.ParseCache;
 import com.rtm.mq.tool.parser.Parser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Spring Bean configuration for MQ Spec Tool components.
  *
@@ -42,31 +52,73 @@ public class BeanConfiguration {
         return config;
     }
 
+    /**
+     * Creates the Config bean shared by the parser and the services using it.
+     *
+     * <p>Loaded and validated through {@link ConfigLoader} with default settings.</p>
+     *
+     * @param configLoader the config loader
+     * @return the loaded configuration
+     */
+    @Bean
+    public Config config(ConfigLoader configLoader) {
+        return configLoader.load(null, null);
+    }
+
     /**
      * Creates Parser bean for Excel specification parsing.
      *
-     * <p>Returns an ExcelParser instance configured with default settings.</p>
+     * <p>Returns an ExcelParser instance configured with the shared
+     * configuration, wrapped in a {@link CachingParser} so that re-uploads of
+     * an unchanged spec are served without re-reading the workbook. Spring
+     * calls the inferred {@code close()} method on shutdown, which releases
+     * the sheet parsing pool.</p>
      *
+     * @param config the shared configuration
      * @return parser instance
      */
     @Bean
-    public Parser parser() {
-        Config config = createDefaultConfig();
-        return new ExcelParser(config);
+    public Parser parser(Config config) {
+        ParserConfig parserConfig = config.getParser();
+        ParseCache cache = new ParseCache(parserConfig.getCacheMaxEntries(),
+            parserConfig.getCacheDir() != null ? Paths.get(parserConfig.getCacheDir()) : null);
+        return new CachingParser(new ExcelParser(config), cache, parserConfig);
+    }
+
+    /**
+     * Creates the executor shared by concurrent generation steps.
+     *
+     * <p>A fixed pool of one daemon thread per processor, so the number of
+     * generation threads stays bounded however many requests are served
+     * concurrently; excess tasks wait in the queue. Spring calls the inferred
+     * {@code shutdown()} method on shutdown.</p>
+     *
+     * @return generation executor
+     */
+    @Bean
+    public ExecutorService generationExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "generation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
      * Creates XmlGenerator bean.
      *
      * <p>Returns a CompositeXmlGenerator that coordinates both OutboundXmlGenerator
-     * and InboundXmlGenerator to produce complete XML bean definitions.</p>
+     * and InboundXmlGenerator to produce complete XML bean definitions,
+     * generating outbound documents on the shared generation executor.</p>
      *
+     * @param generationExecutor the shared generation executor
      * @return XML generator instance
      */
     @Bean
-    public XmlGenerator xmlGenerator() {
+    public XmlGenerator xmlGenerator(ExecutorService generationExecutor) {
         Config config = createDefaultConfig();
-        return new CompositeXmlGenerator(config);
+        return new CompositeXmlGenerator(config, generationExecutor);
     }
 
     /**
@@ -82,6 +134,34 @@ public class BeanConfiguration {
         return new JavaBeanGenerator(config);
     }
 
+    /**
+     * Creates MessageCodecGenerator bean.
+     *
+     * <p>Returns a MessageCodecGenerator producing the fixed-length codecs
+     * for the generated Java beans.</p>
+     *
+     * @return codec generator instance
+     */
+    @Bean
+    public MessageCodecGenerator codecGenerator() {
+        Config config = createDefaultConfig();
+        return new MessageCodecGenerator(config);
+    }
+
+    /**
+     * Creates LayoutArtifactGenerator bean.
+     *
+     * <p>Returns a LayoutArtifactGenerator producing the binary
+     * {@code .mqlayout} artifact of each operation.</p>
+     *
+     * @return layout artifact generator instance
+     */
+    @Bean
+    public LayoutArtifactGenerator layoutGenerator() {
+        Config config = createDefaultConfig();
+        return new LayoutArtifactGenerator(config);
+    }
+
     /**
      * Creates OpenApiGenerator bean.
      *
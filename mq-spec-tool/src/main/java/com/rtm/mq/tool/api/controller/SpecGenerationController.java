@@ -1,10 +1,12 @@
 package com.rtm.mq.tool.api.controller;
 
+import com.rtm.mq.tool.api.dto.CacheStatsResponse;
 import com.rtm.mq.tool.api.dto.GenerationRequest;
 import com.rtm.mq.tool.api.dto.GenerationResponse;
 import com.rtm.mq.tool.api.service.GenerationOrchestrator;
 import com.rtm.mq.tool.exception.GenerationException;
 import com.rtm.mq.tool.exception.ParseException;
+import com.rtm.mq.tool.parser.ParseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.FileSystemResource;
@@ -31,6 +33,7 @@ import java.util.zip.ZipOutputStream;
  *   <li>POST /api/v1/generate - Generate code from uploaded Excel spec</li>
  *   <li>GET /api/v1/health - Health check endpoint</li>
  *   <li>GET /api/v1/version - Tool version information</li>
+ *   <li>GET /api/v1/cache/stats - Parse cache hit/miss counters</li>
  * </ul>
  */
 @RestController
@@ -186,4 +189,25 @@ public class SpecGenerationController {
         return ResponseEntity.ok("{\"version\": \"1.0.0-SNAPSHOT\", \"tool\": \"MQ Spec Tool\"}");
     }
 
+    /**
+     * Parse cache statistics endpoint.
+     *
+     * @return hit/miss counters and memory tier occupancy
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> cacheStats() {
+        ParseCache cache = orchestrator.getParseCache();
+        if (cache == null) {
+            return ResponseEntity.ok(new CacheStatsResponse(false));
+        }
+        CacheStatsResponse stats = new CacheStatsResponse(true);
+        stats.setHits(cache.getHitCount());
+        stats.setMemoryHits(cache.getMemoryHitCount());
+        stats.setDiskHits(cache.getDiskHitCount());
+        stats.setMisses(cache.getMissCount());
+        stats.setSize(cache.getMemorySize());
+        stats.setMaxEntries(cache.getMaxEntries());
+        return ResponseEntity.ok(stats);
+    }
+
 }
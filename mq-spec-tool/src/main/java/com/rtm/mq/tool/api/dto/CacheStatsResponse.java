@@ -0,0 +1,111 @@
+package com.rtm.mq.tool.api.dto;
+
+/**
+ * Response DTO for the parse cache statistics endpoint.
+ *
+ * <p>When the cache is disabled, {@code enabled} is false and all counters are 0.</p>
+ */
+public class CacheStatsResponse {
+
+    /**
+     * Whether a parse cache is configured.
+     */
+    private boolean enabled;
+
+    /**
+     * Lookups served from either tier.
+     */
+    private long hits;
+
+    /**
+     * Lookups served from the memory tier.
+     */
+    private long memoryHits;
+
+    /**
+     * Lookups served from the disk tier.
+     */
+    private long diskHits;
+
+    /**
+     * Lookups that required a full parse.
+     */
+    private long misses;
+
+    /**
+     * Current number of entries in the memory tier.
+     */
+    private int size;
+
+    /**
+     * Capacity of the memory tier.
+     */
+    private int maxEntries;
+
+    // Constructors
+
+    public CacheStatsResponse() {
+    }
+
+    public CacheStatsResponse(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Getters and setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public void setMemoryHits(long memoryHits) {
+        this.memoryHits = memoryHits;
+    }
+
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    public void setDiskHits(long diskHits) {
+        this.diskHits = diskHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -4,12 +4,18 @@ import com.rtm.mq.tool.api.dto.GenerationResponse;
 import com.rtm.mq.tool.exception.GenerationException;
 import com.rtm.mq.tool.exception.ParseException;
 import com.rtm.mq.tool.generator.Generator;
+import com.rtm.mq.tool.generator.LayoutArtifactGenerator;
 import com.rtm.mq.tool.generator.java.JavaGenerator;
+import com.rtm.mq.tool.generator.java.MessageCodecGenerator;
 import com.rtm.mq.tool.generator.openapi.OpenApiGenerator;
+import com.rtm.mq.tool.generator.xml.InboundXmlGenerator;
+import com.rtm.mq.tool.generator.xml.OutboundXmlGenerator;
 import com.rtm.mq.tool.generator.xml.XmlGenerator;
 import com.rtm.mq.tool.model.MessageModel;
 import com.rtm.mq.tool.output.AtomicOutputManager;
 import com.rtm.mq.tool.output.OutputManifest;
+import com.rtm.mq.tool.parser.CachingParser;
+import com.rtm.mq.tool.parser.ParseCache;
 import com.rtm.mq.tool.parser.Parser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +26,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -35,16 +42,24 @@ import java.util.UUID;
  *
  * <p>This service is designed to be used by REST controllers without exposing
  * low-level CLI implementation details.</p>
+ *
+ * <p>XML converter documents are streamed by the output manager into their
+ * files at commit time rather than rendered into strings first.</p>
  */
 @Service
 public class GenerationOrchestrator {
 
     private static final Logger logger = LoggerFactory.getLogger(GenerationOrchestrator.class);
 
+    private static final String OUTBOUND_XML_PATH = "xml/" + OutboundXmlGenerator.OUTPUT_FILENAME;
+    private static final String INBOUND_XML_PATH = "xml/" + InboundXmlGenerator.OUTPUT_FILENAME;
+
     private final Parser parser;
     private final XmlGenerator xmlGenerator;
     private final JavaGenerator javaGenerator;
+    private final MessageCodecGenerator codecGenerator;
     private final OpenApiGenerator openApiGenerator;
+    private final LayoutArtifactGenerator layoutGenerator;
     private final AtomicOutputManager outputManager;
 
     /**
@@ -53,19 +68,25 @@ public class GenerationOrchestrator {
      * @param parser Excel parser
      * @param xmlGenerator XML bean generator
      * @param javaGenerator Java bean generator
+     * @param codecGenerator Java codec generator
      * @param openApiGenerator OpenAPI generator
+     * @param layoutGenerator binary layout artifact generator
      * @param outputManager atomic output manager
      */
     public GenerationOrchestrator(
             Parser parser,
             XmlGenerator xmlGenerator,
             JavaGenerator javaGenerator,
+            MessageCodecGenerator codecGenerator,
             OpenApiGenerator openApiGenerator,
+            LayoutArtifactGenerator layoutGenerator,
             AtomicOutputManager outputManager) {
         this.parser = parser;
         this.xmlGenerator = xmlGenerator;
         this.javaGenerator = javaGenerator;
+        this.codecGenerator = codecGenerator;
         this.openApiGenerator = openApiGenerator;
+        this.layoutGenerator = layoutGenerator;
         this.outputManager = outputManager;
     }
 
@@ -101,31 +122,48 @@ public class GenerationOrchestrator {
             // 4. Generate artifacts
             Map<String, String> allGeneratedFiles = new HashMap<>();
 
-            logger.info("Generating XML beans...");
-            Map<String, String> xmlFiles = xmlGenerator.generate(model, outputDir);
-            allGeneratedFiles.putAll(xmlFiles);
+            // XML documents are written by the output manager during commit
+            logger.info("Adding XML beans...");
+            outputManager.addOutput(OUTBOUND_XML_PATH, out -> xmlGenerator.writeOutbound(model, out));
+            outputManager.addOutput(INBOUND_XML_PATH, out -> xmlGenerator.writeInbound(model, out));
 
             logger.info("Generating Java beans...");
             Map<String, String> javaFiles = javaGenerator.generate(model, outputDir);
             allGeneratedFiles.putAll(javaFiles);
 
+            logger.info("Generating Java codecs...");
+            Map<String, String> codecFiles = codecGenerator.generate(model, outputDir);
+            allGeneratedFiles.putAll(codecFiles);
+
             logger.info("Generating OpenAPI YAML...");
             Map<String, String> openapiFiles = openApiGenerator.generate(model, outputDir);
             allGeneratedFiles.putAll(openapiFiles);
 
+            // Layout artifacts are written by the output manager and listed in its manifest
+            logger.info("Generating binary layouts...");
+            Map<String, byte[]> layoutFiles = layoutGenerator.generate(model);
+            for (Map.Entry<String, byte[]> entry : layoutFiles.entrySet()) {
+                outputManager.addOutput(entry.getKey(), entry.getValue());
+            }
+            List<String> generatedPaths = new ArrayList<>();
+            generatedPaths.add(OUTBOUND_XML_PATH);
+            generatedPaths.add(INBOUND_XML_PATH);
+            generatedPaths.addAll(allGeneratedFiles.keySet());
+            generatedPaths.addAll(layoutFiles.keySet());
+
             // 5. Commit transaction
-            logger.info("Committing transaction with {} files", allGeneratedFiles.size());
+            logger.info("Committing transaction with {} files", generatedPaths.size());
             OutputManifest manifest = outputManager.commit();
 
             // 6. Build response
             GenerationResponse response = new GenerationResponse(
                     transactionId,
                     outputManager.getState().name(),
-                    new ArrayList<>(allGeneratedFiles.keySet())
+                    generatedPaths
             );
 
             response.setMessage("Generation completed successfully. " +
-                    allGeneratedFiles.size() + " files generated.");
+                    generatedPaths.size() + " files generated.");
 
             logger.info("Transaction {} completed successfully", transactionId);
 
@@ -146,4 +184,13 @@ public class GenerationOrchestrator {
     public Path getOutputDirectory(String transactionId) {
         return outputManager.getOutputDirectory(transactionId);
     }
+
+    /**
+     * Gets the parse cache used by the injected parser.
+     *
+     * @return the parse cache, or null if the parser is not caching
+     */
+    public ParseCache getParseCache() {
+        return parser instanceof CachingParser ? ((CachingParser) parser).getCache() : null;
+    }
 }
@@ -1,20 +1,28 @@
 package com.rtm.mq.tool.api.service;
 
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.config.ValidationConfig;
 import com.rtm.mq.tool.model.MessageModel;
 import com.rtm.mq.tool.model.ValidationError;
 import com.rtm.mq.tool.model.ValidationResult;
+import com.rtm.mq.tool.parser.BulkParseResult;
+import com.rtm.mq.tool.parser.BulkParser;
 import com.rtm.mq.tool.parser.Parser;
+import com.rtm.mq.tool.validator.PayloadBatchValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Service layer for specification validation.
  *
  * <p>This service provides validation capabilities for MQ message specifications,
- * including Excel file validation and message model validation.</p>
+ * including Excel file validation, message model validation and validation
+ * of captured payloads against a specification.</p>
  */
 @Service
 public class ValidationService {
@@ -22,14 +30,23 @@ public class ValidationService {
     private static final Logger logger = LoggerFactory.getLogger(ValidationService.class);
 
     private final Parser parser;
+    private final int bulkParallelism;
+    private final ValidationConfig validationConfig;
 
     /**
-     * Creates a new ValidationService with the injected parser.
+     * Creates a new ValidationService with the injected parser and configuration.
+     *
+     * <p>Bulk parses use the {@code parser.bulkParallelism} of the given
+     * configuration, the one the parser bean is created with, and payload
+     * validation its {@code validation} settings.</p>
      *
      * @param parser the Excel parser
+     * @param config the loaded configuration
      */
-    public ValidationService(Parser parser) {
+    public ValidationService(Parser parser, Config config) {
         this.parser = parser;
+        this.bulkParallelism = config.getParser().getBulkParallelism();
+        this.validationConfig = config.getValidation();
     }
 
     /**
@@ -69,6 +86,57 @@ public class ValidationService {
         }
     }
 
+    /**
+     * Validates a capture file of fixed-length payloads against a specification.
+     *
+     * <p>The specification is parsed and the capture file is checked with
+     * {@link PayloadBatchValidator}: record lengths (VR-201), blank mandatory
+     * fields (VR-203) and expected values (VR-204), each reported once per
+     * field with its number of occurrences.</p>
+     *
+     * @param specFile path to the Excel specification file
+     * @param mqMessageFile optional path to the MQ message file
+     * @param captureFile the capture file to validate
+     * @param messageType "request" or "response"
+     * @param framing how records are delimited in the capture file
+     * @return validation result with status and any errors
+     */
+    public ValidationResult validatePayloadFile(Path specFile, Path mqMessageFile, Path captureFile,
+                                                String messageType, PayloadBatchValidator.Framing framing) {
+        logger.info("Validating capture file {} against spec file {}", captureFile, specFile);
+
+        try {
+            MessageModel model = parser.parse(specFile, mqMessageFile);
+            return new PayloadBatchValidator(model, messageType, validationConfig, framing, 0)
+                    .validate(captureFile);
+        } catch (Exception e) {
+            logger.error("Error during payload validation: {}", e.getMessage(), e);
+            ValidationResult result = new ValidationResult();
+            result.addError(new ValidationError("VR-001", "Validation error", e.getMessage()));
+            return result;
+        }
+    }
+
+    /**
+     * Parses every workbook in a directory or matching a glob pattern.
+     *
+     * <p>Workbooks are parsed in parallel and in isolation; a workbook that
+     * fails is reported in its own entry of the result. The JSON tree of each
+     * successful workbook and an aggregated summary are written to
+     * {@code outputDir}.</p>
+     *
+     * @param input a directory, glob pattern or single workbook
+     * @param mqMessageFile optional MQ message file applied to every workbook
+     * @param outputDir directory receiving the JSON trees and the summary
+     * @return per-file results with timing, field counts and errors
+     * @throws IOException if inputs cannot be listed or outputs cannot be written
+     */
+    public BulkParseResult parseBulk(String input, Path mqMessageFile, Path outputDir) throws IOException {
+        List<Path> specFiles = BulkParser.resolveInputs(input);
+        logger.info("Bulk parsing {} workbook(s) from {}", specFiles.size(), input);
+        return new BulkParser(parser, bulkParallelism).parseAll(specFiles, mqMessageFile, outputDir);
+    }
+
     /**
      * Validates a parsed message model.
      *
@@ -20,6 +20,9 @@ public final class CliContext {
     private final Config config;
     private final String commandName;
     private final List<Path> inputPaths;
+    private final List<String> bulkInputs;
+    private final Path mqMessagePath;
+    private final Path payloadPath;
     private final Path outputPath;
     private final Path configPath;
     private final AuditLogger auditLogger;
@@ -31,6 +34,11 @@ public final class CliContext {
         this.inputPaths = builder.inputPaths != null
                 ? Collections.unmodifiableList(builder.inputPaths)
                 : Collections.emptyList();
+        this.bulkInputs = builder.bulkInputs != null
+                ? Collections.unmodifiableList(builder.bulkInputs)
+                : Collections.emptyList();
+        this.mqMessagePath = builder.mqMessagePath;
+        this.payloadPath = builder.payloadPath;
         this.outputPath = builder.outputPath;
         this.configPath = builder.configPath;
         this.auditLogger = builder.auditLogger;
@@ -64,6 +72,33 @@ public final class CliContext {
         return inputPaths;
     }
 
+    /**
+     * Returns the bulk inputs: directories or glob patterns of spec workbooks.
+     *
+     * @return unmodifiable list of bulk inputs
+     */
+    public List<String> getBulkInputs() {
+        return bulkInputs;
+    }
+
+    /**
+     * Returns the MQ message file path.
+     *
+     * @return the MQ message path, may be null
+     */
+    public Path getMqMessagePath() {
+        return mqMessagePath;
+    }
+
+    /**
+     * Returns the capture file of payloads to validate.
+     *
+     * @return the capture file path, may be null
+     */
+    public Path getPayloadPath() {
+        return payloadPath;
+    }
+
     /**
      * Returns the output directory path.
      *
@@ -136,6 +171,9 @@ public final class CliContext {
         private Config config;
         private String commandName;
         private List<Path> inputPaths;
+        private List<String> bulkInputs;
+        private Path mqMessagePath;
+        private Path payloadPath;
         private Path outputPath;
         private Path configPath;
         private AuditLogger auditLogger;
@@ -159,6 +197,21 @@ public final class CliContext {
             return this;
         }
 
+        public Builder bulkInputs(List<String> bulkInputs) {
+            this.bulkInputs = bulkInputs;
+            return this;
+        }
+
+        public Builder mqMessagePath(Path mqMessagePath) {
+            this.mqMessagePath = mqMessagePath;
+            return this;
+        }
+
+        public Builder payloadPath(Path payloadPath) {
+            this.payloadPath = payloadPath;
+            return this;
+        }
+
         public Builder outputPath(Path outputPath) {
             this.outputPath = outputPath;
             return this;
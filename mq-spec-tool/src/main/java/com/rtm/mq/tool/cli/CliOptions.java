@@ -13,6 +13,7 @@ import java.io.StringWriter;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,15 +32,22 @@ public final class CliOptions {
 
     private final String command;
     private final List<Path> inputPaths;
+    private final List<String> bulkInputs;
+    private final Path mqMessagePath;
+    private final Path payloadPath;
     private final Path outputPath;
     private final Path configPath;
     private final Map<String, String> overrides;
     private final boolean helpRequested;
 
-    private CliOptions(String command, List<Path> inputPaths, Path outputPath,
-                       Path configPath, Map<String, String> overrides, boolean helpRequested) {
+    private CliOptions(String command, List<Path> inputPaths, List<String> bulkInputs, Path mqMessagePath,
+                       Path payloadPath, Path outputPath, Path configPath, Map<String, String> overrides,
+                       boolean helpRequested) {
         this.command = command;
         this.inputPaths = inputPaths;
+        this.bulkInputs = bulkInputs;
+        this.mqMessagePath = mqMessagePath;
+        this.payloadPath = payloadPath;
         this.outputPath = outputPath;
         this.configPath = configPath;
         this.overrides = overrides;
@@ -64,6 +72,37 @@ public final class CliOptions {
         return inputPaths;
     }
 
+    /**
+     * Returns the bulk inputs: directories or glob patterns of spec workbooks.
+     *
+     * <p>Kept as strings, since a glob pattern is not necessarily a valid path.</p>
+     *
+     * @return list of bulk inputs
+     */
+    public List<String> getBulkInputs() {
+        return bulkInputs;
+    }
+
+    /**
+     * Returns the MQ message file path.
+     *
+     * <p>The path is also contained in {@link #getInputPaths()}.</p>
+     *
+     * @return the MQ message path, or null if not specified
+     */
+    public Path getMqMessagePath() {
+        return mqMessagePath;
+    }
+
+    /**
+     * Returns the capture file of payloads to validate against the spec.
+     *
+     * @return the capture file path, or null if not specified
+     */
+    public Path getPayloadPath() {
+        return payloadPath;
+    }
+
     /**
      * Returns the output directory path.
      *
@@ -140,11 +179,24 @@ public final class CliOptions {
                 }
             }
 
+            // Extract bulk inputs (directories or glob patterns)
+            List<String> bulkInputs = new ArrayList<>();
+            if (cmd.hasOption("bulk")) {
+                bulkInputs.addAll(Arrays.asList(cmd.getOptionValues("bulk")));
+            }
+
             // Extract MQ message path if present
+            Path mqMessagePath = null;
             if (cmd.hasOption("mq-message")) {
-                inputPaths.add(Paths.get(cmd.getOptionValue("mq-message")));
+                mqMessagePath = Paths.get(cmd.getOptionValue("mq-message"));
+                inputPaths.add(mqMessagePath);
             }
 
+            // Extract capture file path if present
+            Path payloadPath = cmd.hasOption("payload")
+                    ? Paths.get(cmd.getOptionValue("payload"))
+                    : null;
+
             // Extract output path
             Path outputPath = cmd.hasOption("output")
                     ? Paths.get(cmd.getOptionValue("output"))
@@ -159,6 +211,9 @@ public final class CliOptions {
             Map<String, String> overrides = new LinkedHashMap<>();
             extractOverride(cmd, "output-dir", overrides);
             extractOverride(cmd, "max-nesting-depth", overrides);
+            extractOverride(cmd, "streaming-read", overrides);
+            extractOverride(cmd, "parallel-sheets", overrides);
+            extractOverride(cmd, "bulk-parallelism", overrides);
             extractOverride(cmd, "logging-level", overrides);
             extractOverride(cmd, "use-lombok", overrides);
             extractOverride(cmd, "openapi-version", overrides);
@@ -172,7 +227,12 @@ public final class CliOptions {
             extractOverride(cmd, "xml-project-artifactId", overrides);
             extractOverride(cmd, "java-package", overrides);
 
-            return new CliOptions(command, inputPaths, outputPath, configPath, overrides, helpRequested);
+            // Payload validation options, read by the validate command
+            extractOverride(cmd, "message-type", overrides);
+            extractOverride(cmd, "framing", overrides);
+
+            return new CliOptions(command, inputPaths, bulkInputs, mqMessagePath, payloadPath, outputPath,
+                    configPath, overrides, helpRequested);
 
         } catch (ParseException e) {
             throw new CliParseException("Failed to parse arguments: " + e.getMessage(), e);
@@ -206,12 +266,36 @@ public final class CliOptions {
                 .desc("Input Excel specification file(s)")
                 .build());
 
+        options.addOption(Option.builder("b")
+                .longOpt("bulk")
+                .hasArgs()
+                .desc("Directory or glob pattern of Excel specification files to parse in bulk")
+                .build());
+
         options.addOption(Option.builder("m")
                 .longOpt("mq-message")
                 .hasArg()
                 .desc("MQ message Excel file (for field reference)")
                 .build());
 
+        options.addOption(Option.builder("p")
+                .longOpt("payload")
+                .hasArg()
+                .desc("Capture file of fixed-length payloads to validate against the spec")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("message-type")
+                .hasArg()
+                .desc("Message type of the payloads: request (default) or response")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("framing")
+                .hasArg()
+                .desc("Payload framing: lines (default, one record per line) or fixed (back to back)")
+                .build());
+
         options.addOption(Option.builder("o")
                 .longOpt("output")
                 .hasArg()
@@ -237,6 +321,24 @@ public final class CliOptions {
                 .desc("Override parser.maxNestingDepth")
                 .build());
 
+        options.addOption(Option.builder()
+                .longOpt("streaming-read")
+                .hasArg()
+                .desc("Override parser.streamingRead (true/false)")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("parallel-sheets")
+                .hasArg()
+                .desc("Override parser.parallelSheets (true/false)")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("bulk-parallelism")
+                .hasArg()
+                .desc("Override parser.bulkParallelism (0 = number of processors)")
+                .build());
+
         options.addOption(Option.builder()
                 .longOpt("logging-level")
                 .hasArg()
@@ -331,7 +433,10 @@ public final class CliOptions {
                 "\nExamples:\n" +
                         "  " + PROGRAM_NAME + " generate -i spec.xlsx -o output/\n" +
                         "  " + PROGRAM_NAME + " validate -i spec.xlsx\n" +
+                        "  " + PROGRAM_NAME + " validate -i spec.xlsx -p capture.dat --message-type response\n" +
                         "  " + PROGRAM_NAME + " parse -i spec.xlsx -m mq-message.xlsx\n" +
+                        "  " + PROGRAM_NAME + " parse -b specs/ -o parsed/\n" +
+                        "  " + PROGRAM_NAME + " parse -b \"specs/**/*.xlsx\" -m mq-message.xlsx -o parsed/\n" +
                         "  " + PROGRAM_NAME + " version\n" +
                         "  " + PROGRAM_NAME + " help\n",
                 true);
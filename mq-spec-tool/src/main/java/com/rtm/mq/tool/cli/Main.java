@@ -133,6 +133,9 @@ public final class Main {
                     .config(config)
                     .commandName(commandName)
                     .inputPaths(options.getInputPaths())
+                    .bulkInputs(options.getBulkInputs())
+                    .mqMessagePath(options.getMqMessagePath())
+                    .payloadPath(options.getPayloadPath())
                     .outputPath(options.getOutputPath())
                     .configPath(options.getConfigPath())
                     .auditLogger(auditLogger)
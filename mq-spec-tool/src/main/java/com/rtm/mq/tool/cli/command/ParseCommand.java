@@ -3,12 +3,28 @@ package com.rtm.mq.tool.cli.command;
 import com.rtm.mq.tool.cli.CliContext;
 import com.rtm.mq.tool.cli.Command;
 import com.rtm.mq.tool.exception.ExitCodes;
+import com.rtm.mq.tool.parser.BulkParseResult;
+import com.rtm.mq.tool.parser.BulkParser;
+import com.rtm.mq.tool.parser.ExcelParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Command handler for the 'parse' command.
  *
  * <p>Delegates to the parser without implementing business logic.
  * Parses Excel spec and outputs intermediate JSON representation.</p>
+ *
+ * <p>With {@code -b/--bulk} directories or glob patterns, the command runs in
+ * bulk mode: every matching workbook, plus any spec file given with
+ * {@code -i}, is parsed in parallel via {@link BulkParser},
+ * the JSON trees are written below the output directory together with an
+ * aggregated {@value BulkParser#SUMMARY_FILE_NAME}, and a failing workbook
+ * only fails its own entry.</p>
  */
 public final class ParseCommand implements Command {
 
@@ -24,8 +40,8 @@ public final class ParseCommand implements Command {
     public int execute(CliContext context) {
         // Delegate to parse orchestrator - no business logic here
 
-        if (context.getInputPaths().isEmpty()) {
-            System.err.println("Error: No input files specified. Use -i or --input option.");
+        if (context.getInputPaths().isEmpty() && context.getBulkInputs().isEmpty()) {
+            System.err.println("Error: No input files specified. Use -i/--input or -b/--bulk option.");
             return ExitCodes.INPUT_VALIDATION_ERROR;
         }
 
@@ -35,6 +51,10 @@ public final class ParseCommand implements Command {
         }
 
         try {
+            if (!context.getBulkInputs().isEmpty()) {
+                return executeBulk(context);
+            }
+
             // Delegate to orchestrator (to be implemented in T-310)
             // ParseOrchestrator orchestrator = ServiceLocator.getParseOrchestrator();
             // return orchestrator.execute(context);
@@ -60,6 +80,54 @@ public final class ParseCommand implements Command {
         }
     }
 
+    /**
+     * Runs the bulk parse and prints a one-line summary plus any failures.
+     */
+    private int executeBulk(CliContext context) throws IOException {
+        Path mqMessageFile = context.getMqMessagePath();
+
+        List<Path> specFiles = new ArrayList<>();
+        for (String bulkInput : context.getBulkInputs()) {
+            specFiles.addAll(BulkParser.resolveInputs(bulkInput));
+        }
+        for (Path input : context.getInputPaths()) {
+            if (!input.equals(mqMessageFile)) {
+                specFiles.add(input);
+            }
+        }
+        if (specFiles.isEmpty()) {
+            System.err.println("Error: No Excel workbooks found for " + context.getBulkInputs());
+            return ExitCodes.INPUT_VALIDATION_ERROR;
+        }
+
+        Path outputDir = context.getOutputPath() != null
+                ? context.getOutputPath()
+                : Paths.get(context.getConfig().getOutput().getRootDir());
+
+        BulkParseResult result;
+        try (ExcelParser parser = new ExcelParser(context.getConfig())) {
+            BulkParser bulkParser = new BulkParser(parser,
+                    context.getConfig().getParser().getBulkParallelism());
+            result = bulkParser.parseAll(specFiles, mqMessageFile, outputDir);
+        }
+
+        for (BulkParseResult.Entry entry : result.getEntries()) {
+            if (!entry.isSuccess()) {
+                System.err.println("FAILED " + entry.getSpecFile() + ": " + entry.getErrorMessage());
+            }
+        }
+        System.out.println("Parsed " + result.getEntries().size() + " workbook(s): "
+                + result.getSucceededCount() + " succeeded, " + result.getFailedCount()
+                + " failed in " + result.getElapsedMillis() + " ms");
+        System.out.println("Summary: " + outputDir.resolve(BulkParser.SUMMARY_FILE_NAME));
+
+        if (context.getAuditLogger() != null) {
+            context.getAuditLogger().logProcess("PARSE", result.isSuccess() ? "COMPLETED" : "FAILED",
+                    result.isSuccess() ? null : result.getFailedCount() + " workbook(s) failed");
+        }
+        return result.isSuccess() ? ExitCodes.SUCCESS : ExitCodes.PARSE_ERROR;
+    }
+
     @Override
     public String getDescription() {
         return DESCRIPTION;
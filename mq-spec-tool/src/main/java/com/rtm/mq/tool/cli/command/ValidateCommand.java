@@ -3,12 +3,25 @@ package com.rtm.mq.tool.cli.command;
 import com.rtm.mq.tool.cli.CliContext;
 import com.rtm.mq.tool.cli.Command;
 import com.rtm.mq.tool.exception.ExitCodes;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.model.ValidationError;
+import com.rtm.mq.tool.model.ValidationResult;
+import com.rtm.mq.tool.parser.ExcelParser;
+import com.rtm.mq.tool.validator.PayloadBatchValidator;
+
+import java.nio.file.Path;
+import java.util.Locale;
 
 /**
  * Command handler for the 'validate' command.
  *
  * <p>Delegates to validators without implementing business logic.
  * Supports validating Excel specs, generated artifacts, and cross-artifact consistency.</p>
+ *
+ * <p>With {@code -p/--payload}, the capture file is validated against the
+ * spec given with {@code -i} via {@link PayloadBatchValidator}. The
+ * {@code --message-type} (request or response) and {@code --framing}
+ * (lines or fixed) options select how its records are read.</p>
  */
 public final class ValidateCommand implements Command {
 
@@ -35,6 +48,10 @@ public final class ValidateCommand implements Command {
         }
 
         try {
+            if (context.getPayloadPath() != null) {
+                return executePayload(context);
+            }
+
             // Delegate to orchestrator (to be implemented in T-310)
             // ValidationOrchestrator orchestrator = ServiceLocator.getValidationOrchestrator();
             // return orchestrator.execute(context);
@@ -57,6 +74,57 @@ public final class ValidateCommand implements Command {
         }
     }
 
+    /**
+     * Validates the capture file and prints one line per issue plus a summary.
+     */
+    private int executePayload(CliContext context) {
+        Path mqMessageFile = context.getMqMessagePath();
+        Path specFile = null;
+        for (Path input : context.getInputPaths()) {
+            if (!input.equals(mqMessageFile)) {
+                specFile = input;
+                break;
+            }
+        }
+        if (specFile == null) {
+            System.err.println("Error: No spec file specified. Use -i or --input option.");
+            return ExitCodes.INPUT_VALIDATION_ERROR;
+        }
+
+        String messageType = context.hasOption("message-type") ? context.getOption("message-type") : "request";
+        PayloadBatchValidator.Framing framing;
+        try {
+            framing = context.hasOption("framing")
+                    ? PayloadBatchValidator.Framing.valueOf(context.getOption("framing").toUpperCase(Locale.ROOT))
+                    : PayloadBatchValidator.Framing.LINES;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: Unknown framing '" + context.getOption("framing")
+                    + "'. Expected 'lines' or 'fixed'.");
+            return ExitCodes.INPUT_VALIDATION_ERROR;
+        }
+
+        MessageModel model;
+        try (ExcelParser parser = new ExcelParser(context.getConfig())) {
+            model = parser.parse(specFile, mqMessageFile);
+        }
+        PayloadBatchValidator validator = new PayloadBatchValidator(model, messageType,
+                context.getConfig().getValidation(), framing, 0);
+        PayloadBatchValidator.Statistics stats = validator.validateCapture(context.getPayloadPath());
+        ValidationResult result = validator.toResult(stats);
+
+        for (ValidationError error : result.getErrors()) {
+            System.err.println(error.getRuleCode() + " " + error.getDescription() + ": " + error.getDetails());
+        }
+        System.out.println("Validated " + stats.getRecordCount() + " record(s) of " + context.getPayloadPath()
+                + ": " + result.getErrors().size() + " issue(s)");
+
+        if (context.getAuditLogger() != null) {
+            context.getAuditLogger().logProcess("VALIDATE", result.isSuccess() ? "COMPLETED" : "FAILED",
+                    result.isSuccess() ? null : result.getErrors().size() + " payload issue(s)");
+        }
+        return result.isSuccess() ? ExitCodes.SUCCESS : ExitCodes.VALIDATION_ERROR;
+    }
+
     @Override
     public String getDescription() {
         return DESCRIPTION;
@@ -0,0 +1,76 @@
+package com.rtm.mq.tool.codec;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of equally sized byte arrays.
+ *
+ * <p>{@link #acquire()} hands out a pooled array when one is available and
+ * allocates a new one otherwise; {@link #release(byte[])} returns an array
+ * unless the pool is already full, in which case it is left to the garbage
+ * collector. Array contents are not cleared.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class BufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * Creates a pool.
+     *
+     * @param bufferSize the size of every array in bytes
+     * @param maxPooled the maximum number of idle arrays kept
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 0 || maxPooled < 1) {
+            throw new IllegalArgumentException("Invalid buffer pool size: " + bufferSize + " x " + maxPooled);
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * Gets the size of the arrays in this pool.
+     *
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Takes an array from the pool, allocating one if the pool is empty.
+     *
+     * @return an array of {@link #getBufferSize()} bytes with undefined content
+     */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Returns an array to the pool.
+     *
+     * @param buffer an array previously obtained from {@link #acquire()}
+     * @throws IllegalArgumentException if the array has the wrong size
+     */
+    public void release(byte[] buffer) {
+        if (buffer.length != bufferSize) {
+            throw new IllegalArgumentException("Buffer of " + buffer.length
+                    + " bytes does not belong to a pool of " + bufferSize + "-byte buffers");
+        }
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Gets the number of idle arrays in the pool.
+     *
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return buffers.size();
+    }
+}
@@ -0,0 +1,447 @@
+package com.rtm.mq.tool.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table-driven byte-to-character decoding for one code page (CCSID).
+ *
+ * <p>Single-byte code pages, such as CCSID 037, are decoded through a
+ * precomputed 256-entry table. Mixed EBCDIC code pages, such as CCSID 1388,
+ * additionally carry a 65536-entry double-byte table that is used between
+ * shift-out ({@code 0x0E}) and shift-in ({@code 0x0F}) bytes; it is built on
+ * first use. Both tables are derived once from the JDK charset, so decoded
+ * text is the same as with {@code new String(bytes, charset)}, except that
+ * shift bytes are dropped and unmappable bytes become {@code U+FFFD}.
+ * Single-byte text decoded to a {@code String} goes through the JDK charset
+ * itself wherever the table agrees with it, as its intrinsic decoder copies
+ * the bytes only once; the table serves {@code char[]} and
+ * {@code StringBuilder} decoding.</p>
+ *
+ * <p>The code page also knows the bytes of the space, the sign characters and
+ * the digits, so fields can be trimmed and parsed as numbers without
+ * decoding them.</p>
+ *
+ * <p>Instances are immutable (apart from the lazily built double-byte table)
+ * and thread-safe.</p>
+ *
+ * @see MessageDecoder#MessageDecoder(DecodePlan, CodePage)
+ */
+public final class CodePage {
+
+    /** ISO-8859-1, the default: every byte maps to the character of the same value. */
+    public static final CodePage ISO_8859_1 = new CodePage(819, StandardCharsets.ISO_8859_1, false);
+
+    private static final Map<Integer, CodePage> BY_CCSID = new ConcurrentHashMap<>();
+
+    private static final byte SHIFT_OUT = 0x0E;
+    private static final byte SHIFT_IN = 0x0F;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final int ccsid;
+    private final Charset charset;
+    private final boolean mixed;
+    private final char[] singleByte = new char[256];
+    private final byte[] latin1;
+    private final boolean sameAsCharset;
+    private final byte[] digits = new byte[256];
+    private final byte space;
+    private final byte plus;
+    private final byte minus;
+    private volatile char[] doubleByte;
+
+    private CodePage(int ccsid, Charset charset, boolean mixed) {
+        this.ccsid = ccsid;
+        this.charset = charset;
+        this.mixed = mixed;
+
+        CharsetDecoder decoder = newDecoder();
+        int spaceByte = -1;
+        int plusByte = -1;
+        int minusByte = -1;
+        for (int b = 0; b < 256; b++) {
+            char c = decode(decoder, new byte[] {(byte) b});
+            if (c == REPLACEMENT && (b == SHIFT_OUT || b == SHIFT_IN)) {
+                c = (char) b;
+            }
+            singleByte[b] = c;
+            digits[b] = (byte) (c >= '0' && c <= '9' ? c - '0' : -1);
+            if (c == ' ' && spaceByte < 0) {
+                spaceByte = b;
+            } else if (c == '+' && plusByte < 0) {
+                plusByte = b;
+            } else if (c == '-' && minusByte < 0) {
+                minusByte = b;
+            }
+        }
+        if (spaceByte < 0 || plusByte < 0 || minusByte < 0) {
+            throw new IllegalArgumentException("Code page " + charset.name()
+                    + " has no single-byte space or sign characters");
+        }
+        this.space = (byte) spaceByte;
+        this.plus = (byte) plusByte;
+        this.minus = (byte) minusByte;
+
+        // Pages within the Latin-1 repertoire (e.g. 037) translate byte to byte
+        boolean fits = true;
+        for (char c : singleByte) {
+            fits &= c <= 0xff;
+        }
+        if (fits) {
+            latin1 = new byte[256];
+            for (int b = 0; b < 256; b++) {
+                latin1[b] = (byte) singleByte[b];
+            }
+        } else {
+            latin1 = null;
+        }
+
+        // Where the table agrees with the JDK, its intrinsic single-byte decoder builds strings with one copy
+        if (mixed) {
+            sameAsCharset = false;
+        } else {
+            byte[] all = new byte[256];
+            for (int b = 0; b < 256; b++) {
+                all[b] = (byte) b;
+            }
+            sameAsCharset = new String(singleByte).equals(new String(all, charset));
+        }
+    }
+
+    /**
+     * Gets the code page for a CCSID.
+     *
+     * <p>The JDK charset is looked up as {@code IBMnnn}, {@code x-IBMnnn} and
+     * {@code Cpnnn}; CCSID 819 is ISO-8859-1. Mixed code pages such as 1388
+     * are only available on JVMs that ship the extended IBM charsets.</p>
+     *
+     * @param ccsid the coded character set id, e.g. 37 or 1388
+     * @return the code page
+     * @throws IllegalArgumentException if the JVM has no matching charset or
+     *         the charset is neither single-byte nor SO/SI mixed
+     */
+    public static CodePage forCcsid(int ccsid) {
+        if (ccsid == ISO_8859_1.ccsid) {
+            return ISO_8859_1;
+        }
+        return BY_CCSID.computeIfAbsent(ccsid, id -> forCharset(ccsid, lookup(id)));
+    }
+
+    /**
+     * Gets the code page for a JDK charset.
+     *
+     * @param charset a single-byte or SO/SI mixed EBCDIC charset
+     * @return the code page
+     * @throws IllegalArgumentException if the charset is not supported
+     */
+    public static CodePage forCharset(Charset charset) {
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            return ISO_8859_1;
+        }
+        return forCharset(0, charset);
+    }
+
+    private static CodePage forCharset(int ccsid, Charset charset) {
+        boolean mixed = charset.newEncoder().maxBytesPerChar() > 1;
+        if (mixed && !isShiftMixed(charset)) {
+            throw new IllegalArgumentException("Code page " + charset.name()
+                    + " is neither single-byte nor SO/SI mixed");
+        }
+        return new CodePage(ccsid, charset, mixed);
+    }
+
+    private static Charset lookup(int ccsid) {
+        String number = String.format("%03d", ccsid);
+        for (String name : new String[] {"IBM" + number, "x-IBM" + number, "Cp" + number}) {
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException e) {
+                // Unsupported or illegal name; try the next alias
+            }
+        }
+        throw new IllegalArgumentException("CCSID " + ccsid + " is not supported by this JVM");
+    }
+
+    /**
+     * Checks that a double-byte space framed by SO/SI decodes to one character.
+     */
+    private static boolean isShiftMixed(Charset charset) {
+        String text = new String(new byte[] {SHIFT_OUT, 0x40, 0x40, SHIFT_IN}, charset);
+        return text.length() == 1 && text.charAt(0) != REPLACEMENT;
+    }
+
+    /**
+     * Gets the CCSID.
+     *
+     * @return the CCSID, or 0 if created from a charset
+     */
+    public int getCcsid() {
+        return ccsid;
+    }
+
+    /**
+     * Gets the JDK charset the tables were derived from.
+     *
+     * @return the charset
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Checks if this is a mixed single/double-byte code page.
+     *
+     * @return true if SO/SI delimit double-byte text
+     */
+    public boolean isMixed() {
+        return mixed;
+    }
+
+    /**
+     * Gets the byte of the space character.
+     *
+     * @return the space byte, e.g. {@code 0x40} for EBCDIC
+     */
+    public byte getSpace() {
+        return space;
+    }
+
+    /**
+     * Gets the byte of the plus sign.
+     *
+     * @return the plus byte
+     */
+    public byte getPlus() {
+        return plus;
+    }
+
+    /**
+     * Gets the byte of the minus sign.
+     *
+     * @return the minus byte
+     */
+    public byte getMinus() {
+        return minus;
+    }
+
+    /**
+     * Decodes a single byte.
+     *
+     * @param b the byte
+     * @return the character
+     */
+    public char toChar(byte b) {
+        return singleByte[b & 0xff];
+    }
+
+    /**
+     * Gets the value of a digit byte.
+     *
+     * @param b the byte
+     * @return 0 to 9, or -1 if the byte is not a digit
+     */
+    public int digitValue(byte b) {
+        return digits[b & 0xff];
+    }
+
+    /**
+     * Decodes single-byte text into a character array.
+     *
+     * @param src the source bytes
+     * @param offset the first byte
+     * @param length the number of bytes
+     * @param dst the destination, with room for {@code length} characters
+     * @param dstOffset the first destination index
+     * @return the number of characters written ({@code length})
+     */
+    public int decode(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        char[] table = singleByte;
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = table[src[offset + i] & 0xff];
+        }
+        return length;
+    }
+
+    /**
+     * Decodes text that may contain SO/SI delimited double-byte characters.
+     *
+     * <p>For single-byte code pages this is the same as
+     * {@link #decode(byte[], int, int, char[], int)}.</p>
+     *
+     * @param src the source bytes
+     * @param offset the first byte
+     * @param length the number of bytes
+     * @param dst the destination, with room for {@code length} characters
+     * @param dstOffset the first destination index
+     * @return the number of characters written
+     */
+    public int decodeMixed(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        if (!mixed) {
+            return decode(src, offset, length, dst, dstOffset);
+        }
+        char[] sb = singleByte;
+        char[] db = doubleByteTable();
+        int n = dstOffset;
+        int end = offset + length;
+        boolean shifted = false;
+        int i = offset;
+        while (i < end) {
+            byte b = src[i];
+            if (b == SHIFT_OUT) {
+                shifted = true;
+                i++;
+            } else if (b == SHIFT_IN) {
+                shifted = false;
+                i++;
+            } else if (!shifted) {
+                dst[n++] = sb[b & 0xff];
+                i++;
+            } else if (i + 1 < end) {
+                dst[n++] = db[((b & 0xff) << 8) | (src[i + 1] & 0xff)];
+                i += 2;
+            } else {
+                // Truncated double-byte character
+                dst[n++] = REPLACEMENT;
+                i++;
+            }
+        }
+        return n - dstOffset;
+    }
+
+    /**
+     * Decodes single-byte text into a string.
+     *
+     * @param src the source bytes
+     * @param offset the first byte
+     * @param length the number of bytes
+     * @return the decoded string
+     */
+    public String decode(byte[] src, int offset, int length) {
+        if (sameAsCharset) {
+            return new String(src, offset, length, charset);
+        }
+        if (latin1 != null) {
+            return decode(src, offset, length, new byte[length]);
+        }
+        char[] chars = new char[length];
+        return new String(chars, 0, decode(src, offset, length, chars, 0));
+    }
+
+    /**
+     * Checks if {@link #decode(byte[], int, int)} is the JDK charset's own decoding.
+     */
+    boolean isSameAsCharset() {
+        return sameAsCharset;
+    }
+
+    /**
+     * Checks if single-byte text can be decoded with {@link #decode(byte[], int, int, byte[])}.
+     */
+    boolean isLatin1() {
+        return latin1 != null;
+    }
+
+    /**
+     * Decodes single-byte text by translating it to ISO-8859-1 in a scratch
+     * array, which lets the string be built without compressing characters.
+     *
+     * @param scratch an array of at least {@code length} bytes; may be {@code src}
+     */
+    String decode(byte[] src, int offset, int length, byte[] scratch) {
+        byte[] table = latin1;
+        for (int i = 0; i < length; i++) {
+            scratch[i] = table[src[offset + i] & 0xff];
+        }
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decodes text that may contain SO/SI delimited double-byte characters
+     * into a string.
+     *
+     * @param src the source bytes
+     * @param offset the first byte
+     * @param length the number of bytes
+     * @return the decoded string
+     */
+    public String decodeMixed(byte[] src, int offset, int length) {
+        if (!mixed) {
+            return decode(src, offset, length);
+        }
+        char[] chars = new char[length];
+        return new String(chars, 0, decodeMixed(src, offset, length, chars, 0));
+    }
+
+    /**
+     * Gets the double-byte table, building it on first use.
+     */
+    private char[] doubleByteTable() {
+        char[] table = doubleByte;
+        if (table == null) {
+            synchronized (this) {
+                table = doubleByte;
+                if (table == null) {
+                    table = buildDoubleByteTable();
+                    doubleByte = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private char[] buildDoubleByteTable() {
+        char[] table = new char[65536];
+        Arrays.fill(table, REPLACEMENT);
+        CharsetDecoder decoder = newDecoder();
+        byte[] unit = {SHIFT_OUT, 0, 0, SHIFT_IN};
+        // EBCDIC double-byte characters use 0x40 (space) and 0x41-0xFE for both bytes
+        for (int b1 = 0x40; b1 <= 0xFE; b1++) {
+            for (int b2 = 0x40; b2 <= 0xFE; b2++) {
+                unit[1] = (byte) b1;
+                unit[2] = (byte) b2;
+                table[(b1 << 8) | b2] = decode(decoder, unit);
+            }
+        }
+        return table;
+    }
+
+    private CharsetDecoder newDecoder() {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .replaceWith(String.valueOf(REPLACEMENT));
+    }
+
+    /**
+     * Decodes a unit that should yield a single BMP character.
+     *
+     * @return the character, or U+FFFD if the unit yields none or several
+     */
+    private static char decode(CharsetDecoder decoder, byte[] unit) {
+        CharBuffer out = CharBuffer.allocate(4);
+        decoder.reset();
+        CoderResult result = decoder.decode(ByteBuffer.wrap(unit), out, true);
+        if (!result.isError()) {
+            decoder.flush(out);
+        }
+        out.flip();
+        return out.remaining() == 1 ? out.get(0) : REPLACEMENT;
+    }
+
+    @Override
+    public String toString() {
+        return "CodePage{" +
+                "ccsid=" + ccsid +
+                ", charset=" + charset.name() +
+                ", mixed=" + mixed +
+                '}';
+    }
+}
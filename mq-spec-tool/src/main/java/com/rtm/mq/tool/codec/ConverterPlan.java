@@ -0,0 +1,605 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.generator.xml.XmlFieldAttributes;
+import com.rtm.mq.tool.generator.xml.XmlFieldType;
+import com.rtm.mq.tool.generator.xml.XmlTypeMapper;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.ValidationError;
+import com.rtm.mq.tool.model.ValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, compiled form of a generated converter XML document.
+ *
+ * <p>A plan is read once from an {@code outbound-converter.xml} or
+ * {@code inbound-converter.xml} with StAX and holds every {@code field}
+ * element in document (pre-)order, as parallel arrays indexed by field
+ * number: name, field type, length, converter, forType, default value,
+ * padding, fixedCount and the transitory flag, together with the parent and
+ * subtree end of each field. The fields of a subtree are
+ * {@code i + 1 .. getEnd(i) - 1}. Consumers walk these arrays per message
+ * instead of re-interpreting the XML.</p>
+ *
+ * <p>{@link #verify(FieldGroup, XmlTypeMapper)} checks a plan against the
+ * field group the document was generated from, field by field, so a cached
+ * plan can be validated when the spec is at hand.</p>
+ *
+ * <p>A plan can be shared by any number of threads.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * ConverterPlan plan = ConverterPlan.load(outputDir.resolve("xml/outbound-converter.xml"));
+ * for (int i = 0; i < plan.getFieldCount(); i++) {
+ *     if (plan.getFieldType(i) == XmlFieldType.DATA_FIELD) {
+ *         ... plan.getName(i), plan.getLength(i), plan.getConverter(i) ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see com.rtm.mq.tool.generator.xml.XmlTemplateEngine
+ */
+public final class ConverterPlan {
+
+    /** Error code for a spec field without a plan field. */
+    public static final String ERR_FIELD_MISSING = "PLAN-001";
+
+    /** Error code for a plan field without a spec field. */
+    public static final String ERR_FIELD_UNEXPECTED = "PLAN-002";
+
+    /** Error code for a plan field whose attributes differ from the spec. */
+    public static final String ERR_ATTRIBUTE_MISMATCH = "PLAN-003";
+
+    /**
+     * Direction of a converter.
+     */
+    public enum Direction {
+
+        /** {@code fix-length-outbound-converter}: request messages. */
+        OUTBOUND("fix-length-outbound-converter"),
+
+        /** {@code fix-length-inbound-converter}: response messages. */
+        INBOUND("fix-length-inbound-converter");
+
+        private final String tagName;
+
+        Direction(String tagName) {
+            this.tagName = tagName;
+        }
+
+        /**
+         * Gets the converter element name.
+         *
+         * @return the tag name
+         */
+        public String getTagName() {
+            return tagName;
+        }
+    }
+
+    static final int FLAG_FIXED_LENGTH = 1;
+    static final int FLAG_TRANSITORY = 1 << 1;
+    static final int FLAG_ALIGN_RIGHT = 1 << 2;
+
+    private final Direction direction;
+    private final String converterId;
+    private final String messageForType;
+    private final int fieldCount;
+    private final XmlFieldType[] fieldTypes;
+    private final String[] names;
+    private final String[] paths;
+    private final int[] lengths;
+    private final int[] fixedCounts;
+    private final int[] floatingNumberLengths;
+    private final int[] flags;
+    private final String[] defaultValues;
+    private final String[] pads;
+    private final String[] nullPads;
+    private final String[] converters;
+    private final String[] forTypes;
+    private final int[] parents;
+    private final int[] ends;
+    private final int[] depths;
+    private final Map<String, Integer> fieldsByPath;
+    private final long recordLength;
+
+    ConverterPlan(Direction direction, String converterId, String messageForType, int fieldCount,
+                  XmlFieldType[] fieldTypes, String[] names, int[] lengths, int[] fixedCounts,
+                  int[] floatingNumberLengths, int[] flags, String[] defaultValues, String[] pads,
+                  String[] nullPads, String[] converters, String[] forTypes, int[] parents, int[] ends) {
+        this.direction = direction;
+        this.converterId = converterId;
+        this.messageForType = messageForType;
+        this.fieldCount = fieldCount;
+        this.fieldTypes = fieldTypes;
+        this.names = names;
+        this.lengths = lengths;
+        this.fixedCounts = fixedCounts;
+        this.floatingNumberLengths = floatingNumberLengths;
+        this.flags = flags;
+        this.defaultValues = defaultValues;
+        this.pads = pads;
+        this.nullPads = nullPads;
+        this.converters = converters;
+        this.forTypes = forTypes;
+        this.parents = parents;
+        this.ends = ends;
+
+        this.paths = new String[fieldCount];
+        this.depths = new int[fieldCount];
+        this.fieldsByPath = new HashMap<>();
+        long total = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            String name = names[i] != null ? names[i] : "";
+            int parent = parents[i];
+            paths[i] = parent < 0 ? name : paths[parent] + "." + name;
+            depths[i] = parent < 0 ? 0 : depths[parent] + 1;
+            fieldsByPath.putIfAbsent(paths[i], i);
+            if (fieldTypes[i] == XmlFieldType.DATA_FIELD && lengths[i] > 0) {
+                long occurrences = 1;
+                for (int p = parent; p >= 0; p = parents[p]) {
+                    occurrences *= getCount(p);
+                }
+                total += occurrences * lengths[i];
+            }
+        }
+        this.recordLength = total;
+    }
+
+    /**
+     * Loads the plan of a converter XML file.
+     *
+     * @param file the converter XML file
+     * @return the plan
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a well-formed converter document
+     */
+    public static ConverterPlan load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads the plan of a converter XML document.
+     *
+     * <p>The stream is read to the end of the document but not closed.</p>
+     *
+     * @param in the document bytes
+     * @return the plan
+     * @throws IllegalArgumentException if the bytes are not a well-formed converter document
+     */
+    public static ConverterPlan read(InputStream in) {
+        return new ConverterPlanReader().read(in);
+    }
+
+    /**
+     * Gets the converter direction.
+     *
+     * @return OUTBOUND or INBOUND
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets the converter bean id, e.g. {@code req_converter}.
+     *
+     * @return the converter id, or null if absent
+     */
+    public String getConverterId() {
+        return converterId;
+    }
+
+    /**
+     * Gets the forType of the message element.
+     *
+     * @return the message class, or null for a converter without message
+     *         (an empty inbound document)
+     */
+    public String getMessageForType() {
+        return messageForType;
+    }
+
+    /**
+     * Gets the number of fields, counting nested fields once each.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Gets the total length of the data fields of a record, counting every
+     * repetition of a repeating field.
+     *
+     * @return the record length in characters
+     */
+    public long getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * Finds a field by its path of dot-separated names, e.g. {@code "items.name"}.
+     *
+     * @param path the field path
+     * @return the field number, or -1 if there is no such field
+     */
+    public int findField(String path) {
+        Integer field = fieldsByPath.get(path);
+        return field != null ? field : -1;
+    }
+
+    /**
+     * Gets the field type.
+     *
+     * @param field the field number
+     * @return DATA_FIELD, COMPOSITE_FIELD or REPEATING_FIELD
+     */
+    public XmlFieldType getFieldType(int field) {
+        return fieldTypes[field];
+    }
+
+    /**
+     * Checks if a field is composite or repeating, i.e. may contain fields.
+     *
+     * @param field the field number
+     * @return true for CompositeField and RepeatingField
+     */
+    public boolean isGroup(int field) {
+        return fieldTypes[field] != XmlFieldType.DATA_FIELD;
+    }
+
+    /**
+     * Gets the field name.
+     *
+     * @param field the field number
+     * @return the name, or null if absent
+     */
+    public String getName(int field) {
+        return names[field];
+    }
+
+    /**
+     * Gets the dot-separated path of a field.
+     *
+     * @param field the field number
+     * @return the path
+     */
+    public String getPath(int field) {
+        return paths[field];
+    }
+
+    /**
+     * Gets the length attribute.
+     *
+     * @param field the field number
+     * @return the length, or -1 if absent
+     */
+    public int getLength(int field) {
+        return lengths[field];
+    }
+
+    /**
+     * Gets the fixedCount attribute of a repeating field.
+     *
+     * @param field the field number
+     * @return the fixed count, or -1 if absent
+     */
+    public int getFixedCount(int field) {
+        return fixedCounts[field];
+    }
+
+    /**
+     * Gets the number of occurrences of a field per element of its parent.
+     *
+     * @param field the field number
+     * @return the fixedCount of a repeating field, otherwise 1
+     */
+    public int getCount(int field) {
+        return fieldTypes[field] == XmlFieldType.REPEATING_FIELD && fixedCounts[field] >= 0
+                ? fixedCounts[field] : 1;
+    }
+
+    /**
+     * Gets the floatingNumberLength attribute.
+     *
+     * @param field the field number
+     * @return the floating number length, or -1 if absent
+     */
+    public int getFloatingNumberLength(int field) {
+        return floatingNumberLengths[field];
+    }
+
+    /**
+     * Checks the fixedLength attribute.
+     *
+     * @param field the field number
+     * @return true if fixedLength="true"
+     */
+    public boolean isFixedLength(int field) {
+        return (flags[field] & FLAG_FIXED_LENGTH) != 0;
+    }
+
+    /**
+     * Checks the transitory attribute.
+     *
+     * @param field the field number
+     * @return true if transitory="true"
+     */
+    public boolean isTransitory(int field) {
+        return (flags[field] & FLAG_TRANSITORY) != 0;
+    }
+
+    /**
+     * Checks the alignRight attribute.
+     *
+     * @param field the field number
+     * @return true if alignRight="true"
+     */
+    public boolean isAlignRight(int field) {
+        return (flags[field] & FLAG_ALIGN_RIGHT) != 0;
+    }
+
+    /**
+     * Gets the defaultValue attribute.
+     *
+     * @param field the field number
+     * @return the default value, or null if absent
+     */
+    public String getDefaultValue(int field) {
+        return defaultValues[field];
+    }
+
+    /**
+     * Gets the pad attribute.
+     *
+     * @param field the field number
+     * @return the padding character, or null if absent
+     */
+    public String getPad(int field) {
+        return pads[field];
+    }
+
+    /**
+     * Gets the nullPad attribute.
+     *
+     * @param field the field number
+     * @return the null padding character, or null if absent
+     */
+    public String getNullPad(int field) {
+        return nullPads[field];
+    }
+
+    /**
+     * Gets the converter attribute.
+     *
+     * @param field the field number
+     * @return the converter bean name, or null if absent
+     */
+    public String getConverter(int field) {
+        return converters[field];
+    }
+
+    /**
+     * Gets the forType attribute.
+     *
+     * @param field the field number
+     * @return the Java type, or null if absent
+     */
+    public String getForType(int field) {
+        return forTypes[field];
+    }
+
+    /**
+     * Gets the enclosing composite or repeating field.
+     *
+     * @param field the field number
+     * @return the parent field number, or -1 for fields of the message
+     */
+    public int getParent(int field) {
+        return parents[field];
+    }
+
+    /**
+     * Gets the end of a field's subtree.
+     *
+     * @param field the field number
+     * @return the number of the first field after the subtree
+     */
+    public int getEnd(int field) {
+        return ends[field];
+    }
+
+    /**
+     * Gets the nesting depth.
+     *
+     * @param field the field number
+     * @return 0 for fields of the message
+     */
+    public int getDepth(int field) {
+        return depths[field];
+    }
+
+    /**
+     * Gets the attributes of a field element in the order they are generated.
+     *
+     * @param field the field number
+     * @return a new map of attribute names to values
+     */
+    public Map<String, String> getAttributes(int field) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        putIfPresent(attributes, "name", names[field]);
+        if (lengths[field] >= 0) {
+            attributes.put("length", String.valueOf(lengths[field]));
+        }
+        if (isFixedLength(field)) {
+            attributes.put("fixedLength", "true");
+        }
+        if (isTransitory(field)) {
+            attributes.put("transitory", "true");
+        }
+        if (fixedCounts[field] >= 0) {
+            attributes.put("fixedCount", String.valueOf(fixedCounts[field]));
+        }
+        putIfPresent(attributes, "defaultValue", defaultValues[field]);
+        putIfPresent(attributes, "pad", pads[field]);
+        if (isAlignRight(field)) {
+            attributes.put("alignRight", "true");
+        }
+        putIfPresent(attributes, "nullPad", nullPads[field]);
+        putIfPresent(attributes, "converter", converters[field]);
+        putIfPresent(attributes, "forType", forTypes[field]);
+        if (floatingNumberLengths[field] >= 0) {
+            attributes.put("floatingNumberLength", String.valueOf(floatingNumberLengths[field]));
+        }
+        attributes.put("type", fieldTypes[field].getValue());
+        return attributes;
+    }
+
+    private static void putIfPresent(Map<String, String> attributes, String name, String value) {
+        if (value != null) {
+            attributes.put(name, value);
+        }
+    }
+
+    /**
+     * Checks the plan against the field group its document was generated from.
+     *
+     * <p>The fields of each level are expected in the order the converter
+     * XML is generated: transitory fields, then objects and arrays, then the
+     * remaining fields, each in spec order; transitory fields have no nested
+     * fields. Every field must carry exactly the attributes the type mapper
+     * gives its spec field.</p>
+     *
+     * @param group the originating field group (request or response)
+     * @param typeMapper the mapper of the configuration the document was generated with
+     * @return the validation result; one error per missing, unexpected or differing field
+     */
+    public ValidationResult verify(FieldGroup group, XmlTypeMapper typeMapper) {
+        ValidationResult result = new ValidationResult();
+        List<FieldNode> fields = group != null ? group.getFields() : List.of();
+        int next = verifyLevel(fields, -1, 0, typeMapper, result);
+        reportUnexpected(next, fieldCount, result);
+        return result;
+    }
+
+    /**
+     * Verifies the fields of one level, starting at a plan field.
+     *
+     * @return the plan field after the level
+     */
+    private int verifyLevel(List<FieldNode> fields, int parent, int start, XmlTypeMapper typeMapper,
+                            ValidationResult result) {
+        int next = start;
+        // Same order as XmlTemplateEngine.writeFields
+        for (int pass = 0; pass < 3; pass++) {
+            for (FieldNode node : fields) {
+                boolean composite = node.isObject() || node.isArray();
+                int nodePass = node.isTransitory() ? 0 : composite ? 1 : 2;
+                if (nodePass == pass) {
+                    next = verifyField(node, parent, next, typeMapper, result);
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Verifies one spec field and its subtree against the plan field at a position.
+     *
+     * @return the plan field after the subtree
+     */
+    private int verifyField(FieldNode node, int parent, int field, XmlTypeMapper typeMapper,
+                            ValidationResult result) {
+        String expectedName = node.getCamelCaseName();
+        if (field >= fieldCount || parents[field] != parent) {
+            String parentPath = parent < 0 ? "" : paths[parent] + ".";
+            result.addError(new ValidationError(
+                ERR_FIELD_MISSING,
+                "Field missing from converter plan",
+                "path=" + parentPath + expectedName
+            ));
+            return field;
+        }
+
+        XmlFieldAttributes expected = typeMapper.map(node);
+        Map<String, String> actual = getAttributes(field);
+        if (!expected.getAttributes().equals(actual)) {
+            result.addError(new ValidationError(
+                ERR_ATTRIBUTE_MISMATCH,
+                "Field attributes differ from spec",
+                "path=" + paths[field] + ", expected=" + expected.getAttributes() + ", actual=" + actual
+            ));
+        }
+
+        int next = field + 1;
+        if (!node.isTransitory() && !node.getChildren().isEmpty()) {
+            next = verifyLevel(node.getChildren(), field, next, typeMapper, result);
+        }
+        reportUnexpected(next, ends[field], result);
+        return ends[field];
+    }
+
+    /**
+     * Reports the plan fields of [from, to) that belong to no spec field,
+     * one error per subtree.
+     */
+    private void reportUnexpected(int from, int to, ValidationResult result) {
+        for (int i = from; i < to; i = ends[i]) {
+            result.addError(new ValidationError(
+                ERR_FIELD_UNEXPECTED,
+                "Field in converter plan not in spec",
+                "path=" + paths[i]
+            ));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConverterPlan{" +
+                "direction=" + direction +
+                ", converterId='" + converterId + '\'' +
+                ", messageForType='" + messageForType + '\'' +
+                ", fields=" + fieldCount +
+                ", recordLength=" + recordLength +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConverterPlan)) {
+            return false;
+        }
+        ConverterPlan other = (ConverterPlan) o;
+        if (direction != other.direction || fieldCount != other.fieldCount
+                || !Objects.equals(converterId, other.converterId)
+                || !Objects.equals(messageForType, other.messageForType)) {
+            return false;
+        }
+        for (int i = 0; i < fieldCount; i++) {
+            if (parents[i] != other.parents[i] || !getAttributes(i).equals(other.getAttributes(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(direction, converterId, messageForType, fieldCount);
+    }
+}
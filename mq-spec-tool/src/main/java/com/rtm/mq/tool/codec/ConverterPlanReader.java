@@ -0,0 +1,286 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.generator.xml.XmlFieldType;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Single-pass StAX reader compiling a converter XML document into a {@link ConverterPlan}.
+ *
+ * <p>Elements are matched by local name, so the default namespace of the
+ * generated {@code beans:beans} root does not matter. Elements outside the
+ * converter are skipped; inside it only {@code message} and nested
+ * {@code field} elements are accepted. DTDs and external entities are
+ * disabled.</p>
+ *
+ * <p>Field data is collected into growing parallel arrays which are
+ * trimmed once the document ends. A reader is used for one document.</p>
+ */
+final class ConverterPlanReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final String MESSAGE = "message";
+    private static final String FIELD = "field";
+
+    private static final int INITIAL_FIELDS = 64;
+
+    private ConverterPlan.Direction direction;
+    private String converterId;
+    private String messageForType;
+    private int converterDepth = -1;
+    private boolean inMessage;
+
+    private int count;
+    private XmlFieldType[] fieldTypes = new XmlFieldType[INITIAL_FIELDS];
+    private String[] names = new String[INITIAL_FIELDS];
+    private int[] lengths = new int[INITIAL_FIELDS];
+    private int[] fixedCounts = new int[INITIAL_FIELDS];
+    private int[] floatingNumberLengths = new int[INITIAL_FIELDS];
+    private int[] flags = new int[INITIAL_FIELDS];
+    private String[] defaultValues = new String[INITIAL_FIELDS];
+    private String[] pads = new String[INITIAL_FIELDS];
+    private String[] nullPads = new String[INITIAL_FIELDS];
+    private String[] converters = new String[INITIAL_FIELDS];
+    private String[] forTypes = new String[INITIAL_FIELDS];
+    private int[] parents = new int[INITIAL_FIELDS];
+    private int[] ends = new int[INITIAL_FIELDS];
+
+    /** Open field elements; the innermost is the parent of the next field. */
+    private int[] open = new int[16];
+    private int openCount;
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * Reads a converter document.
+     *
+     * @param in the document bytes
+     * @return the compiled plan
+     * @throws IllegalArgumentException if the document is malformed or has no converter
+     */
+    ConverterPlan read(InputStream in) {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(in);
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(reader, depth);
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    endElement(reader, depth);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed converter XML: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing was allocated that outlives the reader
+                }
+            }
+        }
+        if (direction == null) {
+            throw new IllegalArgumentException("No " + ConverterPlan.Direction.OUTBOUND.getTagName()
+                    + " or " + ConverterPlan.Direction.INBOUND.getTagName() + " element in document");
+        }
+        return new ConverterPlan(direction, converterId, messageForType, count,
+                Arrays.copyOf(fieldTypes, count), Arrays.copyOf(names, count), Arrays.copyOf(lengths, count),
+                Arrays.copyOf(fixedCounts, count), Arrays.copyOf(floatingNumberLengths, count),
+                Arrays.copyOf(flags, count), Arrays.copyOf(defaultValues, count), Arrays.copyOf(pads, count),
+                Arrays.copyOf(nullPads, count), Arrays.copyOf(converters, count), Arrays.copyOf(forTypes, count),
+                Arrays.copyOf(parents, count), Arrays.copyOf(ends, count));
+    }
+
+    private void startElement(XMLStreamReader reader, int depth) {
+        String name = reader.getLocalName();
+        if (converterDepth < 0) {
+            ConverterPlan.Direction found = directionOf(name);
+            if (found != null) {
+                if (direction != null) {
+                    throw new IllegalArgumentException("More than one converter in document");
+                }
+                direction = found;
+                converterId = reader.getAttributeValue(null, "id");
+                converterDepth = depth;
+            }
+            return;
+        }
+        if (!inMessage) {
+            if (!MESSAGE.equals(name) || depth != converterDepth + 1 || messageForType != null) {
+                throw unexpected(reader, name);
+            }
+            inMessage = true;
+            messageForType = reader.getAttributeValue(null, "forType");
+            return;
+        }
+        if (!FIELD.equals(name)) {
+            throw unexpected(reader, name);
+        }
+        addField(reader);
+    }
+
+    private void endElement(XMLStreamReader reader, int depth) {
+        if (converterDepth < 0) {
+            return;
+        }
+        if (depth == converterDepth) {
+            converterDepth = -1;
+        } else if (depth == converterDepth + 1) {
+            inMessage = false;
+        } else if (FIELD.equals(reader.getLocalName())) {
+            int field = open[--openCount];
+            ends[field] = count;
+        }
+    }
+
+    private void addField(XMLStreamReader reader) {
+        if (count == names.length) {
+            grow();
+        }
+        int field = count++;
+        lengths[field] = -1;
+        fixedCounts[field] = -1;
+        floatingNumberLengths[field] = -1;
+        parents[field] = openCount > 0 ? open[openCount - 1] : -1;
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attribute = reader.getAttributeLocalName(i);
+            String value = reader.getAttributeValue(i);
+            switch (attribute) {
+                case "name":
+                    names[field] = value;
+                    break;
+                case "type":
+                    fieldTypes[field] = fieldTypeOf(value, reader);
+                    break;
+                case "length":
+                    lengths[field] = parseCount(attribute, value, reader);
+                    break;
+                case "fixedCount":
+                    fixedCounts[field] = parseCount(attribute, value, reader);
+                    break;
+                case "floatingNumberLength":
+                    floatingNumberLengths[field] = parseCount(attribute, value, reader);
+                    break;
+                case "fixedLength":
+                    flags[field] |= flag(ConverterPlan.FLAG_FIXED_LENGTH, attribute, value, reader);
+                    break;
+                case "transitory":
+                    flags[field] |= flag(ConverterPlan.FLAG_TRANSITORY, attribute, value, reader);
+                    break;
+                case "alignRight":
+                    flags[field] |= flag(ConverterPlan.FLAG_ALIGN_RIGHT, attribute, value, reader);
+                    break;
+                case "defaultValue":
+                    defaultValues[field] = value;
+                    break;
+                case "pad":
+                    pads[field] = value;
+                    break;
+                case "nullPad":
+                    nullPads[field] = value;
+                    break;
+                case "converter":
+                    converters[field] = value;
+                    break;
+                case "forType":
+                    forTypes[field] = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported field attribute '" + attribute
+                            + "' at line " + reader.getLocation().getLineNumber());
+            }
+        }
+        if (fieldTypes[field] == null) {
+            throw new IllegalArgumentException("Field without type at line "
+                    + reader.getLocation().getLineNumber());
+        }
+
+        if (openCount == open.length) {
+            open = Arrays.copyOf(open, openCount * 2);
+        }
+        open[openCount++] = field;
+    }
+
+    private void grow() {
+        int capacity = names.length * 2;
+        fieldTypes = Arrays.copyOf(fieldTypes, capacity);
+        names = Arrays.copyOf(names, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        fixedCounts = Arrays.copyOf(fixedCounts, capacity);
+        floatingNumberLengths = Arrays.copyOf(floatingNumberLengths, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        defaultValues = Arrays.copyOf(defaultValues, capacity);
+        pads = Arrays.copyOf(pads, capacity);
+        nullPads = Arrays.copyOf(nullPads, capacity);
+        converters = Arrays.copyOf(converters, capacity);
+        forTypes = Arrays.copyOf(forTypes, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+    }
+
+    private static ConverterPlan.Direction directionOf(String tagName) {
+        for (ConverterPlan.Direction direction : ConverterPlan.Direction.values()) {
+            if (direction.getTagName().equals(tagName)) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    private static XmlFieldType fieldTypeOf(String value, XMLStreamReader reader) {
+        for (XmlFieldType type : XmlFieldType.values()) {
+            if (type.getValue().equals(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field type '" + value + "' at line "
+                + reader.getLocation().getLineNumber());
+    }
+
+    private static int parseCount(String attribute, String value, XMLStreamReader reader) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid " + attribute + " '" + value + "' at line "
+                + reader.getLocation().getLineNumber());
+    }
+
+    private static int flag(int flag, String attribute, String value, XMLStreamReader reader) {
+        if ("true".equals(value)) {
+            return flag;
+        }
+        if ("false".equals(value)) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Invalid " + attribute + " '" + value + "' at line "
+                + reader.getLocation().getLineNumber());
+    }
+
+    private static IllegalArgumentException unexpected(XMLStreamReader reader, String name) {
+        return new IllegalArgumentException("Unexpected element <" + name + "> at line "
+                + reader.getLocation().getLineNumber());
+    }
+}
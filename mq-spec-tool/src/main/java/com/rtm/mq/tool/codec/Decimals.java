@@ -0,0 +1,249 @@
+package com.rtm.mq.tool.codec;
+
+import java.math.BigDecimal;
+
+/**
+ * Byte-level conversions between decimal numbers and their record encodings.
+ *
+ * <p>Two binary-coded formats are supported, both read into a signed
+ * unscaled {@code long} without an intermediate string:</p>
+ * <ul>
+ *   <li>Packed decimal (COBOL {@code COMP-3}) - two digits per byte, the
+ *       last nibble holding the sign; a field of {@code n} bytes holds
+ *       {@code 2n - 1} digits</li>
+ *   <li>Zoned decimal (COBOL {@code DISPLAY} with {@code SIGN TRAILING}) -
+ *       one digit per byte in the low nibble, the sign in the zone nibble of
+ *       the last byte</li>
+ * </ul>
+ *
+ * <p>Sign nibbles {@code C}, {@code F}, {@code A} and {@code E} are positive,
+ * {@code D} and {@code B} negative. Zoned digits may carry the EBCDIC zone
+ * {@code F} or the ASCII zone {@code 3}; the ASCII negative zone {@code 7}
+ * is accepted as well. Writers emit sign {@code C}/{@code D} for packed
+ * fields and zone {@code 3}/{@code 7} for zoned fields, matching the
+ * ISO-8859-1 records of {@link MessageEncoder}.</p>
+ */
+final class Decimals {
+
+    /**
+     * Most decimal digits that always fit a long.
+     */
+    static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Smallest negated value that can take another digit without overflow;
+     * comparing against it avoids a division per digit.
+     */
+    static final long MULTIPLY_MIN = Long.MIN_VALUE / 10;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private Decimals() {
+    }
+
+    /**
+     * Gets a power of ten.
+     *
+     * @param exponent 0 to {@link #MAX_LONG_DIGITS}
+     */
+    static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Parses a packed decimal field.
+     *
+     * @param src the record bytes
+     * @param offset the field offset
+     * @param length the field length in bytes
+     * @param path the field path for error messages
+     * @return the signed unscaled value
+     * @throws NumberFormatException if a nibble is invalid or the value overflows a long
+     */
+    static long parsePacked(byte[] src, int offset, int length, String path) {
+        if (length == 0) {
+            throw new NumberFormatException("Empty packed field '" + path + "'");
+        }
+        // Accumulate negatively so that Long.MIN_VALUE is representable
+        long result = 0;
+        int end = offset + length - 1;
+        for (int i = offset; i < end; i++) {
+            int b = src[i] & 0xff;
+            result = accumulate(result, b >>> 4, path);
+            result = accumulate(result, b & 0x0f, path);
+        }
+        int last = src[end] & 0xff;
+        result = accumulate(result, last >>> 4, path);
+        return applySign(result, isNegative(last & 0x0f, path), path);
+    }
+
+    /**
+     * Parses a zoned decimal field.
+     *
+     * @param src the record bytes
+     * @param offset the field offset
+     * @param length the field length in bytes
+     * @param path the field path for error messages
+     * @return the signed unscaled value
+     * @throws NumberFormatException if a byte is invalid or the value overflows a long
+     */
+    static long parseZoned(byte[] src, int offset, int length, String path) {
+        if (length == 0) {
+            throw new NumberFormatException("Empty zoned field '" + path + "'");
+        }
+        long result = 0;
+        int end = offset + length - 1;
+        for (int i = offset; i < end; i++) {
+            int b = src[i] & 0xff;
+            int zone = b >>> 4;
+            if (zone != 0x3 && zone != 0xf) {
+                throw new NumberFormatException("Invalid zoned digit in field '" + path + "'");
+            }
+            result = accumulate(result, b & 0x0f, path);
+        }
+        int last = src[end] & 0xff;
+        result = accumulate(result, last & 0x0f, path);
+        int zone = last >>> 4;
+        boolean negative = zone == 0x7 || (zone != 0x3 && isNegative(zone, path));
+        return applySign(result, negative, path);
+    }
+
+    /**
+     * Writes a packed decimal field, zero filled on the left.
+     *
+     * @param dest the record bytes
+     * @param offset the field offset
+     * @param length the field length in bytes
+     * @param value the signed unscaled value
+     * @param path the field path for error messages
+     * @throws IllegalArgumentException if the value has more than {@code 2 * length - 1} digits
+     */
+    static void writePacked(byte[] dest, int offset, int length, long value, String path) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit packed field '" + path
+                    + "' of length 0");
+        }
+        int sign = value < 0 ? 0x0d : 0x0c;
+        // Digits from the right; negating each remainder keeps Long.MIN_VALUE exact
+        long v = value;
+        int pos = offset + length - 1;
+        dest[pos] = (byte) ((digit(v) << 4) | sign);
+        v /= 10;
+        while (--pos >= offset) {
+            int low = digit(v);
+            v /= 10;
+            int high = digit(v);
+            v /= 10;
+            dest[pos] = (byte) ((high << 4) | low);
+        }
+        if (v != 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit packed field '" + path
+                    + "' of length " + length);
+        }
+    }
+
+    /**
+     * Writes a zoned decimal field, zero filled on the left.
+     *
+     * @param dest the record bytes
+     * @param offset the field offset
+     * @param length the field length in bytes
+     * @param value the signed unscaled value
+     * @param path the field path for error messages
+     * @throws IllegalArgumentException if the value has more than {@code length} digits
+     */
+    static void writeZoned(byte[] dest, int offset, int length, long value, String path) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit zoned field '" + path
+                    + "' of length 0");
+        }
+        long v = value;
+        int pos = offset + length - 1;
+        dest[pos] = (byte) ((value < 0 ? 0x70 : 0x30) | digit(v));
+        v /= 10;
+        while (--pos >= offset) {
+            dest[pos] = (byte) (0x30 | digit(v));
+            v /= 10;
+        }
+        if (v != 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit zoned field '" + path
+                    + "' of length " + length);
+        }
+    }
+
+    /**
+     * Gets the unscaled value of a decimal at a given scale.
+     *
+     * @param value the decimal
+     * @param scale the implied scale
+     * @param path the field path for error messages
+     * @return the unscaled value
+     * @throws IllegalArgumentException if the value has more fraction digits
+     *         than the scale or does not fit a long
+     */
+    static long unscaled(BigDecimal value, int scale, String path) {
+        if (value.scale() == scale && value.precision() <= MAX_LONG_DIGITS) {
+            return value.unscaledValue().longValue();
+        }
+        try {
+            return value.setScale(scale).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value " + value.toPlainString() + " does not fit field '"
+                    + path + "' at scale " + scale, e);
+        }
+    }
+
+    /**
+     * Converts an unscaled value to a decimal.
+     */
+    static BigDecimal toDecimal(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static long accumulate(long result, int digit, String path) {
+        if (digit > 9) {
+            throw new NumberFormatException("Invalid decimal digit in field '" + path + "'");
+        }
+        if (result < MULTIPLY_MIN || result * 10 < Long.MIN_VALUE + digit) {
+            throw new NumberFormatException("Numeric overflow in field '" + path + "'");
+        }
+        return result * 10 - digit;
+    }
+
+    private static long applySign(long negated, boolean negative, String path) {
+        if (negative) {
+            return negated;
+        }
+        if (negated == Long.MIN_VALUE) {
+            throw new NumberFormatException("Numeric overflow in field '" + path + "'");
+        }
+        return -negated;
+    }
+
+    private static boolean isNegative(int sign, String path) {
+        switch (sign) {
+            case 0x0c:
+            case 0x0f:
+            case 0x0a:
+            case 0x0e:
+                return false;
+            case 0x0d:
+            case 0x0b:
+                return true;
+            default:
+                throw new NumberFormatException("Invalid sign in field '" + path + "'");
+        }
+    }
+
+    private static int digit(long v) {
+        int digit = (int) (v % 10);
+        return digit < 0 ? -digit : digit;
+    }
+}
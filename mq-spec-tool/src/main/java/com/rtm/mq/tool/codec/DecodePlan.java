@@ -0,0 +1,525 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.exception.ValidationException;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetEntry;
+import com.rtm.mq.tool.offset.OffsetLayout;
+import com.rtm.mq.tool.offset.OffsetTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled layout of a fixed-length message.
+ *
+ * <p>A plan flattens the stride-based {@link OffsetLayout} of an
+ * {@link OffsetTable} into an array of {@link FieldSlot}s in spec-tree
+ * order, one per distinct field. Decoding a record walks this array with
+ * plain integer arithmetic; no spec-tree traversal, path building or map
+ * lookup happens per message.</p>
+ *
+ * <p>In the default {@link LayoutMode#FIXED} mode every repeating group
+ * occupies its maximum occurrence count, as in padded records. In
+ * {@link LayoutMode#VARIABLE} mode a repeating group with a transitory
+ * occurrenceCount child holds only as many elements as that counter says;
+ * the decoder reads the counter and shifts the following offsets as it
+ * goes. Slots and paths are the same in both modes.</p>
+ *
+ * <p>A plan is compiled once per message type and can be shared by any
+ * number of threads.</p>
+ *
+ * @see MessageDecoder
+ */
+public final class DecodePlan {
+
+    /**
+     * How repeating groups are laid out in a record.
+     */
+    public enum LayoutMode {
+
+        /**
+         * Every repeating group holds its maximum occurrence count.
+         */
+        FIXED,
+
+        /**
+         * A repeating group with a transitory occurrenceCount child holds as
+         * many elements as the counter of its first element says. The first
+         * element is always present since it carries the counter; with a
+         * count of 0, or a blank counter, it is an empty, fully padded
+         * element.
+         */
+        VARIABLE
+    }
+
+    /**
+     * Largest number of leaf occurrences indexed automatically by {@link #resolve}.
+     */
+    private static final int MAX_INDEXED_OCCURRENCES = 1 << 16;
+
+    private final String messageType;
+    private final LayoutMode layoutMode;
+    private final int totalLength;
+    private final FieldSlot[] slots;
+    private final int maxDepth;
+    private final Map<String, FieldSlot> slotsByPath;
+    private final long occurrenceCount;
+    private final boolean variable;
+    private volatile PathIndex pathIndex;
+
+    private DecodePlan(String messageType, LayoutMode layoutMode, int totalLength, FieldSlot[] slots) {
+        this.messageType = messageType;
+        this.layoutMode = layoutMode;
+        this.totalLength = totalLength;
+        this.slots = slots;
+
+        int depth = 0;
+        long occurrences = 0;
+        boolean anyVariable = false;
+        Map<String, FieldSlot> byPath = new HashMap<>();
+        for (FieldSlot slot : slots) {
+            depth = Math.max(depth, slot.getDepth());
+            anyVariable |= slot.isVariable();
+            byPath.putIfAbsent(slot.getPath(), slot);
+            if (!slot.isGroup()) {
+                long count = 1;
+                for (FieldSlot s = slot; s != null; s = s.getParent()) {
+                    count *= s.getCount();
+                }
+                occurrences += count;
+            }
+        }
+        this.maxDepth = depth;
+        this.slotsByPath = byPath;
+        this.occurrenceCount = occurrences;
+        this.variable = anyVariable;
+    }
+
+    /**
+     * Compiles a plan for a field group.
+     *
+     * @param messageType the message type identifier (e.g., "request", "response")
+     * @param fieldGroup the field group containing the root fields
+     * @return the compiled plan
+     * @throws com.rtm.mq.tool.exception.ValidationException if the spec-tree contains invalid values
+     */
+    public static DecodePlan compile(String messageType, FieldGroup fieldGroup) {
+        return compile(messageType, fieldGroup, LayoutMode.FIXED);
+    }
+
+    /**
+     * Compiles a plan for a field group in the given layout mode.
+     *
+     * @param messageType the message type identifier (e.g., "request", "response")
+     * @param fieldGroup the field group containing the root fields
+     * @param layoutMode how repeating groups are laid out
+     * @return the compiled plan
+     * @throws ValidationException if the spec-tree contains invalid values
+     */
+    public static DecodePlan compile(String messageType, FieldGroup fieldGroup, LayoutMode layoutMode) {
+        return compile(new OffsetCalculator().calculate(messageType, fieldGroup), layoutMode);
+    }
+
+    /**
+     * Compiles a plan for an offset table.
+     *
+     * <p>Compact tables keep their repeating groups as strided slots. Tables
+     * built from explicit entries yield one root slot per entry.</p>
+     *
+     * @param table the offset table
+     * @return the compiled plan
+     * @throws IllegalArgumentException if the layout exceeds 2 GB
+     */
+    public static DecodePlan compile(OffsetTable table) {
+        return compile(table, LayoutMode.FIXED);
+    }
+
+    /**
+     * Compiles a plan for an offset table in the given layout mode.
+     *
+     * <p>The offsets of the table are those of the maximum layout; a
+     * variable plan derives the actual offsets from them per record. Tables
+     * built from explicit entries have no groups and are always fixed.</p>
+     *
+     * @param table the offset table
+     * @param layoutMode how repeating groups are laid out
+     * @return the compiled plan
+     * @throws IllegalArgumentException if the layout exceeds 2 GB
+     * @throws ValidationException if a counter of a variable layout follows
+     *         a variable group in its element
+     */
+    public static DecodePlan compile(OffsetTable table, LayoutMode layoutMode) {
+        if (table.getTotalLength() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Message type '" + table.getMessageType()
+                    + "' is too long to decode: " + table.getTotalLength() + " bytes");
+        }
+
+        List<FieldSlot> slots = new ArrayList<>();
+        if (!table.getLayout().isEmpty()) {
+            for (OffsetLayout root : table.getLayout()) {
+                addSlots(root, null, 0, layoutMode == LayoutMode.VARIABLE, slots);
+            }
+        } else {
+            for (OffsetEntry entry : table.getEntries()) {
+                int offset = (int) entry.getOffset();
+                slots.add(new FieldSlot(slots.size(), entry.getFieldPath(), entry.getFieldPath(), null, null,
+                        0, offset, offset, entry.getLength(), entry.getLength(), 1, false, slots.size() + 1,
+                        -1, true, true));
+            }
+        }
+
+        return new DecodePlan(table.getMessageType(), layoutMode, (int) table.getTotalLength(),
+                slots.toArray(new FieldSlot[0]));
+    }
+
+    /**
+     * Appends the slots of a layout subtree in pre-order.
+     */
+    private static void addSlots(OffsetLayout node, FieldSlot parent, int elementStart, boolean variable,
+                                 List<FieldSlot> slots) {
+        int id = slots.size();
+        int counter = variable ? findCounter(node) : -1;
+        int counterId = -1;
+        if (counter >= 0) {
+            counterId = id + 1;
+            for (int c = 0; c < counter; c++) {
+                counterId += countNodes(node.getChildren().get(c));
+            }
+        }
+        int offset = (int) node.getOffset();
+        String path = parent == null || parent.getPath().isEmpty()
+                ? node.getName() : parent.getPath() + "." + node.getName();
+
+        FieldSlot slot = new FieldSlot(id, node.getName(), path, node.getField(), parent,
+                parent == null ? 0 : parent.getDepth() + 1, offset, elementStart + offset,
+                node.getLength(), (int) node.getStride(), node.getCount(), node.isGroup(),
+                id + countNodes(node), counterId, !variable || isFixedSize(node),
+                !variable || hasFixedSizeElements(node));
+        slots.add(slot);
+
+        for (OffsetLayout child : node.getChildren()) {
+            addSlots(child, slot, elementStart + offset, variable, slots);
+        }
+    }
+
+    /**
+     * Finds the transitory occurrenceCount child of a repeating group.
+     *
+     * @return the child index, or -1 if the node is not a repeating group with a counter
+     * @throws ValidationException if the counter follows a variable group
+     */
+    private static int findCounter(OffsetLayout node) {
+        if (!node.isGroup() || node.getCount() < 2) {
+            return -1;
+        }
+        List<OffsetLayout> children = node.getChildren();
+        for (int c = 0; c < children.size(); c++) {
+            OffsetLayout child = children.get(c);
+            FieldNode field = child.getField();
+            if (!child.isGroup() && child.getCount() == 1 && field != null && field.isTransitory()
+                    && field.getGroupId() == null && field.getOccurrenceCount() != null) {
+                // An empty first element is padded, so its counter must not depend on other counters
+                for (int p = 0; p < c; p++) {
+                    if (!isFixedSize(children.get(p))) {
+                        throw new ValidationException("Counter '" + child.getName() + "' of '" + node.getName()
+                                + "' follows a variable group; it must precede every variable group of the element");
+                    }
+                }
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a subtree contains no group with a counter.
+     */
+    private static boolean isFixedSize(OffsetLayout node) {
+        return findCounter(node) < 0 && hasFixedSizeElements(node);
+    }
+
+    /**
+     * Checks if no descendant of a node is a group with a counter.
+     */
+    private static boolean hasFixedSizeElements(OffsetLayout node) {
+        for (OffsetLayout child : node.getChildren()) {
+            if (!isFixedSize(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countNodes(OffsetLayout node) {
+        int count = 1;
+        for (OffsetLayout child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the message type identifier.
+     *
+     * @return the message type
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * Gets the layout mode the plan was compiled with.
+     *
+     * @return the layout mode
+     */
+    public LayoutMode getLayoutMode() {
+        return layoutMode;
+    }
+
+    /**
+     * Checks if record lengths and offsets depend on counter values, i.e.
+     * if the plan has at least one variable group.
+     *
+     * @return true for variable layouts
+     */
+    public boolean isVariable() {
+        return variable;
+    }
+
+    /**
+     * Gets the record length this plan decodes.
+     *
+     * <p>For variable plans this is the maximum length; see
+     * {@link MessageDecoder#recordLength(byte[], int, int)}.</p>
+     *
+     * @return the total length in bytes
+     */
+    public int getTotalLength() {
+        return totalLength;
+    }
+
+    /**
+     * Gets all slots in spec-tree (pre-)order.
+     *
+     * @return an unmodifiable list of slots
+     */
+    public List<FieldSlot> getSlots() {
+        return Collections.unmodifiableList(Arrays.asList(slots));
+    }
+
+    /**
+     * Gets the number of leaf field occurrences, counting every repetition.
+     *
+     * @return the occurrence count
+     */
+    public long getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    /**
+     * Gets the perfect-hash index of every indexed leaf path, building it on
+     * first use.
+     *
+     * <p>The index resolves a path such as {@code "createApp.domicleBranche"}
+     * to its offset and length with a single probe. It holds one entry per
+     * occurrence; plans of up to 65536 occurrences also use it for
+     * {@link #resolveOffset(String)} and the path lookups of
+     * {@link DecodedMessage} and {@link RecordWriter}. Offsets are those of
+     * the maximum layout.</p>
+     *
+     * @return the path index
+     * @throws IllegalArgumentException if the plan has too many occurrences to index
+     */
+    public PathIndex getPathIndex() {
+        PathIndex index = pathIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = pathIndex;
+                if (index == null) {
+                    index = PathIndex.build(this);
+                    pathIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the path index if the plan is small enough to index automatically.
+     *
+     * @return the index, or null
+     */
+    PathIndex pathIndex() {
+        return occurrenceCount <= MAX_INDEXED_OCCURRENCES ? getPathIndex() : null;
+    }
+
+    /**
+     * Finds a slot by its template path (without occurrence indices).
+     *
+     * @param path the template path, e.g. {@code "items.name"}
+     * @return the slot, or null if there is no such field
+     */
+    public FieldSlot findSlot(String path) {
+        return slotsByPath.get(path);
+    }
+
+    /**
+     * Resolves an indexed field path to the absolute offset of that occurrence.
+     *
+     * <p>Paths use the {@link OffsetEntry} notation, e.g.
+     * {@code "items[3].name"}. Fields that occur once take no index. For
+     * variable plans the offset is that of the maximum layout; use
+     * {@link DecodedMessage} to read fields of an actual record.</p>
+     *
+     * @param path the indexed path of a leaf field
+     * @return the absolute offset, or -1 if the path does not denote a leaf
+     *         occurrence of this plan
+     */
+    public int resolveOffset(String path) {
+        return resolve(path, null, null);
+    }
+
+    /**
+     * Resolves an indexed path, optionally returning the leaf slot and the
+     * occurrence indices.
+     *
+     * @param path the indexed path
+     * @param slotOut receives the slot at index 0 if not null
+     * @param indicesOut receives the occurrence index per slot depth if not null
+     * @return the absolute offset, or -1 if not resolvable
+     */
+    int resolve(String path, FieldSlot[] slotOut, int[] indicesOut) {
+        if (path == null) {
+            return -1;
+        }
+
+        PathIndex pathIndex = pathIndex();
+        if (pathIndex != null) {
+            int entry = pathIndex.find(path);
+            if (entry >= 0) {
+                if (slotOut != null) {
+                    slotOut[0] = pathIndex.getSlot(entry);
+                }
+                if (indicesOut != null) {
+                    pathIndex.fillIndices(entry, indicesOut);
+                }
+                return pathIndex.getOffset(entry);
+            }
+            // Not a canonical path; parsing below still accepts e.g. leading zeros in indices
+        }
+
+        // Split "a[1].b[2].c" into template "a.b.c" and indices [1, 2]
+        StringBuilder template = null;
+        int[] indices = null;
+        int indexCount = 0;
+        int segmentStart = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) != '[') {
+                continue;
+            }
+            int close = path.indexOf(']', i);
+            if (close < 0) {
+                return -1;
+            }
+            int index = parseIndex(path, i + 1, close);
+            if (index < 0) {
+                return -1;
+            }
+            if (template == null) {
+                template = new StringBuilder(path.length());
+                indices = new int[maxDepth + 1];
+            }
+            if (indexCount == indices.length) {
+                return -1;
+            }
+            template.append(path, segmentStart, i);
+            indices[indexCount++] = index;
+            segmentStart = close + 1;
+            i = close;
+        }
+
+        FieldSlot slot;
+        if (template == null) {
+            slot = slotsByPath.get(path);
+        } else {
+            template.append(path, segmentStart, path.length());
+            slot = slotsByPath.get(template.toString());
+        }
+        if (slot == null || slot.isGroup()) {
+            return -1;
+        }
+
+        // Walk the ancestor chain from the leaf up, consuming indices from the end
+        int offset = slot.getAbsoluteOffset();
+        int next = indexCount;
+        for (FieldSlot s = slot; s != null; s = s.getParent()) {
+            int index = 0;
+            if (s.getCount() > 1) {
+                if (next == 0) {
+                    return -1;
+                }
+                index = indices[--next];
+                if (index >= s.getCount()) {
+                    return -1;
+                }
+                offset += index * s.getStride();
+            }
+            if (indicesOut != null) {
+                indicesOut[s.getDepth()] = index;
+            }
+        }
+        if (next != 0) {
+            return -1;
+        }
+
+        if (slotOut != null) {
+            slotOut[0] = slot;
+        }
+        return offset;
+    }
+
+    private static int parseIndex(String path, int from, int to) {
+        if (from == to || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Gets the slot array for decoding loops.
+     */
+    FieldSlot[] slots() {
+        return slots;
+    }
+
+    /**
+     * Gets the deepest slot depth.
+     */
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodePlan{" +
+                "messageType='" + messageType + '\'' +
+                ", layoutMode=" + layoutMode +
+                ", totalLength=" + totalLength +
+                ", slots=" + slots.length +
+                '}';
+    }
+}
@@ -0,0 +1,194 @@
+package com.rtm.mq.tool.codec;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map-style, lazily decoded view of one record.
+ *
+ * <p>Fields are addressed by their indexed path in {@code OffsetEntry}
+ * notation, e.g. {@code "items[3].name"}. Each lookup resolves the path
+ * against the plan and decodes only that field; fields that are never looked
+ * up cost nothing. Paths are resolved through the plan's {@link PathIndex},
+ * a single hash probe per lookup. {@link #toMap()} decodes every field at
+ * once.</p>
+ *
+ * <p>In a variable record, elements beyond a group's counter value are
+ * absent: lookups of their fields return null.</p>
+ *
+ * <p>Instances are created by {@link MessageDecoder#wrap(byte[])} and read
+ * directly from the wrapped record. They are not thread-safe.</p>
+ */
+public final class DecodedMessage {
+
+    private final MessageDecoder decoder;
+    private final DecodePlan plan;
+    private final byte[] array;
+    private final int base;
+    private final ByteBuffer buffer;
+    private final FieldSlot[] slotHolder = new FieldSlot[1];
+    private FieldValue peeked;
+
+    DecodedMessage(MessageDecoder decoder, byte[] array, int base, ByteBuffer buffer) {
+        this.decoder = decoder;
+        this.plan = decoder.getPlan();
+        this.array = array;
+        this.base = base;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Gets the plan used to decode this message.
+     *
+     * @return the decode plan
+     */
+    public DecodePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Checks if the path denotes a leaf field occurrence of this message.
+     *
+     * @param path the indexed field path
+     * @return true if the field exists
+     */
+    public boolean contains(String path) {
+        return plan.isVariable() ? getField(path) != null : plan.resolveOffset(path) >= 0;
+    }
+
+    /**
+     * Gets a view of one field occurrence.
+     *
+     * <p>Unlike the visitor API, every call returns a new view that may be
+     * retained.</p>
+     *
+     * @param path the indexed field path
+     * @return the field view, or null if there is no such field
+     */
+    public FieldValue getField(String path) {
+        FieldValue value = new FieldValue(plan.maxDepth(), decoder.getCodePage());
+        bind(value);
+        return bindField(value, path) ? value : null;
+    }
+
+    /**
+     * Gets a reusable view of one field occurrence.
+     *
+     * <p>The same instance is re-bound by every call, so nothing is allocated;
+     * use {@link #getField(String)} for a view that may be retained.</p>
+     *
+     * @param path the indexed field path
+     * @return the field view, valid until the next call, or null if there is no such field
+     */
+    public FieldValue peek(String path) {
+        FieldValue value = peeked;
+        if (value == null) {
+            value = new FieldValue(plan.maxDepth(), decoder.getCodePage());
+            bind(value);
+            peeked = value;
+        }
+        return bindField(value, path) ? value : null;
+    }
+
+    /**
+     * Binds a value already bound to this record to the occurrence of a path.
+     *
+     * @return false if there is no such field, or a variable record holds
+     *         fewer elements
+     */
+    private boolean bindField(FieldValue value, String path) {
+        int offset = plan.resolve(path, slotHolder, value.indices());
+        if (offset < 0) {
+            return false;
+        }
+        FieldSlot slot = slotHolder[0];
+        if (plan.isVariable()) {
+            offset = decoder.locate(value, slot, value.indices());
+            if (offset < 0) {
+                return false;
+            }
+        }
+        value.bindField(slot, offset);
+        return true;
+    }
+
+    /**
+     * Decodes one field including padding.
+     *
+     * @param path the indexed field path
+     * @return the raw value, or null if there is no such field
+     */
+    public String getString(String path) {
+        FieldValue value = peek(path);
+        return value != null ? value.getString() : null;
+    }
+
+    /**
+     * Decodes one field without leading and trailing spaces.
+     *
+     * @param path the indexed field path
+     * @return the trimmed value, or null if there is no such field
+     */
+    public String getTrimmedString(String path) {
+        FieldValue value = peek(path);
+        return value != null ? value.getTrimmedString() : null;
+    }
+
+    /**
+     * Parses one field as a signed decimal integer.
+     *
+     * @param path the indexed field path
+     * @return the value
+     * @throws IllegalArgumentException if there is no such field
+     * @throws NumberFormatException if the field is not numeric
+     */
+    public long getLong(String path) {
+        FieldValue value = peek(path);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown field '" + path + "' in '" + plan.getMessageType() + "'");
+        }
+        return value.getLong();
+    }
+
+    /**
+     * Parses one field as a decimal number in display format.
+     *
+     * @param path the indexed field path
+     * @return the value
+     * @throws IllegalArgumentException if there is no such field
+     * @throws NumberFormatException if the field is not a decimal number
+     */
+    public BigDecimal getDecimal(String path) {
+        FieldValue value = peek(path);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown field '" + path + "' in '" + plan.getMessageType() + "'");
+        }
+        return value.getDecimal();
+    }
+
+    /**
+     * Decodes every field into a map of indexed path to raw value.
+     *
+     * @return a new map in spec-tree order
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> values = new LinkedHashMap<>();
+        FieldVisitor collector = value -> values.put(value.getPath(), value.getString());
+        if (array != null) {
+            decoder.decode(array, base, array.length - base, collector);
+        } else {
+            decoder.decode(buffer, collector);
+        }
+        return values;
+    }
+
+    private void bind(FieldValue value) {
+        if (array != null) {
+            value.bindRecord(array, base);
+        } else {
+            value.bindRecord(buffer);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.generator.xml.ConverterMapper;
+import com.rtm.mq.tool.model.FieldNode;
+
+/**
+ * One distinct field of a compiled {@link DecodePlan}.
+ *
+ * <p>A slot describes a field once, however often it repeats: the offset of
+ * its first occurrence, the stride between occurrences and the occurrence
+ * count. Group slots (containers) occupy no bytes themselves; their children
+ * follow them directly in the plan's slot order.</p>
+ *
+ * <p>This class is immutable.</p>
+ */
+public final class FieldSlot {
+
+    private static final ConverterMapper CONVERTERS = new ConverterMapper();
+
+    private final int id;
+    private final String name;
+    private final String path;
+    private final FieldNode field;
+    private final FieldSlot parent;
+    private final int depth;
+    private final int offset;
+    private final int absoluteOffset;
+    private final int length;
+    private final int stride;
+    private final int count;
+    private final boolean group;
+    private final int end;
+    private final int counterId;
+    private final boolean fixedSize;
+    private final boolean fixedSizeElements;
+    private final boolean nls;
+
+    FieldSlot(int id, String name, String path, FieldNode field, FieldSlot parent, int depth,
+              int offset, int absoluteOffset, int length, int stride, int count, boolean group, int end,
+              int counterId, boolean fixedSize, boolean fixedSizeElements) {
+        this.id = id;
+        this.name = name;
+        this.path = path;
+        this.field = field;
+        this.parent = parent;
+        this.depth = depth;
+        this.offset = offset;
+        this.absoluteOffset = absoluteOffset;
+        this.length = length;
+        this.stride = stride;
+        this.count = count;
+        this.group = group;
+        this.end = end;
+        this.counterId = counterId;
+        this.fixedSize = fixedSize;
+        this.fixedSizeElements = fixedSizeElements;
+        this.nls = field != null && !group
+                && ConverterMapper.NLS_CONVERTER.equals(CONVERTERS.getConverter(field.getDataType()));
+    }
+
+    /**
+     * Gets the position of this slot in the plan's slot order.
+     *
+     * @return the slot id (0-based)
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the field name (path segment).
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the path of this field without occurrence indices.
+     *
+     * <p>For example {@code "items.name"} for every {@code "items[i].name"}.</p>
+     *
+     * @return the template path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the source field node.
+     *
+     * @return the field node, or null if the plan was compiled from bare entries
+     */
+    public FieldNode getField() {
+        return field;
+    }
+
+    /**
+     * Gets the enclosing group slot.
+     *
+     * @return the parent slot, or null for root fields
+     */
+    public FieldSlot getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the depth of this slot (0 for root fields).
+     *
+     * @return the depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the offset of the first occurrence relative to the enclosing element.
+     *
+     * @return the relative offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the absolute offset of the first occurrence when every enclosing
+     * group is at its first element.
+     *
+     * @return the absolute offset
+     */
+    public int getAbsoluteOffset() {
+        return absoluteOffset;
+    }
+
+    /**
+     * Gets the length of one occurrence of a leaf.
+     *
+     * @return the length in bytes, or 0 for groups
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the distance between consecutive occurrences.
+     *
+     * @return the stride in bytes
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Gets the number of occurrences.
+     *
+     * @return the occurrence count (positive)
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Checks if this slot is a group.
+     *
+     * @return true for containers, false for leaf fields
+     */
+    public boolean isGroup() {
+        return group;
+    }
+
+    /**
+     * Checks if the occurrence count of this group is read from the record.
+     *
+     * <p>Only repeating groups of a {@link DecodePlan.LayoutMode#VARIABLE}
+     * plan that have a transitory occurrenceCount child are variable.</p>
+     *
+     * @return true if the count comes from the group's counter field
+     */
+    public boolean isVariable() {
+        return counterId >= 0;
+    }
+
+    /**
+     * Checks if this field is converted by {@code nlsStringFieldConverter}.
+     *
+     * <p>Such fields may hold SO/SI delimited double-byte text, which is
+     * decoded when the decoder uses a mixed {@link CodePage}.</p>
+     *
+     * @return true for NLS string fields
+     */
+    public boolean isNls() {
+        return nls;
+    }
+
+    /**
+     * Gets the slot id following this slot's subtree.
+     *
+     * @return the exclusive end of the subtree in slot order
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the slot id of the counter child of a variable group.
+     *
+     * @return the counter slot id, or -1 if the group is not variable
+     */
+    int getCounterId() {
+        return counterId;
+    }
+
+    /**
+     * Checks if every occurrence of this slot is at its maximum size, i.e.
+     * neither the slot nor any descendant is a variable group.
+     */
+    boolean isFixedSize() {
+        return fixedSize;
+    }
+
+    /**
+     * Checks if every element of this slot is at its maximum size, i.e. no
+     * descendant is a variable group. The slot itself may be variable.
+     */
+    boolean hasFixedSizeElements() {
+        return fixedSizeElements;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldSlot{" +
+                "path='" + path + '\'' +
+                ", offset=" + offset +
+                ", length=" + length +
+                ", stride=" + stride +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,606 @@
+package com.rtm.mq.tool.codec;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Zero-copy view of one field occurrence inside a record.
+ *
+ * <p>A value refers to the record bytes by offset and length; nothing is
+ * copied or decoded until one of the accessors is called, and only
+ * {@link #getString()}, {@link #getTrimmedString()}, {@link #getPath()} and
+ * the {@code BigDecimal} accessors allocate. Numeric accessors parse
+ * display digits, zoned and packed decimal straight from the bytes. Bytes are interpreted in the decoder's {@link CodePage}
+ * (ISO-8859-1 by default) through its lookup tables; NLS fields
+ * ({@link FieldSlot#isNls()}) of a mixed code page are decoded with SO/SI
+ * double-byte support.</p>
+ *
+ * <p>During {@link MessageDecoder#decode(byte[], FieldVisitor)} a single
+ * instance is re-bound to every field in turn, so a visitor must not keep a
+ * reference to it beyond the callback. The instance is kept per thread and
+ * reused by later decode calls on the same decoder. Instances are not
+ * thread-safe.</p>
+ */
+public final class FieldValue {
+
+    private final int[] indices;
+    private final CodePage codePage;
+    private final byte space;
+    private char[] chars;
+    private byte[] bytes;
+    private byte[] array;
+    private ByteBuffer buffer;
+    private int base;
+    private FieldSlot slot;
+    private int offset;
+    private int parsedScale;
+    private boolean inUse;
+
+    FieldValue(int maxDepth, CodePage codePage) {
+        this.indices = new int[maxDepth + 1];
+        this.codePage = codePage;
+        this.space = codePage.getSpace();
+    }
+
+    /**
+     * Binds this value to a record held in an array.
+     */
+    void bindRecord(byte[] array, int base) {
+        this.array = array;
+        this.buffer = null;
+        this.base = base;
+    }
+
+    /**
+     * Binds this value to a record held in a buffer, from its position.
+     */
+    void bindRecord(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            bindRecord(buffer.array(), buffer.arrayOffset() + buffer.position());
+        } else {
+            this.array = null;
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+    }
+
+    /**
+     * Checks whether a decode call is using this value.
+     */
+    boolean isInUse() {
+        return inUse;
+    }
+
+    /**
+     * Marks this value as used or released by a decode call.
+     */
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
+    }
+
+    /**
+     * Binds this value to one field occurrence.
+     */
+    void bindField(FieldSlot slot, int offset) {
+        this.slot = slot;
+        this.offset = offset;
+    }
+
+    /**
+     * Gets the occurrence index array, indexed by slot depth.
+     */
+    int[] indices() {
+        return indices;
+    }
+
+    /**
+     * Gets the field slot.
+     *
+     * @return the slot of this occurrence
+     */
+    public FieldSlot getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the occurrence index of this field or an enclosing group.
+     *
+     * @param depth the slot depth (0 for root fields)
+     * @return the 0-based occurrence index at that depth
+     */
+    public int getIndex(int depth) {
+        return indices[depth];
+    }
+
+    /**
+     * Builds the indexed path of this occurrence, e.g. {@code "items[3].name"}.
+     *
+     * <p>The path matches {@code OffsetEntry.getFieldPath()}. It is built on
+     * every call.</p>
+     *
+     * @return the indexed path
+     */
+    public String getPath() {
+        StringBuilder sb = new StringBuilder(slot.getPath().length() + 8);
+        appendPath(sb, slot);
+        return sb.toString();
+    }
+
+    private void appendPath(StringBuilder sb, FieldSlot s) {
+        if (s.getParent() != null) {
+            appendPath(sb, s.getParent());
+        }
+        if (sb.length() > 0) {
+            sb.append('.');
+        }
+        sb.append(s.getName());
+        if (s.getCount() > 1) {
+            sb.append('[').append(indices[s.getDepth()]).append(']');
+        }
+    }
+
+    /**
+     * Gets the offset of this occurrence within the record.
+     *
+     * @return the 0-based offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the field length.
+     *
+     * @return the length in bytes
+     */
+    public int getLength() {
+        return slot.getLength();
+    }
+
+    /**
+     * Reads one byte of the field.
+     *
+     * @param index the 0-based index within the field
+     * @return the byte
+     */
+    public byte byteAt(int index) {
+        int position = base + offset + index;
+        return array != null ? array[position] : buffer.get(position);
+    }
+
+    /**
+     * Gets the code page the field is decoded with.
+     *
+     * @return the code page
+     */
+    public CodePage getCodePage() {
+        return codePage;
+    }
+
+    /**
+     * Checks if the field consists of spaces only.
+     *
+     * @return true if every byte is a space (also true for zero-length fields)
+     */
+    public boolean isBlank() {
+        int length = slot.getLength();
+        for (int i = 0; i < length; i++) {
+            if (byteAt(i) != space) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the field bytes with a character sequence, without decoding.
+     *
+     * @param value the expected value
+     * @return true if the field holds exactly these characters
+     */
+    public boolean contentEquals(CharSequence value) {
+        return regionEquals(0, slot.getLength(), value);
+    }
+
+    /**
+     * Compares the field, ignoring leading and trailing spaces, with a
+     * character sequence.
+     *
+     * @param value the expected value
+     * @return true if the trimmed field holds exactly these characters
+     */
+    public boolean trimmedContentEquals(CharSequence value) {
+        if (isMixed()) {
+            return getTrimmedString().contentEquals(value);
+        }
+        int start = trimStart();
+        return regionEquals(start, trimEnd(start), value);
+    }
+
+    private boolean regionEquals(int from, int to, CharSequence value) {
+        if (isMixed()) {
+            return decode(from, to).contentEquals(value);
+        }
+        if (to - from != value.length()) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (codePage.toChar(byteAt(i)) != value.charAt(i - from)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the field as a string, including padding.
+     *
+     * @return the raw field value
+     */
+    public String getString() {
+        return decode(0, slot.getLength());
+    }
+
+    /**
+     * Decodes the field as a string without leading and trailing spaces.
+     *
+     * @return the trimmed field value
+     */
+    public String getTrimmedString() {
+        if (isMixed()) {
+            // Double-byte text is trimmed after decoding; 0x40 may be part of a character
+            return getString().strip();
+        }
+        int start = trimStart();
+        return decode(start, trimEnd(start));
+    }
+
+    /**
+     * Decodes the field, including padding, into a character array.
+     *
+     * @param dest the destination, with room for {@link #getLength()} characters
+     * @param destOffset the destination offset
+     * @return the number of characters written
+     */
+    public int getChars(char[] dest, int destOffset) {
+        return decodeInto(0, slot.getLength(), dest, destOffset);
+    }
+
+    /**
+     * Appends the decoded field, including padding, to a builder.
+     *
+     * @param sb the builder
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        int length = slot.getLength();
+        char[] out = charBuffer(length);
+        return sb.append(out, 0, decodeInto(0, length, out, 0));
+    }
+
+    private String decode(int from, int to) {
+        if (codePage.isSameAsCharset() && array != null) {
+            return codePage.decode(array, base + offset + from, to - from);
+        }
+        if (codePage.isLatin1() && !isMixed()) {
+            int length = to - from;
+            byte[] scratch = byteBuffer(length);
+            if (array != null) {
+                return codePage.decode(array, base + offset + from, length, scratch);
+            }
+            buffer.get(base + offset + from, scratch, 0, length);
+            return codePage.decode(scratch, 0, length, scratch);
+        }
+        char[] out = charBuffer(to - from);
+        return new String(out, 0, decodeInto(from, to, out, 0));
+    }
+
+    private int decodeInto(int from, int to, char[] dest, int destOffset) {
+        int length = to - from;
+        byte[] source = array;
+        int start = base + offset + from;
+        if (source == null) {
+            source = byteBuffer(length);
+            buffer.get(start, source, 0, length);
+            start = 0;
+        }
+        return isMixed()
+                ? codePage.decodeMixed(source, start, length, dest, destOffset)
+                : codePage.decode(source, start, length, dest, destOffset);
+    }
+
+    private boolean isMixed() {
+        return slot.isNls() && codePage.isMixed();
+    }
+
+    private char[] charBuffer(int length) {
+        if (chars == null || chars.length < length) {
+            chars = new char[length];
+        }
+        return chars;
+    }
+
+    private byte[] byteBuffer(int length) {
+        if (bytes == null || bytes.length < length) {
+            bytes = new byte[length];
+        }
+        return bytes;
+    }
+
+    /**
+     * Parses the field as a signed decimal integer.
+     *
+     * <p>Leading and trailing spaces are ignored, as is a single leading
+     * {@code +} or {@code -}. No string is created.</p>
+     *
+     * @return the value
+     * @throws NumberFormatException if the field is blank, contains other
+     *         characters or overflows a long
+     */
+    public long getLong() {
+        return parseDisplay(0, false);
+    }
+
+    /**
+     * Parses the field as a decimal number in display format, e.g. {@code "-1234.50"}.
+     *
+     * <p>Leading and trailing spaces are ignored, as is a single leading
+     * {@code +} or {@code -}. The scale of the result is the number of digits
+     * after the decimal point. Values of up to 18 digits are built via
+     * {@link BigDecimal#valueOf(long, int)} without creating a string.</p>
+     *
+     * @return the value
+     * @throws NumberFormatException if the field is blank or not a decimal number
+     */
+    public BigDecimal getDecimal() {
+        int length = slot.getLength();
+        if (length > Decimals.MAX_LONG_DIGITS && countDigits(0, length) > Decimals.MAX_LONG_DIGITS) {
+            // Too many digits for a long; let BigDecimal parse the characters
+            int start = trimStart();
+            int end = trimEnd(start);
+            char[] out = charBuffer(end - start);
+            int n = decodeInto(start, end, out, 0);
+            for (int i = 0; i < n; i++) {
+                char c = out[i];
+                if ((c < '0' || c > '9') && c != '.' && c != '+' && c != '-') {
+                    throw new NumberFormatException("Invalid numeric field '" + slot.getPath() + "'");
+                }
+            }
+            return new BigDecimal(out, 0, n);
+        }
+        long unscaled = parseDisplay(-1, true);
+        return Decimals.toDecimal(unscaled, parsedScale);
+    }
+
+    /**
+     * Parses the field as a display decimal with an implied scale, see
+     * {@link #getUnscaled(int)}.
+     *
+     * @param scale the implied number of fraction digits
+     * @return the value
+     * @throws NumberFormatException if the field is blank, not a decimal
+     *         number, has non-zero digits beyond the scale or overflows
+     */
+    public BigDecimal getDecimal(int scale) {
+        return Decimals.toDecimal(getUnscaled(scale), scale);
+    }
+
+    /**
+     * Parses the field as a display decimal into an unscaled long.
+     *
+     * <p>Digits without a decimal point carry the implied scale, so
+     * {@code "0012345"} at scale 2 is 123.45. A decimal point may be present,
+     * in which case missing fraction digits are filled with zeros:
+     * {@code "123.4"} at scale 2 also yields 12340. Fraction digits beyond
+     * the scale are accepted only if they are zeros. No string is created.</p>
+     *
+     * @param scale the implied number of fraction digits
+     * @return the value times 10<sup>scale</sup>
+     * @throws NumberFormatException if the field is blank, not a decimal
+     *         number, has non-zero digits beyond the scale or overflows
+     */
+    public long getUnscaled(int scale) {
+        if (scale < 0 || scale > Decimals.MAX_LONG_DIGITS) {
+            throw new IllegalArgumentException("Scale out of range: " + scale);
+        }
+        return parseDisplay(scale, true);
+    }
+
+    /**
+     * Parses the field as packed decimal ({@code COMP-3}), see {@link Decimals}.
+     *
+     * @return the signed unscaled value
+     * @throws NumberFormatException if a nibble is invalid or the value overflows a long
+     */
+    public long getPacked() {
+        return Decimals.parsePacked(source(), sourceOffset(), slot.getLength(), slot.getPath());
+    }
+
+    /**
+     * Parses the field as packed decimal with an implied scale.
+     *
+     * @param scale the implied number of fraction digits
+     * @return the value
+     * @throws NumberFormatException if a nibble is invalid or the value overflows a long
+     */
+    public BigDecimal getPackedDecimal(int scale) {
+        return Decimals.toDecimal(getPacked(), scale);
+    }
+
+    /**
+     * Parses the field as zoned decimal, see {@link Decimals}.
+     *
+     * @return the signed unscaled value
+     * @throws NumberFormatException if a byte is invalid or the value overflows a long
+     */
+    public long getZoned() {
+        return Decimals.parseZoned(source(), sourceOffset(), slot.getLength(), slot.getPath());
+    }
+
+    /**
+     * Parses the field as zoned decimal with an implied scale.
+     *
+     * @param scale the implied number of fraction digits
+     * @return the value
+     * @throws NumberFormatException if a byte is invalid or the value overflows a long
+     */
+    public BigDecimal getZonedDecimal(int scale) {
+        return Decimals.toDecimal(getZoned(), scale);
+    }
+
+    /**
+     * Parses the display digits of the field, ignoring leading and trailing
+     * spaces, with an optional sign and - if allowed - decimal point.
+     *
+     * <p>With a scale of -1 the scale is taken from the digits after the
+     * point and left in {@link #parsedScale}; otherwise the result is
+     * scaled to the given scale.</p>
+     */
+    private long parseDisplay(int scale, boolean allowPoint) {
+        byte[] src = source();
+        int start = sourceOffset();
+        int end = start + slot.getLength();
+        while (start < end && src[start] == space) {
+            start++;
+        }
+        while (end > start && src[end - 1] == space) {
+            end--;
+        }
+        if (start == end) {
+            throw new NumberFormatException("Blank numeric field '" + slot.getPath() + "'");
+        }
+
+        boolean negative = false;
+        byte first = src[start];
+        if (first == codePage.getMinus() || first == codePage.getPlus()) {
+            negative = first == codePage.getMinus();
+            start++;
+        }
+
+        // Accumulate negatively so that Long.MIN_VALUE is representable
+        long result = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (int i = start; i < end; i++) {
+            byte b = src[i];
+            int digit = codePage.digitValue(b);
+            if (digit < 0) {
+                if (allowPoint && fraction < 0 && codePage.toChar(b) == '.') {
+                    fraction = 0;
+                    continue;
+                }
+                throw new NumberFormatException("Invalid numeric field '" + slot.getPath() + "'");
+            }
+            digits++;
+            if (fraction >= 0 && fraction == scale) {
+                // Fraction digits beyond the scale must be zeros
+                if (digit != 0) {
+                    throw new NumberFormatException("Field '" + slot.getPath() + "' has more than "
+                            + scale + " fraction digits");
+                }
+                continue;
+            }
+            if (result < Decimals.MULTIPLY_MIN || result * 10 < Long.MIN_VALUE + digit) {
+                throw new NumberFormatException("Numeric overflow in field '" + slot.getPath() + "'");
+            }
+            result = result * 10 - digit;
+            if (fraction >= 0) {
+                fraction++;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid numeric field '" + slot.getPath() + "'");
+        }
+
+        if (scale < 0) {
+            parsedScale = Math.max(fraction, 0);
+        } else if (fraction >= 0) {
+            long factor = Decimals.powerOfTen(scale - fraction);
+            if (result < Long.MIN_VALUE / factor) {
+                throw new NumberFormatException("Numeric overflow in field '" + slot.getPath() + "'");
+            }
+            result *= factor;
+        }
+
+        if (negative) {
+            return result;
+        }
+        if (result == Long.MIN_VALUE) {
+            throw new NumberFormatException("Numeric overflow in field '" + slot.getPath() + "'");
+        }
+        return -result;
+    }
+
+    private int countDigits(int start, int end) {
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            if (codePage.digitValue(byteAt(i)) >= 0) {
+                digits++;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Gets an array holding the field bytes, copying them for buffer-backed records.
+     */
+    private byte[] source() {
+        if (array != null) {
+            return array;
+        }
+        int length = slot.getLength();
+        byte[] scratch = byteBuffer(length);
+        buffer.get(base + offset, scratch, 0, length);
+        return scratch;
+    }
+
+    /**
+     * Gets the offset of the field in {@link #source()}.
+     */
+    private int sourceOffset() {
+        return array != null ? base + offset : 0;
+    }
+
+    /**
+     * Copies the field bytes.
+     *
+     * @param dest the destination array
+     * @param destOffset the destination offset
+     */
+    public void copyTo(byte[] dest, int destOffset) {
+        int length = slot.getLength();
+        if (array != null) {
+            System.arraycopy(array, base + offset, dest, destOffset, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                dest[destOffset + i] = byteAt(i);
+            }
+        }
+    }
+
+    private int trimStart() {
+        int length = slot.getLength();
+        int start = 0;
+        while (start < length && byteAt(start) == space) {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start) {
+        int end = slot.getLength();
+        while (end > start && byteAt(end - 1) == space) {
+            end--;
+        }
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldValue{" +
+                "path='" + (slot != null ? slot.getPath() : null) + '\'' +
+                ", offset=" + offset +
+                ", length=" + (slot != null ? slot.getLength() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.rtm.mq.tool.codec;
+
+/**
+ * Callback receiving the leaf field occurrences of a decoded record.
+ *
+ * <p>Fields are delivered in spec-tree order, with repeating groups expanded
+ * element by element.</p>
+ *
+ * @see MessageDecoder#decode(byte[], FieldVisitor)
+ */
+@FunctionalInterface
+public interface FieldVisitor {
+
+    /**
+     * Visits one field occurrence.
+     *
+     * <p>The value is only valid for the duration of the call.</p>
+     *
+     * @param value the field view
+     */
+    void visit(FieldValue value);
+}
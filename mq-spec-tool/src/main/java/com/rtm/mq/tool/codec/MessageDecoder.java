@@ -0,0 +1,407 @@
+package com.rtm.mq.tool.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decoder for fixed-length records described by a {@link DecodePlan}.
+ *
+ * <p>Two styles of access are offered:</p>
+ * <ul>
+ *   <li>Visitor - {@link #decode(byte[], FieldVisitor)} walks every leaf
+ *       field occurrence and hands the visitor a reusable, zero-copy
+ *       {@link FieldValue}; nothing is allocated for fields the visitor does
+ *       not read</li>
+ *   <li>Map - {@link #wrap(byte[])} returns a {@link DecodedMessage} that
+ *       resolves indexed paths on demand and decodes only the fields asked
+ *       for</li>
+ * </ul>
+ *
+ * <p>Records must be at least {@link DecodePlan#getTotalLength()} bytes long;
+ * trailing bytes are ignored. For variable plans the length follows from
+ * the counter fields (see {@link #recordLength(byte[], int, int)}); the
+ * decoder reads each counter as it reaches its group and shifts the offsets
+ * of everything after it, so a record is still decoded in a single pass
+ * over the plan. Text is decoded with the decoder's
+ * {@link CodePage}, ISO-8859-1 unless another is given, e.g.
+ * {@code CodePage.forCcsid(37)} for EBCDIC payloads. The decoder is
+ * thread-safe. Each thread re-binds one {@link FieldValue} for all of its
+ * decode calls, so decoding a record allocates nothing; a visitor that
+ * decodes another record on the same thread gets a fresh value.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * MessageDecoder decoder = new MessageDecoder(DecodePlan.compile("request", model.getRequest()));
+ * decoder.decode(payload, value -> {
+ *     if (!value.isBlank()) {
+ *         sink.accept(value.getPath(), value.getTrimmedString());
+ *     }
+ * });
+ * }</pre>
+ */
+public final class MessageDecoder {
+
+    private final DecodePlan plan;
+    private final CodePage codePage;
+    private final FieldSlot[] slots;
+
+    /** Per-thread value re-bound by every decode call on that thread. */
+    private final ThreadLocal<FieldValue> cursors;
+
+    /**
+     * Creates a decoder for ISO-8859-1 records.
+     *
+     * @param plan the decode plan
+     */
+    public MessageDecoder(DecodePlan plan) {
+        this(plan, CodePage.ISO_8859_1);
+    }
+
+    /**
+     * Creates a decoder for records in the given code page.
+     *
+     * @param plan the decode plan
+     * @param codePage the code page of the records
+     */
+    public MessageDecoder(DecodePlan plan, CodePage codePage) {
+        this.plan = plan;
+        this.codePage = codePage;
+        this.slots = plan.slots();
+        this.cursors = ThreadLocal.withInitial(() -> new FieldValue(plan.maxDepth(), codePage));
+    }
+
+    /**
+     * Gets the plan this decoder executes.
+     *
+     * @return the decode plan
+     */
+    public DecodePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the code page records are decoded with.
+     *
+     * @return the code page
+     */
+    public CodePage getCodePage() {
+        return codePage;
+    }
+
+    /**
+     * Visits every leaf field occurrence of a record.
+     *
+     * @param record the record bytes, starting at index 0
+     * @param visitor the field visitor
+     * @throws IllegalArgumentException if the record is shorter than the plan
+     */
+    public void decode(byte[] record, FieldVisitor visitor) {
+        decode(record, 0, record.length, visitor);
+    }
+
+    /**
+     * Visits every leaf field occurrence of a record stored in an array slice.
+     *
+     * @param data the array holding the record
+     * @param offset the start of the record
+     * @param length the number of bytes available
+     * @param visitor the field visitor
+     * @throws IllegalArgumentException if the record is shorter than the plan
+     */
+    public void decode(byte[] data, int offset, int length, FieldVisitor visitor) {
+        FieldValue value = acquire();
+        try {
+            value.bindRecord(data, offset);
+            walkRecord(value, length, visitor);
+        } finally {
+            release(value);
+        }
+    }
+
+    /**
+     * Visits every leaf field occurrence of a record starting at the buffer's
+     * position. The buffer's position and limit are not changed.
+     *
+     * @param record the record buffer
+     * @param visitor the field visitor
+     * @throws IllegalArgumentException if fewer than the plan's length bytes remain
+     */
+    public void decode(ByteBuffer record, FieldVisitor visitor) {
+        FieldValue value = acquire();
+        try {
+            value.bindRecord(record);
+            walkRecord(value, record.remaining(), visitor);
+        } finally {
+            release(value);
+        }
+    }
+
+    /**
+     * Gets the length of a record stored in an array slice.
+     *
+     * <p>For fixed plans this is always {@link DecodePlan#getTotalLength()}.
+     * For variable plans only the counter fields are read. Records sent back
+     * to back can be split with this method.</p>
+     *
+     * @param data the array holding the record
+     * @param offset the start of the record
+     * @param length the number of bytes available
+     * @return the record length in bytes, possibly more than {@code length}
+     * @throws IllegalArgumentException if a counter is not numeric, exceeds
+     *         its maximum or lies beyond the available bytes
+     */
+    public int recordLength(byte[] data, int offset, int length) {
+        if (!plan.isVariable()) {
+            return plan.getTotalLength();
+        }
+        FieldValue value = acquire();
+        try {
+            value.bindRecord(data, offset);
+            return measure(value, length);
+        } finally {
+            release(value);
+        }
+    }
+
+    /**
+     * Gets the length of a record starting at the buffer's position.
+     *
+     * @param record the record buffer
+     * @return the record length in bytes
+     * @throws IllegalArgumentException if a counter is not numeric, exceeds
+     *         its maximum or lies beyond the remaining bytes
+     * @see #recordLength(byte[], int, int)
+     */
+    public int recordLength(ByteBuffer record) {
+        if (!plan.isVariable()) {
+            return plan.getTotalLength();
+        }
+        FieldValue value = acquire();
+        try {
+            value.bindRecord(record);
+            return measure(value, record.remaining());
+        } finally {
+            release(value);
+        }
+    }
+
+    /**
+     * Wraps a record for path-based access.
+     *
+     * @param record the record bytes, starting at index 0
+     * @return the lazily decoded message
+     * @throws IllegalArgumentException if the record is shorter than the plan
+     */
+    public DecodedMessage wrap(byte[] record) {
+        checkLength(recordLength(record, 0, record.length), record.length);
+        return new DecodedMessage(this, record, 0, null);
+    }
+
+    /**
+     * Wraps a record starting at the buffer's position for path-based access.
+     *
+     * <p>The message reads through the buffer; the caller must not modify or
+     * reuse it while the message is in use.</p>
+     *
+     * @param record the record buffer
+     * @return the lazily decoded message
+     * @throws IllegalArgumentException if fewer than the plan's length bytes remain
+     */
+    public DecodedMessage wrap(ByteBuffer record) {
+        checkLength(recordLength(record), record.remaining());
+        return new DecodedMessage(this, null, 0, record.duplicate());
+    }
+
+    /**
+     * Takes this thread's value, or a new one if a visitor on this thread is
+     * already decoding with it.
+     */
+    private FieldValue acquire() {
+        FieldValue value = cursors.get();
+        if (value.isInUse()) {
+            return new FieldValue(plan.maxDepth(), codePage);
+        }
+        value.setInUse(true);
+        return value;
+    }
+
+    /**
+     * Unbinds a value from its record, so the thread does not keep the record alive.
+     */
+    private void release(FieldValue value) {
+        value.bindRecord(null, 0);
+        value.setInUse(false);
+    }
+
+    /**
+     * Checks the record length and visits every field of a bound record.
+     */
+    private void walkRecord(FieldValue value, int available, FieldVisitor visitor) {
+        if (plan.isVariable()) {
+            checkLength(measure(value, available), available);
+            walkVariable(0, slots.length, 0, value, visitor, available);
+        } else {
+            checkLength(plan.getTotalLength(), available);
+            walk(0, slots.length, 0, value, visitor);
+        }
+    }
+
+    /**
+     * Computes the length of a variable record from its counters.
+     */
+    private int measure(FieldValue value, int available) {
+        return plan.getTotalLength() - walkVariable(0, slots.length, 0, value, null, available);
+    }
+
+    /**
+     * Walks the slots in [from, to) for one element starting at {@code base}.
+     */
+    private void walk(int from, int to, int base, FieldValue value, FieldVisitor visitor) {
+        int[] indices = value.indices();
+        int i = from;
+        while (i < to) {
+            FieldSlot slot = slots[i];
+            int start = base + slot.getOffset();
+            int depth = slot.getDepth();
+            int count = slot.getCount();
+            int stride = slot.getStride();
+
+            if (slot.isGroup()) {
+                for (int k = 0; k < count; k++) {
+                    indices[depth] = k;
+                    walk(i + 1, slot.getEnd(), start + k * stride, value, visitor);
+                }
+            } else {
+                for (int k = 0; k < count; k++) {
+                    indices[depth] = k;
+                    value.bindField(slot, start + k * stride);
+                    visitor.visit(value);
+                }
+            }
+            i = slot.getEnd();
+        }
+    }
+
+    /**
+     * Walks the slots in [from, to) for one element of a variable layout
+     * starting at {@code base}.
+     *
+     * <p>Fixed-size subtrees are handed to {@link #walk}; only groups with a
+     * counter, and their ancestors, are walked here. With a null visitor the
+     * element is only measured and the occurrence indices are left alone.</p>
+     *
+     * @param limit the number of bytes available, for checking counter positions
+     * @return the number of bytes the element falls short of its maximum length
+     */
+    private int walkVariable(int from, int to, int base, FieldValue value, FieldVisitor visitor, int limit) {
+        int[] indices = value.indices();
+        int shrink = 0;
+        int i = from;
+        while (i < to) {
+            FieldSlot slot = slots[i];
+            if (slot.isFixedSize()) {
+                // Hand the whole run of fixed-size siblings to the fixed walk at once
+                int j = slot.getEnd();
+                while (j < to && slots[j].isFixedSize()) {
+                    j = slots[j].getEnd();
+                }
+                if (visitor != null) {
+                    walk(i, j, base - shrink, value, visitor);
+                }
+                i = j;
+                continue;
+            }
+
+            int start = base + slot.getOffset() - shrink;
+            int stride = slot.getStride();
+            int count = slot.isVariable() ? readCount(slot, start, value, limit) : slot.getCount();
+            // A count of 0 still leaves the padded first element holding the counter
+            int used = count == 0 ? stride : count * stride;
+            if (slot.hasFixedSizeElements()) {
+                if (visitor != null) {
+                    for (int k = 0; k < count; k++) {
+                        indices[slot.getDepth()] = k;
+                        walk(i + 1, slot.getEnd(), start + k * stride, value, visitor);
+                    }
+                }
+            } else {
+                int offset = start;
+                for (int k = 0; k < count; k++) {
+                    if (visitor != null) {
+                        indices[slot.getDepth()] = k;
+                    }
+                    offset += stride - walkVariable(i + 1, slot.getEnd(), offset, value, visitor, limit);
+                }
+                used = count == 0 ? stride : offset - start;
+            }
+            shrink += slot.getCount() * stride - used;
+            i = slot.getEnd();
+        }
+        return shrink;
+    }
+
+    /**
+     * Reads the occurrence count of a variable group from the counter of its
+     * first element.
+     */
+    private int readCount(FieldSlot group, int start, FieldValue value, int limit) {
+        FieldSlot counter = slots[group.getCounterId()];
+        int offset = start + counter.getOffset();
+        if (offset + counter.getLength() > limit) {
+            throw new IllegalArgumentException("Record too short for '" + plan.getMessageType()
+                    + "': counter of '" + group.getPath() + "' ends at " + (offset + counter.getLength())
+                    + ", got " + limit + " bytes");
+        }
+        value.bindField(counter, offset);
+        long count = value.isBlank() ? 0 : value.getLong();
+        if (count < 0 || count > group.getCount()) {
+            throw new IllegalArgumentException("Occurrence count " + count + " of '" + group.getPath()
+                    + "' is outside 0.." + group.getCount());
+        }
+        return (int) count;
+    }
+
+    /**
+     * Finds an occurrence in a variable record.
+     *
+     * <p>The preceding variable siblings of the slot and of each ancestor are
+     * measured from their counters; fixed-size siblings cost nothing.</p>
+     *
+     * @param value a value bound to the record; it is re-bound while counters are read
+     * @param slot the slot
+     * @param indices the occurrence index per slot depth
+     * @return the offset of the occurrence (for groups, of the indexed
+     *         element), or -1 if the record holds fewer elements
+     */
+    int locate(FieldValue value, FieldSlot slot, int[] indices) {
+        FieldSlot parent = slot.getParent();
+        int base = parent == null ? 0 : locate(value, parent, indices);
+        if (base < 0) {
+            return -1;
+        }
+        int first = parent == null ? 0 : parent.getId() + 1;
+        int start = base + slot.getOffset()
+                - walkVariable(first, slot.getId(), base, value, null, Integer.MAX_VALUE);
+
+        int index = indices[slot.getDepth()];
+        int stride = slot.getStride();
+        int count = slot.isVariable() ? readCount(slot, start, value, Integer.MAX_VALUE) : slot.getCount();
+        if (index >= count) {
+            return -1;
+        }
+        if (slot.isFixedSize()) {
+            return start + index * stride;
+        }
+        int offset = start;
+        for (int k = 0; k < index; k++) {
+            offset += stride - walkVariable(slot.getId() + 1, slot.getEnd(), offset, value, null, Integer.MAX_VALUE);
+        }
+        return offset;
+    }
+
+    private void checkLength(int required, int available) {
+        if (available < required) {
+            throw new IllegalArgumentException("Record too short for '" + plan.getMessageType()
+                    + "': expected " + required + " bytes, got " + available);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.generator.xml.XmlTypeMapper;
+import com.rtm.mq.tool.model.FieldNode;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Encoder producing fixed-length records described by a {@link DecodePlan}.
+ *
+ * <p>Padding, justification and default values are taken from the
+ * attributes {@link XmlTypeMapper} assigns to each field for the outbound
+ * converter XML ({@code pad} or {@code nullPad}, {@code alignRight},
+ * {@code defaultValue}), which gives:</p>
+ * <ul>
+ *   <li>Transitory groupId fields - left-justified, space padded, defaulting
+ *       to the group id</li>
+ *   <li>Transitory occurrenceCount fields ({@code counterFieldConverter}) -
+ *       right-justified, zero padded, defaulting to the fixed count</li>
+ *   <li>Numeric fields ({@code Number}, {@code N}, {@code Unsigned Integer}) -
+ *       right-justified, zero padded</li>
+ *   <li>All other fields, including amounts - left-justified, space padded</li>
+ * </ul>
+ *
+ * <p>A default value of {@code BLANK} leaves the field filled with padding.</p>
+ *
+ * <p>Amounts may be written as display decimals ({@link RecordWriter#setDecimal}),
+ * with an implied scale, or as zoned or packed decimal
+ * ({@link RecordWriter#setZoned}, {@link RecordWriter#setPacked}); digits
+ * and nibbles are written straight into the record.</p>
+ *
+ * <p>A template record holding every default value (and padding for fields
+ * without one) is built once. A new record starts as a copy of the
+ * template in a buffer taken from a {@link BufferPool}; setting a field
+ * writes characters or digits straight into that buffer, without creating a
+ * string per field. Characters are written as ISO-8859-1 bytes; unmappable
+ * characters become {@code '?'}.</p>
+ *
+ * <p>The encoder is immutable and thread-safe; the {@link RecordWriter}s it
+ * creates are not.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * MessageEncoder encoder = new MessageEncoder(DecodePlan.compile("request", model.getRequest()));
+ * try (RecordWriter record = encoder.newRecord()) {
+ *     record.set("createApp.domicleBranche", branch);
+ *     record.setLong("productDel[0].occurenceCount", 1);
+ *     record.writeTo(out);
+ * }
+ * }</pre>
+ */
+public final class MessageEncoder {
+
+    private static final byte SPACE = ' ';
+    private static final int DEFAULT_MAX_POOLED = 64;
+
+    /** Padding, alignment and defaults do not depend on the project settings. */
+    private static final XmlTypeMapper TYPE_MAPPER = new XmlTypeMapper(defaultConfig());
+
+    private final DecodePlan plan;
+    private final BufferPool pool;
+    private final byte[] padBytes;
+    private final boolean[] rightAligned;
+    private final byte[] template;
+
+    /**
+     * Creates an encoder with its own buffer pool.
+     *
+     * @param plan the record layout
+     * @throws IllegalArgumentException if the plan is variable or a default
+     *         value does not fit its field
+     */
+    public MessageEncoder(DecodePlan plan) {
+        this(plan, new BufferPool(plan.getTotalLength(), DEFAULT_MAX_POOLED));
+    }
+
+    /**
+     * Creates an encoder drawing record buffers from the given pool.
+     *
+     * @param plan the record layout
+     * @param pool the buffer pool; its buffer size must equal the record length
+     * @throws IllegalArgumentException if the plan is variable, the pool does
+     *         not match or a default value does not fit its field
+     */
+    public MessageEncoder(DecodePlan plan, BufferPool pool) {
+        if (plan.isVariable()) {
+            throw new IllegalArgumentException("Cannot encode variable layout of '" + plan.getMessageType()
+                    + "'; compile the plan in FIXED mode");
+        }
+        if (pool.getBufferSize() != plan.getTotalLength()) {
+            throw new IllegalArgumentException("Buffer pool size " + pool.getBufferSize()
+                    + " does not match record length " + plan.getTotalLength());
+        }
+        this.plan = plan;
+        this.pool = pool;
+
+        FieldSlot[] slots = plan.slots();
+        this.padBytes = new byte[slots.length];
+        this.rightAligned = new boolean[slots.length];
+        String[] defaults = new String[slots.length];
+        for (FieldSlot slot : slots) {
+            FieldNode node = slot.getField();
+            padBytes[slot.getId()] = SPACE;
+            if (node == null || slot.isGroup()) {
+                continue;
+            }
+            Map<String, String> attributes = TYPE_MAPPER.map(node).getAttributes();
+            rightAligned[slot.getId()] = "true".equals(attributes.get("alignRight"));
+            padBytes[slot.getId()] = padByte(attributes);
+            defaults[slot.getId()] = getDefault(node, attributes);
+        }
+
+        this.template = new byte[plan.getTotalLength()];
+        fillTemplate(slots, 0, slots.length, 0, defaults);
+    }
+
+    private static Config defaultConfig() {
+        Config config = new Config();
+        config.setDefaults();
+        return config;
+    }
+
+    /**
+     * Gets the padding byte of a field: its {@code pad}, else its
+     * {@code nullPad}, else a space.
+     */
+    private static byte padByte(Map<String, String> attributes) {
+        String pad = attributes.get("pad");
+        if (pad == null || pad.isEmpty()) {
+            pad = attributes.get("nullPad");
+        }
+        return pad == null || pad.isEmpty() ? SPACE : (byte) pad.charAt(0);
+    }
+
+    /**
+     * Gets the template value of a field; group ids and counts are written as they are.
+     */
+    private static String getDefault(FieldNode node, Map<String, String> attributes) {
+        String value = attributes.get("defaultValue");
+        return !node.isTransitory() && "BLANK".equalsIgnoreCase(value) ? null : value;
+    }
+
+    /**
+     * Writes every field occurrence of [from, to) for one element into the template.
+     */
+    private void fillTemplate(FieldSlot[] slots, int from, int to, int base, String[] defaults) {
+        int i = from;
+        while (i < to) {
+            FieldSlot slot = slots[i];
+            int start = base + slot.getOffset();
+            for (int k = 0; k < slot.getCount(); k++) {
+                int offset = start + k * slot.getStride();
+                if (slot.isGroup()) {
+                    fillTemplate(slots, i + 1, slot.getEnd(), offset, defaults);
+                } else {
+                    String value = defaults[slot.getId()];
+                    writeText(template, slot, offset, value != null ? value : "");
+                }
+            }
+            i = slot.getEnd();
+        }
+    }
+
+    /**
+     * Gets the record layout.
+     *
+     * @return the plan
+     */
+    public DecodePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the pool record buffers are taken from.
+     *
+     * @return the buffer pool
+     */
+    public BufferPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Starts a new record initialized with the default values.
+     *
+     * <p>The writer must be closed to return its buffer to the pool.</p>
+     *
+     * @return the record writer
+     */
+    public RecordWriter newRecord() {
+        byte[] buffer = pool.acquire();
+        System.arraycopy(template, 0, buffer, 0, template.length);
+        return new RecordWriter(this, buffer);
+    }
+
+    /**
+     * Encodes a record from a map of indexed field paths to values.
+     *
+     * <p>Values may be character sequences, integral numbers (written as
+     * decimal digits), {@link BigDecimal}s (written in plain notation) or
+     * null (padding). Other objects are written via {@code toString()}.
+     * Fields not in the map keep their default value.</p>
+     *
+     * @param values the field values by indexed path
+     * @return a new array holding the record
+     * @throws IllegalArgumentException if a path is unknown or a value does not fit
+     */
+    public byte[] encode(Map<String, ?> values) {
+        try (RecordWriter record = newRecord()) {
+            for (Map.Entry<String, ?> entry : values.entrySet()) {
+                record.setValue(entry.getKey(), entry.getValue());
+            }
+            return record.toByteArray();
+        }
+    }
+
+    /**
+     * Returns a record buffer to the pool.
+     */
+    void release(byte[] buffer) {
+        pool.release(buffer);
+    }
+
+    /**
+     * Writes a text value, justified and padded, into a field occurrence.
+     */
+    void writeText(byte[] buffer, FieldSlot slot, int offset, CharSequence value) {
+        int length = slot.getLength();
+        int n = value.length();
+        if (n > length) {
+            throw new IllegalArgumentException("Value of " + n + " characters does not fit field '"
+                    + slot.getPath() + "' of length " + length);
+        }
+
+        byte pad = padBytes[slot.getId()];
+        int start = rightAligned[slot.getId()] ? offset + length - n : offset;
+        for (int i = offset; i < start; i++) {
+            buffer[i] = pad;
+        }
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            buffer[start + i] = c <= 0xff ? (byte) c : (byte) '?';
+        }
+        for (int i = start + n; i < offset + length; i++) {
+            buffer[i] = pad;
+        }
+    }
+
+    /**
+     * Writes a decimal integer, justified and padded, into a field occurrence.
+     *
+     * <p>For zero-padded fields a minus sign precedes the padding.</p>
+     */
+    void writeLong(byte[] buffer, FieldSlot slot, int offset, long value) {
+        writeDecimal(buffer, slot, offset, value, 0);
+    }
+
+    /**
+     * Writes a decimal number in plain notation, justified and padded, into a
+     * field occurrence.
+     *
+     * <p>Numbers of up to 18 digits are written digit by digit; larger ones
+     * fall back to {@link BigDecimal#toPlainString()}.</p>
+     */
+    void writeDecimal(byte[] buffer, FieldSlot slot, int offset, BigDecimal value) {
+        // Plain notation of a negative scale is an integer
+        BigDecimal plain = value.scale() < 0 ? value.setScale(0) : value;
+        if (plain.scale() <= Decimals.MAX_LONG_DIGITS && plain.precision() <= Decimals.MAX_LONG_DIGITS) {
+            writeDecimal(buffer, slot, offset, plain.unscaledValue().longValue(), plain.scale());
+        } else {
+            writeText(buffer, slot, offset, plain.toPlainString());
+        }
+    }
+
+    /**
+     * Writes an unscaled value in plain notation, justified and padded, into a
+     * field occurrence; e.g. 12345 at scale 2 is written as {@code "123.45"}.
+     *
+     * <p>For zero-padded fields a minus sign precedes the padding.</p>
+     */
+    void writeDecimal(byte[] buffer, FieldSlot slot, int offset, long unscaled, int scale) {
+        int length = slot.getLength();
+        boolean negative = unscaled < 0;
+        int digits = 1;
+        for (long v = unscaled / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        // At least one digit before the point
+        digits = Math.max(digits, scale + 1);
+        int n = digits + (scale > 0 ? 1 : 0) + (negative ? 1 : 0);
+        if (n > length) {
+            throw new IllegalArgumentException("Value " + Decimals.toDecimal(unscaled, scale).toPlainString()
+                    + " does not fit field '" + slot.getPath() + "' of length " + length);
+        }
+
+        byte pad = padBytes[slot.getId()];
+        boolean right = rightAligned[slot.getId()];
+        int end = right ? offset + length : offset + n;
+        for (int i = end; i < offset + length; i++) {
+            buffer[i] = pad;
+        }
+
+        // Digits from the right; negating each remainder keeps Long.MIN_VALUE exact
+        long v = unscaled;
+        int pos = end;
+        for (int i = 0; i < digits; i++) {
+            if (i == scale && scale > 0) {
+                buffer[--pos] = '.';
+            }
+            int digit = (int) (v % 10);
+            buffer[--pos] = (byte) ('0' + (digit < 0 ? -digit : digit));
+            v /= 10;
+        }
+        for (int i = offset; i < pos; i++) {
+            buffer[i] = pad;
+        }
+        if (negative) {
+            buffer[right ? offset : pos - 1] = '-';
+        }
+    }
+
+    /**
+     * Writes a packed decimal ({@code COMP-3}) into a field occurrence.
+     */
+    void writePacked(byte[] buffer, FieldSlot slot, int offset, long unscaled) {
+        Decimals.writePacked(buffer, offset, slot.getLength(), unscaled, slot.getPath());
+    }
+
+    /**
+     * Writes a zoned decimal into a field occurrence.
+     */
+    void writeZoned(byte[] buffer, FieldSlot slot, int offset, long unscaled) {
+        Decimals.writeZoned(buffer, offset, slot.getLength(), unscaled, slot.getPath());
+    }
+
+    /**
+     * Fills a field occurrence with its padding.
+     */
+    void writePadding(byte[] buffer, FieldSlot slot, int offset) {
+        byte pad = padBytes[slot.getId()];
+        for (int i = offset; i < offset + slot.getLength(); i++) {
+            buffer[i] = pad;
+        }
+    }
+}
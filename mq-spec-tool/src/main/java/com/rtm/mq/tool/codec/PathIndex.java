@@ -0,0 +1,265 @@
+package com.rtm.mq.tool.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash index from the indexed path of every leaf field occurrence of a
+ * {@link DecodePlan} to its offset and length.
+ *
+ * <p>Paths use the {@code OffsetEntry} notation, e.g.
+ * {@code "createApp.domicleBranche"} or {@code "items[3].name"}. The index
+ * holds one entry per occurrence, so a lookup is a hash probe and one
+ * string comparison - no path parsing, no ancestor walk and no allocation.
+ * It is built once per plan (see {@link DecodePlan#getPathIndex()}) and is
+ * immutable and thread-safe.</p>
+ *
+ * <p>Entries live in flat parallel arrays, open-addressed with linear
+ * probing at a load factor of at most one half. The hash is
+ * {@link String#hashCode()}, which strings cache, and is stored per entry
+ * so that a probe compares characters only on a full hash match. Unlike a
+ * {@code HashMap} there is no node to dereference, and an entry number is
+ * a plain array index.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * PathIndex index = plan.getPathIndex();
+ * int entry = index.find("createApp.domicleBranche");
+ * String branch = new String(payload, index.getOffset(entry), index.getLength(entry),
+ *         StandardCharsets.ISO_8859_1);
+ * }</pre>
+ */
+public final class PathIndex {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final DecodePlan plan;
+    private final int size;
+    private final int mask;
+    private final int[] hashes;
+    private final String[] paths;
+    private final FieldSlot[] slots;
+    private final int[] offsets;
+
+    private PathIndex(DecodePlan plan, int size, int[] hashes, String[] paths, FieldSlot[] slots, int[] offsets) {
+        this.plan = plan;
+        this.size = size;
+        this.mask = paths.length - 1;
+        this.hashes = hashes;
+        this.paths = paths;
+        this.slots = slots;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index of a plan.
+     *
+     * <p>Prefer {@link DecodePlan#getPathIndex()}, which builds the index once
+     * and keeps it with the plan.</p>
+     *
+     * @param plan the decode plan
+     * @return the index
+     * @throws IllegalArgumentException if the plan has more leaf occurrences
+     *         than an array can hold
+     */
+    public static PathIndex build(DecodePlan plan) {
+        long occurrences = plan.getOccurrenceCount();
+        if (occurrences > MAX_CAPACITY / 2) {
+            throw new IllegalArgumentException("Message type '" + plan.getMessageType() + "' has "
+                    + occurrences + " field occurrences, too many to index");
+        }
+
+        int n = (int) occurrences;
+        List<String> keys = new ArrayList<>(n);
+        List<FieldSlot> keySlots = new ArrayList<>(n);
+        int[] keyOffsets = new int[n];
+        FieldSlot[] planSlots = plan.slots();
+        expand(planSlots, 0, planSlots.length, 0, "", keys, keySlots, keyOffsets);
+
+        // A power of two of at least twice the entry count; at least one position always stays free
+        int capacity = Integer.highestOneBit(Math.max(1, n) * 2 - 1) << 1;
+        int mask = capacity - 1;
+        int[] hashes = new int[capacity];
+        String[] paths = new String[capacity];
+        FieldSlot[] slots = new FieldSlot[capacity];
+        int[] offsets = new int[capacity];
+        for (int k = 0; k < n; k++) {
+            String key = keys.get(k);
+            int hash = key.hashCode();
+            int position = spread(hash) & mask;
+            while (paths[position] != null) {
+                position = (position + 1) & mask;
+            }
+            hashes[position] = hash;
+            paths[position] = key;
+            slots[position] = keySlots.get(k);
+            offsets[position] = keyOffsets[k];
+        }
+        return new PathIndex(plan, n, hashes, paths, slots, offsets);
+    }
+
+    /**
+     * Appends the indexed path, slot and absolute offset of every leaf
+     * occurrence of [from, to) within one element, in record order.
+     */
+    private static void expand(FieldSlot[] slots, int from, int to, int base, String prefix,
+                               List<String> keys, List<FieldSlot> keySlots, int[] keyOffsets) {
+        int i = from;
+        while (i < to) {
+            FieldSlot slot = slots[i];
+            String path = prefix.isEmpty() ? slot.getName() : prefix + "." + slot.getName();
+            int start = base + slot.getOffset();
+            for (int k = 0; k < slot.getCount(); k++) {
+                String indexed = slot.getCount() > 1 ? path + "[" + k + "]" : path;
+                int offset = start + k * slot.getStride();
+                if (slot.isGroup()) {
+                    expand(slots, i + 1, slot.getEnd(), offset, indexed, keys, keySlots, keyOffsets);
+                } else {
+                    keyOffsets[keys.size()] = offset;
+                    keys.add(indexed);
+                    keySlots.add(slot);
+                }
+            }
+            i = slot.getEnd();
+        }
+    }
+
+    /**
+     * Folds the high bits of a hash into the low bits the mask keeps, as
+     * {@code HashMap} does; indexed paths often differ only near their end.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Finds the entry of an indexed path.
+     *
+     * @param path the indexed path of a leaf field occurrence
+     * @return the entry number, or -1 if the path is not in the index
+     */
+    public int find(String path) {
+        if (path == null) {
+            return -1;
+        }
+        int hash = path.hashCode();
+        int position = spread(hash) & mask;
+        String candidate;
+        while ((candidate = paths[position]) != null) {
+            if (hashes[position] == hash && path.equals(candidate)) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the plan this index was built from.
+     *
+     * @return the decode plan
+     */
+    public DecodePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the number of indexed paths.
+     *
+     * @return the leaf occurrence count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the indexed path of an entry.
+     *
+     * @param entry an entry number returned by {@link #find(String)}
+     * @return the path
+     */
+    public String getPath(int entry) {
+        return paths[entry];
+    }
+
+    /**
+     * Gets the slot of an entry.
+     *
+     * @param entry an entry number returned by {@link #find(String)}
+     * @return the leaf slot
+     */
+    public FieldSlot getSlot(int entry) {
+        return slots[entry];
+    }
+
+    /**
+     * Gets the absolute offset of an entry within the record.
+     *
+     * @param entry an entry number returned by {@link #find(String)}
+     * @return the 0-based offset
+     */
+    public int getOffset(int entry) {
+        return offsets[entry];
+    }
+
+    /**
+     * Gets the field length of an entry.
+     *
+     * @param entry an entry number returned by {@link #find(String)}
+     * @return the length in bytes
+     */
+    public int getLength(int entry) {
+        return slots[entry].getLength();
+    }
+
+    /**
+     * Gets the offset of an indexed path.
+     *
+     * @param path the indexed path of a leaf field occurrence
+     * @return the absolute offset, or -1 if the path is not in the index
+     */
+    public int offsetOf(String path) {
+        int entry = find(path);
+        return entry >= 0 ? offsets[entry] : -1;
+    }
+
+    /**
+     * Recovers the occurrence index per slot depth of an entry from its
+     * canonical path.
+     *
+     * <p>Offsets cannot be used for this: a zero-length field at the end of
+     * one element shares its offset with the start of the next.</p>
+     */
+    void fillIndices(int entry, int[] indices) {
+        fillIndices(slots[entry], paths[entry], indices);
+    }
+
+    /**
+     * Reads the bracketed indices of the repeating ancestors from the root down.
+     *
+     * @return the path position after the index of this slot
+     */
+    private static int fillIndices(FieldSlot slot, String path, int[] indices) {
+        int position = slot.getParent() != null ? fillIndices(slot.getParent(), path, indices) : 0;
+        int index = 0;
+        if (slot.getCount() > 1) {
+            int open = path.indexOf('[', position);
+            int close = path.indexOf(']', open);
+            for (int i = open + 1; i < close; i++) {
+                index = index * 10 + (path.charAt(i) - '0');
+            }
+            position = close + 1;
+        }
+        indices[slot.getDepth()] = index;
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return "PathIndex{" +
+                "messageType='" + plan.getMessageType() + '\'' +
+                ", size=" + size +
+                ", capacity=" + paths.length +
+                '}';
+    }
+}
@@ -0,0 +1,313 @@
+package com.rtm.mq.tool.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One record being encoded into a pooled buffer.
+ *
+ * <p>Created by {@link MessageEncoder#newRecord()} with every field set to its
+ * default value. Fields are addressed either by indexed path, e.g.
+ * {@code "items[3].name"}, or - for hot paths - by a slot and an offset
+ * resolved once in advance via {@link DecodePlan#findSlot(String)} and
+ * {@link DecodePlan#resolveOffset(String)}.</p>
+ *
+ * <p>{@link #close()} returns the buffer to the pool; the writer and any
+ * array or buffer view obtained from it must not be used afterwards.
+ * Instances are not thread-safe.</p>
+ */
+public final class RecordWriter implements AutoCloseable {
+
+    private final MessageEncoder encoder;
+    private final DecodePlan plan;
+    private final FieldSlot[] slotHolder = new FieldSlot[1];
+    private byte[] buffer;
+
+    RecordWriter(MessageEncoder encoder, byte[] buffer) {
+        this.encoder = encoder;
+        this.plan = encoder.getPlan();
+        this.buffer = buffer;
+    }
+
+    /**
+     * Sets a text field.
+     *
+     * @param path the indexed field path
+     * @param value the value, or null to write padding only
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown or the value does not fit
+     */
+    public RecordWriter set(String path, CharSequence value) {
+        int offset = resolve(path);
+        return set(slotHolder[0], offset, value);
+    }
+
+    /**
+     * Sets a field to a decimal integer.
+     *
+     * @param path the indexed field path
+     * @param value the value
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown or the value does not fit
+     */
+    public RecordWriter setLong(String path, long value) {
+        int offset = resolve(path);
+        return setLong(slotHolder[0], offset, value);
+    }
+
+    /**
+     * Sets a text field occurrence resolved in advance.
+     *
+     * @param slot the leaf slot
+     * @param offset the absolute offset of the occurrence
+     * @param value the value, or null to write padding only
+     * @return this writer
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    public RecordWriter set(FieldSlot slot, int offset, CharSequence value) {
+        byte[] target = buffer();
+        if (value == null) {
+            encoder.writePadding(target, slot, offset);
+        } else {
+            encoder.writeText(target, slot, offset, value);
+        }
+        return this;
+    }
+
+    /**
+     * Sets a field occurrence resolved in advance to a decimal integer.
+     *
+     * @param slot the leaf slot
+     * @param offset the absolute offset of the occurrence
+     * @param value the value
+     * @return this writer
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    public RecordWriter setLong(FieldSlot slot, int offset, long value) {
+        encoder.writeLong(buffer(), slot, offset, value);
+        return this;
+    }
+
+    /**
+     * Sets a field to a decimal number in plain notation, e.g. {@code "-1234.50"}.
+     *
+     * @param path the indexed field path
+     * @param value the value, or null to write padding only
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown or the value does not fit
+     */
+    public RecordWriter setDecimal(String path, BigDecimal value) {
+        int offset = resolve(path);
+        return setDecimal(slotHolder[0], offset, value);
+    }
+
+    /**
+     * Sets a field occurrence resolved in advance to a decimal number in plain notation.
+     *
+     * @param slot the leaf slot
+     * @param offset the absolute offset of the occurrence
+     * @param value the value, or null to write padding only
+     * @return this writer
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    public RecordWriter setDecimal(FieldSlot slot, int offset, BigDecimal value) {
+        byte[] target = buffer();
+        if (value == null) {
+            encoder.writePadding(target, slot, offset);
+        } else {
+            encoder.writeDecimal(target, slot, offset, value);
+        }
+        return this;
+    }
+
+    /**
+     * Sets a field to the digits of a decimal number with an implied scale;
+     * 123.45 at scale 2 is written as {@code 12345}.
+     *
+     * @param path the indexed field path
+     * @param value the value
+     * @param scale the implied number of fraction digits
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown, the value has
+     *         more fraction digits than the scale or does not fit
+     */
+    public RecordWriter setDecimal(String path, BigDecimal value, int scale) {
+        int offset = resolve(path);
+        return setLong(slotHolder[0], offset, Decimals.unscaled(value, scale, slotHolder[0].getPath()));
+    }
+
+    /**
+     * Sets a field to a packed decimal ({@code COMP-3}).
+     *
+     * @param path the indexed field path
+     * @param unscaled the signed unscaled value
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown or the value does not fit
+     */
+    public RecordWriter setPacked(String path, long unscaled) {
+        int offset = resolve(path);
+        return setPacked(slotHolder[0], offset, unscaled);
+    }
+
+    /**
+     * Sets a field to a packed decimal with an implied scale.
+     *
+     * @param path the indexed field path
+     * @param value the value
+     * @param scale the implied number of fraction digits
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown, the value has
+     *         more fraction digits than the scale or does not fit
+     */
+    public RecordWriter setPacked(String path, BigDecimal value, int scale) {
+        int offset = resolve(path);
+        return setPacked(slotHolder[0], offset, Decimals.unscaled(value, scale, slotHolder[0].getPath()));
+    }
+
+    /**
+     * Sets a field occurrence resolved in advance to a packed decimal.
+     *
+     * @param slot the leaf slot
+     * @param offset the absolute offset of the occurrence
+     * @param unscaled the signed unscaled value
+     * @return this writer
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    public RecordWriter setPacked(FieldSlot slot, int offset, long unscaled) {
+        encoder.writePacked(buffer(), slot, offset, unscaled);
+        return this;
+    }
+
+    /**
+     * Sets a field to a zoned decimal.
+     *
+     * @param path the indexed field path
+     * @param unscaled the signed unscaled value
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown or the value does not fit
+     */
+    public RecordWriter setZoned(String path, long unscaled) {
+        int offset = resolve(path);
+        return setZoned(slotHolder[0], offset, unscaled);
+    }
+
+    /**
+     * Sets a field to a zoned decimal with an implied scale.
+     *
+     * @param path the indexed field path
+     * @param value the value
+     * @param scale the implied number of fraction digits
+     * @return this writer
+     * @throws IllegalArgumentException if the path is unknown, the value has
+     *         more fraction digits than the scale or does not fit
+     */
+    public RecordWriter setZoned(String path, BigDecimal value, int scale) {
+        int offset = resolve(path);
+        return setZoned(slotHolder[0], offset, Decimals.unscaled(value, scale, slotHolder[0].getPath()));
+    }
+
+    /**
+     * Sets a field occurrence resolved in advance to a zoned decimal.
+     *
+     * @param slot the leaf slot
+     * @param offset the absolute offset of the occurrence
+     * @param unscaled the signed unscaled value
+     * @return this writer
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    public RecordWriter setZoned(FieldSlot slot, int offset, long unscaled) {
+        encoder.writeZoned(buffer(), slot, offset, unscaled);
+        return this;
+    }
+
+    /**
+     * Sets a field from an arbitrary value, see {@link MessageEncoder#encode(java.util.Map)}.
+     */
+    void setValue(String path, Object value) {
+        if (value == null || value instanceof CharSequence) {
+            set(path, (CharSequence) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            setLong(path, ((Number) value).longValue());
+        } else if (value instanceof BigDecimal) {
+            setDecimal(path, (BigDecimal) value);
+        } else {
+            set(path, value.toString());
+        }
+    }
+
+    /**
+     * Gets the record length.
+     *
+     * @return the length in bytes
+     */
+    public int length() {
+        return plan.getTotalLength();
+    }
+
+    /**
+     * Gets the pooled array holding the record, without copying.
+     *
+     * @return the backing array (exactly {@link #length()} bytes)
+     */
+    public byte[] array() {
+        return buffer();
+    }
+
+    /**
+     * Wraps the pooled array holding the record, without copying.
+     *
+     * @return a buffer positioned at 0 with the record length as limit
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buffer());
+    }
+
+    /**
+     * Copies the record.
+     *
+     * @return a new array
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer(), plan.getTotalLength());
+    }
+
+    /**
+     * Writes the record to a stream.
+     *
+     * @param out the output stream
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer(), 0, plan.getTotalLength());
+    }
+
+    /**
+     * Returns the buffer to the pool. Further calls have no effect.
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            encoder.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private int resolve(String path) {
+        int offset = plan.resolve(path, slotHolder, null);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Unknown field '" + path + "' in '" + plan.getMessageType() + "'");
+        }
+        return offset;
+    }
+
+    private byte[] buffer() {
+        if (buffer == null) {
+            throw new IllegalStateException("Record writer is closed");
+        }
+        return buffer;
+    }
+}
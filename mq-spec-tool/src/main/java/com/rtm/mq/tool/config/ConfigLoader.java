@@ -108,6 +108,31 @@ public class ConfigLoader {
             }
         }
 
+        if (overrides.containsKey("streaming-read")) {
+            String value = overrides.get("streaming-read");
+            if (value != null) {
+                config.getParser().setStreamingRead(Boolean.parseBoolean(value));
+            }
+        }
+
+        if (overrides.containsKey("parallel-sheets")) {
+            String value = overrides.get("parallel-sheets");
+            if (value != null) {
+                config.getParser().setParallelSheets(Boolean.parseBoolean(value));
+            }
+        }
+
+        if (overrides.containsKey("bulk-parallelism")) {
+            String value = overrides.get("bulk-parallelism");
+            if (value != null && !value.isEmpty()) {
+                try {
+                    config.getParser().setBulkParallelism(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new ConfigException("Invalid value for bulk-parallelism: " + value);
+                }
+            }
+        }
+
         if (overrides.containsKey("logging-level")) {
             String value = overrides.get("logging-level");
             if (value != null && !value.isEmpty()) {
@@ -8,6 +8,16 @@ public class ParserConfig {
     // POI ZipSecureFile configuration for handling compressed Excel files
     private long poiMaxTextSize = 500 * 1024 * 1024;  // Default: 500MB
     private double poiMinInflateRatio = 0.001;          // Default: 0.1% (0.1% uncompressed size required)
+    // Read XLSX files with the SAX event model instead of building the full XSSF DOM
+    private boolean streamingRead = true;
+    // Parse MQ message, Request and Response sheets concurrently (streaming path only)
+    private boolean parallelSheets = false;
+    private int sheetParallelism = 3;
+    // Worker threads for bulk (directory/glob) parsing; 0 = number of processors
+    private int bulkParallelism = 0;
+    // Content-addressed parse cache: memory tier size and optional disk tier directory
+    private int cacheMaxEntries = 16;
+    private String cacheDir;
 
     public int getMaxNestingDepth() {
         return maxNestingDepth;
@@ -33,6 +43,71 @@ public class ParserConfig {
         this.poiMinInflateRatio = poiMinInflateRatio;
     }
 
+    public boolean isStreamingRead() {
+        return streamingRead;
+    }
+
+    public void setStreamingRead(boolean streamingRead) {
+        this.streamingRead = streamingRead;
+    }
+
+    public boolean isParallelSheets() {
+        return parallelSheets;
+    }
+
+    public void setParallelSheets(boolean parallelSheets) {
+        this.parallelSheets = parallelSheets;
+    }
+
+    public int getSheetParallelism() {
+        return sheetParallelism;
+    }
+
+    public void setSheetParallelism(int sheetParallelism) {
+        this.sheetParallelism = sheetParallelism;
+    }
+
+    public int getBulkParallelism() {
+        return bulkParallelism;
+    }
+
+    public void setBulkParallelism(int bulkParallelism) {
+        this.bulkParallelism = bulkParallelism;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Builds a stable string of every setting that can change the parse result.
+     *
+     * <p>Used as part of the parse cache key. Settings that only affect how the
+     * workbook is read (not what is produced), such as the cache settings
+     * themselves, are deliberately excluded.</p>
+     *
+     * @return the settings fingerprint
+     */
+    public String fingerprint() {
+        return "maxNestingDepth=" + maxNestingDepth
+            + ";poiMaxTextSize=" + poiMaxTextSize
+            + ";poiMinInflateRatio=" + poiMinInflateRatio
+            + ";streamingRead=" + streamingRead
+            + ";parallelSheets=" + parallelSheets;
+    }
+
     public void setDefaults() {
         if (maxNestingDepth <= 0) {
             maxNestingDepth = 50;
@@ -43,6 +118,15 @@ public class ParserConfig {
         if (poiMinInflateRatio <= 0 || poiMinInflateRatio > 1) {
             poiMinInflateRatio = 0.001;
         }
+        if (sheetParallelism <= 0) {
+            sheetParallelism = 3;
+        }
+        if (bulkParallelism < 0) {
+            bulkParallelism = 0;
+        }
+        if (cacheMaxEntries < 0) {
+            cacheMaxEntries = 16;
+        }
     }
 
     public void merge(ParserConfig other) {
@@ -58,5 +142,20 @@ public class ParserConfig {
         if (other.poiMinInflateRatio > 0 && other.poiMinInflateRatio <= 1) {
             this.poiMinInflateRatio = other.poiMinInflateRatio;
         }
+        // Take the value from other, as it's explicitly set in config file
+        this.streamingRead = other.streamingRead;
+        this.parallelSheets = other.parallelSheets;
+        if (other.sheetParallelism > 0) {
+            this.sheetParallelism = other.sheetParallelism;
+        }
+        if (other.bulkParallelism > 0) {
+            this.bulkParallelism = other.bulkParallelism;
+        }
+        if (other.cacheMaxEntries >= 0) {
+            this.cacheMaxEntries = other.cacheMaxEntries;
+        }
+        if (other.cacheDir != null) {
+            this.cacheDir = other.cacheDir;
+        }
     }
 }
@@ -0,0 +1,359 @@
+package com.rtm.mq.tool.generator;
+
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.exception.GenerationException;
+import com.rtm.mq.tool.generator.xml.XmlTypeMapper;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.offset.MappedLayout;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetLayout;
+import com.rtm.mq.tool.offset.OffsetTable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout artifact generator.
+ *
+ * <p>Emits one {@code layout/{operationId}.mqlayout} file per operation
+ * holding the compact {@link OffsetTable} of the shared header, request and
+ * response, with the converter and default value of every field as mapped
+ * by {@link XmlTypeMapper}. Services memory-map the artifact through
+ * {@link MappedLayout} instead of parsing the converter XML or the spec.
+ * The format is documented on {@link MappedLayout}.</p>
+ *
+ * <p>Unlike {@link Generator} implementations, this generator does not write
+ * files itself: it returns the artifact bytes so they can be handed to
+ * {@code AtomicOutputManager} and listed in the output manifest.</p>
+ *
+ * @see MappedLayout
+ * @see OffsetCalculator
+ */
+public class LayoutArtifactGenerator {
+
+    private static final String GENERATOR_TYPE = "layout";
+
+    private final XmlTypeMapper typeMapper;
+
+    /**
+     * Constructs a LayoutArtifactGenerator with the given configuration.
+     *
+     * @param config the configuration containing XML generation settings
+     */
+    public LayoutArtifactGenerator(Config config) {
+        this.typeMapper = new XmlTypeMapper(config);
+    }
+
+    /**
+     * Generates the layout artifact of an operation.
+     *
+     * <p>Message types without fields are omitted.</p>
+     *
+     * @param model the message model
+     * @return the artifact bytes keyed by path relative to the output directory
+     * @throws GenerationException if operationId is missing or a layout is invalid
+     */
+    public Map<String, byte[]> generate(MessageModel model) {
+        String operationId = getOperationId(model);
+        String fileName = operationId + MappedLayout.EXTENSION;
+
+        List<OffsetTable> tables = new ArrayList<>();
+        addTable(tables, "sharedHeader", model.getSharedHeader(), fileName);
+        addTable(tables, "request", model.getRequest(), fileName);
+        addTable(tables, "response", model.getResponse(), fileName);
+
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        result.put("layout/" + fileName, generateLayout(operationId, tables));
+        return result;
+    }
+
+    /**
+     * Gets the generator type identifier.
+     *
+     * @return "layout"
+     */
+    public String getType() {
+        return GENERATOR_TYPE;
+    }
+
+    /**
+     * Encodes compact offset tables as a layout artifact.
+     *
+     * <p>Layout nodes without a field, as hand-built tables may have, are
+     * encoded from the layout alone: without data type, converter or default
+     * value, and with only the group flag.</p>
+     *
+     * @param operationId the operation the tables belong to
+     * @param tables the offset tables, one per message type
+     * @return the artifact bytes
+     * @throws GenerationException if a table is not compact or too large
+     */
+    public byte[] generateLayout(String operationId, List<OffsetTable> tables) {
+        return new LayoutWriter(operationId, tables).write();
+    }
+
+    /**
+     * Extracts and validates the operationId from the model.
+     *
+     * @param model the message model
+     * @return the operationId
+     * @throws GenerationException if operationId is missing or blank
+     */
+    private String getOperationId(MessageModel model) {
+        if (model.getMetadata() == null ||
+            model.getMetadata().getOperationId() == null ||
+            model.getMetadata().getOperationId().isBlank()) {
+            throw new GenerationException("Operation ID is required for layout generation")
+                .withGenerator("LayoutArtifactGenerator");
+        }
+        return model.getMetadata().getOperationId();
+    }
+
+    /**
+     * Lays out one message type, if it has fields.
+     */
+    private void addTable(List<OffsetTable> tables, String messageType, FieldGroup group, String fileName) {
+        if (group == null || group.getFields() == null || group.getFields().isEmpty()) {
+            return;
+        }
+        try {
+            tables.add(new OffsetCalculator().calculate(messageType, group));
+        } catch (RuntimeException e) {
+            throw new GenerationException("Failed to lay out " + messageType + ": " + e.getMessage(), e)
+                .withGenerator("LayoutArtifactGenerator")
+                .withArtifact(fileName);
+        }
+    }
+
+    /**
+     * Flattened node of one message, in pre-order.
+     */
+    private static final class Node {
+        final OffsetLayout layout;
+        final String path;
+        final int parent;
+        int end;
+        int nameRef;
+        int pathRef;
+        int dataTypeRef;
+        int converterRef;
+        int defaultValueRef;
+        int flags;
+
+        Node(OffsetLayout layout, String path, int parent) {
+            this.layout = layout;
+            this.path = path;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Builds the artifact of one operation.
+     */
+    private final class LayoutWriter {
+
+        private final String operationId;
+        private final List<OffsetTable> tables;
+        private final List<Node> nodes = new ArrayList<>();
+        private final int[] firstNodes;
+        private final Map<String, Integer> stringRefs = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private int stringTableLength;
+
+        LayoutWriter(String operationId, List<OffsetTable> tables) {
+            this.operationId = operationId;
+            this.tables = tables;
+            this.firstNodes = new int[tables.size() + 1];
+        }
+
+        byte[] write() {
+            int operationRef = ref(operationId);
+            for (int m = 0; m < tables.size(); m++) {
+                OffsetTable table = tables.get(m);
+                if (table.getLayout().isEmpty() && table.size() > 0) {
+                    throw new GenerationException("Offset table '" + table.getMessageType() + "' is not compact")
+                        .withGenerator("LayoutArtifactGenerator");
+                }
+                firstNodes[m] = nodes.size();
+                for (OffsetLayout root : table.getLayout()) {
+                    flatten(root, "", -1);
+                }
+                ref(table.getMessageType());
+            }
+            firstNodes[tables.size()] = nodes.size();
+
+            int messageTable = MappedLayout.HEADER_SIZE;
+            int nodeTable = messageTable + tables.size() * MappedLayout.MESSAGE_RECORD_SIZE;
+            long pathIndex = nodeTable + (long) nodes.size() * MappedLayout.NODE_RECORD_SIZE;
+            long stringTable = pathIndex + (long) nodes.size() * 4;
+            long fileLength = stringTable + stringTableLength;
+            if (fileLength > Integer.MAX_VALUE) {
+                throw new GenerationException("Layout of " + operationId + " is too large: " + fileLength + " bytes")
+                    .withGenerator("LayoutArtifactGenerator");
+            }
+
+            ByteBuffer out = ByteBuffer.allocate((int) fileLength);
+            out.putInt(MappedLayout.MAGIC)
+               .putShort((short) MappedLayout.MAJOR_VERSION)
+               .putShort((short) MappedLayout.MINOR_VERSION)
+               .putInt(MappedLayout.HEADER_SIZE)
+               .putInt((int) fileLength)
+               .putInt(0)
+               .putInt(tables.size())
+               .putInt(messageTable)
+               .putInt(nodeTable)
+               .putInt(nodes.size())
+               .putInt((int) pathIndex)
+               .putInt((int) stringTable)
+               .putInt(stringTableLength)
+               .putInt(operationRef);
+
+            out.position(messageTable);
+            for (int m = 0; m < tables.size(); m++) {
+                OffsetTable table = tables.get(m);
+                out.putInt(ref(table.getMessageType()))
+                   .putInt(firstNodes[m])
+                   .putInt(firstNodes[m + 1] - firstNodes[m])
+                   .putInt(0)
+                   .putLong(table.getTotalLength())
+                   .putLong(table.getLayout().stream().mapToLong(OffsetLayout::getEntryCount).sum());
+            }
+
+            for (Node node : nodes) {
+                writeNode(out, node);
+            }
+
+            for (int m = 0; m < tables.size(); m++) {
+                for (int node : sortedByPath(firstNodes[m], firstNodes[m + 1])) {
+                    out.putInt(node);
+                }
+            }
+
+            for (byte[] string : strings) {
+                out.putInt(string.length).put(string);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(out.array(), MappedLayout.HEADER_SIZE, (int) fileLength - MappedLayout.HEADER_SIZE);
+            out.putInt(16, (int) crc.getValue());
+            return out.array();
+        }
+
+        /**
+         * Appends a node and its subtree in pre-order.
+         */
+        private void flatten(OffsetLayout layout, String parentPath, int parent) {
+            String path = parentPath.isEmpty() ? layout.getName() : parentPath + "." + layout.getName();
+            int index = nodes.size();
+            Node node = new Node(layout, path, parent);
+            nodes.add(node);
+            describe(node);
+            for (OffsetLayout child : layout.getChildren()) {
+                flatten(child, path, index);
+            }
+            node.end = nodes.size();
+        }
+
+        /**
+         * Interns the strings of a node and computes its flags.
+         */
+        private void describe(Node node) {
+            OffsetLayout layout = node.layout;
+            FieldNode field = layout.getField();
+            // A node without a field has no type attributes to map
+            Map<String, String> attributes = field != null ? typeMapper.map(field).getAttributes() : Map.of();
+
+            int flags = 0;
+            if (layout.isGroup()) {
+                flags |= MappedLayout.FLAG_GROUP;
+            }
+            if (field != null && field.isTransitory()) {
+                flags |= MappedLayout.FLAG_TRANSITORY;
+                if (field.getGroupId() != null) {
+                    flags |= MappedLayout.FLAG_GROUP_ID;
+                } else if (field.getOccurrenceCount() != null) {
+                    flags |= MappedLayout.FLAG_COUNTER;
+                }
+            }
+            if (field != null && field.isArray()) {
+                flags |= MappedLayout.FLAG_ARRAY;
+            }
+            if (field != null && field.isObject()) {
+                flags |= MappedLayout.FLAG_OBJECT;
+            }
+            if ("true".equals(attributes.get("alignRight"))) {
+                flags |= MappedLayout.FLAG_RIGHT_ALIGNED;
+            }
+
+            node.flags = flags;
+            node.nameRef = ref(layout.getName());
+            node.pathRef = ref(node.path);
+            node.dataTypeRef = field != null ? ref(field.getDataType()) : -1;
+            node.converterRef = layout.isGroup() ? -1 : ref(attributes.get("converter"));
+            node.defaultValueRef = ref(attributes.get("defaultValue"));
+        }
+
+        private void writeNode(ByteBuffer out, Node node) {
+            OffsetLayout layout = node.layout;
+            out.putLong(layout.getOffset())
+               .putLong(layout.getStride())
+               .putInt(node.nameRef)
+               .putInt(node.pathRef)
+               .putInt(node.parent)
+               .putInt(node.end)
+               .putInt(layout.getLength())
+               .putInt(layout.getCount())
+               .putInt(layout.getNestingLevel())
+               .putInt(node.dataTypeRef)
+               .putInt(node.converterRef)
+               .putInt(node.defaultValueRef)
+               .putInt(node.flags)
+               .putInt(0);
+        }
+
+        /**
+         * Gets the node numbers of [from, to) ordered by the UTF-8 bytes of their paths.
+         */
+        private int[] sortedByPath(int from, int to) {
+            byte[][] keys = new byte[to - from][];
+            Integer[] order = new Integer[to - from];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = nodes.get(from + i).path.getBytes(StandardCharsets.UTF_8);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys[a], keys[b]));
+            int[] sorted = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = from + order[i];
+            }
+            return sorted;
+        }
+
+        /**
+         * Interns a string, returning its byte offset in the string table.
+         */
+        private int ref(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer ref = stringRefs.get(value);
+            if (ref == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                ref = stringTableLength;
+                stringRefs.put(value, ref);
+                strings.add(bytes);
+                stringTableLength += 4 + bytes.length;
+            }
+            return ref;
+        }
+    }
+}
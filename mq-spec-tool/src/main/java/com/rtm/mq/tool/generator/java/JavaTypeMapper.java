@@ -118,6 +118,16 @@ public class JavaTypeMapper {
         return className;
     }
 
+    /**
+     * Gets the class name of an object field or of the elements of an array field.
+     *
+     * @param field the object or array field node
+     * @return the class name, as used in the generated field type
+     */
+    public String getElementTypeName(FieldNode field) {
+        return resolveObjectType(field);
+    }
+
     /**
      * Gets the simple type name (without package prefix).
      *
@@ -0,0 +1,844 @@
+package com.rtm.mq.tool.generator.java;
+
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.exception.GenerationException;
+import com.rtm.mq.tool.generator.Generator;
+import com.rtm.mq.tool.generator.xml.XmlTypeMapper;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetLayout;
+import com.rtm.mq.tool.offset.OffsetTable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Codec generator for Request and Response beans.
+ *
+ * <p>For each bean produced by {@link JavaBeanGenerator} this generator emits
+ * a codec class ({@code {operationId}RequestCodec},
+ * {@code {operationId}ResponseCodec}) in the same package that converts
+ * between the bean and its fixed-length record. The codecs move bytes
+ * through plain getter and setter calls at offsets compiled in as
+ * constants, without reflection or maps.</p>
+ *
+ * <p>Generated codecs contain:</p>
+ * <ul>
+ *   <li>{@code LENGTH} and per-field {@code _OFFSET}, {@code _LENGTH},
+ *       {@code _STRIDE} and {@code _COUNT} constants from the
+ *       {@link OffsetCalculator} layout; offsets are relative to the
+ *       enclosing record or group element</li>
+ *   <li>{@code decode(byte[])} and {@code decode(byte[], int)}</li>
+ *   <li>{@code encode(bean)} and {@code encode(bean, byte[], int)}</li>
+ * </ul>
+ *
+ * <p>Field values follow the converter XML: alignment and defaults are the
+ * {@code alignRight} and {@code defaultValue} attributes that
+ * {@link XmlTypeMapper} assigns, so numeric fields and counters are
+ * right-justified and zero padded, all other fields
+ * left-justified and space padded, as ISO-8859-1 bytes. Null bean values
+ * are written as the default value, or as padding. Transitory fields are
+ * written with their group id or fixed count and skipped when decoding.
+ * Repeating groups always span their fixed count: decoding yields that
+ * many elements, encoding pads missing elements with default values.
+ * Amount fields are parsed from and written as digits directly, without an
+ * intermediate string, for values of up to 18 digits.</p>
+ *
+ * <p>The generator keeps no per-run state: {@link #generate} returns the
+ * sources it wrote, so a single instance may serve concurrent requests.</p>
+ *
+ * @see JavaBeanGenerator
+ * @see JavaTypeMapper
+ */
+public class MessageCodecGenerator implements Generator {
+
+    private static final String GENERATOR_TYPE = "codec";
+    private static final String NEWLINE = "\n";
+    private static final String INDENT = "    ";
+
+    private final JavaTypeMapper typeMapper;
+    private final XmlTypeMapper xmlTypeMapper;
+
+    /**
+     * Constructs a MessageCodecGenerator with the given configuration.
+     *
+     * @param config the configuration containing Java generation settings
+     */
+    public MessageCodecGenerator(Config config) {
+        this.typeMapper = new JavaTypeMapper(config);
+        this.xmlTypeMapper = new XmlTypeMapper(config);
+    }
+
+    /**
+     * Generates and writes the Request and Response codecs.
+     *
+     * @param model the message model
+     * @param outputDir the base output directory
+     * @return map of relative file path (e.g. {@code java/<package>/CreateAppRequestCodec.java})
+     *         to generated source, in generation order
+     * @throws GenerationException if the operation id is missing or a codec cannot be generated
+     */
+    @Override
+    public Map<String, String> generate(MessageModel model, Path outputDir) {
+        String operationId = getOperationId(model);
+
+        Map<String, String> result = new LinkedHashMap<>();
+        generateCodec(operationId + "Request", "request", model.getRequest(), outputDir, result);
+        generateCodec(operationId + "Response", "response", model.getResponse(), outputDir, result);
+        return result;
+    }
+
+    @Override
+    public String getType() {
+        return GENERATOR_TYPE;
+    }
+
+    /**
+     * Gets the output file path for a specific class.
+     *
+     * @param outputDir the base output directory
+     * @param className the class name
+     * @return the full path where the class file will be written
+     */
+    public Path getOutputPath(Path outputDir, String className) {
+        String packagePath = typeMapper.getModelPackage().replace('.', '/');
+        return outputDir.resolve("java").resolve(packagePath).resolve(className + ".java");
+    }
+
+    /**
+     * Extracts and validates the operationId from the model.
+     *
+     * @param model the message model
+     * @return the operationId
+     * @throws GenerationException if operationId is missing or blank
+     */
+    private String getOperationId(MessageModel model) {
+        if (model.getMetadata() == null ||
+            model.getMetadata().getOperationId() == null ||
+            model.getMetadata().getOperationId().isBlank()) {
+            throw new GenerationException("Operation ID is required for codec generation")
+                .withGenerator("MessageCodecGenerator");
+        }
+        return model.getMetadata().getOperationId();
+    }
+
+    /**
+     * Generates and writes the codec for one bean, if the message has fields.
+     *
+     * @param result map receiving the relative path and source of the codec
+     */
+    private void generateCodec(String beanClassName, String messageType, FieldGroup group, Path outputDir,
+                               Map<String, String> result) {
+        if (group == null || group.getFields() == null || group.getFields().isEmpty()) {
+            return;
+        }
+        String codecClassName = beanClassName + "Codec";
+        String content = generateCodecClass(codecClassName, beanClassName, messageType, group.getFields());
+        writeToFile(outputDir, codecClassName, content);
+        String packagePath = typeMapper.getModelPackage().replace('.', '/');
+        result.put("java/" + packagePath + "/" + codecClassName + ".java", content);
+    }
+
+    /**
+     * Generates the source code of a codec class.
+     *
+     * @param codecClassName the codec class name
+     * @param beanClassName the bean class the codec converts
+     * @param messageType the message type ("request" or "response")
+     * @param fields the root fields of the message
+     * @return the generated Java source code
+     * @throws GenerationException if the layout is invalid or a default value does not fit
+     */
+    public String generateCodecClass(String codecClassName, String beanClassName, String messageType,
+                                     List<FieldNode> fields) {
+        OffsetTable table;
+        try {
+            table = new OffsetCalculator().calculate(messageType, fields);
+        } catch (RuntimeException e) {
+            throw new GenerationException("Failed to lay out " + messageType + ": " + e.getMessage(), e)
+                .withGenerator("MessageCodecGenerator")
+                .withArtifact(codecClassName + ".java");
+        }
+        if (table.getTotalLength() > Integer.MAX_VALUE) {
+            throw new GenerationException("Message " + messageType + " is too long for a codec: "
+                    + table.getTotalLength() + " bytes")
+                .withGenerator("MessageCodecGenerator")
+                .withArtifact(codecClassName + ".java");
+        }
+        return new CodecWriter(codecClassName, beanClassName, table).write();
+    }
+
+    /**
+     * Writes the generated content to a Java file.
+     *
+     * @param outputDir the base output directory
+     * @param className the class name
+     * @param content the Java source code content
+     * @throws GenerationException if file writing fails
+     */
+    private void writeToFile(Path outputDir, String className, String content) {
+        Path outputPath = getOutputPath(outputDir, className);
+
+        try {
+            Files.createDirectories(outputPath.getParent());
+            Files.writeString(outputPath, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GenerationException("Failed to write Java file: " + e.getMessage(), e)
+                .withGenerator("MessageCodecGenerator")
+                .withArtifact(className + ".java");
+        }
+    }
+
+    /**
+     * Source builder for one codec class.
+     */
+    private final class CodecWriter {
+
+        private final String className;
+        private final String beanClassName;
+        private final OffsetTable table;
+        private final Map<OffsetLayout, String> prefixes = new IdentityHashMap<>();
+        private final Set<String> usedPrefixes = new HashSet<>();
+        private final Set<String> imports = new TreeSet<>();
+        private final StringBuilder constants = new StringBuilder();
+        private final StringBuilder methods = new StringBuilder();
+        private boolean usesDecimal;
+
+        CodecWriter(String className, String beanClassName, OffsetTable table) {
+            this.className = className;
+            this.beanClassName = beanClassName;
+            this.table = table;
+        }
+
+        String write() {
+            for (OffsetLayout root : table.getLayout()) {
+                assignPrefixes(root, "");
+            }
+            for (OffsetLayout root : table.getLayout()) {
+                appendConstants(root, "");
+            }
+
+            appendRootMethods();
+            for (OffsetLayout root : table.getLayout()) {
+                appendGroupMethods(root);
+            }
+            appendHelpers();
+
+            imports.add("java.nio.charset.StandardCharsets");
+            if (usesDecimal) {
+                imports.add("java.math.BigDecimal");
+            }
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("package ").append(typeMapper.getModelPackage()).append(";").append(NEWLINE).append(NEWLINE);
+            for (String imp : imports) {
+                sb.append("import ").append(imp).append(";").append(NEWLINE);
+            }
+            sb.append(NEWLINE);
+
+            // Class Javadoc
+            sb.append("/**").append(NEWLINE);
+            sb.append(" * Fixed-length codec for ").append(beanClassName).append(NEWLINE);
+            sb.append(" *").append(NEWLINE);
+            sb.append(" * <p>Record length: ").append(table.getTotalLength()).append(" bytes.</p>").append(NEWLINE);
+            sb.append(" *").append(NEWLINE);
+            sb.append(" * @generated by MQ Tool").append(NEWLINE);
+            sb.append(" */").append(NEWLINE);
+            sb.append("public final class ").append(className).append(" {").append(NEWLINE).append(NEWLINE);
+
+            sb.append(INDENT).append("/** Record length in bytes. */").append(NEWLINE);
+            sb.append(INDENT).append("public static final int LENGTH = ").append(table.getTotalLength())
+                .append(";").append(NEWLINE);
+            sb.append(constants);
+
+            sb.append(NEWLINE);
+            sb.append(INDENT).append("private ").append(className).append("() {").append(NEWLINE);
+            sb.append(INDENT).append("}").append(NEWLINE);
+            sb.append(methods);
+            sb.append("}").append(NEWLINE);
+            return sb.toString();
+        }
+
+        // ---- Naming ----
+
+        private void assignPrefixes(OffsetLayout node, String parentPrefix) {
+            String own = toConstantName(fieldName(node));
+            String prefix = parentPrefix.isEmpty() ? own : parentPrefix + "_" + own;
+            String unique = prefix;
+            for (int i = 2; !usedPrefixes.add(unique); i++) {
+                unique = prefix + "_" + i;
+            }
+            prefixes.put(node, unique);
+            for (OffsetLayout child : node.getChildren()) {
+                assignPrefixes(child, unique);
+            }
+        }
+
+        private String fieldName(OffsetLayout node) {
+            FieldNode field = node.getField();
+            if (field != null && field.getCamelCaseName() != null && !field.getCamelCaseName().isEmpty()) {
+                return field.getCamelCaseName();
+            }
+            return node.getName();
+        }
+
+        /**
+         * Converts a field name to UPPER_SNAKE_CASE, e.g. domicleBranche to DOMICLE_BRANCHE.
+         */
+        private String toConstantName(String name) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(name.charAt(i - 1))) {
+                    sb.append('_');
+                }
+                sb.append(Character.isLetterOrDigit(c) && c < 0x80 ? Character.toUpperCase(c) : '_');
+            }
+            if (sb.length() == 0 || Character.isDigit(sb.charAt(0))) {
+                sb.insert(0, "F_");
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Converts a constant prefix to the method suffix, e.g. ITEMS_NAME to ItemsName.
+         */
+        private String methodSuffix(OffsetLayout node) {
+            StringBuilder sb = new StringBuilder();
+            for (String part : prefixes.get(node).split("_")) {
+                if (!part.isEmpty()) {
+                    sb.append(part.charAt(0)).append(part.substring(1).toLowerCase());
+                }
+            }
+            return sb.toString();
+        }
+
+        private String localName(OffsetLayout node) {
+            String suffix = methodSuffix(node);
+            return Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+        }
+
+        // ---- Constants ----
+
+        private void appendConstants(OffsetLayout node, String parentPath) {
+            String prefix = prefixes.get(node);
+            String path = parentPath.isEmpty() ? node.getName() : parentPath + "." + node.getName();
+
+            constants.append(NEWLINE);
+            constants.append(INDENT).append("// ").append(path).append(NEWLINE);
+            appendConstant(prefix + "_OFFSET", node.getOffset());
+            if (node.isGroup()) {
+                appendConstant(prefix + "_STRIDE", node.getStride());
+            } else {
+                appendConstant(prefix + "_LENGTH", node.getLength());
+            }
+            if (node.getCount() > 1 || isList(node)) {
+                appendConstant(prefix + "_COUNT", node.getCount());
+            }
+
+            for (OffsetLayout child : node.getChildren()) {
+                appendConstants(child, path);
+            }
+        }
+
+        private void appendConstant(String name, long value) {
+            constants.append(INDENT).append("public static final int ").append(name).append(" = ")
+                .append(value).append(";").append(NEWLINE);
+        }
+
+        // ---- Classification ----
+
+        private boolean isList(OffsetLayout node) {
+            FieldNode field = node.getField();
+            return node.isGroup() && !field.isTransitory() && field.isArray();
+        }
+
+        private boolean isObject(OffsetLayout node) {
+            FieldNode field = node.getField();
+            return node.isGroup() && !field.isTransitory() && !field.isArray() && field.isObject();
+        }
+
+        private boolean isBeanLeaf(OffsetLayout node) {
+            return !node.isGroup() && !node.getField().isTransitory();
+        }
+
+        private boolean isDecimal(FieldNode field) {
+            return typeMapper.isBigDecimalType(field.getDataType());
+        }
+
+        /**
+         * Checks if a field is right-justified and zero padded in the converter XML.
+         */
+        private boolean isRightAligned(FieldNode field) {
+            return "true".equals(xmlTypeMapper.map(field).getAttributes().get("alignRight"));
+        }
+
+        /**
+         * Gets the value written when the bean holds null: the converter XML
+         * default, where BLANK on a data field means padding.
+         */
+        private String getDefault(OffsetLayout node) {
+            FieldNode field = node.getField();
+            String value = xmlTypeMapper.map(field).getAttributes().get("defaultValue");
+            if (!field.isTransitory() && "BLANK".equalsIgnoreCase(value)) {
+                value = null;
+            }
+            if (value != null && value.length() > node.getLength()) {
+                throw new GenerationException("Default value of '" + node.getName() + "' does not fit length "
+                        + node.getLength())
+                    .withGenerator("MessageCodecGenerator")
+                    .withArtifact(className + ".java");
+            }
+            return value;
+        }
+
+        private String elementType(OffsetLayout node) {
+            return typeMapper.getElementTypeName(node.getField());
+        }
+
+        private String accessorSuffix(OffsetLayout node) {
+            String name = node.getField().getCamelCaseName();
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        // ---- Decode / encode bodies ----
+
+        private void appendRootMethods() {
+            StringBuilder decode = new StringBuilder();
+            StringBuilder encode = new StringBuilder();
+            for (OffsetLayout root : table.getLayout()) {
+                appendDecode(decode, root, "bean", "offset", 2);
+                appendEncode(encode, root, "bean", false, "offset", 2);
+            }
+
+            methods.append(NEWLINE);
+            methods.append(INDENT).append("/**").append(NEWLINE);
+            methods.append(INDENT).append(" * Decodes a record starting at index 0.").append(NEWLINE);
+            methods.append(INDENT).append(" */").append(NEWLINE);
+            methods.append(INDENT).append("public static ").append(beanClassName)
+                .append(" decode(byte[] record) {").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("return decode(record, 0);").append(NEWLINE);
+            methods.append(INDENT).append("}").append(NEWLINE);
+
+            methods.append(NEWLINE);
+            methods.append(INDENT).append("/**").append(NEWLINE);
+            methods.append(INDENT).append(" * Decodes a record starting at the given offset.").append(NEWLINE);
+            methods.append(INDENT).append(" */").append(NEWLINE);
+            methods.append(INDENT).append("public static ").append(beanClassName)
+                .append(" decode(byte[] record, int offset) {").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("checkLength(record, offset);").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append(beanClassName).append(" bean = new ")
+                .append(beanClassName).append("();").append(NEWLINE);
+            methods.append(decode);
+            methods.append(INDENT).append(INDENT).append("return bean;").append(NEWLINE);
+            methods.append(INDENT).append("}").append(NEWLINE);
+
+            methods.append(NEWLINE);
+            methods.append(INDENT).append("/**").append(NEWLINE);
+            methods.append(INDENT).append(" * Encodes a bean into a new record.").append(NEWLINE);
+            methods.append(INDENT).append(" */").append(NEWLINE);
+            methods.append(INDENT).append("public static byte[] encode(").append(beanClassName)
+                .append(" bean) {").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("byte[] record = new byte[LENGTH];").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("encode(bean, record, 0);").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("return record;").append(NEWLINE);
+            methods.append(INDENT).append("}").append(NEWLINE);
+
+            methods.append(NEWLINE);
+            methods.append(INDENT).append("/**").append(NEWLINE);
+            methods.append(INDENT).append(" * Encodes a bean into a record starting at the given offset.").append(NEWLINE);
+            methods.append(INDENT).append(" */").append(NEWLINE);
+            methods.append(INDENT).append("public static void encode(").append(beanClassName)
+                .append(" bean, byte[] record, int offset) {").append(NEWLINE);
+            methods.append(INDENT).append(INDENT).append("checkLength(record, offset);").append(NEWLINE);
+            methods.append(encode);
+            methods.append(INDENT).append("}").append(NEWLINE);
+        }
+
+        /**
+         * Appends the decode and encode methods of every group below a node.
+         */
+        private void appendGroupMethods(OffsetLayout node) {
+            if (!node.isGroup()) {
+                return;
+            }
+            String suffix = methodSuffix(node);
+            boolean typed = isList(node) || isObject(node);
+
+            if (typed) {
+                String type = elementType(node);
+                StringBuilder decode = new StringBuilder();
+                for (OffsetLayout child : node.getChildren()) {
+                    appendDecode(decode, child, "element", "base", 2);
+                }
+                methods.append(NEWLINE);
+                methods.append(INDENT).append("private static ").append(type).append(" decode").append(suffix)
+                    .append("(byte[] record, int base) {").append(NEWLINE);
+                methods.append(INDENT).append(INDENT).append(type).append(" element = new ").append(type)
+                    .append("();").append(NEWLINE);
+                methods.append(decode);
+                methods.append(INDENT).append(INDENT).append("return element;").append(NEWLINE);
+                methods.append(INDENT).append("}").append(NEWLINE);
+            }
+
+            StringBuilder encode = new StringBuilder();
+            for (OffsetLayout child : node.getChildren()) {
+                appendEncode(encode, child, typed ? "element" : null, true, "base", 2);
+            }
+            methods.append(NEWLINE);
+            methods.append(INDENT).append("private static void encode").append(suffix).append("(");
+            if (typed) {
+                methods.append(elementType(node)).append(" element, ");
+            }
+            methods.append("byte[] record, int base) {").append(NEWLINE);
+            methods.append(encode);
+            methods.append(INDENT).append("}").append(NEWLINE);
+
+            for (OffsetLayout child : node.getChildren()) {
+                appendGroupMethods(child);
+            }
+        }
+
+        private void appendDecode(StringBuilder sb, OffsetLayout node, String target, String base, int depth) {
+            String prefix = prefixes.get(node);
+            String indent = INDENT.repeat(depth);
+
+            if (isBeanLeaf(node)) {
+                FieldNode field = node.getField();
+                String reader;
+                if (isDecimal(field)) {
+                    reader = "readDecimal";
+                    usesDecimal = true;
+                } else if (isRightAligned(field)) {
+                    reader = "readNumber";
+                } else {
+                    reader = "readText";
+                }
+                sb.append(indent).append(target).append(".set").append(accessorSuffix(node)).append("(")
+                    .append(reader).append("(record, ").append(base).append(" + ").append(prefix)
+                    .append("_OFFSET, ").append(prefix).append("_LENGTH));").append(NEWLINE);
+            } else if (isList(node)) {
+                String type = elementType(node);
+                String list = localName(node) + "List";
+                imports.add("java.util.ArrayList");
+                imports.add("java.util.List");
+                sb.append(indent).append("List<").append(type).append("> ").append(list)
+                    .append(" = new ArrayList<>(").append(prefix).append("_COUNT);").append(NEWLINE);
+                sb.append(indent).append("for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {").append(NEWLINE);
+                sb.append(indent).append(INDENT).append(list).append(".add(decode").append(methodSuffix(node))
+                    .append("(record, ").append(base).append(" + ").append(prefix).append("_OFFSET + i * ")
+                    .append(prefix).append("_STRIDE));").append(NEWLINE);
+                sb.append(indent).append("}").append(NEWLINE);
+                sb.append(indent).append(target).append(".set").append(accessorSuffix(node)).append("(")
+                    .append(list).append(");").append(NEWLINE);
+            } else if (isObject(node)) {
+                sb.append(indent).append(target).append(".set").append(accessorSuffix(node)).append("(decode")
+                    .append(methodSuffix(node)).append("(record, ").append(base).append(" + ").append(prefix)
+                    .append("_OFFSET));").append(NEWLINE);
+            }
+            // Transitory fields and untyped groups are not part of the bean
+        }
+
+        /**
+         * Appends the statements encoding a node.
+         *
+         * @param source the variable holding the bean, or null if there is none
+         * @param nullable whether the source variable may be null
+         */
+        private void appendEncode(StringBuilder sb, OffsetLayout node, String source, boolean nullable,
+                                  String base, int depth) {
+            String prefix = prefixes.get(node);
+            String indent = INDENT.repeat(depth);
+            boolean fromBean = source != null && !node.getField().isTransitory();
+
+            if (!node.isGroup()) {
+                FieldNode field = node.getField();
+                boolean decimal = fromBean && isDecimal(field);
+                String value = "null";
+                if (fromBean) {
+                    String getter = source + ".get" + accessorSuffix(node) + "()";
+                    value = nullable ? source + " != null ? " + getter + " : null" : getter;
+                }
+                String defaultValue = getDefault(node);
+                String literal = defaultValue != null ? "\"" + escapeJava(defaultValue) + "\"" : "null";
+                String writer = decimal ? "writeDecimal" : "writeText";
+                if (decimal) {
+                    usesDecimal = true;
+                }
+
+                String offset = base + " + " + prefix + "_OFFSET";
+                if (node.getCount() > 1) {
+                    // A repeated leaf maps to one bean value, held by the first occurrence
+                    sb.append(indent).append("for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {").append(NEWLINE);
+                    offset = offset + " + i * " + prefix + "_LENGTH";
+                    if (fromBean) {
+                        value = "i == 0 ? (" + value + ") : null";
+                    }
+                    sb.append(indent).append(INDENT);
+                } else {
+                    sb.append(indent);
+                }
+                sb.append(writer).append("(record, ").append(offset).append(", ").append(prefix).append("_LENGTH, ")
+                    .append(value).append(", ").append(literal);
+                if (!decimal) {
+                    sb.append(", ").append(isRightAligned(field));
+                }
+                sb.append(");").append(NEWLINE);
+                if (node.getCount() > 1) {
+                    sb.append(indent).append("}").append(NEWLINE);
+                }
+                return;
+            }
+
+            String method = "encode" + methodSuffix(node);
+            if (fromBean && isList(node)) {
+                String type = elementType(node);
+                String local = localName(node);
+                String list = local + "List";
+                String size = local + "Size";
+                String getter = source + ".get" + accessorSuffix(node) + "()";
+                imports.add("java.util.List");
+                sb.append(indent).append("List<").append(type).append("> ").append(list).append(" = ")
+                    .append(nullable ? source + " != null ? " + getter + " : null" : getter)
+                    .append(";").append(NEWLINE);
+                sb.append(indent).append("int ").append(size).append(" = ").append(list).append(" != null ? ")
+                    .append(list).append(".size() : 0;").append(NEWLINE);
+                sb.append(indent).append("if (").append(size).append(" > ").append(prefix).append("_COUNT) {").append(NEWLINE);
+                sb.append(indent).append(INDENT).append("throw new IllegalArgumentException(\"")
+                    .append(node.getName()).append(" has \" + ").append(size).append(" + \" elements, at most \" + ")
+                    .append(prefix).append("_COUNT + \" allowed\");").append(NEWLINE);
+                sb.append(indent).append("}").append(NEWLINE);
+                sb.append(indent).append("for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {").append(NEWLINE);
+                sb.append(indent).append(INDENT).append(method).append("(i < ").append(size).append(" ? ")
+                    .append(list).append(".get(i) : null, record, ").append(base).append(" + ").append(prefix)
+                    .append("_OFFSET + i * ").append(prefix).append("_STRIDE);").append(NEWLINE);
+                sb.append(indent).append("}").append(NEWLINE);
+                return;
+            }
+
+            String element = null;
+            if (isList(node) || isObject(node)) {
+                // Typed group without a bean to read from
+                element = "null";
+                if (fromBean) {
+                    String getter = source + ".get" + accessorSuffix(node) + "()";
+                    element = nullable ? source + " != null ? " + getter + " : null" : getter;
+                }
+            }
+            String args = (element != null ? element + ", " : "") + "record, " + base + " + " + prefix + "_OFFSET";
+            if (node.getCount() > 1) {
+                sb.append(indent).append("for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {").append(NEWLINE);
+                sb.append(indent).append(INDENT).append(method).append("(")
+                    .append(element != null ? "null, " : "").append("record, ").append(base).append(" + ")
+                    .append(prefix).append("_OFFSET + i * ").append(prefix).append("_STRIDE);").append(NEWLINE);
+                sb.append(indent).append("}").append(NEWLINE);
+            } else {
+                sb.append(indent).append(method).append("(").append(args).append(");").append(NEWLINE);
+            }
+        }
+
+        // ---- Helpers ----
+
+        private void appendHelpers() {
+            String i1 = INDENT;
+            String i2 = INDENT + INDENT;
+            String i3 = i2 + INDENT;
+            StringBuilder sb = methods;
+
+            sb.append(NEWLINE);
+            sb.append(i1).append("private static void checkLength(byte[] record, int offset) {").append(NEWLINE);
+            sb.append(i2).append("if (offset < 0 || record.length - offset < LENGTH) {").append(NEWLINE);
+            sb.append(i3).append("throw new IllegalArgumentException(\"Record too short: expected \" + LENGTH")
+                .append(NEWLINE);
+            sb.append(i3).append(INDENT).append("+ \" bytes at offset \" + offset + \", got \" + (record.length - offset));")
+                .append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i1).append("}").append(NEWLINE);
+
+            // Left-justified text without trailing spaces
+            sb.append(NEWLINE);
+            sb.append(i1).append("private static String readText(byte[] record, int offset, int length) {").append(NEWLINE);
+            sb.append(i2).append("int end = offset + length;").append(NEWLINE);
+            sb.append(i2).append("while (end > offset && record[end - 1] == ' ') {").append(NEWLINE);
+            sb.append(i3).append("end--;").append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i2).append("return new String(record, offset, end - offset, StandardCharsets.ISO_8859_1);")
+                .append(NEWLINE);
+            sb.append(i1).append("}").append(NEWLINE);
+
+            // Numbers keep their zero padding
+            sb.append(NEWLINE);
+            sb.append(i1).append("private static String readNumber(byte[] record, int offset, int length) {").append(NEWLINE);
+            sb.append(i2).append("return new String(record, offset, length, StandardCharsets.ISO_8859_1).trim();")
+                .append(NEWLINE);
+            sb.append(i1).append("}").append(NEWLINE);
+
+            if (usesDecimal) {
+                String i4 = i3 + INDENT;
+
+                // Amounts of up to 18 characters are parsed from the bytes without a string
+                sb.append(NEWLINE);
+                sb.append(i1).append("private static BigDecimal readDecimal(byte[] record, int offset, int length) {")
+                    .append(NEWLINE);
+                sb.append(i2).append("int start = offset;").append(NEWLINE);
+                sb.append(i2).append("int end = offset + length;").append(NEWLINE);
+                sb.append(i2).append("while (start < end && record[start] == ' ') {").append(NEWLINE);
+                sb.append(i3).append("start++;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("while (end > start && record[end - 1] == ' ') {").append(NEWLINE);
+                sb.append(i3).append("end--;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("if (start == end) {").append(NEWLINE);
+                sb.append(i3).append("return null;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("if (end - start > 18) {").append(NEWLINE);
+                sb.append(i3).append("char[] chars = new char[end - start];").append(NEWLINE);
+                sb.append(i3).append("for (int i = 0; i < chars.length; i++) {").append(NEWLINE);
+                sb.append(i4).append("chars[i] = (char) (record[start + i] & 0xff);").append(NEWLINE);
+                sb.append(i3).append("}").append(NEWLINE);
+                sb.append(i3).append("return new BigDecimal(chars);").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("boolean negative = record[start] == '-';").append(NEWLINE);
+                sb.append(i2).append("if (negative || record[start] == '+') {").append(NEWLINE);
+                sb.append(i3).append("start++;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("long unscaled = 0;").append(NEWLINE);
+                sb.append(i2).append("int digits = 0;").append(NEWLINE);
+                sb.append(i2).append("int scale = -1;").append(NEWLINE);
+                sb.append(i2).append("for (int i = start; i < end; i++) {").append(NEWLINE);
+                sb.append(i3).append("int c = record[i];").append(NEWLINE);
+                sb.append(i3).append("if (c >= '0' && c <= '9') {").append(NEWLINE);
+                sb.append(i4).append("unscaled = unscaled * 10 + (c - '0');").append(NEWLINE);
+                sb.append(i4).append("digits++;").append(NEWLINE);
+                sb.append(i4).append("if (scale >= 0) {").append(NEWLINE);
+                sb.append(i4).append(INDENT).append("scale++;").append(NEWLINE);
+                sb.append(i4).append("}").append(NEWLINE);
+                sb.append(i3).append("} else if (c == '.' && scale < 0) {").append(NEWLINE);
+                sb.append(i4).append("scale = 0;").append(NEWLINE);
+                sb.append(i3).append("} else {").append(NEWLINE);
+                sb.append(i4).append("throw new NumberFormatException(\"Invalid decimal at offset \" + offset);")
+                    .append(NEWLINE);
+                sb.append(i3).append("}").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("if (digits == 0) {").append(NEWLINE);
+                sb.append(i3).append("throw new NumberFormatException(\"Invalid decimal at offset \" + offset);")
+                    .append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));")
+                    .append(NEWLINE);
+                sb.append(i1).append("}").append(NEWLINE);
+
+                // Digits written from the unscaled value; other values in plain notation
+                sb.append(NEWLINE);
+                sb.append(i1).append("private static void writeDecimal(byte[] record, int offset, int length, ")
+                    .append("BigDecimal value, String defaultValue) {").append(NEWLINE);
+                sb.append(i2).append("if (value == null || value.scale() < 0 || value.scale() > 18 || value.precision() > 18) {")
+                    .append(NEWLINE);
+                sb.append(i3).append("writeText(record, offset, length, value != null ? value.toPlainString() : null, ")
+                    .append("defaultValue, false);").append(NEWLINE);
+                sb.append(i3).append("return;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("int scale = value.scale();").append(NEWLINE);
+                sb.append(i2).append("long unscaled = value.unscaledValue().longValue();").append(NEWLINE);
+                sb.append(i2).append("boolean negative = unscaled < 0;").append(NEWLINE);
+                sb.append(i2).append("long v = negative ? -unscaled : unscaled;").append(NEWLINE);
+                sb.append(i2).append("int digits = 1;").append(NEWLINE);
+                sb.append(i2).append("for (long t = v / 10; t != 0; t /= 10) {").append(NEWLINE);
+                sb.append(i3).append("digits++;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("digits = Math.max(digits, scale + 1);").append(NEWLINE);
+                sb.append(i2).append("int n = digits + (scale > 0 ? 1 : 0) + (negative ? 1 : 0);").append(NEWLINE);
+                sb.append(i2).append("if (n > length) {").append(NEWLINE);
+                sb.append(i3).append("throw new IllegalArgumentException(\"Value of \" + n + \" characters does not fit length \" + length);")
+                    .append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("int pos = offset + n;").append(NEWLINE);
+                sb.append(i2).append("for (int i = 0; i < digits; i++) {").append(NEWLINE);
+                sb.append(i3).append("if (i == scale && scale > 0) {").append(NEWLINE);
+                sb.append(i4).append("record[--pos] = '.';").append(NEWLINE);
+                sb.append(i3).append("}").append(NEWLINE);
+                sb.append(i3).append("record[--pos] = (byte) ('0' + (int) (v % 10));").append(NEWLINE);
+                sb.append(i3).append("v /= 10;").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("if (negative) {").append(NEWLINE);
+                sb.append(i3).append("record[--pos] = '-';").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i2).append("for (int i = offset + n; i < offset + length; i++) {").append(NEWLINE);
+                sb.append(i3).append("record[i] = ' ';").append(NEWLINE);
+                sb.append(i2).append("}").append(NEWLINE);
+                sb.append(i1).append("}").append(NEWLINE);
+            }
+
+            sb.append(NEWLINE);
+            sb.append(i1).append("private static void writeText(byte[] record, int offset, int length, String value, ")
+                .append("String defaultValue, boolean rightAligned) {").append(NEWLINE);
+            sb.append(i2).append("String text = value != null ? value : defaultValue;").append(NEWLINE);
+            sb.append(i2).append("int n = text != null ? text.length() : 0;").append(NEWLINE);
+            sb.append(i2).append("if (n > length) {").append(NEWLINE);
+            sb.append(i3).append("throw new IllegalArgumentException(\"Value of \" + n + \" characters does not fit length \" + length);")
+                .append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i2).append("byte pad = rightAligned ? (byte) '0' : (byte) ' ';").append(NEWLINE);
+            sb.append(i2).append("int start = rightAligned ? offset + length - n : offset;").append(NEWLINE);
+            sb.append(i2).append("for (int i = offset; i < start; i++) {").append(NEWLINE);
+            sb.append(i3).append("record[i] = pad;").append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i2).append("for (int i = 0; i < n; i++) {").append(NEWLINE);
+            sb.append(i3).append("char c = text.charAt(i);").append(NEWLINE);
+            sb.append(i3).append("record[start + i] = c <= 0xff ? (byte) c : (byte) '?';").append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i2).append("for (int i = start + n; i < offset + length; i++) {").append(NEWLINE);
+            sb.append(i3).append("record[i] = pad;").append(NEWLINE);
+            sb.append(i2).append("}").append(NEWLINE);
+            sb.append(i1).append("}").append(NEWLINE);
+        }
+    }
+
+    /**
+     * Escapes a value for use inside a Java string literal.
+     *
+     * @param value the raw value
+     * @return the escaped value
+     */
+    private static String escapeJava(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -2,10 +2,20 @@ package com.rtm.mq.tool.generator.xml;
 
 import com.rtm.mq.tool.config.Config;
 import com.rtm.mq.tool.exception.GenerationException;
+import com.rtm.mq.tool.model.FieldGroup;
 import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.model.Metadata;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Composite XML generator that coordinates both outbound and inbound XML generation.
@@ -13,6 +23,18 @@ import java.util.Map;
  * <p>This generator delegates to {@link OutboundXmlGenerator} and {@link InboundXmlGenerator}
  * to generate both request and response XML bean definitions in a single call.</p>
  *
+ * <p>Both documents are generated concurrently: the outbound document on a
+ * shared executor, the inbound document on the calling thread. The executor
+ * is supplied by the caller (a bounded pool bean when serving requests) or
+ * defaults to {@link ForkJoinPool#commonPool()}, so no call creates threads
+ * of its own. They are generated from a snapshot of the model taken before
+ * either starts, holding copies of the request and response field lists and
+ * of the operation id, so later changes to the caller's model cannot race
+ * with generation. Field nodes are shared, relying on the
+ * {@link MessageModel} invariant that they are not modified after parsing.
+ * The delegates are stateless, so a single composite may serve concurrent
+ * requests.</p>
+ *
  * <p>The generated artifacts include:</p>
  * <ul>
  *   <li>xml/outbound-converter.xml - Request message bean definition</li>
@@ -29,15 +51,29 @@ public class CompositeXmlGenerator implements XmlGenerator {
 
     private final OutboundXmlGenerator outboundGenerator;
     private final InboundXmlGenerator inboundGenerator;
+    private final Executor executor;
 
     /**
      * Constructs a CompositeXmlGenerator with the given configuration.
      *
+     * <p>Outbound documents are generated on {@link ForkJoinPool#commonPool()}.</p>
+     *
      * @param config the configuration containing XML generation settings
      */
     public CompositeXmlGenerator(Config config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a CompositeXmlGenerator generating outbound documents on a shared executor.
+     *
+     * @param config the configuration containing XML generation settings
+     * @param executor the executor running outbound generation, shared across calls
+     */
+    public CompositeXmlGenerator(Config config, Executor executor) {
         this.outboundGenerator = new OutboundXmlGenerator(config);
         this.inboundGenerator = new InboundXmlGenerator(config);
+        this.executor = executor;
     }
 
     /**
@@ -51,13 +87,16 @@ public class CompositeXmlGenerator implements XmlGenerator {
     public CompositeXmlGenerator(OutboundXmlGenerator outboundGenerator, InboundXmlGenerator inboundGenerator) {
         this.outboundGenerator = outboundGenerator;
         this.inboundGenerator = inboundGenerator;
+        this.executor = ForkJoinPool.commonPool();
     }
 
     /**
      * Generates both outbound and inbound XML bean definitions.
      *
      * <p>This method delegates to both OutboundXmlGenerator and InboundXmlGenerator
-     * to produce a complete set of XML bean definitions.</p>
+     * to produce a complete set of XML bean definitions. Both generators run
+     * to completion before a failure is reported; if both fail, the outbound
+     * failure is reported, as it would be when generating sequentially.</p>
      *
      * @param model the message model containing request and response definitions
      * @param outputDir the base output directory
@@ -66,46 +105,77 @@ public class CompositeXmlGenerator implements XmlGenerator {
      */
     @Override
     public Map<String, String> generate(MessageModel model, Path outputDir) {
-        Map<String, String> artifacts = new LinkedHashMap<>();
+        MessageModel snapshot = snapshot(model);
+
+        // Generate outbound (request) XML on the shared executor
+        CompletableFuture<Map<String, String>> outbound = CompletableFuture.supplyAsync(
+            () -> outboundGenerator.generate(snapshot, outputDir), executor);
 
+        // Generate inbound (response) XML on this thread
+        Map<String, String> inboundArtifacts = null;
+        RuntimeException inboundFailure = null;
         try {
-            // Generate outbound (request) XML
-            Map<String, String> outboundArtifacts = outboundGenerator.generate(model, outputDir);
-            artifacts.putAll(outboundArtifacts);
-
-            // Generate inbound (response) XML
-            Map<String, String> inboundArtifacts = inboundGenerator.generate(model, outputDir);
-            artifacts.putAll(inboundArtifacts);
-
-            return artifacts;
-        } catch (GenerationException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new GenerationException("Failed to generate XML beans: " + e.getMessage(), e)
-                    .withGenerator(GENERATOR_TYPE);
+            inboundArtifacts = inboundGenerator.generate(snapshot, outputDir);
+        } catch (RuntimeException e) {
+            inboundFailure = e;
+        }
+
+        Map<String, String> artifacts = new LinkedHashMap<>(await(outbound));
+        if (inboundFailure != null) {
+            throw toGenerationException(inboundFailure);
         }
+        artifacts.putAll(inboundArtifacts);
+        return artifacts;
     }
 
     /**
      * Generates the outbound (request) XML bean definition.
      *
+     * @param model the message model to generate from
      * @return the generated XML content as a string
      * @throws GenerationException if generation fails
      */
     @Override
-    public String generateOutbound() {
-        return outboundGenerator.generateOutbound();
+    public String generateOutbound(MessageModel model) {
+        return outboundGenerator.generateOutbound(model);
     }
 
     /**
      * Generates the inbound (response) XML bean definition.
      *
+     * @param model the message model to generate from
      * @return the generated XML content as a string
      * @throws GenerationException if generation fails
      */
     @Override
-    public String generateInbound() {
-        return inboundGenerator.generateInbound();
+    public String generateInbound(MessageModel model) {
+        return inboundGenerator.generateInbound(model);
+    }
+
+    /**
+     * Writes the outbound (request) XML bean definition to a writer.
+     *
+     * @param model the message model to generate from
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     * @throws GenerationException if generation fails
+     */
+    @Override
+    public void writeOutbound(MessageModel model, Writer out) throws IOException {
+        outboundGenerator.writeOutbound(model, out);
+    }
+
+    /**
+     * Writes the inbound (response) XML bean definition to a writer.
+     *
+     * @param model the message model to generate from
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     * @throws GenerationException if generation fails
+     */
+    @Override
+    public void writeInbound(MessageModel model, Writer out) throws IOException {
+        inboundGenerator.writeInbound(model, out);
     }
 
     /**
@@ -117,4 +187,76 @@ public class CompositeXmlGenerator implements XmlGenerator {
     public String getType() {
         return GENERATOR_TYPE;
     }
+
+    /**
+     * Takes a snapshot of the parts of a model read by XML generation.
+     *
+     * @param model the message model, may be null
+     * @return the snapshot, or null if the model is null
+     */
+    private static MessageModel snapshot(MessageModel model) {
+        if (model == null) {
+            return null;
+        }
+        MessageModel snapshot = new MessageModel();
+        snapshot.setRequest(snapshot(model.getRequest()));
+        snapshot.setResponse(snapshot(model.getResponse()));
+        if (model.getMetadata() != null) {
+            Metadata metadata = new Metadata();
+            metadata.setOperationId(model.getMetadata().getOperationId());
+            snapshot.setMetadata(metadata);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copies the field list of a group into an unmodifiable list.
+     *
+     * @param group the field group, may be null
+     * @return the copy, or null if the group is null
+     */
+    private static FieldGroup snapshot(FieldGroup group) {
+        if (group == null) {
+            return null;
+        }
+        FieldGroup snapshot = new FieldGroup();
+        snapshot.setFields(Collections.unmodifiableList(new ArrayList<>(group.getFields())));
+        return snapshot;
+    }
+
+    /**
+     * Gets the result of the outbound task, rethrowing its failure.
+     *
+     * @param future the outbound task
+     * @return the outbound artifacts
+     * @throws GenerationException if the task failed
+     */
+    private Map<String, String> await(CompletableFuture<Map<String, String>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw toGenerationException((RuntimeException) cause);
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw toGenerationException(e);
+        }
+    }
+
+    /**
+     * Wraps a generator failure, passing GenerationExceptions through unchanged.
+     *
+     * @param e the failure
+     * @return the exception to throw
+     */
+    private GenerationException toGenerationException(RuntimeException e) {
+        if (e instanceof GenerationException) {
+            return (GenerationException) e;
+        }
+        return new GenerationException("Failed to generate XML beans: " + e.getMessage(), e)
+                .withGenerator(GENERATOR_TYPE);
+    }
 }
@@ -34,29 +34,10 @@ public class ConverterMapper {
      *
      * @param dataType the data type from the Excel specification
      * @return the converter bean name
+     * @see XmlDataType#of(String)
      */
     public String getConverter(String dataType) {
-        if (dataType == null) return STRING_CONVERTER;
-
-        String normalized = dataType.trim().toLowerCase();
-
-        switch (normalized) {
-            case "string":
-            case "an":
-                return STRING_CONVERTER;
-
-            case "number":
-            case "n":
-            case "unsigned integer":
-                return STRING_CONVERTER;  // Keep as string for numeric types
-
-            case "amount":
-            case "currency":
-                return CURRENCY_CONVERTER;
-
-            default:
-                return STRING_CONVERTER;
-        }
+        return XmlDataType.of(dataType).getConverter();
     }
 
     /**
@@ -69,14 +50,16 @@ public class ConverterMapper {
      * @return the fully qualified Java type, or null if not applicable
      */
     public String getForType(String dataType) {
-        if (dataType == null) return null;
-
-        String normalized = dataType.trim().toLowerCase();
-
-        if ("amount".equals(normalized) || "currency".equals(normalized)) {
-            return "java.math.BigDecimal";
-        }
+        return getForType(XmlDataType.of(dataType));
+    }
 
-        return null;
+    /**
+     * Gets the forType attribute value for a parsed data type.
+     *
+     * @param dataType the parsed data type
+     * @return the fully qualified Java type, or null if not applicable
+     */
+    public String getForType(XmlDataType dataType) {
+        return dataType == XmlDataType.AMOUNT ? dataType.getJavaType() : null;
     }
 }
@@ -8,6 +8,7 @@ import com.rtm.mq.tool.model.FieldGroup;
 import com.rtm.mq.tool.model.MessageModel;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -39,6 +40,9 @@ import java.util.Map;
  *   <li>Empty data: generates empty XML (vs throws exception)</li>
  * </ul>
  *
+ * <p>Like OutboundXmlGenerator, the generator keeps no state between calls
+ * and is thread-safe.</p>
+ *
  * @see XmlTemplateEngine
  * @see XmlGenerator
  */
@@ -52,8 +56,6 @@ public class InboundXmlGenerator implements XmlGenerator {
 
     private final Config config;
     private final XmlTemplateEngine templateEngine;
-    private MessageModel model;
-    private String generatedContent;
 
     /**
      * Constructs an InboundXmlGenerator with the given configuration.
@@ -78,15 +80,6 @@ public class InboundXmlGenerator implements XmlGenerator {
         this.templateEngine = templateEngine;
     }
 
-    /**
-     * Sets the message model to generate XML from.
-     *
-     * @param model the message model containing response fields
-     */
-    public void setModel(MessageModel model) {
-        this.model = model;
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -94,10 +87,9 @@ public class InboundXmlGenerator implements XmlGenerator {
      */
     @Override
     public Map<String, String> generate(MessageModel model, Path outputDir) {
-        this.model = model;
         Map<String, String> artifacts = new LinkedHashMap<>();
 
-        String xmlContent = generateInbound();
+        String xmlContent = generateInbound(model);
         String relativePath = OUTPUT_SUBDIR + "/" + OUTPUT_FILENAME;
         artifacts.put(relativePath, xmlContent);
 
@@ -125,7 +117,18 @@ public class InboundXmlGenerator implements XmlGenerator {
      * @throws UnsupportedOperationException always, as this generator only supports inbound
      */
     @Override
-    public String generateOutbound() {
+    public String generateOutbound(MessageModel model) {
+        throw new UnsupportedOperationException(
+            "InboundXmlGenerator does not support outbound generation. Use OutboundXmlGenerator instead.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException always, as this generator only supports inbound
+     */
+    @Override
+    public void writeOutbound(MessageModel model, Writer out) {
         throw new UnsupportedOperationException(
             "InboundXmlGenerator does not support outbound generation. Use OutboundXmlGenerator instead.");
     }
@@ -141,7 +144,39 @@ public class InboundXmlGenerator implements XmlGenerator {
      * @throws GenerationException if operationId is missing and response is non-empty
      */
     @Override
-    public String generateInbound() {
+    public String generateInbound(MessageModel model) {
+        FieldGroup response = validateModel(model);
+        if (response == null) {
+            return templateEngine.generateEmptyInbound();
+        }
+        return templateEngine.generateInbound(response, model.getMetadata().getOperationId());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Writes an empty inbound document when the response has no fields.</p>
+     *
+     * @throws GenerationException if operationId is missing and response is non-empty
+     */
+    @Override
+    public void writeInbound(MessageModel model, Writer out) throws IOException {
+        FieldGroup response = validateModel(model);
+        if (response == null) {
+            templateEngine.writeEmptyInbound(out);
+            return;
+        }
+        templateEngine.writeInbound(response, model.getMetadata().getOperationId(), out);
+    }
+
+    /**
+     * Validates the model before generation.
+     *
+     * @param model the message model to validate
+     * @return the response field group, or null if the response is empty
+     * @throws GenerationException if the model is null, or operationId is missing and response is non-empty
+     */
+    private FieldGroup validateModel(MessageModel model) {
         if (model == null) {
             throw new GenerationException("MessageModel is null")
                 .withGenerator("InboundXmlGenerator");
@@ -152,8 +187,7 @@ public class InboundXmlGenerator implements XmlGenerator {
         // Response can be empty (some messages only have Request)
         // Generate empty inbound-converter.xml in this case (AC13)
         if (response == null || response.getFields().isEmpty()) {
-            this.generatedContent = templateEngine.generateEmptyInbound();
-            return generatedContent;
+            return null;
         }
 
         // Validate metadata and operationId only when response is non-empty (AC14)
@@ -169,9 +203,7 @@ public class InboundXmlGenerator implements XmlGenerator {
                 .withArtifact(OUTPUT_FILENAME);
         }
 
-        // Generate inbound XML using template engine
-        this.generatedContent = templateEngine.generateInbound(response, operationId);
-        return generatedContent;
+        return response;
     }
 
     /**
@@ -185,26 +217,19 @@ public class InboundXmlGenerator implements XmlGenerator {
      * @throws GenerationException if reading or generation fails
      */
     public String generateFromJsonTree(Path jsonTreePath) {
-        MessageModel loadedModel = loadMessageModel(jsonTreePath);
-        this.model = loadedModel;
-        return generateInbound();
+        return generateInbound(loadMessageModel(jsonTreePath));
     }
 
     /**
-     * Writes the generated XML content to the output file.
+     * Writes generated XML content to the output file.
      *
      * <p>Creates the output directory if it doesn't exist.</p>
      *
+     * @param content the XML content returned by {@link #generateInbound(MessageModel)}
      * @throws GenerationException if writing fails
      */
-    public void writeOutput() {
-        if (generatedContent == null) {
-            throw new GenerationException("No content generated. Call generateInbound() first.")
-                .withGenerator("InboundXmlGenerator");
-        }
-
-        Path outputPath = getOutputPath();
-        writeToFile(outputPath, generatedContent);
+    public void writeOutput(String content) {
+        writeToFile(getOutputPath(), content);
     }
 
     /**
@@ -216,15 +241,6 @@ public class InboundXmlGenerator implements XmlGenerator {
         return Path.of(config.getOutput().getRootDir(), OUTPUT_SUBDIR, OUTPUT_FILENAME);
     }
 
-    /**
-     * Gets the generated XML content.
-     *
-     * @return the generated content, or null if not yet generated
-     */
-    public String getGeneratedContent() {
-        return generatedContent;
-    }
-
     /**
      * Checks if the model has response data.
      *
@@ -246,7 +262,10 @@ public class InboundXmlGenerator implements XmlGenerator {
     private void writeToFile(Path outputPath, String content) {
         try {
             Files.createDirectories(outputPath.getParent());
-            Files.writeString(outputPath, content, StandardCharsets.UTF_8);
+            // Encode through the writer's buffer rather than into a full byte array
+            try (Writer writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
         } catch (IOException e) {
             throw new GenerationException("Failed to write inbound XML: " + e.getMessage(), e)
                 .withGenerator("InboundXmlGenerator")
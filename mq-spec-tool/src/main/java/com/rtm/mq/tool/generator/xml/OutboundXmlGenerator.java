@@ -8,6 +8,7 @@ import com.rtm.mq.tool.model.FieldGroup;
 import com.rtm.mq.tool.model.MessageModel;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,6 +30,8 @@ import java.util.Map;
  *   <li>Generates RepeatingField for arrays</li>
  * </ul>
  *
+ * <p>The generator keeps no state between calls and is thread-safe.</p>
+ *
  * @see XmlTemplateEngine
  * @see XmlGenerator
  */
@@ -42,8 +45,6 @@ public class OutboundXmlGenerator implements XmlGenerator {
 
     private final Config config;
     private final XmlTemplateEngine templateEngine;
-    private MessageModel model;
-    private String generatedContent;
 
     /**
      * Constructs an OutboundXmlGenerator with the given configuration.
@@ -68,15 +69,6 @@ public class OutboundXmlGenerator implements XmlGenerator {
         this.templateEngine = templateEngine;
     }
 
-    /**
-     * Sets the message model to generate XML from.
-     *
-     * @param model the message model containing request fields
-     */
-    public void setModel(MessageModel model) {
-        this.model = model;
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -84,10 +76,9 @@ public class OutboundXmlGenerator implements XmlGenerator {
      */
     @Override
     public Map<String, String> generate(MessageModel model, Path outputDir) {
-        this.model = model;
         Map<String, String> artifacts = new LinkedHashMap<>();
 
-        String xmlContent = generateOutbound();
+        String xmlContent = generateOutbound(model);
         String relativePath = OUTPUT_SUBDIR + "/" + OUTPUT_FILENAME;
         artifacts.put(relativePath, xmlContent);
 
@@ -114,14 +105,24 @@ public class OutboundXmlGenerator implements XmlGenerator {
      * @throws GenerationException if request fields are empty or operationId is missing
      */
     @Override
-    public String generateOutbound() {
-        validateModel();
+    public String generateOutbound(MessageModel model) {
+        validateModel(model);
 
         FieldGroup request = model.getRequest();
         String operationId = model.getMetadata().getOperationId();
 
-        this.generatedContent = templateEngine.generateOutbound(request, operationId);
-        return generatedContent;
+        return templateEngine.generateOutbound(request, operationId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws GenerationException if request fields are empty or operationId is missing
+     */
+    @Override
+    public void writeOutbound(MessageModel model, Writer out) throws IOException {
+        validateModel(model);
+        templateEngine.writeOutbound(model.getRequest(), model.getMetadata().getOperationId(), out);
     }
 
     /**
@@ -133,7 +134,18 @@ public class OutboundXmlGenerator implements XmlGenerator {
      * @throws UnsupportedOperationException always, as this generator only supports outbound
      */
     @Override
-    public String generateInbound() {
+    public String generateInbound(MessageModel model) {
+        throw new UnsupportedOperationException(
+            "OutboundXmlGenerator does not support inbound generation. Use InboundXmlGenerator instead.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException always, as this generator only supports outbound
+     */
+    @Override
+    public void writeInbound(MessageModel model, Writer out) {
         throw new UnsupportedOperationException(
             "OutboundXmlGenerator does not support inbound generation. Use InboundXmlGenerator instead.");
     }
@@ -149,26 +161,19 @@ public class OutboundXmlGenerator implements XmlGenerator {
      * @throws GenerationException if reading or generation fails
      */
     public String generateFromJsonTree(Path jsonTreePath) {
-        MessageModel loadedModel = loadMessageModel(jsonTreePath);
-        this.model = loadedModel;
-        return generateOutbound();
+        return generateOutbound(loadMessageModel(jsonTreePath));
     }
 
     /**
-     * Writes the generated XML content to the output file.
+     * Writes generated XML content to the output file.
      *
      * <p>Creates the output directory if it doesn't exist.</p>
      *
+     * @param content the XML content returned by {@link #generateOutbound(MessageModel)}
      * @throws GenerationException if writing fails
      */
-    public void writeOutput() {
-        if (generatedContent == null) {
-            throw new GenerationException("No content generated. Call generateOutbound() first.")
-                .withGenerator("OutboundXmlGenerator");
-        }
-
-        Path outputPath = getOutputPath();
-        writeToFile(outputPath, generatedContent);
+    public void writeOutput(String content) {
+        writeToFile(getOutputPath(), content);
     }
 
     /**
@@ -180,21 +185,13 @@ public class OutboundXmlGenerator implements XmlGenerator {
         return Path.of(config.getOutput().getRootDir(), OUTPUT_SUBDIR, OUTPUT_FILENAME);
     }
 
-    /**
-     * Gets the generated XML content.
-     *
-     * @return the generated content, or null if not yet generated
-     */
-    public String getGeneratedContent() {
-        return generatedContent;
-    }
-
     /**
      * Validates the model before generation.
      *
+     * @param model the message model to validate
      * @throws GenerationException if validation fails
      */
-    private void validateModel() {
+    private void validateModel(MessageModel model) {
         if (model == null) {
             throw new GenerationException("MessageModel is null")
                 .withGenerator("OutboundXmlGenerator");
@@ -230,7 +227,10 @@ public class OutboundXmlGenerator implements XmlGenerator {
     private void writeToFile(Path outputPath, String content) {
         try {
             Files.createDirectories(outputPath.getParent());
-            Files.writeString(outputPath, content, StandardCharsets.UTF_8);
+            // Encode through the writer's buffer rather than into a full byte array
+            try (Writer writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
         } catch (IOException e) {
             throw new GenerationException("Failed to write outbound XML: " + e.getMessage(), e)
                 .withGenerator("OutboundXmlGenerator")
@@ -0,0 +1,89 @@
+package com.rtm.mq.tool.generator.xml;
+
+/**
+ * Enumeration of specification data types as seen by XML generation.
+ *
+ * <p>Data types are matched case-insensitively after trimming. Each type
+ * fixes the converter, the Java type and the padding of a data field:</p>
+ * <ul>
+ *   <li>STRING - {@code String}, {@code AN}, {@code A/N}, {@code A}, {@code Date},
+ *       any unknown type and no type at all; space padded</li>
+ *   <li>NUMBER - {@code Number}, {@code N}, {@code Unsigned Integer};
+ *       string converter, right-aligned and zero padded</li>
+ *   <li>AMOUNT - {@code Amount}, {@code Currency}; currency converter,
+ *       {@code java.math.BigDecimal}</li>
+ *   <li>NLS - {@code NLS String}, {@code NLS}; NLS string converter</li>
+ * </ul>
+ *
+ * @see ConverterMapper
+ * @see XmlTypeMapper
+ */
+public enum XmlDataType {
+    STRING(ConverterMapper.STRING_CONVERTER, "java.lang.String", false),
+    NUMBER(ConverterMapper.STRING_CONVERTER, "java.lang.String", true),
+    AMOUNT(ConverterMapper.CURRENCY_CONVERTER, "java.math.BigDecimal", false),
+    NLS(ConverterMapper.NLS_CONVERTER, "java.lang.String", false);
+
+    private final String converter;
+    private final String javaType;
+    private final boolean numeric;
+
+    XmlDataType(String converter, String javaType, boolean numeric) {
+        this.converter = converter;
+        this.javaType = javaType;
+        this.numeric = numeric;
+    }
+
+    /**
+     * Gets the data type of a specification type name.
+     *
+     * @param dataType the data type from the specification, may be null
+     * @return the matching data type; STRING if null or unknown
+     */
+    public static XmlDataType of(String dataType) {
+        if (dataType == null) {
+            return STRING;
+        }
+        switch (dataType.trim().toLowerCase()) {
+            case "number":
+            case "n":
+            case "unsigned integer":
+                return NUMBER;
+            case "amount":
+            case "currency":
+                return AMOUNT;
+            case "nls string":
+            case "nls":
+                return NLS;
+            default:
+                return STRING;
+        }
+    }
+
+    /**
+     * Gets the converter bean name.
+     *
+     * @return the converter bean name
+     */
+    public String getConverter() {
+        return converter;
+    }
+
+    /**
+     * Gets the fully qualified Java type of the field value.
+     *
+     * @return the Java type
+     */
+    public String getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * Checks if the type is numeric (zero-padded and right-aligned).
+     *
+     * @return true for NUMBER
+     */
+    public boolean isNumeric() {
+        return numeric;
+    }
+}
@@ -1,7 +1,12 @@
 package com.rtm.mq.tool.generator.xml;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Container for XML field attributes used in Spring XML bean definitions.
@@ -11,10 +16,16 @@ import java.util.Map;
  * added in a specific order to ensure consistent output.</p>
  *
  * <p>The builder pattern is used to allow fluent construction of attribute sets.</p>
+ *
+ * <p>A built attribute set can be frozen into an immutable flyweight with
+ * {@link #freeze()}. Fields sharing everything but their name then share one
+ * frozen set: {@link #withName(String)} prepends the name without copying
+ * the shared attributes into a new map. Setters of frozen sets throw
+ * {@link UnsupportedOperationException}.</p>
  */
 public class XmlFieldAttributes {
-    private final Map<String, String> attributes = new LinkedHashMap<>();
-    private XmlFieldType type;
+    private final Map<String, String> attributes;
+    private final XmlFieldType type;
 
     /**
      * Constructs an XmlFieldAttributes instance with the specified type.
@@ -23,6 +34,12 @@ public class XmlFieldAttributes {
      */
     public XmlFieldAttributes(XmlFieldType type) {
         this.type = type;
+        this.attributes = new LinkedHashMap<>();
+    }
+
+    private XmlFieldAttributes(XmlFieldType type, Map<String, String> attributes) {
+        this.type = type;
+        this.attributes = attributes;
     }
 
     /**
@@ -182,9 +199,112 @@ public class XmlFieldAttributes {
     /**
      * Gets the attribute map.
      *
-     * @return the map of attributes in insertion order
+     * @return the map of attributes in insertion order; unmodifiable if frozen
      */
     public Map<String, String> getAttributes() {
         return attributes;
     }
+
+    /**
+     * Gets an immutable copy of this attribute set.
+     *
+     * @return the frozen attribute set; this instance if already frozen
+     */
+    public XmlFieldAttributes freeze() {
+        if (attributes instanceof FrozenAttributes) {
+            return this;
+        }
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, String>[] entries =
+                (Map.Entry<String, String>[]) new Map.Entry<?, ?>[attributes.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            entries[i++] = Map.entry(entry.getKey(), entry.getValue());
+        }
+        return new XmlFieldAttributes(type, new FrozenAttributes(entries));
+    }
+
+    /**
+     * Gets an immutable attribute set starting with a name attribute,
+     * followed by the attributes of this set.
+     *
+     * <p>This set must not contain a name attribute itself.</p>
+     *
+     * @param name the field name (camelCase), or null for no name attribute
+     * @return the frozen attribute set
+     */
+    public XmlFieldAttributes withName(String name) {
+        FrozenAttributes shared = (FrozenAttributes) freeze().attributes;
+        if (name == null) {
+            return new XmlFieldAttributes(type, shared);
+        }
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, String>[] entries =
+                (Map.Entry<String, String>[]) new Map.Entry<?, ?>[shared.entries.length + 1];
+        entries[0] = Map.entry("name", name);
+        System.arraycopy(shared.entries, 0, entries, 1, shared.entries.length);
+        return new XmlFieldAttributes(type, new FrozenAttributes(entries));
+    }
+
+    /**
+     * Immutable attribute map backed by an array of entries in attribute order.
+     */
+    private static final class FrozenAttributes extends AbstractMap<String, String> {
+
+        private final Map.Entry<String, String>[] entries;
+
+        FrozenAttributes(Map.Entry<String, String>[] entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public int size() {
+            return entries.length;
+        }
+
+        @Override
+        public String get(Object key) {
+            for (Map.Entry<String, String> entry : entries) {
+                if (entry.getKey().equals(key)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < entries.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (next >= entries.length) {
+                                throw new NoSuchElementException();
+                            }
+                            return entries[next++];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.length;
+                }
+            };
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package com.rtm.mq.tool.generator.xml;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -23,16 +26,17 @@ import java.util.Map;
  *   <li>&apos; becomes &amp;apos;</li>
  * </ul>
  *
+ * <p>Rendering is done by {@link XmlStreamWriter}, which
+ * {@link XmlTemplateEngine} also uses to stream documents without building a
+ * tree; both paths therefore produce identical output.</p>
+ *
  * @see XmlElement
  * @see XmlTemplateEngine
  */
 public class XmlFormatter {
 
-    /** Standard 2-space indentation per level. */
-    private static final String INDENT = "  ";
-
-    /** XML 1.0 declaration with UTF-8 encoding. */
-    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    /** Initial buffer capacity for formatted documents. */
+    private static final int INITIAL_CAPACITY = 4096;
 
     /**
      * Formats an XML element tree into a complete XML document string.
@@ -44,13 +48,31 @@ public class XmlFormatter {
      * @return the formatted XML string
      */
     public String format(XmlElement root) {
-        if (root == null) {
-            return XML_DECLARATION + "\n";
+        XmlStreamWriter.StringBuilderWriter out = new XmlStreamWriter.StringBuilderWriter(INITIAL_CAPACITY);
+        try {
+            format(root, out);
+        } catch (IOException e) {
+            // StringBuilderWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Formats an XML element tree as a complete XML document onto a writer.
+     *
+     * <p>The writer is neither flushed nor closed.</p>
+     *
+     * @param root the root element of the XML tree
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     */
+    public void format(XmlElement root, Writer out) throws IOException {
+        XmlStreamWriter xml = new XmlStreamWriter(out);
+        xml.declaration();
+        if (root != null) {
+            formatElement(xml, root, 0);
         }
-        StringBuilder sb = new StringBuilder();
-        sb.append(XML_DECLARATION).append("\n");
-        formatElement(sb, root, 0);
-        return sb.toString();
     }
 
     /**
@@ -66,98 +88,62 @@ public class XmlFormatter {
         if (root == null) {
             return "";
         }
-        StringBuilder sb = new StringBuilder();
-        formatElement(sb, root, 0);
-        return sb.toString();
+        XmlStreamWriter.StringBuilderWriter out = new XmlStreamWriter.StringBuilderWriter(INITIAL_CAPACITY);
+        try {
+            formatElement(new XmlStreamWriter(out), root, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
     }
 
     /**
      * Recursively formats an element and its children.
      *
-     * @param sb the StringBuilder to append to
+     * @param xml the stream writer to emit to
      * @param element the element to format
      * @param level the current indentation level
      */
-    private void formatElement(StringBuilder sb, XmlElement element, int level) {
-        String indent = getIndent(level);
-
+    private void formatElement(XmlStreamWriter xml, XmlElement element, int level) throws IOException {
         // Start tag
-        sb.append(indent).append("<").append(element.getTagName());
+        xml.indent(level);
+        xml.startTag(element.getTagName());
 
         // Attributes (order preserved by LinkedHashMap)
         for (Map.Entry<String, String> attr : element.getAttributes().entrySet()) {
-            sb.append(" ").append(attr.getKey()).append("=\"")
-              .append(escapeXml(attr.getValue())).append("\"");
+            xml.attribute(attr.getKey(), attr.getValue());
         }
 
         // Handle empty, text-only, or children cases
         if (element.isEmpty()) {
             // Self-closing tag for empty elements (AC7)
-            sb.append(" />\n");
+            xml.closeEmptyTag();
         } else if (element.hasTextContent() && !element.hasChildren()) {
             // Text content on same line
-            sb.append(">").append(escapeXml(element.getTextContent()));
-            sb.append("</").append(element.getTagName()).append(">\n");
+            xml.closeStartTag();
+            xml.text(element.getTextContent());
+            xml.endTag(element.getTagName());
         } else {
             // Has children (and possibly text)
-            sb.append(">\n");
+            xml.closeStartTag();
+            xml.newLine();
 
             // Text content before children if both exist
             if (element.hasTextContent()) {
-                sb.append(getIndent(level + 1))
-                  .append(escapeXml(element.getTextContent())).append("\n");
+                xml.indent(level + 1);
+                xml.text(element.getTextContent());
+                xml.newLine();
             }
 
             for (XmlElement child : element.getChildren()) {
-                formatElement(sb, child, level + 1);
+                formatElement(xml, child, level + 1);
                 if (child.isBlankLineAfter()) {
-                    sb.append("\n");
+                    xml.newLine();
                 }
             }
 
-            sb.append(indent).append("</").append(element.getTagName()).append(">\n");
-        }
-    }
-
-    /**
-     * Gets the indentation string for the specified level.
-     *
-     * @param level the indentation level (0 = no indent)
-     * @return the indentation string (2 spaces per level)
-     */
-    private String getIndent(int level) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < level; i++) {
-            sb.append(INDENT);
-        }
-        return sb.toString();
-    }
-
-    /**
-     * Escapes special XML characters in a string.
-     *
-     * <p>The following characters are escaped:</p>
-     * <ul>
-     *   <li>&amp; to &amp;amp; (must be first)</li>
-     *   <li>&lt; to &amp;lt;</li>
-     *   <li>&gt; to &amp;gt;</li>
-     *   <li>&quot; to &amp;quot;</li>
-     *   <li>&apos; to &amp;apos;</li>
-     * </ul>
-     *
-     * @param value the string to escape
-     * @return the escaped string, or empty string if null
-     */
-    private String escapeXml(String value) {
-        if (value == null) {
-            return "";
+            xml.indent(level);
+            xml.endTag(element.getTagName());
         }
-        // Order matters: & must be replaced first
-        return value
-            .replace("&", "&amp;")
-            .replace("<", "&lt;")
-            .replace(">", "&gt;")
-            .replace("\"", "&quot;")
-            .replace("'", "&apos;");
     }
 }
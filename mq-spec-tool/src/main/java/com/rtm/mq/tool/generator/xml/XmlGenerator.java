@@ -1,6 +1,10 @@
 package com.rtm.mq.tool.generator.xml;
 
 import com.rtm.mq.tool.generator.Generator;
+import com.rtm.mq.tool.model.MessageModel;
+
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * XML Bean generator interface.
@@ -12,6 +16,9 @@ import com.rtm.mq.tool.generator.Generator;
  * <p>The generated XML follows the project's bean definition schema and is
  * suitable for use with the existing MQ message processing framework.</p>
  *
+ * <p>Implementations take the model as an argument and return their result
+ * rather than keeping it, so a single instance may serve concurrent callers.</p>
+ *
  * @see Generator
  */
 public interface XmlGenerator extends Generator {
@@ -22,11 +29,12 @@ public interface XmlGenerator extends Generator {
      * <p>The outbound XML represents the message structure sent to the MQ system.
      * This typically corresponds to the "Request" sheet in the Excel specification.</p>
      *
+     * @param model the message model to generate from
      * @return the generated XML content as a string;
      *         never null but may be empty if no request definition exists
      * @throws com.rtm.mq.tool.exception.GenerationException if generation fails
      */
-    String generateOutbound();
+    String generateOutbound(MessageModel model);
 
     /**
      * Generates the inbound XML bean definition (Response).
@@ -34,9 +42,36 @@ public interface XmlGenerator extends Generator {
      * <p>The inbound XML represents the message structure received from the MQ system.
      * This typically corresponds to the "Response" sheet in the Excel specification.</p>
      *
+     * @param model the message model to generate from
      * @return the generated XML content as a string;
      *         never null but may be empty if no response definition exists
      * @throws com.rtm.mq.tool.exception.GenerationException if generation fails
      */
-    String generateInbound();
+    String generateInbound(MessageModel model);
+
+    /**
+     * Writes the outbound XML bean definition (Request) to a writer.
+     *
+     * <p>Produces the same document as {@link #generateOutbound(MessageModel)}
+     * without materializing it. The writer is neither flushed nor closed.</p>
+     *
+     * @param model the message model to generate from
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     * @throws com.rtm.mq.tool.exception.GenerationException if generation fails
+     */
+    void writeOutbound(MessageModel model, Writer out) throws IOException;
+
+    /**
+     * Writes the inbound XML bean definition (Response) to a writer.
+     *
+     * <p>Produces the same document as {@link #generateInbound(MessageModel)}
+     * without materializing it. The writer is neither flushed nor closed.</p>
+     *
+     * @param model the message model to generate from
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     * @throws com.rtm.mq.tool.exception.GenerationException if generation fails
+     */
+    void writeInbound(MessageModel model, Writer out) throws IOException;
 }
@@ -0,0 +1,219 @@
+package com.rtm.mq.tool.generator.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes XML markup straight to a {@link Writer} in the layout of {@link XmlFormatter}.
+ *
+ * <p>The writer is a thin layer of primitives - indentation, tags, escaped
+ * attribute values and text - so callers can emit a document while walking
+ * their own model, without building an {@link XmlElement} tree or an
+ * intermediate string. Indent strings are cached per level and escaping is
+ * table driven: runs of characters that need no escaping are written in one
+ * call.</p>
+ *
+ * <p>The writer keeps no element stack; callers are responsible for
+ * balancing tags. It is not thread-safe and does not flush or close the
+ * underlying writer.</p>
+ *
+ * @see XmlFormatter
+ * @see XmlTemplateEngine
+ */
+final class XmlStreamWriter {
+
+    /** XML 1.0 declaration with UTF-8 encoding. */
+    static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    /** Standard 2-space indentation per level. */
+    private static final String INDENT = "  ";
+
+    /** Levels with a cached indent string; deeper levels are built on demand. */
+    private static final int CACHED_INDENTS = 32;
+
+    private static final String[] INDENTS = new String[CACHED_INDENTS];
+
+    /** Replacement of each escaped ASCII character, null if written as is. */
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        for (int i = 0; i < INDENTS.length; i++) {
+            INDENTS[i] = INDENT.repeat(i);
+        }
+        ESCAPES['&'] = "&amp;";
+        ESCAPES['<'] = "&lt;";
+        ESCAPES['>'] = "&gt;";
+        ESCAPES['"'] = "&quot;";
+        ESCAPES['\''] = "&apos;";
+    }
+
+    private final Writer out;
+
+    /**
+     * Creates a writer emitting to the given character stream.
+     *
+     * @param out the character stream
+     */
+    XmlStreamWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the XML declaration and a line break.
+     */
+    void declaration() throws IOException {
+        out.write(XML_DECLARATION);
+        out.write('\n');
+    }
+
+    /**
+     * Writes the indentation of a level.
+     *
+     * @param level the indentation level (0 = no indent)
+     */
+    void indent(int level) throws IOException {
+        out.write(level < CACHED_INDENTS ? INDENTS[level] : INDENT.repeat(level));
+    }
+
+    /**
+     * Opens a start tag; attributes may follow.
+     *
+     * @param tagName the tag name
+     */
+    void startTag(String tagName) throws IOException {
+        out.write('<');
+        out.write(tagName);
+    }
+
+    /**
+     * Writes an attribute of the open start tag.
+     *
+     * @param name the attribute name
+     * @param value the attribute value, escaped on output; null is written as empty
+     */
+    void attribute(String name, String value) throws IOException {
+        out.write(' ');
+        out.write(name);
+        out.write("=\"");
+        text(value);
+        out.write('"');
+    }
+
+    /**
+     * Closes the open start tag as a self-closing tag and ends the line.
+     */
+    void closeEmptyTag() throws IOException {
+        out.write(" />\n");
+    }
+
+    /**
+     * Closes the open start tag; content follows on the same line.
+     */
+    void closeStartTag() throws IOException {
+        out.write('>');
+    }
+
+    /**
+     * Writes an end tag and ends the line.
+     *
+     * @param tagName the tag name
+     */
+    void endTag(String tagName) throws IOException {
+        out.write("</");
+        out.write(tagName);
+        out.write(">\n");
+    }
+
+    /**
+     * Ends the current line, or writes a blank line between elements.
+     */
+    void newLine() throws IOException {
+        out.write('\n');
+    }
+
+    /**
+     * Writes escaped character data.
+     *
+     * @param value the text; null is written as nothing
+     */
+    void text(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int n = value.length();
+        int from = 0;
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            String escape = c < ESCAPES.length ? ESCAPES[c] : null;
+            if (escape != null) {
+                if (i > from) {
+                    out.write(value, from, i - from);
+                }
+                out.write(escape);
+                from = i + 1;
+            }
+        }
+        if (from < n) {
+            out.write(value, from, n - from);
+        }
+    }
+
+    /**
+     * Unsynchronized writer collecting characters into a string.
+     *
+     * <p>Used instead of {@link java.io.StringWriter}, whose
+     * {@code StringBuffer} synchronizes every one of the many small writes
+     * made while streaming a document.</p>
+     */
+    static final class StringBuilderWriter extends Writer {
+
+        private final StringBuilder buffer;
+
+        /**
+         * Creates a writer with the given initial capacity.
+         *
+         * @param capacity the initial capacity in characters
+         */
+        StringBuilderWriter(int capacity) {
+            this.buffer = new StringBuilder(capacity);
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str) {
+            buffer.append(str);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Gets the characters written so far.
+         *
+         * @return the written string
+         */
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
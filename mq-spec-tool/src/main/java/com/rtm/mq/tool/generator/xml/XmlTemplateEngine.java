@@ -4,7 +4,9 @@ import com.rtm.mq.tool.config.Config;
 import com.rtm.mq.tool.model.FieldGroup;
 import com.rtm.mq.tool.model.FieldNode;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +32,13 @@ import java.util.Map;
  * </beans:beans>
  * }</pre>
  *
+ * <p>Documents are streamed: the engine walks the FieldNode tree once and
+ * writes markup through {@link XmlStreamWriter} straight to a {@link Writer},
+ * without building an {@link XmlElement} tree. The output is identical to
+ * formatting the equivalent tree with {@link XmlFormatter}. The
+ * {@code write*} methods emit to any writer, e.g. a buffered file writer;
+ * the {@code generate*} methods render into a string.</p>
+ *
  * @see XmlElement
  * @see XmlFormatter
  * @see XmlTypeMapper
@@ -51,6 +60,12 @@ public class XmlTemplateEngine {
         this.formatter = new XmlFormatter();
     }
 
+    /** Initial buffer capacity for documents rendered into a string. */
+    private static final int INITIAL_CAPACITY = 8192;
+
+    /** Indentation level of message fields, nested in beans, converter and message. */
+    private static final int FIELD_LEVEL = 3;
+
     /**
      * Generates an Outbound XML document (for request messages).
      *
@@ -59,15 +74,7 @@ public class XmlTemplateEngine {
      * @return the formatted XML string
      */
     public String generateOutbound(FieldGroup request, String operationId) {
-        XmlElement root = createRootElement("fix-length-outbound-converter", "req_converter");
-        XmlElement message = createMessageElement(operationId + "Request");
-
-        // Add fields preserving order (AC3)
-        addFields(message, request.getFields());
-
-        root.addChild(message);
-
-        return formatter.format(wrapWithBeans(root, config.getXml().getNamespace().getOutbound()));
+        return render(out -> writeOutbound(request, operationId, out));
     }
 
     /**
@@ -78,128 +85,186 @@ public class XmlTemplateEngine {
      * @return the formatted XML string
      */
     public String generateInbound(FieldGroup response, String operationId) {
-        XmlElement root = createRootElement("fix-length-inbound-converter", "resp_converter");
-        XmlElement message = createMessageElement(operationId + "Response");
-
-        // Add fields preserving order (AC3)
-        addFields(message, response.getFields());
-
-        root.addChild(message);
-
-        return formatter.format(wrapWithBeans(root, config.getXml().getNamespace().getInbound()));
+        return render(out -> writeInbound(response, operationId, out));
     }
 
     /**
-     * Creates the root converter element.
+     * Writes an Outbound XML document (for request messages) to a writer.
      *
-     * @param tagName the converter tag name (fix-length-outbound-converter or fix-length-inbound-converter)
-     * @param id the converter bean id
-     * @return the root converter element
+     * <p>The writer is neither flushed nor closed.</p>
+     *
+     * @param request the request field group from the intermediate JSON tree
+     * @param operationId the operation identifier (used for message type naming)
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
      */
-    private XmlElement createRootElement(String tagName, String id) {
-        return new XmlElement(tagName)
-            .attribute("id", id)
-            .attribute("codeGen", "true");
+    public void writeOutbound(FieldGroup request, String operationId, Writer out) throws IOException {
+        writeDocument(out, "fix-length-outbound-converter", "req_converter",
+            config.getXml().getNamespace().getOutbound(), operationId + "Request", request.getFields());
     }
 
     /**
-     * Creates the message element with forType attribute.
+     * Writes an Inbound XML document (for response messages) to a writer.
      *
-     * @param className the message class name
-     * @return the message element
+     * <p>The writer is neither flushed nor closed.</p>
+     *
+     * @param response the response field group from the intermediate JSON tree
+     * @param operationId the operation identifier (used for message type naming)
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
      */
-    private XmlElement createMessageElement(String className) {
-        String forType = buildForType(className);
-        return new XmlElement("message")
-            .attribute("forType", forType);
+    public void writeInbound(FieldGroup response, String operationId, Writer out) throws IOException {
+        writeDocument(out, "fix-length-inbound-converter", "resp_converter",
+            config.getXml().getNamespace().getInbound(), operationId + "Response", response.getFields());
     }
 
     /**
-     * Recursively adds fields to a parent element.
+     * Writes a complete converter document.
      *
-     * <p>Field order is preserved as specified in the intermediate JSON tree (AC3).
-     * Nested structures (objects and arrays) are handled recursively (AC4).</p>
+     * <p>Adds required namespace declarations for Spring XML configuration (AC2).
+     * Without a message class name, the converter element is left empty.</p>
      *
-     * @param parent the parent element to add fields to
-     * @param fields the list of field nodes to add
+     * @param out the writer to emit to
+     * @param tagName the converter tag name (fix-length-outbound-converter or fix-length-inbound-converter)
+     * @param id the converter bean id
+     * @param namespace the primary namespace URI
+     * @param className the message class name, or null for an empty converter
+     * @param fields the message fields
      */
-    private void addFields(XmlElement parent, List<FieldNode> fields) {
-        List<FieldNode> transitoryFields = new ArrayList<>();
-        List<FieldNode> compositeFields = new ArrayList<>();
-        List<FieldNode> otherFields = new ArrayList<>();
+    private void writeDocument(Writer out, String tagName, String id, String namespace,
+                               String className, List<FieldNode> fields) throws IOException {
+        XmlStreamWriter xml = new XmlStreamWriter(out);
+        xml.declaration();
 
-        for (FieldNode field : fields) {
-            if (field.isTransitory()) {
-                transitoryFields.add(field);
-            } else if (field.isObject() || field.isArray()) {
-                compositeFields.add(field);
+        xml.startTag("beans:beans");
+        xml.attribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        if (namespace != null) {
+            xml.attribute("xmlns", namespace);
+        }
+        xml.attribute("xmlns:beans", "http://www.springframework.org/schema/beans");
+        xml.closeStartTag();
+        xml.newLine();
+
+        xml.indent(1);
+        xml.startTag(tagName);
+        xml.attribute("id", id);
+        xml.attribute("codeGen", "true");
+        if (className == null) {
+            xml.closeEmptyTag();
+        } else {
+            xml.closeStartTag();
+            xml.newLine();
+
+            xml.indent(2);
+            xml.startTag("message");
+            xml.attribute("forType", buildForType(className));
+            if (fields.isEmpty()) {
+                xml.closeEmptyTag();
             } else {
-                otherFields.add(field);
+                xml.closeStartTag();
+                xml.newLine();
+                // Add fields preserving order (AC3)
+                writeFields(xml, fields, FIELD_LEVEL);
+                xml.indent(2);
+                xml.endTag("message");
             }
-        }
 
-        for (FieldNode field : transitoryFields) {
-            XmlElement fieldElement = createFieldElement(field);
-            parent.addChild(fieldElement);
+            xml.indent(1);
+            xml.endTag(tagName);
         }
 
-        for (FieldNode field : compositeFields) {
-            XmlElement fieldElement = createFieldElement(field);
-            parent.addChild(fieldElement);
-            fieldElement.markForBlankLine(true);
+        xml.endTag("beans:beans");
+    }
 
-            if (!field.getChildren().isEmpty()) {
-                addFields(fieldElement, field.getChildren());
+    /**
+     * Recursively writes the fields of one level.
+     *
+     * <p>Field order is preserved as specified in the intermediate JSON tree (AC3),
+     * except that transitory fields come first and composite fields (objects and
+     * arrays, each followed by a blank line) before the remaining fields.
+     * Nested structures are handled recursively (AC4).</p>
+     *
+     * @param xml the stream writer to emit to
+     * @param fields the list of field nodes to write
+     * @param level the indentation level of the fields
+     */
+    private void writeFields(XmlStreamWriter xml, List<FieldNode> fields, int level) throws IOException {
+        for (FieldNode field : fields) {
+            if (field.isTransitory()) {
+                writeField(xml, field, level);
             }
         }
 
-        for (FieldNode field : otherFields) {
-            XmlElement fieldElement = createFieldElement(field);
-            parent.addChild(fieldElement);
+        for (FieldNode field : fields) {
+            if (!field.isTransitory() && (field.isObject() || field.isArray())) {
+                writeField(xml, field, level);
+                xml.newLine();
+            }
+        }
 
-            if (!field.getChildren().isEmpty()) {
-                addFields(fieldElement, field.getChildren());
+        for (FieldNode field : fields) {
+            if (!field.isTransitory() && !field.isObject() && !field.isArray()) {
+                writeField(xml, field, level);
             }
         }
     }
 
     /**
-     * Creates a field element from a FieldNode.
+     * Writes a field element and, for non-transitory fields, its children.
      *
      * <p>Uses XmlTypeMapper to determine the appropriate XML field type
      * and attributes based on the field characteristics.</p>
      *
+     * @param xml the stream writer to emit to
      * @param node the field node from the intermediate JSON tree
-     * @return the field XML element
+     * @param level the indentation level of the field
      */
-    private XmlElement createFieldElement(FieldNode node) {
+    private void writeField(XmlStreamWriter xml, FieldNode node, int level) throws IOException {
         XmlFieldAttributes attrs = typeMapper.map(node);
 
-        XmlElement element = new XmlElement("field");
+        xml.indent(level);
+        xml.startTag("field");
         for (Map.Entry<String, String> entry : attrs.getAttributes().entrySet()) {
-            element.attribute(entry.getKey(), entry.getValue());
+            if (entry.getValue() != null) {
+                xml.attribute(entry.getKey(), entry.getValue());
+            }
         }
 
-        return element;
+        List<FieldNode> children = node.getChildren();
+        if (node.isTransitory() || children.isEmpty()) {
+            xml.closeEmptyTag();
+        } else {
+            xml.closeStartTag();
+            xml.newLine();
+            writeFields(xml, children, level + 1);
+            xml.indent(level);
+            xml.endTag("field");
+        }
     }
 
     /**
-     * Wraps the converter element with the beans root element.
-     *
-     * <p>Adds required namespace declarations for Spring XML configuration (AC2).</p>
+     * Renders a document into a string.
      *
-     * @param content the converter element to wrap
-     * @param namespace the primary namespace URI
-     * @return the beans root element
+     * @param document the document writer
+     * @return the formatted XML string
+     */
+    private String render(DocumentWriter document) {
+        XmlStreamWriter.StringBuilderWriter out = new XmlStreamWriter.StringBuilderWriter(INITIAL_CAPACITY);
+        try {
+            document.write(out);
+        } catch (IOException e) {
+            // StringBuilderWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes one document to a writer.
      */
-    private XmlElement wrapWithBeans(XmlElement content, String namespace) {
-        XmlElement beans = new XmlElement("beans:beans")
-            .attribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance")
-            .attribute("xmlns", namespace)
-            .attribute("xmlns:beans", "http://www.springframework.org/schema/beans");
-
-        beans.addChild(content);
-        return beans;
+    @FunctionalInterface
+    private interface DocumentWriter {
+        void write(Writer out) throws IOException;
     }
 
     /**
@@ -248,7 +313,20 @@ public class XmlTemplateEngine {
      * @return the formatted empty XML string
      */
     public String generateEmptyInbound() {
-        XmlElement root = createRootElement("fix-length-inbound-converter", "resp_converter");
-        return formatter.format(wrapWithBeans(root, config.getXml().getNamespace().getInbound()));
+        return render(this::writeEmptyInbound);
+    }
+
+    /**
+     * Writes an empty Inbound XML document (when Response is empty) to a writer.
+     *
+     * <p>The writer is neither flushed nor closed.</p>
+     *
+     * @param out the writer to emit to
+     * @throws IOException if writing fails
+     * @see #generateEmptyInbound()
+     */
+    public void writeEmptyInbound(Writer out) throws IOException {
+        writeDocument(out, "fix-length-inbound-converter", "resp_converter",
+            config.getXml().getNamespace().getInbound(), null, List.of());
     }
 }
@@ -4,6 +4,10 @@ import com.rtm.mq.tool.config.Config;
 import com.rtm.mq.tool.model.FieldNode;
 import com.rtm.mq.tool.parser.OccurrenceCountParser;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Maps FieldNode objects to XML field attributes for Spring XML bean generation.
  *
@@ -19,12 +23,40 @@ import com.rtm.mq.tool.parser.OccurrenceCountParser;
  *   <li>Object fields - CompositeField with forType</li>
  *   <li>Simple fields - DataField with type-specific converter</li>
  * </ul>
+ *
+ * <p>Apart from their names, fields repeat a handful of attribute sets, so
+ * mapping is memoized: the attributes of each distinct combination of the
+ * inputs below are computed once - parsing the data type into an
+ * {@link XmlDataType} and the occurrenceCount with {@link OccurrenceCountParser} -
+ * and interned as a frozen {@link XmlFieldAttributes}. Each field then gets
+ * its name prepended to the shared set. The memo key holds:</p>
+ * <ul>
+ *   <li>groupId fields - length and groupId</li>
+ *   <li>occurrenceCount fields - length and occurrenceCount</li>
+ *   <li>Array fields - occurrenceCount and className</li>
+ *   <li>Object fields - className</li>
+ *   <li>Simple fields - length, dataType and defaultValue</li>
+ * </ul>
+ *
+ * <p>The memo is bounded per instance, and the project groupId/artifactId
+ * are read from the configuration when an attribute set is first computed.
+ * Instances are thread-safe.</p>
  */
 public class XmlTypeMapper {
 
+    /** Maximum number of memoized attribute sets per instance. */
+    private static final int MAX_MEMO_ENTRIES = 4096;
+
+    private static final int GROUP_ID_FIELD = 0;
+    private static final int OCCURRENCE_COUNT_FIELD = 1;
+    private static final int REPEATING_FIELD = 2;
+    private static final int COMPOSITE_FIELD = 3;
+    private static final int DATA_FIELD = 4;
+
     private final Config config;
     private final ConverterMapper converterMapper;
     private final OccurrenceCountParser occurrenceParser;
+    private final Map<Key, XmlFieldAttributes> memo = new ConcurrentHashMap<>();
 
     /**
      * Constructs an XmlTypeMapper with the given configuration.
@@ -44,31 +76,70 @@ public class XmlTypeMapper {
      * transitory fields first, then arrays, objects, and finally simple data fields.</p>
      *
      * @param node the field node from the intermediate JSON tree
-     * @return the XML field attributes for this node
+     * @return the XML field attributes for this node (frozen)
+     * @throws com.rtm.mq.tool.exception.ParseException if an occurrenceCount is invalid
      */
     public XmlFieldAttributes map(FieldNode node) {
-        // 1. transitory groupId field
+        Key key;
         if (node.isTransitory() && node.getGroupId() != null) {
-            return mapGroupIdField(node);
+            // 1. transitory groupId field
+            key = new Key(GROUP_ID_FIELD, node.getLength(), node.getGroupId(), null);
+        } else if (node.isTransitory() && node.getOccurrenceCount() != null) {
+            // 2. transitory occurrenceCount field
+            key = new Key(OCCURRENCE_COUNT_FIELD, node.getLength(), node.getOccurrenceCount(), null);
+        } else if (node.isArray()) {
+            // 3. array field
+            key = new Key(REPEATING_FIELD, null, node.getOccurrenceCount(), node.getClassName());
+        } else if (node.isObject()) {
+            // 4. object field
+            key = new Key(COMPOSITE_FIELD, null, node.getClassName(), null);
+        } else {
+            // 5. simple data field
+            key = new Key(DATA_FIELD, node.getLength(), node.getDataType(), node.getDefaultValue());
         }
+        return lookup(key).withName(node.getCamelCaseName());
+    }
 
-        // 2. transitory occurrenceCount field
-        if (node.isTransitory() && node.getOccurrenceCount() != null) {
-            return mapOccurrenceCountField(node);
+    /**
+     * Gets the shared attribute set of a memo key, computing it on first use.
+     *
+     * @param key the memo key
+     * @return the frozen attribute set, without name
+     */
+    private XmlFieldAttributes lookup(Key key) {
+        XmlFieldAttributes cached = memo.get(key);
+        if (cached != null) {
+            return cached;
         }
 
-        // 3. array field
-        if (node.isArray()) {
-            return mapRepeatingField(node);
+        XmlFieldAttributes attrs = create(key).freeze();
+        if (memo.size() >= MAX_MEMO_ENTRIES) {
+            // Attribute vocabularies are small; a full memo means unrelated specs, so start over
+            memo.clear();
         }
+        memo.put(key, attrs);
+        return attrs;
+    }
 
-        // 4. object field
-        if (node.isObject()) {
-            return mapCompositeField(node);
+    /**
+     * Computes the attribute set of a memo key.
+     *
+     * @param key the memo key
+     * @return the attribute set, without name
+     */
+    private XmlFieldAttributes create(Key key) {
+        switch (key.kind) {
+            case GROUP_ID_FIELD:
+                return mapGroupIdField(key.length, key.first);
+            case OCCURRENCE_COUNT_FIELD:
+                return mapOccurrenceCountField(key.length, key.first);
+            case REPEATING_FIELD:
+                return mapRepeatingField(key.first, key.second);
+            case COMPOSITE_FIELD:
+                return mapCompositeField(key.first);
+            default:
+                return mapDataField(key.length, XmlDataType.of(key.first), key.second);
         }
-
-        // 5. simple data field
-        return mapDataField(node);
     }
 
     /**
@@ -77,16 +148,16 @@ public class XmlTypeMapper {
      * <p>GroupId fields are transitory markers that contain the group identifier
      * and should be included in the XML output with a fixed default value.</p>
      *
-     * @param node the field node
+     * @param length the field length, or null for the default of 10
+     * @param groupId the group identifier
      * @return DataField attributes with transitory=true and defaultValue=groupId
      */
-    private XmlFieldAttributes mapGroupIdField(FieldNode node) {
+    private XmlFieldAttributes mapGroupIdField(Integer length, String groupId) {
         return new XmlFieldAttributes(XmlFieldType.DATA_FIELD)
-            .name(node.getCamelCaseName())
-            .length(node.getLength() != null ? node.getLength() : 10)
+            .length(length != null ? length : 10)
             .fixedLength(true)
             .transitory(true)
-            .defaultValue(node.getGroupId())
+            .defaultValue(groupId)
             .converter(ConverterMapper.STRING_CONVERTER)
             .fieldType(XmlFieldType.DATA_FIELD.getValue());
     }
@@ -97,14 +168,14 @@ public class XmlTypeMapper {
      * <p>OccurrenceCount fields indicate how many times a repeating structure
      * appears and use the counterFieldConverter with numeric formatting.</p>
      *
-     * @param node the field node
+     * @param length the field length, or null for the default of 4
+     * @param occurrenceCount the occurrence count, e.g. "0..9"
      * @return DataField attributes with transitory=true and counter converter
      */
-    private XmlFieldAttributes mapOccurrenceCountField(FieldNode node) {
-        int count = occurrenceParser.calculateFixedCount(node.getOccurrenceCount());
+    private XmlFieldAttributes mapOccurrenceCountField(Integer length, String occurrenceCount) {
+        int count = occurrenceParser.calculateFixedCount(occurrenceCount);
         return new XmlFieldAttributes(XmlFieldType.DATA_FIELD)
-            .name(node.getCamelCaseName())
-            .length(node.getLength() != null ? node.getLength() : 4)
+            .length(length != null ? length : 4)
             .fixedLength(true)
             .transitory(true)
             .defaultValue(String.valueOf(count))
@@ -117,28 +188,27 @@ public class XmlTypeMapper {
     /**
      * Maps an object field (non-array composite structure).
      *
-     * @param node the field node
+     * @param className the class name of the object
      * @return CompositeField attributes with forType pointing to the Java class
      */
-    private XmlFieldAttributes mapCompositeField(FieldNode node) {
+    private XmlFieldAttributes mapCompositeField(String className) {
         return new XmlFieldAttributes(XmlFieldType.COMPOSITE_FIELD)
-            .name(node.getCamelCaseName())
-            .forType(buildForType(node.getClassName()))
+            .forType(buildForType(className))
             .fieldType(XmlFieldType.COMPOSITE_FIELD.getValue());
     }
 
     /**
      * Maps an array field (repeating structure).
      *
-     * @param node the field node
+     * @param occurrenceCount the occurrence count, e.g. "0..9"
+     * @param className the class name of the elements
      * @return RepeatingField attributes with fixedCount and forType
      */
-    private XmlFieldAttributes mapRepeatingField(FieldNode node) {
-        int fixedCount = occurrenceParser.calculateFixedCount(node.getOccurrenceCount());
+    private XmlFieldAttributes mapRepeatingField(String occurrenceCount, String className) {
+        int fixedCount = occurrenceParser.calculateFixedCount(occurrenceCount);
         return new XmlFieldAttributes(XmlFieldType.REPEATING_FIELD)
-            .name(node.getCamelCaseName())
             .fixedCount(fixedCount)
-            .forType(buildForType(node.getClassName()))
+            .forType(buildForType(className))
             .fieldType(XmlFieldType.REPEATING_FIELD.getValue());
     }
 
@@ -148,56 +218,30 @@ public class XmlTypeMapper {
      * <p>Data fields receive type-specific formatting based on their data type:
      * numeric fields get right-aligned zero-padding, string fields get space padding.</p>
      *
-     * @param node the field node
+     * @param length the field length, or null
+     * @param dataType the parsed data type
+     * @param defaultValue the default value, or null
      * @return DataField attributes with appropriate converter and formatting
      */
-    private XmlFieldAttributes mapDataField(FieldNode node) {
+    private XmlFieldAttributes mapDataField(Integer length, XmlDataType dataType, String defaultValue) {
         XmlFieldAttributes attrs = new XmlFieldAttributes(XmlFieldType.DATA_FIELD)
-            .name(node.getCamelCaseName())
-            .length(node.getLength());
-
-        String dataType = node.getDataType();
+            .length(length)
+            .defaultValue(defaultValue);
 
-        if (node.getDefaultValue() != null) {
-            attrs.defaultValue(node.getDefaultValue());
-        }
-
-        if (isNumericType(dataType)) {
+        if (dataType.isNumeric()) {
             attrs.pad("0").alignRight(true);
         } else {
             attrs.nullPad(" ");
         }
 
-        attrs.converter(converterMapper.getConverter(dataType));
+        attrs.converter(dataType.getConverter());
 
         String forType = converterMapper.getForType(dataType);
-        if (forType != null) {
-            attrs.forType(forType);
-        } else {
-            attrs.forType(getDefaultJavaType(dataType));
-        }
+        attrs.forType(forType != null ? forType : dataType.getJavaType());
 
         return attrs.fieldType(XmlFieldType.DATA_FIELD.getValue());
     }
 
-    private String getDefaultJavaType(String dataType) {
-        if (dataType == null) return "java.lang.String";
-        String normalized = dataType.trim().toLowerCase();
-        switch (normalized) {
-            case "string":
-            case "an":
-            case "a/n":
-            case "a":
-            case "date":
-            case "number":
-            case "n":
-            case "unsigned integer":
-                return "java.lang.String";
-            default:
-                return "java.lang.String";
-        }
-    }
-
     /**
      * Builds the fully qualified forType attribute.
      *
@@ -213,16 +257,42 @@ public class XmlTypeMapper {
     }
 
     /**
-     * Checks if the data type is numeric.
-     *
-     * @param dataType the data type from the specification
-     * @return true if the type is numeric (requires zero-padding and right alignment)
+     * Memo key: the mapping rule and the inputs it reads.
      */
-    private boolean isNumericType(String dataType) {
-        if (dataType == null) return false;
-        String normalized = dataType.trim().toLowerCase();
-        return "number".equals(normalized) ||
-               "n".equals(normalized) ||
-               "unsigned integer".equals(normalized);
+    private static final class Key {
+        final int kind;
+        final Integer length;
+        final String first;
+        final String second;
+
+        Key(int kind, Integer length, String first, String second) {
+            this.kind = kind;
+            this.length = length;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return kind == other.kind
+                && Objects.equals(length, other.length)
+                && Objects.equals(first, other.first)
+                && Objects.equals(second, other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = kind;
+            h = 31 * h + Objects.hashCode(length);
+            h = 31 * h + Objects.hashCode(first);
+            return 31 * h + Objects.hashCode(second);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.rtm.mq.tool.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,6 +14,10 @@ import java.util.List;
  *   <li>Extra: Fields in target but not in MQ message</li>
  *   <li>Differences: Fields with same name but different properties</li>
  * </ul>
+ *
+ * <p>Every entry carries the dotted path of its field: {@link FieldMatch},
+ * {@link FieldDifference} and, for missing and extra fields,
+ * {@link UnpairedField}.</p>
  */
 public class ComparisonResult {
 
@@ -20,10 +25,10 @@ public class ComparisonResult {
     private List<FieldMatch> matches = new ArrayList<>();
 
     /** Fields in MQ message but not in target */
-    private List<FieldNode> missingInTarget = new ArrayList<>();
+    private List<UnpairedField> missingInTarget = new ArrayList<>();
 
     /** Fields in target but not in MQ message */
-    private List<FieldNode> extraInTarget = new ArrayList<>();
+    private List<UnpairedField> extraInTarget = new ArrayList<>();
 
     /** Fields with same name but different properties */
     private List<FieldDifference> differences = new ArrayList<>();
@@ -49,37 +54,57 @@ public class ComparisonResult {
     /**
      * Gets the list of missing fields.
      *
-     * @return list of FieldNode objects in MQ message but not in target
+     * @return unmodifiable list of FieldNode objects in MQ message but not in target
+     * @see #getMissingFields()
      */
     public List<FieldNode> getMissingInTarget() {
-        return missingInTarget;
+        return fieldsOf(missingInTarget);
     }
 
     /**
-     * Sets the list of missing fields.
+     * Sets the list of missing fields, all at the root level.
      *
      * @param missingInTarget the list to set
      */
     public void setMissingInTarget(List<FieldNode> missingInTarget) {
-        this.missingInTarget = missingInTarget != null ? missingInTarget : new ArrayList<>();
+        this.missingInTarget = rootLevel(missingInTarget);
+    }
+
+    /**
+     * Gets the missing fields together with their paths.
+     *
+     * @return list of UnpairedField objects in MQ message but not in target
+     */
+    public List<UnpairedField> getMissingFields() {
+        return missingInTarget;
     }
 
     /**
      * Gets the list of extra fields.
      *
-     * @return list of FieldNode objects in target but not in MQ message
+     * @return unmodifiable list of FieldNode objects in target but not in MQ message
+     * @see #getExtraFields()
      */
     public List<FieldNode> getExtraInTarget() {
-        return extraInTarget;
+        return fieldsOf(extraInTarget);
     }
 
     /**
-     * Sets the list of extra fields.
+     * Sets the list of extra fields, all at the root level.
      *
      * @param extraInTarget the list to set
      */
     public void setExtraInTarget(List<FieldNode> extraInTarget) {
-        this.extraInTarget = extraInTarget != null ? extraInTarget : new ArrayList<>();
+        this.extraInTarget = rootLevel(extraInTarget);
+    }
+
+    /**
+     * Gets the extra fields together with their paths.
+     *
+     * @return list of UnpairedField objects in target but not in MQ message
+     */
+    public List<UnpairedField> getExtraFields() {
+        return extraInTarget;
     }
 
     /**
@@ -132,6 +157,25 @@ public class ComparisonResult {
         return missingInTarget.isEmpty() && extraInTarget.isEmpty() && differences.isEmpty();
     }
 
+    private static List<FieldNode> fieldsOf(List<UnpairedField> unpaired) {
+        List<FieldNode> fields = new ArrayList<>(unpaired.size());
+        for (UnpairedField entry : unpaired) {
+            fields.add(entry.getField());
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static List<UnpairedField> rootLevel(List<FieldNode> fields) {
+        List<UnpairedField> unpaired = new ArrayList<>();
+        if (fields != null) {
+            for (FieldNode field : fields) {
+                String name = field != null ? field.getOriginalName() : null;
+                unpaired.add(new UnpairedField(field, name != null ? name : ""));
+            }
+        }
+        return unpaired;
+    }
+
     @Override
     public String toString() {
         return String.format(
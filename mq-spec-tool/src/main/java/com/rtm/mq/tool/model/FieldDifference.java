@@ -14,6 +14,9 @@ public class FieldDifference {
     /** The corresponding field from the target (request/response) */
     private FieldNode targetField;
 
+    /** Dotted path of the field from the root, e.g. "header.body.amount" */
+    private String path;
+
     /**
      * Constructs a FieldDifference.
      *
@@ -25,6 +28,18 @@ public class FieldDifference {
         this.targetField = targetField;
     }
 
+    /**
+     * Constructs a FieldDifference at a nested position.
+     *
+     * @param mqField the MQ message field
+     * @param targetField the target field
+     * @param path the dotted path of the field from the root
+     */
+    public FieldDifference(FieldNode mqField, FieldNode targetField, String path) {
+        this(mqField, targetField);
+        this.path = path;
+    }
+
     /**
      * Gets the MQ message field.
      *
@@ -113,6 +128,24 @@ public class FieldDifference {
         return (a == null && b == null) || (a != null && a.equals(b));
     }
 
+    /**
+     * Gets the dotted path of the field from the root.
+     *
+     * @return the path, or null if not recorded
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the dotted path of the field from the root.
+     *
+     * @param path the path to set
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     @Override
     public String toString() {
         return "FieldDifference{" +
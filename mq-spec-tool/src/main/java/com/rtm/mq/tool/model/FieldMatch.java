@@ -4,7 +4,8 @@ package com.rtm.mq.tool.model;
  * Represents a match between an MQ message field and a target field.
  *
  * <p>A match indicates that the same field exists in both the MQ message
- * and the target, with identical properties.</p>
+ * and the target, with identical properties. For a container, a match
+ * covers its whole subtree: all descendants are identical as well.</p>
  */
 public class FieldMatch {
 
@@ -14,6 +15,9 @@ public class FieldMatch {
     /** The corresponding field from the target (request/response) */
     private FieldNode targetField;
 
+    /** Dotted path of the field from the root, e.g. "header.body.amount" */
+    private String path;
+
     /**
      * Constructs a FieldMatch.
      *
@@ -25,6 +29,18 @@ public class FieldMatch {
         this.targetField = targetField;
     }
 
+    /**
+     * Constructs a FieldMatch at a nested position.
+     *
+     * @param mqField the MQ message field
+     * @param targetField the target field
+     * @param path the dotted path of the field from the root
+     */
+    public FieldMatch(FieldNode mqField, FieldNode targetField, String path) {
+        this(mqField, targetField);
+        this.path = path;
+    }
+
     /**
      * Gets the MQ message field.
      *
@@ -61,6 +77,24 @@ public class FieldMatch {
         this.targetField = targetField;
     }
 
+    /**
+     * Gets the dotted path of the field from the root.
+     *
+     * @return the path, or null if not recorded
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the dotted path of the field from the root.
+     *
+     * @param path the path to set
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     @Override
     public String toString() {
         return "FieldMatch{" +
@@ -74,8 +74,8 @@ public class FieldNode {
     /** Child field nodes for nested structures. Uses List to preserve field order. */
     private List<FieldNode> children = new ArrayList<>();
 
-    /** Source metadata for audit traceability. */
-    private SourceMetadata source = new SourceMetadata();
+    /** Source metadata for audit traceability; set by {@link Builder#build()} if not given. */
+    private SourceMetadata source;
 
     /**
      * Private constructor for Builder pattern.
@@ -457,6 +457,9 @@ public class FieldNode {
          * @return the constructed FieldNode
          */
         public FieldNode build() {
+            if (node.source == null) {
+                node.source = new SourceMetadata();
+            }
             return node;
         }
     }
@@ -0,0 +1,191 @@
+package com.rtm.mq.tool.model;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Hierarchical, path-aware comparison of two field trees.
+ *
+ * <p>Every subtree is hashed exactly once over the properties that the
+ * comparison considers (case-insensitive name, length, data type,
+ * optionality) and, in order, the hashes of its children. Fields are then
+ * paired by case-insensitive name level by level:</p>
+ * <ul>
+ *   <li>Equal subtree hashes, confirmed by a structural comparison - one
+ *       {@link FieldMatch} for the whole subtree, which is not descended
+ *       into</li>
+ *   <li>Different own properties - a {@link FieldDifference}, then the
+ *       children are compared</li>
+ *   <li>Same own properties, different children - the children are
+ *       compared and their differences reported; if they pair up without
+ *       any (e.g. only their order differs), the field itself is reported
+ *       as a {@link FieldDifference}</li>
+ *   <li>Unpaired fields - reported as missing or extra
+ *       {@link UnpairedField}s; their descendants are implied</li>
+ * </ul>
+ *
+ * <p>Each field is hashed once, visited at most once by the pairing and at
+ * most once by a confirming structural comparison, so comparing two trees
+ * stays linear. Paths use the original field names joined
+ * by dots.</p>
+ *
+ * @see MqMessageModel#compareWith(FieldGroup)
+ */
+public class FieldTreeComparator {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<FieldNode, Long> subtreeHashes = new IdentityHashMap<>();
+
+    /**
+     * Compares two field lists at every depth.
+     *
+     * @param mqFields the reference (MQ message) fields
+     * @param targetFields the target (request/response) fields
+     * @return the comparison result
+     */
+    public ComparisonResult compare(List<FieldNode> mqFields, List<FieldNode> targetFields) {
+        ComparisonResult result = new ComparisonResult();
+        compareLevel(mqFields, targetFields, null, result);
+        return result;
+    }
+
+    private void compareLevel(List<FieldNode> mqFields, List<FieldNode> targetFields,
+                              String parentPath, ComparisonResult result) {
+        Map<String, FieldNode> targetMap = new LinkedHashMap<>();
+        if (targetFields != null) {
+            for (FieldNode target : targetFields) {
+                if (target.getOriginalName() != null) {
+                    targetMap.put(lowerName(target), target);
+                }
+            }
+        }
+
+        if (mqFields != null) {
+            for (FieldNode mqField : mqFields) {
+                String path = childPath(parentPath, mqField);
+                FieldNode targetField = targetMap.remove(lowerName(mqField));
+
+                if (targetField == null) {
+                    result.getMissingFields().add(new UnpairedField(mqField, path));
+                } else if (subtreeHash(mqField) == subtreeHash(targetField)
+                        && sameSubtree(mqField, targetField)) {
+                    result.getMatches().add(new FieldMatch(mqField, targetField, path));
+                } else {
+                    boolean ownDifferences = hasDifferences(mqField, targetField);
+                    if (ownDifferences) {
+                        result.getDifferences().add(new FieldDifference(mqField, targetField, path));
+                    }
+                    int reported = reportedCount(result);
+                    if (mqField.hasChildren() || targetField.hasChildren()) {
+                        compareLevel(mqField.getChildren(), targetField.getChildren(), path, result);
+                    }
+                    if (!ownDifferences && reportedCount(result) == reported) {
+                        // Children pair up without differences, so only their order differs
+                        result.getDifferences().add(new FieldDifference(mqField, targetField, path));
+                    }
+                }
+            }
+        }
+
+        // Remaining fields in target are "extra"
+        for (FieldNode extra : targetMap.values()) {
+            result.getExtraFields().add(new UnpairedField(extra, childPath(parentPath, extra)));
+        }
+    }
+
+    /**
+     * Gets the hash of a subtree, computing it on first use.
+     *
+     * @param node the subtree root
+     * @return the subtree hash
+     */
+    private long subtreeHash(FieldNode node) {
+        Long cached = subtreeHashes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+
+        long hash = FNV_OFFSET;
+        hash = mix(hash, lowerName(node));
+        hash = mix(hash, node.getLength() != null ? String.valueOf(node.getLength()) : null);
+        hash = mix(hash, node.getDataType());
+        hash = mix(hash, node.getOptionality());
+        if (node.getChildren() != null) {
+            for (FieldNode child : node.getChildren()) {
+                hash = (hash ^ subtreeHash(child)) * FNV_PRIME;
+            }
+        }
+        subtreeHashes.put(node, hash);
+        return hash;
+    }
+
+    /**
+     * Checks that two subtrees are equal in every hashed property, so a
+     * hash collision is never reported as a match.
+     *
+     * @param mq the reference subtree
+     * @param target the target subtree
+     * @return true if names (case-insensitive), own properties and children in order are equal
+     */
+    private boolean sameSubtree(FieldNode mq, FieldNode target) {
+        if (!lowerName(mq).equals(lowerName(target)) || hasDifferences(mq, target)) {
+            return false;
+        }
+        List<FieldNode> mqChildren = mq.getChildren();
+        List<FieldNode> targetChildren = target.getChildren();
+        int mqCount = mqChildren != null ? mqChildren.size() : 0;
+        int targetCount = targetChildren != null ? targetChildren.size() : 0;
+        if (mqCount != targetCount) {
+            return false;
+        }
+        for (int i = 0; i < mqCount; i++) {
+            if (!sameSubtree(mqChildren.get(i), targetChildren.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int reportedCount(ComparisonResult result) {
+        return result.getDifferences().size() + result.getMissingFields().size()
+            + result.getExtraFields().size();
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xff) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // Terminator keeps adjacent values from running together
+        return (hash ^ 0xfe) * FNV_PRIME;
+    }
+
+    /**
+     * Checks if two fields have different own properties.
+     */
+    private boolean hasDifferences(FieldNode mq, FieldNode target) {
+        return !safeEquals(mq.getLength(), target.getLength())
+            || !safeEquals(mq.getDataType(), target.getDataType())
+            || !safeEquals(mq.getOptionality(), target.getOptionality());
+    }
+
+    private static boolean safeEquals(Object a, Object b) {
+        return (a == null && b == null) || (a != null && a.equals(b));
+    }
+
+    private static String lowerName(FieldNode node) {
+        return node.getOriginalName() != null ? node.getOriginalName().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String childPath(String parentPath, FieldNode node) {
+        String name = node.getOriginalName() != null ? node.getOriginalName() : "";
+        return parentPath == null ? name : parentPath + "." + name;
+    }
+}
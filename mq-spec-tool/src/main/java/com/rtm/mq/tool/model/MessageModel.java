@@ -11,6 +11,14 @@ package com.rtm.mq.tool.model;
  *   <li>Message metadata (API name, version, etc.)</li>
  * </ul>
  *
+ * <p><b>Invariant:</b> once a parser has returned a model, its
+ * {@link FieldNode}s are not modified: neither their children lists nor
+ * their {@link SourceMetadata}. {@code FieldNode} has no setters, and only
+ * the parser appends children while it builds the tree. Code that needs a
+ * different tree builds new nodes with {@link FieldNode.Builder}. Generators
+ * rely on this to share the nodes of one model between threads; the groups
+ * and metadata of the model itself may still be replaced.</p>
+ *
  * @see FieldNode
  * @see FieldGroup
  * @see Metadata
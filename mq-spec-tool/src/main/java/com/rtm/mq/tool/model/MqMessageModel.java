@@ -33,8 +33,8 @@ public class MqMessageModel {
     /** Indexed by field name (lowercase) for fast lookup */
     private Map<String, FieldNode> fieldIndex;
 
-    /** Indexed by byte offset (for fixed-format messages like ISM) */
-    private Map<Integer, FieldNode> offsetIndex;
+    /** Interval index over byte offsets (for fixed-format messages like ISM) */
+    private OffsetIntervalIndex offsetIndex;
 
     /**
      * Constructs an empty MqMessageModel.
@@ -103,17 +103,17 @@ public class MqMessageModel {
      * Must be called after fields are populated.
      *
      * <p>This method indexes all fields by name (case-insensitive) and
-     * by byte offset (if available, for fixed-format messages).</p>
+     * by byte range (if available, for fixed-format messages).</p>
      */
     public void buildIndices() {
         this.fieldIndex = new HashMap<>();
-        this.offsetIndex = new HashMap<>();
 
         if (fields != null && fields.getFields() != null) {
             for (FieldNode field : fields.getFields()) {
                 indexField(field);
             }
         }
+        this.offsetIndex = OffsetIntervalIndex.build(fields != null ? fields.getFields() : null);
     }
 
     /**
@@ -129,11 +129,6 @@ public class MqMessageModel {
             fieldIndex.put(field.getOriginalName().toLowerCase(), field);
         }
 
-        // Index by byte offset (if available)
-        if (field.getSource() != null && field.getSource().getByteOffset() != null) {
-            offsetIndex.put(field.getSource().getByteOffset(), field);
-        }
-
         // Recursively index children
         if (field.getChildren() != null && !field.getChildren().isEmpty()) {
             for (FieldNode child : field.getChildren()) {
@@ -168,7 +163,38 @@ public class MqMessageModel {
         if (offsetIndex == null) {
             return null;
         }
-        return offsetIndex.get(offset);
+        return offsetIndex.findStartingAt(offset);
+    }
+
+    /**
+     * Finds the field that owns a byte (fixed-format only).
+     *
+     * <p>Unlike {@link #findFieldByOffset(int)}, the offset may point
+     * anywhere inside the field, e.g. to locate the field of a corrupt byte
+     * in an ISM v2.0 FIX payload.</p>
+     *
+     * @param offset the byte offset
+     * @return the FieldNode covering the byte, or null if none
+     */
+    public FieldNode findFieldContaining(int offset) {
+        if (offsetIndex == null) {
+            return null;
+        }
+        return offsetIndex.findContaining(offset);
+    }
+
+    /**
+     * Finds all fields overlapping a byte range (fixed-format only).
+     *
+     * @param firstByte the first byte of the range
+     * @param lastByte the last byte of the range (inclusive)
+     * @return the overlapping fields in ascending offset order
+     */
+    public List<FieldNode> findFieldsOverlapping(int firstByte, int lastByte) {
+        if (offsetIndex == null) {
+            return List.of();
+        }
+        return offsetIndex.findOverlapping(firstByte, lastByte);
     }
 
     /**
@@ -196,6 +222,10 @@ public class MqMessageModel {
      *   <li>Field differences (same name but different properties)</li>
      * </ul>
      *
+     * <p>Nested fields are compared at every depth. Identical subtrees are
+     * reported as a single match without being descended into; every entry
+     * carries its dotted path (see {@link FieldTreeComparator}).</p>
+     *
      * @param other the field group to compare with
      * @return the comparison result
      */
@@ -205,83 +235,18 @@ public class MqMessageModel {
         if (fields == null || fields.getFields() == null) {
             // No fields in MQ message - all target fields are "extra"
             if (other != null && other.getFields() != null) {
-                result.getExtraInTarget().addAll(other.getFields());
+                result.setExtraInTarget(other.getFields());
             }
             return result;
         }
 
         if (other == null || other.getFields() == null) {
             // No fields in target - all MQ message fields are "missing"
-            result.getMissingInTarget().addAll(fields.getFields());
+            result.setMissingInTarget(fields.getFields());
             return result;
         }
 
-        // Compare fields
-        Map<String, FieldNode> targetMap = new HashMap<>();
-        for (FieldNode target : other.getFields()) {
-            if (target.getOriginalName() != null) {
-                targetMap.put(target.getOriginalName().toLowerCase(), target);
-            }
-        }
-
-        // Find matches and missing
-        for (FieldNode mqField : fields.getFields()) {
-            String lowerName = mqField.getOriginalName() != null
-                    ? mqField.getOriginalName().toLowerCase()
-                    : "";
-
-            FieldNode targetField = targetMap.remove(lowerName);
-
-            if (targetField != null) {
-                // Found a match - check for differences
-                FieldMatch match = new FieldMatch(mqField, targetField);
-                if (hasDifferences(mqField, targetField)) {
-                    FieldDifference diff = new FieldDifference(mqField, targetField);
-                    result.getDifferences().add(diff);
-                } else {
-                    result.getMatches().add(match);
-                }
-            } else {
-                // Field missing in target
-                result.getMissingInTarget().add(mqField);
-            }
-        }
-
-        // Remaining fields in target are "extra"
-        result.getExtraInTarget().addAll(targetMap.values());
-
-        return result;
-    }
-
-    /**
-     * Checks if two fields have different properties.
-     */
-    private boolean hasDifferences(FieldNode mq, FieldNode target) {
-        if (mq == null || target == null) {
-            return true;
-        }
-
-        // Compare key properties
-        if (!safeEquals(mq.getLength(), target.getLength())) {
-            return true;
-        }
-
-        if (!safeEquals(mq.getDataType(), target.getDataType())) {
-            return true;
-        }
-
-        if (!safeEquals(mq.getOptionality(), target.getOptionality())) {
-            return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Safe equals comparison for nullable objects.
-     */
-    private boolean safeEquals(Object a, Object b) {
-        return (a == null && b == null) || (a != null && a.equals(b));
+        return new FieldTreeComparator().compare(fields.getFields(), other.getFields());
     }
 
     @Override
@@ -0,0 +1,241 @@
+package com.rtm.mq.tool.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable interval index over the byte ranges of fixed-format fields.
+ *
+ * <p>Each field with a {@link SourceMetadata#getByteOffset() byte offset}
+ * occupies the bytes {@code [offset, offset + length)}; fields without a
+ * positive length are treated as occupying their first byte only. Intervals
+ * are stored as parallel primitive arrays sorted by start offset, together
+ * with a max tree over their end offsets (an implicit binary tree holding,
+ * for each node, the largest end among the intervals below it), so lookups
+ * use binary search and never box offsets:</p>
+ * <ul>
+ *   <li>{@link #findStartingAt(int)} - field whose first byte is the offset</li>
+ *   <li>{@link #findContaining(int)} - field owning a byte</li>
+ *   <li>{@link #findOverlapping(int, int)} - all fields overlapping a byte range</li>
+ * </ul>
+ *
+ * <p>{@link #findStartingAt(int)} and {@link #findContaining(int)} take
+ * O(log n) time and {@link #findOverlapping(int, int)} O((k + 1) log n),
+ * where k is the number of fields reported, whether or not fields nest:
+ * the max tree skips every subtree whose intervals all end before the
+ * queried byte, such as the earlier siblings of an enclosing group.</p>
+ *
+ * @see MqMessageModel
+ */
+public final class OffsetIntervalIndex {
+
+    private static final OffsetIntervalIndex EMPTY =
+        new OffsetIntervalIndex(new int[0], new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE}, 1, new FieldNode[0]);
+
+    private final int[] starts;
+    /** Max tree: leaves at [leafCount, 2 * leafCount), node i covers nodes 2i and 2i + 1. */
+    private final int[] maxEnds;
+    private final int leafCount;
+    private final FieldNode[] fields;
+
+    private OffsetIntervalIndex(int[] starts, int[] maxEnds, int leafCount, FieldNode[] fields) {
+        this.starts = starts;
+        this.maxEnds = maxEnds;
+        this.leafCount = leafCount;
+        this.fields = fields;
+    }
+
+    /**
+     * Builds an index over all fields of a tree that carry a byte offset.
+     *
+     * <p>Fields with equal start offsets keep their definition order.</p>
+     *
+     * @param roots the root fields (children are indexed recursively)
+     * @return the index
+     */
+    public static OffsetIntervalIndex build(List<FieldNode> roots) {
+        List<FieldNode> located = new ArrayList<>();
+        collect(roots, located);
+        if (located.isEmpty()) {
+            return EMPTY;
+        }
+
+        int n = located.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        // Stable sort by start offset keeps definition order among equal starts
+        Arrays.sort(order, (a, b) -> Integer.compare(
+            located.get(a).getSource().getByteOffset(), located.get(b).getSource().getByteOffset()));
+
+        int leafCount = Integer.highestOneBit(n);
+        if (leafCount < n) {
+            leafCount <<= 1;
+        }
+        int[] starts = new int[n];
+        int[] maxEnds = new int[2 * leafCount];
+        Arrays.fill(maxEnds, Integer.MIN_VALUE);
+        FieldNode[] fields = new FieldNode[n];
+        for (int i = 0; i < n; i++) {
+            FieldNode field = located.get(order[i]);
+            int start = field.getSource().getByteOffset();
+            Integer length = field.getLength();
+            starts[i] = start;
+            maxEnds[leafCount + i] = start + (length != null && length > 0 ? length : 1);
+            fields[i] = field;
+        }
+        for (int node = leafCount - 1; node >= 1; node--) {
+            maxEnds[node] = Math.max(maxEnds[2 * node], maxEnds[2 * node + 1]);
+        }
+        return new OffsetIntervalIndex(starts, maxEnds, leafCount, fields);
+    }
+
+    /**
+     * Gets the number of indexed fields.
+     *
+     * @return the number of fields with a byte offset
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * Finds the field whose first byte is at the given offset.
+     *
+     * <p>If several fields start at the offset, the last one in definition
+     * order is returned.</p>
+     *
+     * @param offset the byte offset
+     * @return the field, or null if no field starts there
+     */
+    public FieldNode findStartingAt(int offset) {
+        int i = upperBound(offset) - 1;
+        return i >= 0 && starts[i] == offset ? fields[i] : null;
+    }
+
+    /**
+     * Finds the field that owns a byte.
+     *
+     * <p>If several fields contain the byte, the one starting closest to it
+     * (the innermost) is returned.</p>
+     *
+     * @param offset the byte offset
+     * @return the owning field, or null if the byte is not covered
+     */
+    public FieldNode findContaining(int offset) {
+        int limit = upperBound(offset);
+        // Usually the field starting closest to the byte owns it
+        if (limit > 0 && maxEnds[leafCount + limit - 1] > offset) {
+            return fields[limit - 1];
+        }
+        int i = lastEndingAfter(1, 0, leafCount, limit - 1, offset);
+        return i >= 0 ? fields[i] : null;
+    }
+
+    /**
+     * Finds all fields overlapping an inclusive byte range.
+     *
+     * @param firstByte the first byte of the range
+     * @param lastByte the last byte of the range (inclusive)
+     * @return the overlapping fields in ascending offset order (unmodifiable)
+     */
+    public List<FieldNode> findOverlapping(int firstByte, int lastByte) {
+        if (lastByte < firstByte) {
+            return List.of();
+        }
+        List<FieldNode> result = new ArrayList<>();
+        collectEndingAfter(1, 0, leafCount, upperBound(lastByte), firstByte, result);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the exact-start view of the index as a map.
+     *
+     * <p>Matches the former {@code HashMap} offset index (the last field in
+     * definition order wins for equal offsets); used to keep the serialized
+     * JSON tree unchanged.</p>
+     *
+     * @return a new map from start offset to field
+     */
+    public Map<Integer, FieldNode> toStartOffsetMap() {
+        Map<Integer, FieldNode> map = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            map.put(starts[i], fields[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Returns the number of intervals starting at or before the offset.
+     */
+    private int upperBound(int offset) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the last interval before {@code limit} that ends after the offset.
+     *
+     * @param node the tree node, covering intervals {@code [low, high)}
+     * @return the interval index, or -1 if there is none
+     */
+    private int lastEndingAfter(int node, int low, int high, int limit, int offset) {
+        if (low >= limit || maxEnds[node] <= offset) {
+            return -1;
+        }
+        if (node >= leafCount) {
+            return low;
+        }
+        int mid = (low + high) >>> 1;
+        int found = lastEndingAfter(2 * node + 1, mid, high, limit, offset);
+        return found >= 0 ? found : lastEndingAfter(2 * node, low, mid, limit, offset);
+    }
+
+    /**
+     * Adds, in index order, the fields of all intervals before {@code limit}
+     * that end after the offset.
+     *
+     * @param node the tree node, covering intervals {@code [low, high)}
+     */
+    private void collectEndingAfter(int node, int low, int high, int limit, int offset, List<FieldNode> result) {
+        if (low >= limit || maxEnds[node] <= offset) {
+            return;
+        }
+        if (node >= leafCount) {
+            result.add(fields[low]);
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        collectEndingAfter(2 * node, low, mid, limit, offset, result);
+        collectEndingAfter(2 * node + 1, mid, high, limit, offset, result);
+    }
+
+    private static void collect(List<FieldNode> nodes, List<FieldNode> located) {
+        if (nodes == null) {
+            return;
+        }
+        for (FieldNode node : nodes) {
+            if (node == null) {
+                continue;
+            }
+            if (node.getSource() != null && node.getSource().getByteOffset() != null) {
+                located.add(node);
+            }
+            collect(node.getChildren(), located);
+        }
+    }
+}
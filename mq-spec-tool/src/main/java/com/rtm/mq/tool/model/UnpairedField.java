@@ -0,0 +1,71 @@
+package com.rtm.mq.tool.model;
+
+/**
+ * Represents a field present on only one side of a comparison.
+ *
+ * <p>Used for fields of the MQ message missing in the target and for extra
+ * fields of the target. The descendants of an unpaired field are implied
+ * and not reported separately.</p>
+ */
+public class UnpairedField {
+
+    /** The field without a counterpart */
+    private FieldNode field;
+
+    /** Dotted path of the field from the root, e.g. "header.body.amount" */
+    private String path;
+
+    /**
+     * Constructs an UnpairedField.
+     *
+     * @param field the field
+     * @param path the dotted path of the field from the root
+     */
+    public UnpairedField(FieldNode field, String path) {
+        this.field = field;
+        this.path = path;
+    }
+
+    /**
+     * Gets the field.
+     *
+     * @return the field
+     */
+    public FieldNode getField() {
+        return field;
+    }
+
+    /**
+     * Sets the field.
+     *
+     * @param field the field to set
+     */
+    public void setField(FieldNode field) {
+        this.field = field;
+    }
+
+    /**
+     * Gets the dotted path of the field from the root.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the dotted path of the field from the root.
+     *
+     * @param path the path to set
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public String toString() {
+        return "UnpairedField{" +
+                "path='" + path + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,588 @@
+package com.rtm.mq.tool.offset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view of a binary layout artifact ({@code .mqlayout}).
+ *
+ * <p>A layout artifact holds the compact {@link OffsetTable} of every message
+ * type of one operation, together with the data type, converter and
+ * default value of each field as they appear in the converter XML. It is
+ * written by {@code LayoutArtifactGenerator} and designed to be memory
+ * mapped: opening one checks the header and a CRC-32 checksum, and every
+ * accessor reads straight from the buffer. Nothing is parsed or copied up
+ * front; strings are decoded only when asked for.</p>
+ *
+ * <h2>Format (version 1, big-endian)</h2>
+ * <pre>
+ * header          64 bytes
+ *   0  int   magic "MQLT"
+ *   4  short major version, short minor version
+ *   8  int   header size
+ *  12  int   file length
+ *  16  int   CRC-32 of bytes [header size, file length)
+ *  20  int   message count
+ *  24  int   message table offset
+ *  28  int   node table offset
+ *  32  int   node count
+ *  36  int   path index offset
+ *  40  int   string table offset
+ *  44  int   string table length
+ *  48  int   operation id (string ref)
+ *  52  reserved
+ * message record  32 bytes: type (string ref), first node, node count,
+ *                 reserved, long total length, long entry count
+ * node record     64 bytes, in spec-tree pre-order per message:
+ *                 long offset, long stride, name, path, parent, end,
+ *                 length, count, nesting level, data type, converter,
+ *                 default value, flags, reserved
+ * path index      one int per node: node numbers of each message sorted by
+ *                 the UTF-8 bytes of their template paths
+ * string table    int byte length followed by UTF-8 bytes per string
+ * </pre>
+ *
+ * <p>Offsets of nodes are relative to the start of the enclosing element,
+ * as in {@link OffsetLayout}; root offsets are absolute. Node numbers
+ * ({@code parent}, {@code end}) are absolute across messages; -1 denotes no
+ * parent and string refs of -1 denote null. Readers reject other major
+ * versions and accept newer minor versions, which may only append fields
+ * in reserved space.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class MappedLayout {
+
+    /**
+     * File magic, the ASCII bytes {@code "MQLT"}.
+     */
+    public static final int MAGIC = 0x4D514C54;
+
+    /**
+     * Major format version; incompatible changes increase it.
+     */
+    public static final int MAJOR_VERSION = 1;
+
+    /**
+     * Minor format version; compatible additions increase it.
+     */
+    public static final int MINOR_VERSION = 0;
+
+    /**
+     * File name extension of layout artifacts.
+     */
+    public static final String EXTENSION = ".mqlayout";
+
+    public static final int HEADER_SIZE = 64;
+    public static final int MESSAGE_RECORD_SIZE = 32;
+    public static final int NODE_RECORD_SIZE = 64;
+
+    /** Node flag: the node is a group (object or array) and occupies no bytes itself. */
+    public static final int FLAG_GROUP = 1;
+    /** Node flag: the field is transitory. */
+    public static final int FLAG_TRANSITORY = 1 << 1;
+    /** Node flag: the field is a transitory groupId field. */
+    public static final int FLAG_GROUP_ID = 1 << 2;
+    /** Node flag: the field is a transitory occurrenceCount field. */
+    public static final int FLAG_COUNTER = 1 << 3;
+    /** Node flag: the node is an array. */
+    public static final int FLAG_ARRAY = 1 << 4;
+    /** Node flag: the node is an object. */
+    public static final int FLAG_OBJECT = 1 << 5;
+    /** Node flag: the value is right-justified and zero padded. */
+    public static final int FLAG_RIGHT_ALIGNED = 1 << 6;
+
+    private static final int MESSAGE_COUNT = 20;
+    private static final int MESSAGE_TABLE = 24;
+    private static final int NODE_TABLE = 28;
+    private static final int NODE_COUNT = 32;
+    private static final int PATH_INDEX = 36;
+    private static final int STRING_TABLE = 40;
+    private static final int STRING_TABLE_LENGTH = 44;
+    private static final int OPERATION_ID = 48;
+
+    private static final int NODE_OFFSET = 0;
+    private static final int NODE_STRIDE = 8;
+    private static final int NODE_NAME = 16;
+    private static final int NODE_PATH = 20;
+    private static final int NODE_PARENT = 24;
+    private static final int NODE_END = 28;
+    private static final int NODE_LENGTH = 32;
+    private static final int NODE_COUNT_FIELD = 36;
+    private static final int NODE_NESTING = 40;
+    private static final int NODE_DATA_TYPE = 44;
+    private static final int NODE_CONVERTER = 48;
+    private static final int NODE_DEFAULT = 52;
+    private static final int NODE_FLAGS = 56;
+
+    private final ByteBuffer buffer;
+    private final int messageTable;
+    private final int messageCount;
+    private final int nodeTable;
+    private final int nodeCount;
+    private final int pathIndex;
+    private final int stringTable;
+
+    private MappedLayout(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.messageTable = buffer.getInt(MESSAGE_TABLE);
+        this.messageCount = buffer.getInt(MESSAGE_COUNT);
+        this.nodeTable = buffer.getInt(NODE_TABLE);
+        this.nodeCount = buffer.getInt(NODE_COUNT);
+        this.pathIndex = buffer.getInt(PATH_INDEX);
+        this.stringTable = buffer.getInt(STRING_TABLE);
+    }
+
+    /**
+     * Memory-maps a layout artifact.
+     *
+     * @param file the {@code .mqlayout} file
+     * @return the layout
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid layout artifact
+     */
+    public static MappedLayout open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return wrap(mapped);
+        }
+    }
+
+    /**
+     * Wraps layout artifact bytes starting at the buffer's position.
+     *
+     * <p>The buffer must not be modified while the layout is in use.</p>
+     *
+     * @param buffer the artifact bytes
+     * @return the layout
+     * @throws IllegalArgumentException if the bytes are not a valid layout artifact
+     */
+    public static MappedLayout wrap(ByteBuffer buffer) {
+        ByteBuffer view = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (view.remaining() < HEADER_SIZE || view.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a layout artifact");
+        }
+        int major = view.getShort(4);
+        if (major != MAJOR_VERSION) {
+            throw new IllegalArgumentException("Unsupported layout artifact version " + major + "."
+                    + view.getShort(6) + ", expected " + MAJOR_VERSION + ".x");
+        }
+        int headerSize = view.getInt(8);
+        int fileLength = view.getInt(12);
+        if (headerSize < HEADER_SIZE || fileLength < headerSize || fileLength > view.remaining()) {
+            throw new IllegalArgumentException("Truncated layout artifact: header declares "
+                    + fileLength + " bytes, got " + view.remaining());
+        }
+        view.limit(fileLength);
+        if (checksum(view, headerSize, fileLength) != view.getInt(16)) {
+            throw new IllegalArgumentException("Corrupt layout artifact: checksum mismatch");
+        }
+        return new MappedLayout(view);
+    }
+
+    /**
+     * Computes the CRC-32 of a byte range.
+     */
+    static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        ByteBuffer range = buffer.duplicate();
+        range.limit(to).position(from);
+        crc.update(range);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gets the minor format version of the artifact.
+     *
+     * @return the minor version
+     */
+    public int getMinorVersion() {
+        return buffer.getShort(6);
+    }
+
+    /**
+     * Gets the operation the artifact describes.
+     *
+     * @return the operation id
+     */
+    public String getOperationId() {
+        return string(buffer.getInt(OPERATION_ID));
+    }
+
+    /**
+     * Gets the number of message types.
+     *
+     * @return the message count
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Finds a message type.
+     *
+     * @param messageType the message type (e.g., "request", "response")
+     * @return the message number, or -1 if there is no such message
+     */
+    public int findMessage(String messageType) {
+        for (int m = 0; m < messageCount; m++) {
+            if (messageType.equals(getMessageType(m))) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the type of a message.
+     *
+     * @param message the message number
+     * @return the message type
+     */
+    public String getMessageType(int message) {
+        return string(buffer.getInt(messageRecord(message)));
+    }
+
+    /**
+     * Gets the number of the first node of a message.
+     *
+     * @param message the message number
+     * @return the node number of the first root field
+     */
+    public int getFirstNode(int message) {
+        return buffer.getInt(messageRecord(message) + 4);
+    }
+
+    /**
+     * Gets the number of nodes of a message, i.e. its distinct fields.
+     *
+     * @param message the message number
+     * @return the node count
+     */
+    public int getNodeCount(int message) {
+        return buffer.getInt(messageRecord(message) + 8);
+    }
+
+    /**
+     * Gets the record length of a message.
+     *
+     * @param message the message number
+     * @return the total length in bytes
+     */
+    public long getTotalLength(int message) {
+        return buffer.getLong(messageRecord(message) + 16);
+    }
+
+    /**
+     * Gets the number of leaf occurrences of a message, counting every repetition.
+     *
+     * @param message the message number
+     * @return the entry count of the offset table
+     */
+    public long getEntryCount(int message) {
+        return buffer.getLong(messageRecord(message) + 24);
+    }
+
+    /**
+     * Gets the total number of nodes of all messages.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the field name (path segment) of a node.
+     *
+     * @param node the node number
+     * @return the name
+     */
+    public String getName(int node) {
+        return string(nodeInt(node, NODE_NAME));
+    }
+
+    /**
+     * Gets the path of a node without occurrence indices, e.g. {@code "items.name"}.
+     *
+     * @param node the node number
+     * @return the template path
+     */
+    public String getPath(int node) {
+        return string(nodeInt(node, NODE_PATH));
+    }
+
+    /**
+     * Gets the enclosing group of a node.
+     *
+     * @param node the node number
+     * @return the parent node number, or -1 for root fields
+     */
+    public int getParent(int node) {
+        return nodeInt(node, NODE_PARENT);
+    }
+
+    /**
+     * Gets the node number following the subtree of a node.
+     *
+     * @param node the node number
+     * @return the exclusive end of the subtree
+     */
+    public int getEnd(int node) {
+        return nodeInt(node, NODE_END);
+    }
+
+    /**
+     * Gets the offset of the first occurrence relative to the enclosing element.
+     *
+     * @param node the node number
+     * @return the relative offset
+     */
+    public long getOffset(int node) {
+        return buffer.getLong(nodeRecord(node) + NODE_OFFSET);
+    }
+
+    /**
+     * Gets the distance between consecutive occurrences of a node.
+     *
+     * @param node the node number
+     * @return the stride in bytes
+     */
+    public long getStride(int node) {
+        return buffer.getLong(nodeRecord(node) + NODE_STRIDE);
+    }
+
+    /**
+     * Gets the length of one occurrence of a leaf.
+     *
+     * @param node the node number
+     * @return the length in bytes, or 0 for groups
+     */
+    public int getLength(int node) {
+        return nodeInt(node, NODE_LENGTH);
+    }
+
+    /**
+     * Gets the number of occurrences of a node.
+     *
+     * @param node the node number
+     * @return the occurrence count
+     */
+    public int getCount(int node) {
+        return nodeInt(node, NODE_COUNT_FIELD);
+    }
+
+    /**
+     * Gets the nesting level of a node (0 for root fields).
+     *
+     * @param node the node number
+     * @return the nesting level
+     */
+    public int getNestingLevel(int node) {
+        return nodeInt(node, NODE_NESTING);
+    }
+
+    /**
+     * Gets the messaging data type of a field.
+     *
+     * @param node the node number
+     * @return the data type, or null if none is specified
+     */
+    public String getDataType(int node) {
+        return string(nodeInt(node, NODE_DATA_TYPE));
+    }
+
+    /**
+     * Gets the converter of a field as written to the converter XML.
+     *
+     * @param node the node number
+     * @return the converter name, or null for groups
+     */
+    public String getConverter(int node) {
+        return string(nodeInt(node, NODE_CONVERTER));
+    }
+
+    /**
+     * Gets the default value of a field as written to the converter XML.
+     *
+     * @param node the node number
+     * @return the default value, or null if none
+     */
+    public String getDefaultValue(int node) {
+        return string(nodeInt(node, NODE_DEFAULT));
+    }
+
+    /**
+     * Gets the flags of a node, see the {@code FLAG_} constants.
+     *
+     * @param node the node number
+     * @return the flag bits
+     */
+    public int getFlags(int node) {
+        return nodeInt(node, NODE_FLAGS);
+    }
+
+    /**
+     * Checks if a node is a group.
+     *
+     * @param node the node number
+     * @return true for objects and arrays
+     */
+    public boolean isGroup(int node) {
+        return (getFlags(node) & FLAG_GROUP) != 0;
+    }
+
+    /**
+     * Finds a node of a message by its template path.
+     *
+     * <p>Binary search over the path index, comparing the UTF-8 bytes of the
+     * path directly against the string table.</p>
+     *
+     * @param message the message number
+     * @param path the template path, e.g. {@code "items.name"}
+     * @return the node number, or -1 if there is no such field
+     */
+    public int findNode(int message, String path) {
+        byte[] key = path.getBytes(StandardCharsets.UTF_8);
+        int first = getFirstNode(message);
+        int low = 0;
+        int high = getNodeCount(message) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int node = buffer.getInt(pathIndex + (first + mid) * 4);
+            int cmp = compare(nodeInt(node, NODE_PATH), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resolves an indexed path, e.g. {@code "items[3].name"}, to the absolute
+     * offset of that occurrence.
+     *
+     * @param message the message number
+     * @param path the indexed path in {@link OffsetEntry} notation
+     * @return the absolute offset, or -1 if the path does not denote a leaf
+     *         occurrence of the message
+     */
+    public long resolveOffset(int message, String path) {
+        // Split "a[1].b[2].c" into template "a.b.c" and indices [1, 2]
+        StringBuilder template = new StringBuilder(path.length());
+        int[] indices = new int[8];
+        int indexCount = 0;
+        int segmentStart = 0;
+        for (int i = path.indexOf('['); i >= 0; i = path.indexOf('[', segmentStart)) {
+            int close = path.indexOf(']', i);
+            if (close < 0 || close == i + 1 || close - i > 10) {
+                return -1;
+            }
+            int index = 0;
+            for (int c = i + 1; c < close; c++) {
+                char ch = path.charAt(c);
+                if (ch < '0' || ch > '9') {
+                    return -1;
+                }
+                index = index * 10 + (ch - '0');
+            }
+            if (indexCount == indices.length) {
+                indices = java.util.Arrays.copyOf(indices, indexCount * 2);
+            }
+            template.append(path, segmentStart, i);
+            indices[indexCount++] = index;
+            segmentStart = close + 1;
+        }
+        template.append(path, segmentStart, path.length());
+
+        int node = findNode(message, template.toString());
+        if (node < 0 || isGroup(node)) {
+            return -1;
+        }
+
+        // Walk from the leaf up, consuming indices from the end
+        long offset = 0;
+        int next = indexCount;
+        for (int n = node; n >= 0; n = getParent(n)) {
+            offset += getOffset(n);
+            int count = getCount(n);
+            if (count > 1) {
+                if (next == 0) {
+                    return -1;
+                }
+                int index = indices[--next];
+                if (index >= count) {
+                    return -1;
+                }
+                offset += index * getStride(n);
+            }
+        }
+        return next == 0 ? offset : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedLayout{" +
+                "operationId='" + getOperationId() + '\'' +
+                ", messages=" + messageCount +
+                ", nodes=" + nodeCount +
+                ", bytes=" + buffer.limit() +
+                '}';
+    }
+
+    private int messageRecord(int message) {
+        if (message < 0 || message >= messageCount) {
+            throw new IndexOutOfBoundsException("Message: " + message + ", Count: " + messageCount);
+        }
+        return messageTable + message * MESSAGE_RECORD_SIZE;
+    }
+
+    private int nodeRecord(int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IndexOutOfBoundsException("Node: " + node + ", Count: " + nodeCount);
+        }
+        return nodeTable + node * NODE_RECORD_SIZE;
+    }
+
+    private int nodeInt(int node, int field) {
+        return buffer.getInt(nodeRecord(node) + field);
+    }
+
+    private String string(int ref) {
+        if (ref < 0) {
+            return null;
+        }
+        int position = stringTable + ref;
+        int length = buffer.getInt(position);
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares a string of the table with UTF-8 key bytes, as unsigned bytes.
+     */
+    private int compare(int ref, byte[] key) {
+        int position = stringTable + ref;
+        int length = buffer.getInt(position);
+        int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = Integer.compare(buffer.get(position + 4 + i) & 0xff, key[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
@@ -23,9 +23,13 @@ import java.util.regex.Pattern;
  *   <li>Offset always starts at 0</li>
  *   <li>Field offset = previous field (offset + length)</li>
  *   <li>Parent/object nodes do NOT occupy bytes themselves</li>
- *   <li>For arrays: use occurrenceCount.max (or 1 if undefined)</li>
+ *   <li>For arrays: use occurrenceCount.max (or 1 if undefined); parsed array
+ *       nodes carry no occurrenceCount of their own, so the value of their
+ *       transitory occurrenceCount child is used</li>
  *   <li>occurrenceCount = 0 means skip field entirely</li>
  *   <li>Transitory fields (groupId/occurrenceCount) participate in offset calculation</li>
+ *   <li>Transitory occurrenceCount fields carry the count of their group and
+ *       are laid out once, not repeated</li>
  * </ul>
  *
  * <h2>Error Handling</h2>
@@ -64,19 +68,17 @@ public class OffsetCalculator {
             return new OffsetTable(messageType, 0, new ArrayList<>());
         }
 
-        List<OffsetEntry> entries = new ArrayList<>();
-        long currentOffset = 0;
-
-        for (FieldNode node : fieldGroup.getFields()) {
-            currentOffset = processNode(node, "", currentOffset, 0, entries);
-        }
-
-        return new OffsetTable(messageType, currentOffset, entries);
+        return calculate(messageType, fieldGroup.getFields());
     }
 
     /**
      * Calculates offset table for a list of root field nodes.
      *
+     * <p>The returned table is compact: each repeating group is stored once as
+     * offset, stride, count and element layout (see {@link OffsetLayout}), and
+     * its expanded entries are only materialized through
+     * {@link OffsetTable#getEntries()}.</p>
+     *
      * @param messageType the message type identifier
      * @param rootNodes the list of root field nodes
      * @return the calculated offset table
@@ -87,37 +89,43 @@ public class OffsetCalculator {
             return new OffsetTable(messageType, 0, new ArrayList<>());
         }
 
-        List<OffsetEntry> entries = new ArrayList<>();
+        List<OffsetLayout> layout = new ArrayList<>();
         long currentOffset = 0;
 
         for (FieldNode node : rootNodes) {
-            currentOffset = processNode(node, "", currentOffset, 0, entries);
+            OffsetLayout nodeLayout = processNode(node, "", currentOffset, 0);
+            if (nodeLayout != null) {
+                layout.add(nodeLayout);
+                currentOffset += nodeLayout.getTotalLength();
+            }
         }
 
-        return new OffsetTable(messageType, currentOffset, entries);
+        return new OffsetTable(messageType, layout);
     }
 
     /**
-     * Processes a single node and its children, adding entries to the list.
+     * Processes a single node and its children into a layout node.
+     *
+     * <p>Each distinct field is visited once, however many times it repeats.
+     * Children are laid out relative to the start of one element; errors
+     * are reported against the path of the first occurrence.</p>
      *
      * @param node the field node to process
      * @param parentPath the path prefix from parent nodes
-     * @param currentOffset the current byte offset
+     * @param offset the offset of the node relative to the enclosing element
      * @param nestingLevel the current nesting depth
-     * @param entries the list to accumulate entries
-     * @return the updated offset after processing this node and its children
+     * @return the layout node, or null if the field occurs 0 times
      */
-    private long processNode(FieldNode node, String parentPath, long currentOffset,
-                             int nestingLevel, List<OffsetEntry> entries) {
+    private OffsetLayout processNode(FieldNode node, String parentPath, long offset, int nestingLevel) {
         String fieldName = getFieldName(node);
         String fieldPath = buildFieldPath(parentPath, fieldName);
 
-        // Determine occurrence count
-        int occurrenceMax = parseOccurrenceMax(node.getOccurrenceCount(), fieldPath);
+        // Determine occurrence count; a transitory counter describes its group, not itself
+        int occurrenceMax = node.isTransitory() ? 1 : parseOccurrenceMax(groupOccurrenceCount(node), fieldPath);
 
         // If occurrenceCount max is 0, skip this field entirely
         if (occurrenceMax == 0) {
-            return currentOffset;
+            return null;
         }
 
         // Check if this is a container node (has children) or a leaf node
@@ -125,25 +133,15 @@ public class OffsetCalculator {
 
         if (isContainer) {
             // Container nodes (objects/arrays with children) do not occupy bytes themselves
-            // Process children for each occurrence
-            for (int i = 0; i < occurrenceMax; i++) {
-                String indexedPath = occurrenceMax > 1 ? fieldPath + "[" + i + "]" : fieldPath;
-                currentOffset = processChildren(node.getChildren(), indexedPath, currentOffset, nestingLevel + 1, entries);
-            }
-        } else {
-            // Leaf node - validate and add entry
-            int length = validateAndGetLength(node, fieldPath);
-
-            // Create entries for each occurrence
-            for (int i = 0; i < occurrenceMax; i++) {
-                String indexedPath = occurrenceMax > 1 ? fieldPath + "[" + i + "]" : fieldPath;
-                OffsetEntry entry = new OffsetEntry(indexedPath, currentOffset, length, nestingLevel);
-                entries.add(entry);
-                currentOffset += length;
-            }
+            // Lay out the children of one element; the stride repeats it
+            String firstPath = occurrenceMax > 1 ? fieldPath + "[0]" : fieldPath;
+            List<OffsetLayout> children = processChildren(node.getChildren(), firstPath, nestingLevel + 1);
+            return OffsetLayout.group(fieldName, node, offset, occurrenceMax, nestingLevel, children);
         }
 
-        return currentOffset;
+        // Leaf node - validate once for all occurrences
+        int length = validateAndGetLength(node, fieldPath);
+        return OffsetLayout.leaf(fieldName, node, offset, length, occurrenceMax, nestingLevel);
     }
 
     /**
@@ -151,22 +149,25 @@ public class OffsetCalculator {
      *
      * @param children the list of child nodes
      * @param parentPath the path prefix from the parent
-     * @param currentOffset the current byte offset
      * @param nestingLevel the current nesting depth
-     * @param entries the list to accumulate entries
-     * @return the updated offset after processing all children
+     * @return the child layout nodes, relative to the element start
      */
-    private long processChildren(List<FieldNode> children, String parentPath, long currentOffset,
-                                 int nestingLevel, List<OffsetEntry> entries) {
+    private List<OffsetLayout> processChildren(List<FieldNode> children, String parentPath, int nestingLevel) {
+        List<OffsetLayout> layout = new ArrayList<>();
         if (children == null || children.isEmpty()) {
-            return currentOffset;
+            return layout;
         }
 
+        long currentOffset = 0;
         for (FieldNode child : children) {
-            currentOffset = processNode(child, parentPath, currentOffset, nestingLevel, entries);
+            OffsetLayout childLayout = processNode(child, parentPath, currentOffset, nestingLevel);
+            if (childLayout != null) {
+                layout.add(childLayout);
+                currentOffset += childLayout.getTotalLength();
+            }
         }
 
-        return currentOffset;
+        return layout;
     }
 
     /**
@@ -196,6 +197,36 @@ public class OffsetCalculator {
         return parentPath + "." + fieldName;
     }
 
+    /**
+     * Gets the occurrence count that applies to a node.
+     *
+     * <p>An array node without an occurrenceCount of its own takes the one of
+     * its transitory occurrenceCount child, which is where the parser keeps
+     * the group's count.</p>
+     *
+     * <p>This changes the record length of parsed specs. Such arrays used to
+     * be laid out once, with their counter repeated up to its maximum; they
+     * are now laid out at the counter's maximum with the counter once per
+     * element. A 0..3 array holding a 1..5 array grows from 68 to 364 bytes,
+     * for example, and every offset and totalLength consumer (offset and
+     * diff output, codec plans) sees the new layout.</p>
+     *
+     * @param node the field node
+     * @return the occurrence count string, or null if undefined
+     */
+    private String groupOccurrenceCount(FieldNode node) {
+        String own = node.getOccurrenceCount();
+        if ((own != null && !own.trim().isEmpty()) || !node.isArray() || !node.hasChildren()) {
+            return own;
+        }
+        for (FieldNode child : node.getChildren()) {
+            if (child.isTransitory() && child.getGroupId() == null && child.getOccurrenceCount() != null) {
+                return child.getOccurrenceCount();
+            }
+        }
+        return own;
+    }
+
     /**
      * Parses the occurrence count and returns the max value.
      *
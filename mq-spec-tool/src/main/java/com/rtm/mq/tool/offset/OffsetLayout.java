@@ -0,0 +1,268 @@
+package com.rtm.mq.tool.offset;
+
+import com.rtm.mq.tool.model.FieldNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact, stride-based description of one field and its repetitions.
+ *
+ * <p>Instead of one {@link OffsetEntry} per expanded occurrence, a layout node
+ * describes a field once:</p>
+ * <ul>
+ *   <li>offset - start of the first occurrence, relative to the start of the
+ *       enclosing group element (absolute for root nodes)</li>
+ *   <li>stride - size of one occurrence in bytes</li>
+ *   <li>count - number of occurrences laid out back to back</li>
+ *   <li>children - layout of one element, relative to the element start
+ *       (groups only)</li>
+ * </ul>
+ *
+ * <p>Occurrence {@code i} of a node therefore starts at
+ * {@code elementStart + offset + i * stride}. A repeating group of 10,000
+ * elements with 20 children is described by 21 nodes, independent of the
+ * count. Nodes with an occurrence count of 0 are not part of a layout.</p>
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @see OffsetTable#getLayout()
+ */
+public final class OffsetLayout {
+
+    private final String name;
+    private final FieldNode field;
+    private final long offset;
+    private final int length;
+    private final long stride;
+    private final int count;
+    private final int nestingLevel;
+    private final boolean group;
+    private final List<OffsetLayout> children;
+    private final long[] childEntryStarts;
+    private final long entryCount;
+
+    private OffsetLayout(String name, FieldNode field, long offset, int length, long stride, int count,
+                         int nestingLevel, boolean group, List<OffsetLayout> children) {
+        this.name = name;
+        this.field = field;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
+        this.count = count;
+        this.nestingLevel = nestingLevel;
+        this.group = group;
+        this.children = Collections.unmodifiableList(new ArrayList<>(children));
+
+        this.childEntryStarts = new long[children.size()];
+        long elementEntries = 0;
+        for (int i = 0; i < children.size(); i++) {
+            childEntryStarts[i] = elementEntries;
+            elementEntries += children.get(i).entryCount;
+        }
+        this.entryCount = group ? elementEntries * count : count;
+    }
+
+    /**
+     * Creates a leaf node.
+     *
+     * @param name the field name (path segment)
+     * @param field the source field node (may be null)
+     * @param offset the offset of the first occurrence
+     * @param length the length of one occurrence in bytes
+     * @param count the number of occurrences (positive)
+     * @param nestingLevel the depth in the structure hierarchy (0-based)
+     * @return the layout node
+     */
+    public static OffsetLayout leaf(String name, FieldNode field, long offset, int length, int count,
+                                    int nestingLevel) {
+        return new OffsetLayout(name, field, offset, length, length, count, nestingLevel, false,
+                Collections.emptyList());
+    }
+
+    /**
+     * Creates a group node.
+     *
+     * <p>The stride is the sum of the total lengths of the children.</p>
+     *
+     * @param name the field name (path segment)
+     * @param field the source field node (may be null)
+     * @param offset the offset of the first element
+     * @param count the number of elements (positive)
+     * @param nestingLevel the depth in the structure hierarchy (0-based)
+     * @param children the layout of one element, relative to the element start
+     *                 (may be empty if every child occurs 0 times)
+     * @return the layout node
+     */
+    public static OffsetLayout group(String name, FieldNode field, long offset, int count,
+                                     int nestingLevel, List<OffsetLayout> children) {
+        long stride = 0;
+        for (OffsetLayout child : children) {
+            stride += child.getTotalLength();
+        }
+        return new OffsetLayout(name, field, offset, 0, stride, count, nestingLevel, true, children);
+    }
+
+    /**
+     * Gets the field name used as path segment.
+     *
+     * @return the name (never null)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the field node this layout was computed from.
+     *
+     * @return the source field node, or null if unknown
+     */
+    public FieldNode getField() {
+        return field;
+    }
+
+    /**
+     * Gets the offset of the first occurrence.
+     *
+     * @return the offset relative to the enclosing element start
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the length of one occurrence of a leaf.
+     *
+     * @return the leaf length, or 0 for groups
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the distance between consecutive occurrences.
+     *
+     * @return the stride in bytes
+     */
+    public long getStride() {
+        return stride;
+    }
+
+    /**
+     * Gets the number of occurrences.
+     *
+     * @return the occurrence count (positive)
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the nesting level in the structure hierarchy.
+     *
+     * @return the nesting level (0-based)
+     */
+    public int getNestingLevel() {
+        return nestingLevel;
+    }
+
+    /**
+     * Gets the layout of one group element.
+     *
+     * @return an unmodifiable list of child nodes (empty for leaves)
+     */
+    public List<OffsetLayout> getChildren() {
+        return children;
+    }
+
+    /**
+     * Checks if this node is a group.
+     *
+     * @return true if this node was laid out from a container field
+     */
+    public boolean isGroup() {
+        return group;
+    }
+
+    /**
+     * Gets the number of bytes covered by all occurrences.
+     *
+     * @return count * stride
+     */
+    public long getTotalLength() {
+        return stride * count;
+    }
+
+    /**
+     * Gets the number of offset entries this node expands to.
+     *
+     * @return the expanded leaf occurrence count
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Materializes one expanded entry of this node.
+     *
+     * @param index the entry index within this node (0-based)
+     * @param parentPath the indexed path of the enclosing element
+     * @param elementStart the absolute offset of the enclosing element
+     * @return the offset entry
+     */
+    OffsetEntry entryAt(long index, String parentPath, long elementStart) {
+        if (!group) {
+            return new OffsetEntry(indexedPath(parentPath, (int) index),
+                    elementStart + offset + index * stride, length, nestingLevel);
+        }
+
+        long elementEntries = entryCount / count;
+        int element = (int) (index / elementEntries);
+        long within = index % elementEntries;
+
+        int child = findChild(within);
+        return children.get(child).entryAt(within - childEntryStarts[child],
+                indexedPath(parentPath, element), elementStart + offset + element * stride);
+    }
+
+    /**
+     * Finds the child whose entry range contains the given element entry index.
+     *
+     * <p>Takes the last child starting at or before the index, which skips
+     * children that expand to no entries (empty groups).</p>
+     */
+    private int findChild(long within) {
+        int low = 0;
+        int high = childEntryStarts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (childEntryStarts[mid] <= within) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds the path of one occurrence; single occurrences carry no index.
+     */
+    String indexedPath(String parentPath, int occurrence) {
+        String path = parentPath == null || parentPath.isEmpty() ? name : parentPath + "." + name;
+        return count > 1 ? path + "[" + occurrence + "]" : path;
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetLayout{" +
+                "name='" + name + '\'' +
+                ", offset=" + offset +
+                ", length=" + length +
+                ", stride=" + stride +
+                ", count=" + count +
+                ", children=" + children.size() +
+                '}';
+    }
+}
@@ -1,8 +1,10 @@
 package com.rtm.mq.tool.offset;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Represents the complete offset table for a message type.
@@ -11,16 +13,28 @@ import java.util.List;
  * maintaining stable ordering based on the spec-tree traversal. The total
  * length represents the sum of all field lengths in the structure.</p>
  *
- * <p>This class is immutable - entries are stored as an unmodifiable list.</p>
+ * <p>A table is stored in one of two forms:</p>
+ * <ul>
+ *   <li>Expanded - an explicit list of entries</li>
+ *   <li>Compact - a stride-based {@link OffsetLayout} per root field, as
+ *       produced by {@link OffsetCalculator}. Memory is proportional to the
+ *       number of distinct fields; {@link #getEntries()} is a read-only view
+ *       that materializes each entry when it is accessed.</li>
+ * </ul>
+ *
+ * <p>This class is immutable.</p>
  */
 public class OffsetTable {
 
     private final String messageType;
     private final long totalLength;
     private final List<OffsetEntry> entries;
+    private final List<OffsetLayout> layout;
+    private final long[] rootEntryStarts;
+    private final long entryCount;
 
     /**
-     * Creates a new OffsetTable with the specified parameters.
+     * Creates a new expanded OffsetTable with the specified parameters.
      *
      * @param messageType the type identifier for this message (e.g., "request", "response")
      * @param totalLength the total byte length of all fields combined
@@ -30,6 +44,35 @@ public class OffsetTable {
         this.messageType = messageType;
         this.totalLength = totalLength;
         this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.layout = Collections.emptyList();
+        this.rootEntryStarts = new long[0];
+        this.entryCount = entries.size();
+    }
+
+    /**
+     * Creates a new compact OffsetTable from root layout nodes.
+     *
+     * <p>Root nodes are laid out back to back; their offsets are absolute.</p>
+     *
+     * @param messageType the type identifier for this message (e.g., "request", "response")
+     * @param layout the root layout nodes in spec-tree order
+     */
+    public OffsetTable(String messageType, List<OffsetLayout> layout) {
+        this.messageType = messageType;
+        this.layout = Collections.unmodifiableList(new ArrayList<>(layout));
+        this.rootEntryStarts = new long[layout.size()];
+
+        long length = 0;
+        long count = 0;
+        for (int i = 0; i < layout.size(); i++) {
+            OffsetLayout node = layout.get(i);
+            rootEntryStarts[i] = count;
+            count += node.getEntryCount();
+            length = Math.max(length, node.getOffset() + node.getTotalLength());
+        }
+        this.totalLength = length;
+        this.entryCount = count;
+        this.entries = new LazyEntryList();
     }
 
     /**
@@ -60,19 +103,47 @@ public class OffsetTable {
      * <p>Entries are ordered according to spec-tree traversal order, which
      * preserves the original field order from the Excel specification.</p>
      *
+     * <p>For compact tables, entries are created on access and not retained;
+     * callers that need an entry repeatedly should keep their own
+     * reference.</p>
+     *
      * @return an unmodifiable list of offset entries (never null, may be empty)
+     * @throws IllegalStateException if the table expands to more than
+     *         {@code Integer.MAX_VALUE} entries
      */
     public List<OffsetEntry> getEntries() {
+        if (entryCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Offset table '" + messageType + "' expands to "
+                    + entryCount + " entries");
+        }
         return entries;
     }
 
+    /**
+     * Gets the compact layout of the root fields.
+     *
+     * @return an unmodifiable list of root layout nodes, empty for expanded tables
+     */
+    public List<OffsetLayout> getLayout() {
+        return layout;
+    }
+
     /**
      * Gets the number of entries in this table.
      *
-     * @return the entry count
+     * @return the entry count, saturated at {@code Integer.MAX_VALUE}
      */
     public int size() {
-        return entries.size();
+        return (int) Math.min(entryCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of entries in this table, including expanded occurrences.
+     *
+     * @return the entry count
+     */
+    public long getEntryCount() {
+        return entryCount;
     }
 
     /**
@@ -81,7 +152,7 @@ public class OffsetTable {
      * @return true if the table is empty
      */
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return entryCount == 0;
     }
 
     @Override
@@ -89,7 +160,37 @@ public class OffsetTable {
         return "OffsetTable{" +
                 "messageType='" + messageType + '\'' +
                 ", totalLength=" + totalLength +
-                ", entryCount=" + entries.size() +
+                ", entryCount=" + entryCount +
                 '}';
     }
+
+    /**
+     * Read-only entry view over the compact layout.
+     */
+    private final class LazyEntryList extends AbstractList<OffsetEntry> implements RandomAccess {
+
+        @Override
+        public OffsetEntry get(int index) {
+            if (index < 0 || index >= entryCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + entryCount);
+            }
+
+            int low = 0;
+            int high = rootEntryStarts.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (rootEntryStarts[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return layout.get(low).entryAt(index - rootEntryStarts[low], "", 0);
+        }
+
+        @Override
+        public int size() {
+            return (int) entryCount;
+        }
+    }
 }
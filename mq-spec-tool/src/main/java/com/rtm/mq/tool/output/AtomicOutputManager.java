@@ -3,12 +3,16 @@ package com.rtm.mq.tool.output;
 import com.rtm.mq.tool.model.ConsistencyReport;
 import com.rtm.mq.tool.model.ValidationResult;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
@@ -41,6 +45,11 @@ import java.util.stream.Stream;
  *   <li>Commit replaces the target output atomically</li>
  *   <li>On failure, the original output state remains unchanged</li>
  * </ul>
+ *
+ * <p>Outputs are added either as content or as a writer callback. Callbacks
+ * run at commit time and write straight into the temporary file, with the
+ * manifest hash computed as the bytes are written, so large documents are
+ * never held in memory.</p>
  */
 public class AtomicOutputManager {
 
@@ -51,7 +60,7 @@ public class AtomicOutputManager {
     private String transactionId;
     private Path tempDir;
     private TransactionState state;
-    private final Map<String, byte[]> pendingOutputs;
+    private final Map<String, PendingOutput> pendingOutputs;
     private OutputManifest manifest;
 
     public AtomicOutputManager() {
@@ -165,13 +174,25 @@ public class AtomicOutputManager {
      * @throws IllegalStateException if transaction is not in PENDING state
      */
     public void addOutput(String relativePath, byte[] content) {
-        if (state != TransactionState.PENDING) {
-            throw new IllegalStateException(
-                    "Cannot add output: transaction is " + state);
-        }
-        Objects.requireNonNull(relativePath, "relativePath must not be null");
         Objects.requireNonNull(content, "content must not be null");
-        pendingOutputs.put(relativePath, content);
+        addPending(relativePath, new PendingOutput(content, null));
+    }
+
+    /**
+     * Adds an output file whose content is streamed at commit time.
+     *
+     * <p>During commit() the writer is called with a buffered UTF-8 writer
+     * over the temporary file; it must not close it. Failures of the writer
+     * fail the commit. Streamed outputs are not counted by the disk space
+     * precondition, as their size is unknown until written.</p>
+     *
+     * @param relativePath the relative path from output directory
+     * @param writer writes the file content
+     * @throws IllegalStateException if transaction is not in PENDING state
+     */
+    public void addOutput(String relativePath, IOConsumer<Writer> writer) {
+        Objects.requireNonNull(writer, "writer must not be null");
+        addPending(relativePath, new PendingOutput(null, writer));
     }
 
     /**
@@ -311,9 +332,18 @@ public class AtomicOutputManager {
         }
     }
 
+    private void addPending(String relativePath, PendingOutput output) {
+        if (state != TransactionState.PENDING) {
+            throw new IllegalStateException(
+                    "Cannot add output: transaction is " + state);
+        }
+        Objects.requireNonNull(relativePath, "relativePath must not be null");
+        pendingOutputs.put(relativePath, output);
+    }
+
     private void checkDiskSpace() {
         long requiredBytes = pendingOutputs.values().stream()
-                .mapToLong(bytes -> bytes.length)
+                .mapToLong(PendingOutput::knownSize)
                 .sum();
 
         // Add buffer for manifest and overhead (10% or minimum 1KB)
@@ -355,23 +385,19 @@ public class AtomicOutputManager {
         List<OutputFileEntry> entries = new ArrayList<>();
         MessageDigest digest = MessageDigest.getInstance("SHA-256");
 
-        for (Map.Entry<String, byte[]> entry : pendingOutputs.entrySet()) {
+        for (Map.Entry<String, PendingOutput> entry : pendingOutputs.entrySet()) {
             String relativePath = entry.getKey();
-            byte[] content = entry.getValue();
 
             // Create parent directories if needed
             Path filePath = tempDir.resolve(relativePath);
             Files.createDirectories(filePath.getParent());
 
-            // Write file
-            Files.write(filePath, content);
-
-            // Calculate hash
+            // Write file, hashing the bytes as they are written
             digest.reset();
-            byte[] hashBytes = digest.digest(content);
-            String hashHex = bytesToHex(hashBytes);
+            long size = entry.getValue().writeTo(filePath, digest);
+            String hashHex = bytesToHex(digest.digest());
 
-            entries.add(new OutputFileEntry(relativePath, content.length, hashHex));
+            entries.add(new OutputFileEntry(relativePath, size, hashHex));
         }
 
         return entries;
@@ -484,6 +510,42 @@ public class AtomicOutputManager {
         return sb.toString();
     }
 
+    /**
+     * A pending output: either its content or a writer producing it.
+     */
+    private static final class PendingOutput {
+
+        private final byte[] content;
+        private final IOConsumer<Writer> writer;
+
+        PendingOutput(byte[] content, IOConsumer<Writer> writer) {
+            this.content = content;
+            this.writer = writer;
+        }
+
+        long knownSize() {
+            return content != null ? content.length : 0;
+        }
+
+        /**
+         * Writes the output to a file, feeding every byte written to the digest.
+         *
+         * @return the number of bytes written
+         */
+        long writeTo(Path file, MessageDigest digest) throws IOException {
+            if (content != null) {
+                Files.write(file, content);
+                digest.update(content);
+                return content.length;
+            }
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new DigestOutputStream(Files.newOutputStream(file), digest), StandardCharsets.UTF_8))) {
+                writer.accept(out);
+            }
+            return Files.size(file);
+        }
+    }
+
     private static String bytesToHex(byte[] bytes) {
         StringBuilder sb = new StringBuilder();
         for (byte b : bytes) {
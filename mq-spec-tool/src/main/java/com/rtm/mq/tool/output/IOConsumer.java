@@ -0,0 +1,23 @@
+package com.rtm.mq.tool.output;
+
+import java.io.IOException;
+
+/**
+ * Consumer that may fail with an {@link IOException}.
+ *
+ * <p>Used by {@link AtomicOutputManager} for outputs that are written
+ * directly to their temporary file at commit time.</p>
+ *
+ * @param <T> the type of the input to the operation
+ */
+@FunctionalInterface
+public interface IOConsumer<T> {
+
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param t the input argument
+     * @throws IOException if writing fails
+     */
+    void accept(T t) throws IOException;
+}
@@ -0,0 +1,167 @@
+package com.rtm.mq.tool.parser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated outcome of a {@link BulkParser} run.
+ *
+ * <p>Holds one {@link Entry} per input workbook, in input order, plus the
+ * wall-clock duration of the whole run. Entries of failed workbooks carry
+ * the error instead of field counts; a failure never affects other entries.</p>
+ */
+public class BulkParseResult {
+
+    private final List<Entry> entries;
+    private final long elapsedMillis;
+
+    /**
+     * Creates a result.
+     *
+     * @param entries the per-file entries in input order
+     * @param elapsedMillis the wall-clock duration of the run
+     */
+    public BulkParseResult(List<Entry> entries, long elapsedMillis) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the per-file entries.
+     *
+     * @return an unmodifiable list of entries in input order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the wall-clock duration of the run.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the number of workbooks that parsed successfully.
+     *
+     * @return the success count
+     */
+    public int getSucceededCount() {
+        int count = 0;
+        for (Entry entry : entries) {
+            if (entry.isSuccess()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of workbooks that failed to parse.
+     *
+     * @return the failure count
+     */
+    public int getFailedCount() {
+        return entries.size() - getSucceededCount();
+    }
+
+    /**
+     * Checks whether every workbook parsed successfully.
+     *
+     * @return true if there are no failures
+     */
+    public boolean isSuccess() {
+        return getFailedCount() == 0;
+    }
+
+    /**
+     * Outcome of parsing a single workbook.
+     */
+    public static final class Entry {
+
+        private final Path specFile;
+        private final Path outputFile;
+        private final long durationMillis;
+        private final int requestFieldCount;
+        private final int responseFieldCount;
+        private final String errorType;
+        private final String errorMessage;
+
+        private Entry(Path specFile, Path outputFile, long durationMillis, int requestFieldCount,
+                      int responseFieldCount, String errorType, String errorMessage) {
+            this.specFile = specFile;
+            this.outputFile = outputFile;
+            this.durationMillis = durationMillis;
+            this.requestFieldCount = requestFieldCount;
+            this.responseFieldCount = responseFieldCount;
+            this.errorType = errorType;
+            this.errorMessage = errorMessage;
+        }
+
+        /**
+         * Creates the entry of a successfully parsed workbook.
+         *
+         * @param specFile the workbook
+         * @param outputFile the written JSON tree
+         * @param durationMillis the parse and write time
+         * @param requestFieldCount number of Request fields, including nested ones
+         * @param responseFieldCount number of Response fields, including nested ones
+         * @return the entry
+         */
+        public static Entry success(Path specFile, Path outputFile, long durationMillis,
+                                    int requestFieldCount, int responseFieldCount) {
+            return new Entry(specFile, outputFile, durationMillis, requestFieldCount,
+                responseFieldCount, null, null);
+        }
+
+        /**
+         * Creates the entry of a workbook that failed to parse.
+         *
+         * @param specFile the workbook
+         * @param durationMillis the time until the failure
+         * @param error the failure
+         * @return the entry
+         */
+        public static Entry failure(Path specFile, long durationMillis, Throwable error) {
+            return new Entry(specFile, null, durationMillis, 0, 0,
+                error.getClass().getSimpleName(), error.getMessage());
+        }
+
+        public Path getSpecFile() {
+            return specFile;
+        }
+
+        public Path getOutputFile() {
+            return outputFile;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public int getRequestFieldCount() {
+            return requestFieldCount;
+        }
+
+        public int getResponseFieldCount() {
+            return responseFieldCount;
+        }
+
+        public String getErrorType() {
+            return errorType;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public boolean isSuccess() {
+            return errorType == null;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.rtm.mq.tool.parser;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.MessageModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parses many specification workbooks in one run.
+ *
+ * <p>Inputs are resolved from a directory (all workbooks below it) or a glob
+ * pattern such as {@code specs/*.xlsx}, and parsed on a
+ * work-stealing {@link ForkJoinPool}. Each workbook is parsed in isolation:
+ * an exception is recorded in that file's {@link BulkParseResult.Entry} and
+ * does not stop the others.</p>
+ *
+ * <p>For every successful workbook the intermediate JSON tree is written with
+ * {@link DeterministicJsonWriter}, mirroring the input layout relative to the
+ * common parent directory of all inputs. An aggregated summary with per-file
+ * timing, field counts and errors is written to
+ * {@value #SUMMARY_FILE_NAME} in the output directory.</p>
+ *
+ * @see BulkParseResult
+ */
+public class BulkParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkParser.class);
+
+    /** File name of the aggregated summary in the output directory. */
+    public static final String SUMMARY_FILE_NAME = "parse-summary.json";
+
+    private static final String GLOB_CHARS = "*?[{";
+
+    private final Parser parser;
+    private final int parallelism;
+
+    /**
+     * Creates a bulk parser.
+     *
+     * @param parser the parser used for each workbook (must be thread-safe)
+     * @param parallelism the number of worker threads; non-positive uses the number of processors
+     */
+    public BulkParser(Parser parser, int parallelism) {
+        this.parser = parser;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Resolves an input argument to the workbooks it denotes.
+     *
+     * <ul>
+     *   <li>Directory - every workbook below it, recursively</li>
+     *   <li>Glob pattern - every workbook matching it, searched from the
+     *       longest leading part without glob characters</li>
+     *   <li>Anything else - the path itself</li>
+     * </ul>
+     *
+     * <p>Excel lock files ({@code ~$*}) are skipped. Results are sorted so the
+     * run order and the summary are reproducible.</p>
+     *
+     * @param input a file, directory or glob pattern
+     * @return the workbooks, sorted by path
+     * @throws IOException if a directory cannot be walked
+     */
+    public static List<Path> resolveInputs(String input) throws IOException {
+        if (!containsGlob(input)) {
+            Path path = Paths.get(input);
+            return Files.isDirectory(path) ? findWorkbooks(path, null) : List.of(path);
+        }
+
+        String normalized = input.replace('\\', '/');
+        int firstGlob = indexOfGlob(normalized);
+        int baseEnd = normalized.lastIndexOf('/', firstGlob);
+        Path base = baseEnd < 0 ? Paths.get("") : Paths.get(normalized.substring(0, Math.max(baseEnd, 1)));
+        String pattern = baseEnd < 0 ? normalized : normalized.substring(baseEnd + 1);
+
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        return findWorkbooks(base, matcher);
+    }
+
+    /**
+     * Parses every workbook and writes the JSON trees plus the summary.
+     *
+     * @param specFiles the workbooks to parse
+     * @param mqMessageFile the MQ message file applied to every workbook, or null
+     * @param outputDir the directory receiving the JSON trees and summary
+     * @return the aggregated result
+     * @throws IOException if the output directory or summary cannot be written
+     */
+    public BulkParseResult parseAll(List<Path> specFiles, Path mqMessageFile, Path outputDir)
+            throws IOException {
+        Files.createDirectories(outputDir);
+        Path baseDir = commonParent(specFiles);
+        DeterministicJsonWriter writer = new DeterministicJsonWriter();
+
+        List<Callable<BulkParseResult.Entry>> tasks = new ArrayList<>(specFiles.size());
+        for (Path specFile : specFiles) {
+            Path outputFile = outputDir.resolve(toJsonName(baseDir.relativize(specFile.toAbsolutePath().normalize())));
+            tasks.add(() -> parseOne(specFile, mqMessageFile, outputFile, writer));
+        }
+
+        long start = System.nanoTime();
+        List<BulkParseResult.Entry> entries = new ArrayList<>(specFiles.size());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<BulkParseResult.Entry>> futures = pool.invokeAll(tasks);
+            for (Future<BulkParseResult.Entry> future : futures) {
+                entries.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk parse interrupted", e);
+        } catch (ExecutionException e) {
+            // parseOne records every exception; only errors (e.g. OutOfMemoryError) get here
+            throw new IllegalStateException("Bulk parse aborted", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        BulkParseResult result = new BulkParseResult(entries, (System.nanoTime() - start) / 1_000_000);
+        writeSummary(result, outputDir.resolve(SUMMARY_FILE_NAME));
+        logger.info("Bulk parse finished: {} succeeded, {} failed in {} ms",
+            result.getSucceededCount(), result.getFailedCount(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Parses a single workbook, converting any exception into a failure entry.
+     */
+    private BulkParseResult.Entry parseOne(Path specFile, Path mqMessageFile, Path outputFile,
+                                           DeterministicJsonWriter writer) {
+        long start = System.nanoTime();
+        try {
+            MessageModel model = parser.parse(specFile, mqMessageFile);
+            writer.write(model, outputFile);
+            return BulkParseResult.Entry.success(specFile, outputFile, elapsedMillis(start),
+                countFields(model.getRequest()), countFields(model.getResponse()));
+        } catch (Exception e) {
+            logger.warn("Failed to parse {}: {}", specFile, e.getMessage());
+            return BulkParseResult.Entry.failure(specFile, elapsedMillis(start), e);
+        }
+    }
+
+    /**
+     * Writes the aggregated summary as pretty-printed JSON.
+     */
+    private void writeSummary(BulkParseResult result, Path summaryFile) throws IOException {
+        JsonObject root = new JsonObject();
+        root.addProperty("total", result.getEntries().size());
+        root.addProperty("succeeded", result.getSucceededCount());
+        root.addProperty("failed", result.getFailedCount());
+        root.addProperty("elapsedMillis", result.getElapsedMillis());
+
+        JsonArray files = new JsonArray();
+        for (BulkParseResult.Entry entry : result.getEntries()) {
+            JsonObject file = new JsonObject();
+            file.addProperty("specFile", entry.getSpecFile().toString());
+            file.addProperty("status", entry.isSuccess() ? "SUCCESS" : "FAILED");
+            file.addProperty("durationMillis", entry.getDurationMillis());
+            if (entry.isSuccess()) {
+                file.addProperty("outputFile", entry.getOutputFile().toString());
+                file.addProperty("requestFieldCount", entry.getRequestFieldCount());
+                file.addProperty("responseFieldCount", entry.getResponseFieldCount());
+            } else {
+                file.addProperty("errorType", entry.getErrorType());
+                file.addProperty("errorMessage", entry.getErrorMessage());
+            }
+            files.add(file);
+        }
+        root.add("files", files);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        Files.write(summaryFile, gson.toJson(root).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Path> findWorkbooks(Path base, PathMatcher matcher) throws IOException {
+        try (Stream<Path> stream = Files.walk(base)) {
+            return stream
+                .filter(Files::isRegularFile)
+                .filter(path -> matcher == null || matcher.matches(base.relativize(path)))
+                .filter(BulkParser::isWorkbook)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isWorkbook(Path path) {
+        String name = path.getFileName().toString();
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !name.startsWith("~$")
+            && (lower.endsWith(".xlsx") || lower.endsWith(".xlsm") || lower.endsWith(".xls"));
+    }
+
+    private static Path commonParent(List<Path> files) {
+        Path common = null;
+        for (Path file : files) {
+            Path parent = file.toAbsolutePath().normalize().getParent();
+            if (common == null) {
+                common = parent;
+            } else {
+                while (!parent.startsWith(common)) {
+                    common = common.getParent();
+                }
+            }
+        }
+        return common != null ? common : Paths.get("").toAbsolutePath();
+    }
+
+    private static Path toJsonName(Path relative) {
+        String name = relative.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String jsonName = (dot > 0 ? name.substring(0, dot) : name) + ".json";
+        Path parent = relative.getParent();
+        return parent != null ? parent.resolve(jsonName) : Paths.get(jsonName);
+    }
+
+    private static int countFields(FieldGroup group) {
+        return group != null && group.getFields() != null ? countFields(group.getFields()) : 0;
+    }
+
+    private static int countFields(List<FieldNode> fields) {
+        int count = 0;
+        for (FieldNode field : fields) {
+            count += 1 + countFields(field.getChildren());
+        }
+        return count;
+    }
+
+    private static boolean containsGlob(String input) {
+        return indexOfGlob(input) >= 0;
+    }
+
+    private static int indexOfGlob(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (GLOB_CHARS.indexOf(input.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,110 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.config.ParserConfig;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.version.VersionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Parser decorator that serves repeated parses from a {@link ParseCache}.
+ *
+ * <p>The cache key covers the bytes of the spec and MQ message files, the
+ * parser version and the effective {@link ParserConfig}, so a hit is only
+ * possible when the delegate would produce the same model. On a hit the
+ * delegate (and therefore POI) is not invoked at all; only the source file
+ * paths in the returned model are updated to the paths of the current
+ * request, and its parse timestamp to the time of the request.</p>
+ *
+ * <p>If the input files cannot be hashed, the request is passed straight to
+ * the delegate so that its input validation reports the problem.</p>
+ *
+ * @see ParseCache
+ */
+public class CachingParser implements Parser, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingParser.class);
+
+    private final Parser delegate;
+    private final ParseCache cache;
+    private final String settingsFingerprint;
+
+    /**
+     * Creates a caching parser.
+     *
+     * @param delegate the parser performing actual parses
+     * @param cache the cache to use
+     * @param parserConfig the parser settings the delegate was created with
+     */
+    public CachingParser(Parser delegate, ParseCache cache, ParserConfig parserConfig) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.settingsFingerprint = parserConfig.fingerprint();
+    }
+
+    @Override
+    public MessageModel parse(Path specFile, Path mqMessageFile) {
+        String key;
+        try {
+            key = cache.computeKey(specFile, mqMessageFile,
+                VersionRegistry.getParserVersion(), settingsFingerprint);
+        } catch (IOException e) {
+            return delegate.parse(specFile, mqMessageFile);
+        }
+
+        MessageModel cached = cache.get(key);
+        if (cached != null) {
+            logger.debug("Parse cache hit for {} (key {})", specFile, key);
+            relocate(cached, specFile, mqMessageFile);
+            return cached;
+        }
+
+        MessageModel model = delegate.parse(specFile, mqMessageFile);
+        cache.put(key, model);
+        return model;
+    }
+
+    /**
+     * Closes the delegate if it holds resources, e.g. the sheet parsing pool
+     * of an {@link ExcelParser}.
+     *
+     * @throws Exception if the delegate fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+
+    /**
+     * Gets the underlying cache, e.g. to read its hit/miss counters.
+     *
+     * @return the parse cache
+     */
+    public ParseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Points the source file references of a cached model at the current inputs
+     * and stamps it with the current parse time.
+     *
+     * @param model the model restored from the cache
+     * @param specFile the current spec file
+     * @param mqMessageFile the current MQ message file, or null
+     */
+    private void relocate(MessageModel model, Path specFile, Path mqMessageFile) {
+        if (model.getMetadata() != null) {
+            model.getMetadata().setSourceFile(specFile.toAbsolutePath().toString());
+            model.getMetadata().setParseTimestamp(Instant.now().toString());
+        }
+        if (model.getMqMessage() != null && mqMessageFile != null) {
+            model.getMqMessage().setSourceFile(mqMessageFile.toAbsolutePath().toString());
+        }
+    }
+}
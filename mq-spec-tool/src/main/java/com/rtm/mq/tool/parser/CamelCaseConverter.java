@@ -7,6 +7,8 @@ import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converts field names to camelCase format.
@@ -24,6 +26,12 @@ import java.security.NoSuchAlgorithmException;
  * <p>The converter also enforces a maximum length constraint. When the resulting
  * name exceeds the limit, it truncates and appends a hash suffix for uniqueness.</p>
  *
+ * <p>Field names repeat heavily across the sheets of a workbook and across
+ * workbooks, so results are memoized in a bounded per-instance cache. Pinyin
+ * lookups are kept in a process-wide table filled on first use of each
+ * character, and the MD5 digest is reused per thread. Instances are
+ * thread-safe and can be shared between concurrently parsed sheets.</p>
+ *
  * @see DuplicateDetector
  */
 public class CamelCaseConverter {
@@ -37,8 +45,36 @@ public class CamelCaseConverter {
     /** Prefix added to names that start with a digit. */
     private static final String DIGIT_PREFIX = "field";
 
+    /** Maximum number of memoized conversions per instance. */
+    private static final int MAX_MEMO_ENTRIES = 8192;
+
+    /** First and last character of the range covered by the pinyin table (CJK Ext A to URO). */
+    private static final char PINYIN_TABLE_START = '\u3400';
+    private static final char PINYIN_TABLE_END = '\u9FFF';
+
+    /** Table marker for characters that are not CJK ideographs. */
+    private static final String NOT_CJK = new String("not-cjk");
+
+    /** Table marker for CJK ideographs without a pinyin reading. */
+    private static final String NO_PINYIN = new String("no-pinyin");
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final HanyuPinyinOutputFormat PINYIN_FORMAT = createPinyinFormat();
+
+    /** Pinyin per character, indexed from PINYIN_TABLE_START; null until first looked up. */
+    private static final String[] PINYIN_TABLE = new String[PINYIN_TABLE_END - PINYIN_TABLE_START + 1];
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    });
+
     private final int maxLength;
-    private final HanyuPinyinOutputFormat pinyinFormat;
+    private final Map<String, String> memo = new ConcurrentHashMap<>();
 
     /**
      * Creates a CamelCaseConverter with the default maximum length (50 characters).
@@ -54,9 +90,6 @@ public class CamelCaseConverter {
      */
     public CamelCaseConverter(int maxLength) {
         this.maxLength = maxLength > 0 ? maxLength : DEFAULT_MAX_LENGTH;
-        this.pinyinFormat = new HanyuPinyinOutputFormat();
-        this.pinyinFormat.setCaseType(HanyuPinyinCaseType.LOWERCASE);
-        this.pinyinFormat.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
     }
 
     /**
@@ -81,29 +114,55 @@ public class CamelCaseConverter {
             return input;
         }
 
-        // Step 1: Convert CJK characters to pinyin
-        String processed = convertCJKToPinyin(input);
+        String cached = memo.get(input);
+        if (cached != null) {
+            return cached;
+        }
 
-        // Step 2: Remove special characters, keep only letters, digits, underscores, hyphens
-        String cleaned = processed.replaceAll("[^a-zA-Z0-9_\\-]", "");
+        String camelCase = convert(input);
+        if (memo.size() >= MAX_MEMO_ENTRIES) {
+            // Field vocabularies are small; a full memo means unrelated inputs, so start over
+            memo.clear();
+        }
+        memo.put(input, camelCase);
+        return camelCase;
+    }
 
-        // Step 3: Split by underscores or hyphens
-        String[] parts = cleaned.split("[_\\-]");
+    /**
+     * Returns the configured maximum length for converted names.
+     *
+     * @return the maximum length
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
 
-        StringBuilder result = new StringBuilder();
-        for (String part : parts) {
-            if (part.isEmpty()) {
-                continue;
-            }
+    /**
+     * Performs the uncached conversion described in {@link #toCamelCase(String)}.
+     *
+     * <p>Steps 2 to 4 run as one scan over the pinyin-converted input: kept
+     * characters are collected into the current part, and an underscore or
+     * hyphen closes it.</p>
+     *
+     * @param input the original field name (not null or empty)
+     * @return the camelCase name
+     */
+    private String convert(String input) {
+        // Step 1: Convert CJK characters to pinyin
+        String processed = convertCJKToPinyin(input);
 
-            if (result.length() == 0) {
-                // First part: lowercase the first character
-                result.append(toLowerFirst(part));
-            } else {
-                // Subsequent parts: uppercase the first character
-                result.append(toUpperFirst(part));
+        // Steps 2-3: Drop special characters and split by underscores or hyphens
+        StringBuilder result = new StringBuilder(processed.length());
+        StringBuilder part = new StringBuilder();
+        for (int i = 0, n = processed.length(); i < n; i++) {
+            char ch = processed.charAt(i);
+            if (ch == '_' || ch == '-') {
+                appendPart(result, part);
+            } else if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+                part.append(ch);
             }
         }
+        appendPart(result, part);
 
         String camelCase = result.toString();
 
@@ -127,90 +186,152 @@ public class CamelCaseConverter {
     }
 
     /**
-     * Returns the configured maximum length for converted names.
+     * Appends a completed part in camelCase form and clears it.
      *
-     * @return the maximum length
+     * <p>The first part keeps its case apart from a lowercased first
+     * character; subsequent parts are capitalized with the rest lowercased.</p>
+     *
+     * @param result the name built so far
+     * @param part the completed part (may be empty)
      */
-    public int getMaxLength() {
-        return maxLength;
+    private void appendPart(StringBuilder result, StringBuilder part) {
+        if (part.length() == 0) {
+            return;
+        }
+
+        if (result.length() == 0) {
+            result.append(Character.toLowerCase(part.charAt(0))).append(part, 1, part.length());
+        } else {
+            result.append(Character.toUpperCase(part.charAt(0)));
+            appendLowerCase(result, part, 1);
+        }
+        part.setLength(0);
+    }
+
+    /**
+     * Appends {@code part[from..]} lowercased, as {@link String#toLowerCase()} would.
+     *
+     * @param result the target builder
+     * @param part the source characters
+     * @param from the first index to append
+     */
+    private void appendLowerCase(StringBuilder result, CharSequence part, int from) {
+        for (int i = from; i < part.length(); i++) {
+            char ch = part.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                // Defer to the locale-sensitive String rules once an uppercase letter appears
+                result.append(part.subSequence(i, part.length()).toString().toLowerCase());
+                return;
+            }
+            result.append(ch);
+        }
     }
 
     /**
      * Converts CJK characters in the input string to their pinyin equivalents.
      *
      * <p>Consecutive CJK characters are converted to camelCase pinyin
-     * (e.g., "AB" becomes "keHuXingMing").</p>
+     * (e.g., "AB" becomes "keHuXingMing"). Inputs without any character in
+     * the CJK range are returned unchanged.</p>
      *
      * @param input the string potentially containing CJK characters
      * @return the string with CJK characters replaced by pinyin
      */
     private String convertCJKToPinyin(String input) {
-        StringBuilder pinyin = new StringBuilder();
+        int first = 0;
+        while (first < input.length() && input.charAt(first) < PINYIN_TABLE_START) {
+            first++;
+        }
+        if (first == input.length()) {
+            return input;
+        }
+
+        StringBuilder pinyin = new StringBuilder(input.length() + 16).append(input, 0, first);
         boolean lastWasCJK = false;
 
-        for (char ch : input.toCharArray()) {
-            if (isCJKCharacter(ch)) {
-                try {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(ch, pinyinFormat);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        String py = pinyinArray[0];
-                        // Capitalize first letter of subsequent CJK pinyin for camelCase
-                        if (lastWasCJK && pinyin.length() > 0) {
-                            pinyin.append(toUpperFirst(py));
-                        } else {
-                            pinyin.append(py);
-                        }
-                    } else {
-                        // No pinyin available, keep original character
-                        pinyin.append(ch);
-                    }
-                } catch (Exception e) {
-                    // Pinyin conversion failed, keep original character
-                    pinyin.append(ch);
-                }
-                lastWasCJK = true;
-            } else {
+        for (int i = first; i < input.length(); i++) {
+            char ch = input.charAt(i);
+            String py = lookupPinyin(ch);
+            if (py == NOT_CJK) {
                 pinyin.append(ch);
                 lastWasCJK = false;
+                continue;
             }
+
+            if (py == NO_PINYIN) {
+                // No pinyin available, keep original character
+                pinyin.append(ch);
+            } else if (lastWasCJK && pinyin.length() > 0) {
+                // Capitalize first letter of subsequent CJK pinyin for camelCase
+                pinyin.append(toUpperFirst(py));
+            } else {
+                pinyin.append(py);
+            }
+            lastWasCJK = true;
         }
         return pinyin.toString();
     }
 
+    /**
+     * Looks up the pinyin of a character, consulting the shared table first.
+     *
+     * <p>Table entries are immutable strings written at most once per
+     * character with the same value, so unsynchronized access is safe.</p>
+     *
+     * @param ch the character
+     * @return the first pinyin reading, {@link #NO_PINYIN} or {@link #NOT_CJK}
+     */
+    private static String lookupPinyin(char ch) {
+        if (ch < PINYIN_TABLE_START || ch > PINYIN_TABLE_END) {
+            return ch < PINYIN_TABLE_START || !isCJKCharacter(ch) ? NOT_CJK : resolvePinyin(ch);
+        }
+        int index = ch - PINYIN_TABLE_START;
+        String py = PINYIN_TABLE[index];
+        if (py == null) {
+            py = isCJKCharacter(ch) ? resolvePinyin(ch) : NOT_CJK;
+            PINYIN_TABLE[index] = py;
+        }
+        return py;
+    }
+
+    /**
+     * Resolves the pinyin of a CJK ideograph through pinyin4j.
+     *
+     * @param ch the CJK character
+     * @return the first pinyin reading, or {@link #NO_PINYIN}
+     */
+    private static String resolvePinyin(char ch) {
+        try {
+            String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(ch, PINYIN_FORMAT);
+            if (pinyinArray != null && pinyinArray.length > 0) {
+                return pinyinArray[0];
+            }
+        } catch (Exception e) {
+            // Pinyin conversion failed, keep original character
+        }
+        return NO_PINYIN;
+    }
+
     /**
      * Checks if the character is a CJK (Chinese/Japanese/Korean) unified ideograph.
      *
      * @param ch the character to check
      * @return true if the character is a CJK ideograph
      */
-    private boolean isCJKCharacter(char ch) {
+    private static boolean isCJKCharacter(char ch) {
         Character.UnicodeBlock block = Character.UnicodeBlock.of(ch);
         return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS ||
                block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A ||
                block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B;
     }
 
-    /**
-     * Converts the first character to lowercase and the rest to lowercase.
-     *
-     * @param str the input string
-     * @return the string with first character lowercase
-     */
-    private String toLowerFirst(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return Character.toLowerCase(str.charAt(0)) +
-               (str.length() > 1 ? str.substring(1) : "");
-    }
-
     /**
      * Converts the first character to uppercase and the rest to lowercase.
      *
      * @param str the input string
      * @return the string with first character uppercase
      */
-    private String toUpperFirst(String str) {
+    private static String toUpperFirst(String str) {
         if (str == null || str.isEmpty()) {
             return str;
         }
@@ -222,19 +343,28 @@ public class CamelCaseConverter {
      * Generates a 4-character hexadecimal hash suffix from the input string.
      *
      * <p>Uses MD5 to generate a deterministic hash, taking the first 2 bytes
-     * as a 4-character hex string.</p>
+     * as a 4-character hex string. The digest instance is reused per thread.</p>
      *
      * @param input the string to hash
      * @return a 4-character hexadecimal hash
      */
-    private String generateHash(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(input.getBytes());
-            return String.format("%02x%02x", hash[0] & 0xff, hash[1] & 0xff);
-        } catch (NoSuchAlgorithmException e) {
+    private static String generateHash(String input) {
+        MessageDigest md = MD5.get();
+        if (md == null) {
             // MD5 is always available in standard JVMs
             return "0000";
         }
+        byte[] hash = md.digest(input.getBytes());
+        return new String(new char[] {
+            HEX_DIGITS[(hash[0] >> 4) & 0xf], HEX_DIGITS[hash[0] & 0xf],
+            HEX_DIGITS[(hash[1] >> 4) & 0xf], HEX_DIGITS[hash[1] & 0xf]
+        });
+    }
+
+    private static HanyuPinyinOutputFormat createPinyinFormat() {
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        return format;
     }
 }
@@ -1,7 +1,6 @@
 package com.rtm.mq.tool.parser;
 
 import com.rtm.mq.tool.exception.ParseException;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 
@@ -66,6 +65,21 @@ public class ColumnValidator {
      * @throws ParseException if the header row is null or required columns are missing
      */
     public Map<String, Integer> validateAndMapColumns(Row headerRow, String sheetName) {
+        return validateAndMapColumns(headerRow != null ? RowSnapshot.of(headerRow) : null, sheetName);
+    }
+
+    /**
+     * Validates and maps columns from a header row snapshot.
+     *
+     * <p>Behaves exactly like {@link #validateAndMapColumns(Row, String)} and
+     * is used when rows are delivered by {@link StreamingWorkbookReader}.</p>
+     *
+     * @param headerRow the header row snapshot (typically row 8, 0-indexed as 7)
+     * @param sheetName the sheet name for error messages
+     * @return a LinkedHashMap mapping normalized column names to their indices
+     * @throws ParseException if the header row is null or required columns are missing
+     */
+    public Map<String, Integer> validateAndMapColumns(RowSnapshot headerRow, String sheetName) {
         if (headerRow == null) {
             throw new ParseException("Header row is null")
                 .withContext(sheetName, 8);
@@ -74,7 +88,7 @@ public class ColumnValidator {
         Map<String, Integer> columnMap = new LinkedHashMap<>();
 
         // Iterate through all cells and build the mapping
-        for (Cell cell : headerRow) {
+        for (RowSnapshot.CellSnapshot cell : headerRow.getCells()) {
             String rawName = getCellValue(cell);
             if (rawName != null && !rawName.isEmpty()) {
                 String normalized = ColumnNormalizer.normalize(rawName);
@@ -108,7 +122,7 @@ public class ColumnValidator {
      * @param cell the cell to read
      * @return the cell value as a string, or null if the cell is empty or unsupported type
      */
-    private String getCellValue(Cell cell) {
+    private String getCellValue(RowSnapshot.CellSnapshot cell) {
         if (cell == null) {
             return null;
         }
@@ -0,0 +1,159 @@
+package com.rtm.mq.tool.parser;
+
+import com.google.gson.*;
+import com.rtm.mq.tool.model.*;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader for the intermediate JSON tree produced by {@link DeterministicJsonWriter}.
+ *
+ * <p>Restores a {@link MessageModel} that is equivalent to the one originally
+ * serialized:</p>
+ * <ul>
+ *   <li>FieldNodes are rebuilt through {@link FieldNode.Builder}, so default
+ *       values (empty children, source metadata) are always present</li>
+ *   <li>The {@code _source} object is mapped back to {@link SourceMetadata}</li>
+ *   <li>The enum constraint and byte offset written by the
+ *       {@link DeterministicJsonWriter#forCache() cache} form are restored
+ *       when present</li>
+ *   <li>MQ message search indices are not read from the tree; they are
+ *       rebuilt with {@link MqMessageModel#buildIndices()}</li>
+ * </ul>
+ *
+ * @see DeterministicJsonWriter
+ */
+public class DeterministicJsonReader {
+
+    private final Gson gson;
+
+    /**
+     * Constructs a new DeterministicJsonReader.
+     */
+    public DeterministicJsonReader() {
+        this.gson = new GsonBuilder()
+            .registerTypeAdapter(FieldNode.class, new FieldNodeDeserializer())
+            .registerTypeAdapter(MqMessageModel.class, new MqMessageModelDeserializer())
+            .create();
+    }
+
+    /**
+     * Reads a MessageModel from a JSON tree file.
+     *
+     * @param inputPath the JSON file path (UTF-8)
+     * @return the restored message model
+     * @throws IOException if the file cannot be read
+     * @throws JsonParseException if the content is not a valid JSON tree
+     */
+    public MessageModel read(Path inputPath) throws IOException {
+        return deserialize(Files.readString(inputPath, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deserializes a MessageModel from a JSON tree string.
+     *
+     * @param json the JSON tree
+     * @return the restored message model
+     * @throws JsonParseException if the content is not a valid JSON tree
+     */
+    public MessageModel deserialize(String json) {
+        return gson.fromJson(json, MessageModel.class);
+    }
+
+    /**
+     * Deserializer mirroring the fixed field order of the writer's FieldNode serializer.
+     */
+    private static class FieldNodeDeserializer implements JsonDeserializer<FieldNode> {
+        @Override
+        public FieldNode deserialize(JsonElement json, Type typeOfT,
+                                     JsonDeserializationContext context) {
+            JsonObject obj = json.getAsJsonObject();
+
+            FieldNode.Builder builder = FieldNode.builder()
+                .originalName(getString(obj, "originalName"))
+                .camelCaseName(getString(obj, "camelCaseName"))
+                .className(getString(obj, "className"))
+                .segLevel(getInt(obj, "segLevel"))
+                .length(getInteger(obj, "length"))
+                .dataType(getString(obj, "dataType"))
+                .optionality(getString(obj, "optionality"))
+                .defaultValue(getString(obj, "defaultValue"))
+                .hardCodeValue(getString(obj, "hardCodeValue"))
+                .groupId(getString(obj, "groupId"))
+                .occurrenceCount(getString(obj, "occurrenceCount"))
+                .isArray(getBoolean(obj, "isArray"))
+                .isObject(getBoolean(obj, "isObject"))
+                .isTransitory(getBoolean(obj, "isTransitory"))
+                .enumConstraint(getString(obj, "enumConstraint"));
+
+            List<FieldNode> children = new ArrayList<>();
+            JsonElement childrenElement = obj.get("children");
+            if (childrenElement != null && childrenElement.isJsonArray()) {
+                for (JsonElement child : childrenElement.getAsJsonArray()) {
+                    children.add(deserialize(child, typeOfT, context));
+                }
+            }
+            builder.children(children);
+
+            JsonElement sourceElement = obj.get("_source");
+            if (sourceElement != null && sourceElement.isJsonObject()) {
+                JsonObject sourceObj = sourceElement.getAsJsonObject();
+                SourceMetadata source = new SourceMetadata();
+                source.setSheetName(getString(sourceObj, "sheetName"));
+                source.setRowIndex(getInt(sourceObj, "rowIndex"));
+                source.setByteOffset(getInteger(sourceObj, "byteOffset"));
+                builder.source(source);
+            }
+
+            return builder.build();
+        }
+    }
+
+    /**
+     * Deserializer that ignores serialized indices and rebuilds them.
+     */
+    private static class MqMessageModelDeserializer implements JsonDeserializer<MqMessageModel> {
+        @Override
+        public MqMessageModel deserialize(JsonElement json, Type typeOfT,
+                                          JsonDeserializationContext context) {
+            JsonObject obj = json.getAsJsonObject();
+
+            MqMessageModel model = new MqMessageModel();
+            model.setSourceFile(getString(obj, "sourceFile"));
+            String format = getString(obj, "format");
+            model.setFormat(format != null ? MqMessageFormat.valueOf(format) : null);
+            JsonElement fields = obj.get("fields");
+            if (fields != null && !fields.isJsonNull()) {
+                model.setFields(context.deserialize(fields, FieldGroup.class));
+            }
+            model.buildIndices();
+            return model;
+        }
+    }
+
+    private static String getString(JsonObject obj, String name) {
+        JsonElement e = obj.get(name);
+        return e == null || e.isJsonNull() ? null : e.getAsString();
+    }
+
+    private static Integer getInteger(JsonObject obj, String name) {
+        JsonElement e = obj.get(name);
+        return e == null || e.isJsonNull() ? null : e.getAsInt();
+    }
+
+    private static int getInt(JsonObject obj, String name) {
+        Integer value = getInteger(obj, name);
+        return value != null ? value : 0;
+    }
+
+    private static boolean getBoolean(JsonObject obj, String name) {
+        JsonElement e = obj.get(name);
+        return e != null && !e.isJsonNull() && e.getAsBoolean();
+    }
+}
@@ -22,6 +22,11 @@ import java.nio.file.Path;
  *   <li>Null serialization - null fields are explicitly included</li>
  *   <li>No HTML escaping - preserves Unicode characters</li>
  * </ul>
+ *
+ * <p>{@link DeterministicJsonReader} reads the tree back into a MessageModel.
+ * The spec tree leaves out runtime-only field data (enum constraints and the
+ * byte offsets of fixed-format fields); the {@link #forCache() cache} form
+ * adds them so that a cached model round-trips completely.</p>
  */
 public class DeterministicJsonWriter {
 
@@ -31,14 +36,32 @@ public class DeterministicJsonWriter {
      * Constructs a new DeterministicJsonWriter with deterministic serialization settings.
      */
     public DeterministicJsonWriter() {
+        this(false);
+    }
+
+    private DeterministicJsonWriter(boolean runtimeFields) {
         this.gson = new GsonBuilder()
             .setPrettyPrinting()
             .disableHtmlEscaping()
             .serializeNulls()
-            .registerTypeAdapter(FieldNode.class, new FieldNodeSerializer())
+            .registerTypeAdapter(FieldNode.class, new FieldNodeSerializer(runtimeFields))
+            .registerTypeAdapter(OffsetIntervalIndex.class, new OffsetIndexSerializer())
             .create();
     }
 
+    /**
+     * Creates a writer for {@link ParseCache} entries.
+     *
+     * <p>Same output as the spec tree, plus each node's {@code enumConstraint}
+     * and {@code _source.byteOffset} when set. Not for files other tools
+     * consume.</p>
+     *
+     * @return a writer that serializes runtime-only field data too
+     */
+    static DeterministicJsonWriter forCache() {
+        return new DeterministicJsonWriter(true);
+    }
+
     /**
      * Writes a MessageModel to a JSON file.
      *
@@ -88,6 +111,13 @@ public class DeterministicJsonWriter {
      * regardless of Java object field ordering or reflection ordering.</p>
      */
     private static class FieldNodeSerializer implements JsonSerializer<FieldNode> {
+
+        private final boolean runtimeFields;
+
+        FieldNodeSerializer(boolean runtimeFields) {
+            this.runtimeFields = runtimeFields;
+        }
+
         @Override
         public JsonElement serialize(FieldNode node, java.lang.reflect.Type typeOfSrc,
                                     JsonSerializationContext context) {
@@ -109,6 +139,9 @@ public class DeterministicJsonWriter {
             obj.addProperty("isArray", node.isArray());
             obj.addProperty("isObject", node.isObject());
             obj.addProperty("isTransitory", node.isTransitory());
+            if (runtimeFields && node.getEnumConstraint() != null) {
+                obj.addProperty("enumConstraint", node.getEnumConstraint());
+            }
 
             // Serialize children array
             JsonArray children = new JsonArray();
@@ -121,9 +154,29 @@ public class DeterministicJsonWriter {
             JsonObject source = new JsonObject();
             source.addProperty("sheetName", node.getSource().getSheetName());
             source.addProperty("rowIndex", node.getSource().getRowIndex());
+            if (runtimeFields && node.getSource().getByteOffset() != null) {
+                // Only fixed-format (ISM) fields carry a byte offset
+                source.addProperty("byteOffset", node.getSource().getByteOffset());
+            }
             obj.add("_source", source);
 
             return obj;
         }
     }
+
+    /**
+     * Serializes the offset index as a start offset to field map, the shape
+     * the JSON tree has always used for {@code offsetIndex}.
+     */
+    private static class OffsetIndexSerializer implements JsonSerializer<OffsetIntervalIndex> {
+        @Override
+        public JsonElement serialize(OffsetIntervalIndex index, java.lang.reflect.Type typeOfSrc,
+                                     JsonSerializationContext context) {
+            JsonObject obj = new JsonObject();
+            for (java.util.Map.Entry<Integer, FieldNode> entry : index.toStartOffsetMap().entrySet()) {
+                obj.add(String.valueOf(entry.getKey()), context.serialize(entry.getValue(), FieldNode.class));
+            }
+            return obj;
+        }
+    }
 }
@@ -14,11 +14,17 @@ import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Excel specification file parser.
@@ -36,6 +42,16 @@ import java.util.Map;
  *   <li>Duplicate field detection</li>
  * </ol>
  *
+ * <p>When {@code parser.streamingRead} is enabled (the default), XLSX files are
+ * read with {@link StreamingWorkbookReader} instead of the XSSF usermodel:
+ * only the Request, Response and Shared Header sheets are inflated and heap
+ * usage stays flat as the row count grows. Both paths produce the same model.</p>
+ *
+ * <p>With {@code parser.parallelSheets} additionally enabled, the MQ message
+ * file, Request and Response sheets are parsed concurrently on a bounded
+ * {@link ForkJoinPool}. The usermodel path always parses sequentially, as
+ * XSSF workbooks are not safe for concurrent access.</p>
+ *
  * @see Parser
  * @see SheetDiscovery
  * @see MetadataExtractor
@@ -44,7 +60,7 @@ import java.util.Map;
  * @see CamelCaseConverter
  * @see DuplicateDetector
  */
-public class ExcelParser implements Parser {
+public class ExcelParser implements Parser, AutoCloseable {
 
     private static final int HEADER_ROW_INDEX = 7;  // Row 8 (0-indexed)
 
@@ -52,6 +68,9 @@ public class ExcelParser implements Parser {
     private final SheetDiscovery sheetDiscovery;
     private final MetadataExtractor metadataExtractor;
     private final MqMessageLoader mqMessageLoader;
+    // Shared across sheets and parses so its memo survives between workbooks
+    private final CamelCaseConverter camelCaseConverter = new CamelCaseConverter();
+    private ForkJoinPool sheetPool;
 
     /**
      * Creates an ExcelParser with the specified configuration.
@@ -75,6 +94,10 @@ public class ExcelParser implements Parser {
         // Configure POI ZipSecureFile to handle larger files with higher compression ratios
         configureZipSecureFile();
 
+        if (config.getParser().isStreamingRead() && isOoxmlFile(specFile)) {
+            return parseStreaming(specFile, mqMessageFile);
+        }
+
         try (InputStream is = Files.newInputStream(specFile);
              Workbook workbook = WorkbookFactory.create(is)) {
 
@@ -106,6 +129,264 @@ public class ExcelParser implements Parser {
         }
     }
 
+    /**
+     * Parses a specification file with the event-model (SAX) reader.
+     *
+     * <p>Follows the same steps, in the same order, as {@link #parse} but never
+     * materializes a {@link Workbook}: discovery reads only the sheet index,
+     * sheets the pipeline does not use are never inflated, the metadata block
+     * of each sheet is read with an early stop, and Request/Response rows are
+     * pushed straight into {@link SegLevelParser} as {@link RowSnapshot}s. The
+     * resulting {@link MessageModel} is identical to the usermodel path.</p>
+     *
+     * @param specFile path to the XLSX specification file
+     * @param mqMessageFile path to the MQ message file, or null
+     * @return the parsed message model
+     * @throws ParseException if the file cannot be read or parsed
+     */
+    private MessageModel parseStreaming(Path specFile, Path mqMessageFile) {
+        try (StreamingWorkbookReader reader = StreamingWorkbookReader.open(specFile)) {
+            MessageModel model = new MessageModel();
+
+            // 1. Discover Sheets (reads the sheet index only)
+            LazySheetSet sheets = sheetDiscovery.discoverSheets(reader);
+
+            // 2. Extract metadata (DO NOT use mqMessageFile - it has no metadata)
+            Metadata metadata = parseMetadataStreaming(sheets, specFile);
+            model.setMetadata(metadata);
+
+            if (config.getParser().isParallelSheets()) {
+                // 3-5. MQ message file, Request and Response concurrently
+                parseSheetsInParallel(model, sheets, mqMessageFile);
+                return model;
+            }
+
+            // 3. Parse Standalone MQ Message File (if provided)
+            model.setMqMessage(parseMqMessageFile(mqMessageFile));
+
+            // 4. Parse Request
+            model.setRequest(parseSheetStreaming(sheets.getRequest(), "Request"));
+
+            // 5. Parse Response
+            model.setResponse(parseSheetStreaming(sheets.getResponse(), "Response"));
+
+            return model;
+
+        } catch (IOException e) {
+            throw new ParseException("Failed to read Excel file: " + specFile, e);
+        }
+    }
+
+    /**
+     * Parses the MQ message file, Request and Response sheets concurrently.
+     *
+     * <p>Each task builds its own {@link SegLevelParser},
+     * {@link ObjectArrayDetector} and {@link DuplicateDetector}. The only
+     * shared parser state is the {@link CamelCaseConverter}, whose memo is
+     * thread-safe and maps each name to the same result whoever computes it,
+     * so the resulting field trees are the same as with sequential parsing.</p>
+     *
+     * <p>All tasks are awaited before any result is inspected, which keeps
+     * the workbook open until the last reader has finished. Results are then
+     * joined in the sequential order (MQ message, Request, Response), so the
+     * exception reported for a spec with several errors does not depend on
+     * thread scheduling.</p>
+     *
+     * @param model the model to populate
+     * @param sheets the discovered sheets
+     * @param mqMessageFile path to the MQ message file, or null
+     * @throws IOException if a sheet part cannot be read
+     */
+    private void parseSheetsInParallel(MessageModel model, LazySheetSet sheets, Path mqMessageFile)
+            throws IOException {
+        ForkJoinPool pool = getSheetPool();
+        CompletableFuture<MqMessageModel> mqMessage =
+            submit(pool, () -> parseMqMessageFile(mqMessageFile));
+        CompletableFuture<FieldGroup> request =
+            submit(pool, () -> parseSheetStreaming(sheets.getRequest(), "Request"));
+        CompletableFuture<FieldGroup> response =
+            submit(pool, () -> parseSheetStreaming(sheets.getResponse(), "Response"));
+
+        // Wait for every task, successful or not
+        CompletableFuture.allOf(mqMessage, request, response).exceptionally(e -> null).join();
+
+        model.setMqMessage(await(mqMessage));
+        model.setRequest(await(request));
+        model.setResponse(await(response));
+    }
+
+    /**
+     * Runs a sheet task on the given pool.
+     *
+     * @param pool the pool to run on
+     * @param task the task
+     * @param <T> the result type
+     * @return a future completing with the task result
+     */
+    private <T> CompletableFuture<T> submit(ForkJoinPool pool, SheetTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pool);
+    }
+
+    /**
+     * Gets the result of a completed sheet task, rethrowing its original failure.
+     *
+     * @param future the completed future
+     * @param <T> the result type
+     * @return the task result
+     * @throws IOException if the task failed to read its sheet
+     */
+    private <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the pool used for parallel sheet parsing, creating it on first use.
+     *
+     * <p>The pool is bounded by {@code parser.sheetParallelism} and the number
+     * of available processors. Its worker threads are daemon threads, so the
+     * pool never keeps the JVM alive.</p>
+     *
+     * @return the sheet parsing pool
+     */
+    private synchronized ForkJoinPool getSheetPool() {
+        if (sheetPool == null) {
+            int parallelism = Math.min(config.getParser().getSheetParallelism(),
+                Runtime.getRuntime().availableProcessors());
+            sheetPool = new ForkJoinPool(Math.max(1, parallelism));
+        }
+        return sheetPool;
+    }
+
+    /**
+     * Shuts down the sheet parsing pool, if one was created.
+     *
+     * <p>Parses already running on the pool complete normally. The parser
+     * remains usable: a later parallel parse creates a new pool.</p>
+     */
+    @Override
+    public synchronized void close() {
+        if (sheetPool != null) {
+            sheetPool.shutdown();
+            sheetPool = null;
+        }
+    }
+
+    /**
+     * Unit of work that parses one input and may fail with an I/O error.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    private interface SheetTask<T> {
+        T call() throws IOException;
+    }
+
+    /**
+     * Reads the metadata block (rows 1-7) of a sheet without inflating the rest.
+     *
+     * @param sheet the lazily loaded sheet
+     * @return row snapshots keyed by 0-based row index
+     * @throws IOException if the sheet part cannot be read
+     */
+    private Map<Integer, RowSnapshot> readMetadataRows(LazySheet sheet) throws IOException {
+        Map<Integer, RowSnapshot> rows = new HashMap<>();
+        sheet.readRows(HEADER_ROW_INDEX - 1, row -> rows.put(row.getRowNum(), row));
+        return rows;
+    }
+
+    /**
+     * Parses a sheet into a FieldGroup by streaming its rows.
+     *
+     * <p>The header row is validated as soon as it is seen; every following
+     * row is fed to {@link SegLevelParser#acceptRow(RowSnapshot)}, which emits
+     * the final field node straight away, so no row is retained after it has
+     * been consumed.</p>
+     *
+     * <p>If the sheet is null, returns an empty FieldGroup.</p>
+     *
+     * @param sheet the lazily loaded sheet, may be null
+     * @param sheetName the sheet name for error reporting
+     * @return the parsed FieldGroup
+     * @throws IOException if the sheet part cannot be read
+     */
+    private FieldGroup parseSheetStreaming(LazySheet sheet, String sheetName) throws IOException {
+        if (sheet == null) {
+            return new FieldGroup();
+        }
+        StreamedSheet streamedSheet = new StreamedSheet(sheetName);
+        sheet.readRows(streamedSheet);
+        return streamedSheet.finish();
+    }
+
+    /**
+     * Row consumer that builds one sheet's field tree while rows are streamed.
+     */
+    private final class StreamedSheet implements Consumer<RowSnapshot> {
+
+        private final String sheetName;
+        private final ColumnValidator columnValidator = new ColumnValidator();
+        private Map<String, Integer> columnMap;
+        private SegLevelParser segLevelParser;
+
+        StreamedSheet(String sheetName) {
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public void accept(RowSnapshot row) {
+            if (row.getRowNum() < HEADER_ROW_INDEX) {
+                return;
+            }
+            if (columnMap == null) {
+                // A data row arriving before row 8 means the header row is missing
+                boolean isHeader = row.getRowNum() == HEADER_ROW_INDEX;
+                initColumns(isHeader ? row : null);
+                if (isHeader) {
+                    return;
+                }
+            }
+            segLevelParser.acceptRow(row);
+        }
+
+        /**
+         * Completes the sheet once all rows have been delivered.
+         *
+         * @return the parsed FieldGroup
+         */
+        FieldGroup finish() {
+            if (columnMap == null) {
+                // Sheet ends before the header row
+                initColumns(null);
+            }
+            return buildFieldGroup(segLevelParser.finish());
+        }
+
+        private void initColumns(RowSnapshot headerRow) {
+            columnMap = columnValidator.validateAndMapColumns(headerRow, sheetName);
+            segLevelParser = createSegLevelParser(columnMap, sheetName);
+        }
+    }
+
     /**
      * Parses metadata without consulting MQ message file.
      *
@@ -153,6 +434,48 @@ public class ExcelParser implements Parser {
         return metadata;
     }
 
+    /**
+     * Extracts metadata from the lazily loaded sheets.
+     *
+     * <p>Same priority order and fallbacks as
+     * {@link #parseMetadataWithoutMqMessage(SheetSet, Path)}; only the metadata
+     * block (rows 1-7) of each consulted sheet is read.</p>
+     *
+     * @param sheets the discovered sheets from the main file
+     * @param specFile path to the main specification file
+     * @return extracted Metadata, or empty Metadata if all sources fail
+     * @throws IOException if a sheet part cannot be read
+     */
+    private Metadata parseMetadataStreaming(LazySheetSet sheets, Path specFile) throws IOException {
+        Metadata metadata = null;
+
+        // Priority 1: Embedded Shared Header Sheet (if present)
+        if (sheets.hasSharedHeader()) {
+            metadata = metadataExtractor.extractSafely(readMetadataRows(sheets.getSharedHeader())::get, specFile);
+            if (metadataExtractor.validate(metadata)) {
+                return metadata;
+            }
+        }
+
+        // Priority 2: Extract from Request Sheet (if present)
+        if (sheets.getRequest() != null) {
+            metadata = metadataExtractor.extractSafely(readMetadataRows(sheets.getRequest())::get, specFile);
+            if (metadataExtractor.validate(metadata)) {
+                return metadata;
+            }
+        }
+
+        // Priority 3: Return empty metadata
+        if (metadata == null) {
+            metadata = new Metadata();
+            metadata.setSourceFile(specFile.toAbsolutePath().toString());
+            metadata.setParseTimestamp(Instant.now().toString());
+            metadata.setParserVersion(VersionRegistry.getParserVersion());
+        }
+
+        return metadata;
+    }
+
     /**
      * Parses embedded Shared Header sheet from the main spec file.
      *
@@ -296,107 +619,44 @@ public class ExcelParser implements Parser {
         ColumnValidator columnValidator = new ColumnValidator();
         Map<String, Integer> columnMap = columnValidator.validateAndMapColumns(headerRow, sheetName);
 
-        // 2. Create parsers
-        NestingDepthValidator depthValidator = new NestingDepthValidator(
-            config.getParser().getMaxNestingDepth());
-        SegLevelParser segLevelParser = new SegLevelParser(columnMap, sheetName, depthValidator);
-        ObjectArrayDetector objectArrayDetector = new ObjectArrayDetector(columnMap);
-        CamelCaseConverter camelCaseConverter = new CamelCaseConverter();
-        DuplicateDetector duplicateDetector = new DuplicateDetector();
-
-        // 3. Parse fields
-        List<FieldNode> fields = segLevelParser.parseFields(sheet);
-
-        // 4. Enhance fields (object/array detection, naming normalization)
-        enhanceFields(fields, sheet, columnMap, objectArrayDetector, camelCaseConverter);
-
-        // 5. Detect duplicates
-        duplicateDetector.detectDuplicates(fields);
+        // 2. Parse and enhance fields in a single pass
+        List<FieldNode> fields = createSegLevelParser(columnMap, sheetName).parseFields(sheet);
 
-        FieldGroup group = new FieldGroup();
-        group.setFields(fields);
-        return group;
+        // 3. Detect duplicates
+        return buildFieldGroup(fields);
     }
 
     /**
-     * Enhances field list recursively.
+     * Creates a single-pass Seg lvl parser honouring the configured maximum
+     * nesting depth.
      *
-     * <p>Enhancement includes:</p>
-     * <ul>
-     *   <li>Object/array detection based on field format and occurrenceCount</li>
-     *   <li>CamelCase naming for Java bean properties</li>
-     * </ul>
+     * <p>The returned parser performs object/array detection and camelCase
+     * naming while it builds the tree, so its output needs no further
+     * enhancement.</p>
      *
-     * @param fields the list of fields to enhance
-     * @param sheet the Excel sheet (for retrieving row data)
      * @param columnMap the column name to index mapping
-     * @param detector the object/array detector
-     * @param converter the camelCase converter
+     * @param sheetName the sheet name for error reporting
+     * @return a new parser for a single sheet
      */
-    private void enhanceFields(List<FieldNode> fields, Sheet sheet,
-                               Map<String, Integer> columnMap,
-                               ObjectArrayDetector detector,
-                               CamelCaseConverter converter) {
-        for (int i = 0; i < fields.size(); i++) {
-            FieldNode node = fields.get(i);
-
-            // Get corresponding row (convert 1-based rowIndex back to 0-indexed)
-            Row row = sheet.getRow(node.getSource().getRowIndex() - 1);
-
-            // Object/array detection
-            FieldNode enhanced = detector.detect(node, row);
-
-            // Naming normalization (non-transitory fields only)
-            if (!enhanced.isTransitory() && enhanced.getCamelCaseName() == null) {
-                String camelName;
-                if (enhanced.isObject() || enhanced.isArray()) {
-                    // Object/array uses the fieldName part from ObjectDefinition
-                    ObjectDefinition objDef = detector.parseObjectDefinition(enhanced.getOriginalName());
-                    camelName = converter.toCamelCase(objDef.getFieldName());
-                } else {
-                    camelName = converter.toCamelCase(enhanced.getOriginalName());
-                }
-                enhanced = rebuildWithCamelName(enhanced, camelName);
-            }
-
-            fields.set(i, enhanced);
-
-            // Recursively enhance children
-            if (!enhanced.getChildren().isEmpty()) {
-                enhanceFields(enhanced.getChildren(), sheet, columnMap, detector, converter);
-            }
-        }
+    private SegLevelParser createSegLevelParser(Map<String, Integer> columnMap, String sheetName) {
+        NestingDepthValidator depthValidator = new NestingDepthValidator(
+            config.getParser().getMaxNestingDepth());
+        return new SegLevelParser(columnMap, sheetName, depthValidator,
+            new ObjectArrayDetector(columnMap), camelCaseConverter);
     }
 
     /**
-     * Rebuilds a FieldNode with an added camelCaseName.
-     *
-     * <p>Since FieldNode properties are set via builder, we need to rebuild
-     * the node to add the camelCaseName property.</p>
+     * Checks the parsed field tree for duplicates and wraps it in a FieldGroup.
      *
-     * @param node the original node
-     * @param camelName the camelCase name to set
-     * @return a new FieldNode with the camelCaseName set
+     * @param fields the root-level fields produced by {@link SegLevelParser}
+     * @return the FieldGroup containing the field structure
      */
-    private FieldNode rebuildWithCamelName(FieldNode node, String camelName) {
-        return FieldNode.builder()
-            .originalName(node.getOriginalName())
-            .camelCaseName(camelName)
-            .className(node.getClassName())
-            .segLevel(node.getSegLevel())
-            .length(node.getLength())
-            .dataType(node.getDataType())
-            .optionality(node.getOptionality())
-            .defaultValue(node.getDefaultValue())
-            .hardCodeValue(node.getHardCodeValue())
-            .groupId(node.getGroupId())
-            .occurrenceCount(node.getOccurrenceCount())
-            .isArray(node.isArray())
-            .isObject(node.isObject())
-            .isTransitory(node.isTransitory())
-            .children(node.getChildren())
-            .source(node.getSource())
-            .build();
+    private FieldGroup buildFieldGroup(List<FieldNode> fields) {
+        new DuplicateDetector().detectDuplicates(fields);
+
+        FieldGroup group = new FieldGroup();
+        group.setFields(fields);
+        return group;
     }
 
     /**
@@ -411,6 +671,17 @@ public class ExcelParser implements Parser {
         ZipSecureFile.setMinInflateRatio(parserConfig.getPoiMinInflateRatio());
     }
 
+    /**
+     * Checks whether a file is an OOXML workbook that the streaming reader supports.
+     *
+     * @param file the file path
+     * @return true for .xlsx and .xlsm files
+     */
+    private boolean isOoxmlFile(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase();
+        return fileName.endsWith(".xlsx") || fileName.endsWith(".xlsm");
+    }
+
     /**
      * Validates input file exists, is readable, and has correct extension.
      *
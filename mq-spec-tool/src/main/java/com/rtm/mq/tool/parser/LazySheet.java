@@ -0,0 +1,63 @@
+package com.rtm.mq.tool.parser;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Handle to a worksheet that has been discovered but not yet inflated.
+ *
+ * <p>A lazy sheet only records the sheet name resolved from the workbook
+ * index. Its part is decompressed and parsed each time rows are requested,
+ * and only as far as the caller needs: {@link #readRows(int, Consumer)} stops
+ * at the given row, so reading the metadata block of a sheet never touches
+ * its field definitions.</p>
+ *
+ * @see SheetDiscovery#discoverSheets(StreamingWorkbookReader)
+ * @see StreamingWorkbookReader
+ */
+public class LazySheet {
+
+    private final StreamingWorkbookReader reader;
+    private final String sheetName;
+
+    /**
+     * Creates a handle to a sheet of the given workbook.
+     *
+     * @param reader the reader owning the workbook package
+     * @param sheetName the exact sheet name within the workbook
+     */
+    public LazySheet(StreamingWorkbookReader reader, String sheetName) {
+        this.reader = reader;
+        this.sheetName = sheetName;
+    }
+
+    /**
+     * Gets the sheet name as stored in the workbook.
+     *
+     * @return the sheet name
+     */
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    /**
+     * Streams every row of the sheet.
+     *
+     * @param rowConsumer receives one snapshot per row, in row order
+     * @throws IOException if the sheet part cannot be read
+     */
+    public void readRows(Consumer<RowSnapshot> rowConsumer) throws IOException {
+        reader.readSheet(sheetName, rowConsumer);
+    }
+
+    /**
+     * Streams the rows of the sheet up to and including {@code lastRowNum}.
+     *
+     * @param lastRowNum the last 0-based row index to deliver
+     * @param rowConsumer receives one snapshot per row, in row order
+     * @throws IOException if the sheet part cannot be read
+     */
+    public void readRows(int lastRowNum, Consumer<RowSnapshot> rowConsumer) throws IOException {
+        reader.readSheet(sheetName, lastRowNum, rowConsumer);
+    }
+}
@@ -0,0 +1,84 @@
+package com.rtm.mq.tool.parser;
+
+/**
+ * Collection of lazily loaded sheets discovered from a workbook index.
+ *
+ * <p>The streaming counterpart of {@link SheetSet}. Holds handles to:</p>
+ * <ul>
+ *   <li>Request sheet (required)</li>
+ *   <li>Response sheet (optional)</li>
+ *   <li>Shared Header sheet (optional)</li>
+ * </ul>
+ *
+ * <p>No sheet content is read until one of the handles is asked for rows.</p>
+ *
+ * @see LazySheet
+ */
+public class LazySheetSet {
+    private LazySheet request;
+    private LazySheet response;
+    private LazySheet sharedHeader;
+
+    /**
+     * Gets the Request sheet.
+     *
+     * @return the Request sheet
+     */
+    public LazySheet getRequest() {
+        return request;
+    }
+
+    /**
+     * Sets the Request sheet.
+     *
+     * @param request the Request sheet
+     */
+    public void setRequest(LazySheet request) {
+        this.request = request;
+    }
+
+    /**
+     * Gets the Response sheet.
+     *
+     * @return the Response sheet, or null if not present
+     */
+    public LazySheet getResponse() {
+        return response;
+    }
+
+    /**
+     * Sets the Response sheet.
+     *
+     * @param response the Response sheet
+     */
+    public void setResponse(LazySheet response) {
+        this.response = response;
+    }
+
+    /**
+     * Gets the Shared Header sheet.
+     *
+     * @return the Shared Header sheet, or null if not present
+     */
+    public LazySheet getSharedHeader() {
+        return sharedHeader;
+    }
+
+    /**
+     * Sets the Shared Header sheet.
+     *
+     * @param sharedHeader the Shared Header sheet
+     */
+    public void setSharedHeader(LazySheet sharedHeader) {
+        this.sharedHeader = sharedHeader;
+    }
+
+    /**
+     * Checks if a Shared Header sheet is present.
+     *
+     * @return true if Shared Header sheet exists, false otherwise
+     */
+    public boolean hasSharedHeader() {
+        return sharedHeader != null;
+    }
+}
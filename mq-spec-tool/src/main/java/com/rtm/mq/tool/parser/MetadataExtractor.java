@@ -2,12 +2,12 @@ package com.rtm.mq.tool.parser;
 
 import com.rtm.mq.tool.model.Metadata;
 import com.rtm.mq.tool.version.VersionRegistry;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.function.IntFunction;
 
 /**
  * Excel Metadata Extractor.
@@ -57,6 +57,24 @@ public class MetadataExtractor {
      * @return a populated Metadata object
      */
     public Metadata extract(Sheet sheet, Path sourceFile) {
+        IntFunction<RowSnapshot> rows = sheet == null ? null : rowIndex -> {
+            Row row = sheet.getRow(rowIndex);
+            return row != null ? RowSnapshot.of(row) : null;
+        };
+        return extract(rows, sourceFile);
+    }
+
+    /**
+     * Extracts metadata from row snapshots.
+     *
+     * <p>Used by the streaming parse path, where only the metadata block
+     * (rows 1-7) of the sheet is retained as {@link RowSnapshot}s.</p>
+     *
+     * @param rows       lookup from 0-based row index to snapshot (returns null for missing rows)
+     * @param sourceFile path to the source Excel file
+     * @return a populated Metadata object
+     */
+    public Metadata extract(IntFunction<RowSnapshot> rows, Path sourceFile) {
         Metadata meta = new Metadata();
 
         // Set file paths
@@ -66,8 +84,8 @@ public class MetadataExtractor {
         meta.setParseTimestamp(Instant.now().toString());
         meta.setParserVersion(VersionRegistry.getParserVersion());
 
-        // Extract metadata from the provided sheet
-        extractMetadataFields(sheet, meta);
+        // Extract metadata from the provided rows
+        extractMetadataFields(rows, meta);
 
         return meta;
     }
@@ -93,13 +111,28 @@ public class MetadataExtractor {
         return extract(sheet, sourceFile);
     }
 
+    /**
+     * Extracts metadata from row snapshots with null safety.
+     *
+     * <p>Streaming counterpart of {@link #extractSafely(Sheet, Path)}: a null
+     * row lookup yields metadata carrying only the file path, timestamp and
+     * parser version.</p>
+     *
+     * @param rows       lookup from 0-based row index to snapshot (may be null)
+     * @param sourceFile path to the source Excel file
+     * @return a populated Metadata object, or empty if rows is null
+     */
+    public Metadata extractSafely(IntFunction<RowSnapshot> rows, Path sourceFile) {
+        return extract(rows, sourceFile);
+    }
+
     /**
      * Internal method to extract metadata fields from a sheet.
      *
-     * @param sheet the sheet to extract from (may be null)
+     * @param sheet the row lookup to extract from (may be null)
      * @param meta  the Metadata object to populate
      */
-    private void extractMetadataFields(Sheet sheet, Metadata meta) {
+    private void extractMetadataFields(IntFunction<RowSnapshot> sheet, Metadata meta) {
         if (sheet == null) {
             return;
         }
@@ -141,18 +174,18 @@ public class MetadataExtractor {
     /**
      * Extracts a cell value as a String.
      *
-     * @param sheet    the Excel sheet
+     * @param sheet    the row lookup
      * @param rowIndex 0-based row index
      * @param colIndex 0-based column index
      * @return the cell value as a String, or null if empty/missing
      */
-    private String extractCellValue(Sheet sheet, int rowIndex, int colIndex) {
-        Row row = sheet.getRow(rowIndex);
+    private String extractCellValue(IntFunction<RowSnapshot> sheet, int rowIndex, int colIndex) {
+        RowSnapshot row = sheet.apply(rowIndex);
         if (row == null) {
             return null;
         }
 
-        Cell cell = row.getCell(colIndex);
+        RowSnapshot.CellSnapshot cell = row.getCell(colIndex);
         if (cell == null) {
             return null;
         }
@@ -2,7 +2,6 @@ package com.rtm.mq.tool.parser;
 
 import com.rtm.mq.tool.exception.ParseException;
 import com.rtm.mq.tool.model.FieldNode;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 
@@ -59,6 +58,20 @@ public class ObjectArrayDetector {
      * @return the enhanced FieldNode (may be the same instance or a new one)
      */
     public FieldNode detect(FieldNode node, Row row) {
+        return detect(node, RowSnapshot.of(row));
+    }
+
+    /**
+     * Detects and enhances a FieldNode using a row snapshot.
+     *
+     * <p>Equivalent to {@link #detect(FieldNode, Row)}; used when rows are
+     * delivered by {@link StreamingWorkbookReader} and no POI row exists.</p>
+     *
+     * @param node the base FieldNode to detect/enhance
+     * @param row the row snapshot containing the field data
+     * @return the enhanced FieldNode (may be the same instance or a new one)
+     */
+    public FieldNode detect(FieldNode node, RowSnapshot row) {
         String fieldName = node.getOriginalName();
         String description = getCellValue(row, ColumnNames.DESCRIPTION);
         String length = getCellValue(row, ColumnNames.LENGTH);
@@ -301,20 +314,31 @@ public class ObjectArrayDetector {
             .build();
     }
 
+    /**
+     * Gets the Description value of a row, converted exactly as {@link #detect}
+     * reads it for groupId and occurrenceCount fields.
+     *
+     * @param row the row snapshot
+     * @return the Description value, or null if not present
+     */
+    String getDescription(RowSnapshot row) {
+        return getCellValue(row, ColumnNames.DESCRIPTION);
+    }
+
     /**
      * Gets the cell value from a row by column name.
      *
-     * @param row the Excel row
+     * @param row the row snapshot
      * @param columnName the column name
      * @return the cell value as a string, or null if not found
      */
-    private String getCellValue(Row row, String columnName) {
+    private String getCellValue(RowSnapshot row, String columnName) {
         Integer colIndex = columnMap.get(columnName);
         if (colIndex == null) {
             return null;
         }
 
-        Cell cell = row.getCell(colIndex);
+        RowSnapshot.CellSnapshot cell = row.getCell(colIndex);
         if (cell == null) {
             return null;
         }
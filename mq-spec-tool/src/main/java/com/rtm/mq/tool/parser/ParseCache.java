@@ -0,0 +1,280 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.model.MessageModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of parsed message models.
+ *
+ * <p>Entries are keyed by a SHA-256 digest over everything that determines
+ * the parse result (see {@link #computeKey}), so a renamed or re-uploaded copy
+ * of the same workbook hits the cache while any content, version or setting
+ * change misses it. Values are stored as the deterministic JSON tree, extended
+ * with the fields the spec tree leaves out (see
+ * {@link DeterministicJsonWriter#forCache()}):</p>
+ * <ul>
+ *   <li>Memory tier - LRU map of key to JSON tree, bounded by entry count</li>
+ *   <li>Disk tier (optional) - one {@code <key>.json} file per entry, written
+ *       by {@link DeterministicJsonWriter} via an atomic rename</li>
+ * </ul>
+ *
+ * <p>Every {@link #get} returns a freshly deserialized model, so callers may
+ * mutate the result without affecting the cache. Hit and miss counters are
+ * maintained for sizing. All methods are thread-safe.</p>
+ *
+ * @see CachingParser
+ */
+public class ParseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParseCache.class);
+    private static final String ENTRY_SUFFIX = ".json";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final int maxEntries;
+    private final Path cacheDir;
+    private final Map<String, String> memory;
+    private final DeterministicJsonWriter writer = DeterministicJsonWriter.forCache();
+    private final DeterministicJsonReader reader = new DeterministicJsonReader();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries maximum number of entries in the memory tier (0 disables it)
+     * @param cacheDir directory of the disk tier, or null to disable it
+     */
+    public ParseCache(int maxEntries, Path cacheDir) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.cacheDir = cacheDir;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ParseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Computes the cache key for a parse request.
+     *
+     * <p>The key is the SHA-256 of the spec file digest, the MQ message file
+     * digest (or a marker when absent), the parser version and the parser
+     * settings fingerprint.</p>
+     *
+     * @param specFile the specification file
+     * @param mqMessageFile the MQ message file, or null
+     * @param parserVersion the parser version
+     * @param settingsFingerprint the effective parser settings
+     * @return the lowercase hex key
+     * @throws IOException if a file cannot be read
+     */
+    public String computeKey(Path specFile, Path mqMessageFile, String parserVersion,
+                             String settingsFingerprint) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(hashFile(specFile));
+        digest.update((byte) 0);
+        if (mqMessageFile != null) {
+            digest.update(hashFile(mqMessageFile));
+        } else {
+            digest.update("-".getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+        digest.update(parserVersion.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(settingsFingerprint.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Looks up a model, consulting the memory tier first and then the disk tier.
+     *
+     * <p>A disk hit is promoted into the memory tier. Unreadable or corrupt
+     * disk entries are treated as misses.</p>
+     *
+     * @param key the cache key
+     * @return a new copy of the cached model, or null on a miss
+     */
+    public MessageModel get(String key) {
+        String json;
+        synchronized (memory) {
+            json = memory.get(key);
+        }
+        if (json != null) {
+            memoryHits.incrementAndGet();
+            return reader.deserialize(json);
+        }
+
+        if (cacheDir != null) {
+            Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+            if (Files.isRegularFile(entry)) {
+                try {
+                    json = Files.readString(entry, StandardCharsets.UTF_8);
+                    MessageModel model = reader.deserialize(json);
+                    putMemory(key, json);
+                    diskHits.incrementAndGet();
+                    return model;
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Ignoring unreadable parse cache entry {}: {}", entry, e.getMessage());
+                }
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a model in both tiers.
+     *
+     * <p>A failure to write the disk tier is logged and otherwise ignored;
+     * the cache never fails a parse.</p>
+     *
+     * @param key the cache key
+     * @param model the parsed model
+     */
+    public void put(String key, MessageModel model) {
+        String json = writer.serialize(model);
+        putMemory(key, json);
+
+        if (cacheDir != null) {
+            try {
+                Files.createDirectories(cacheDir);
+                Path temp = Files.createTempFile(cacheDir, key, ".tmp");
+                Files.writeString(temp, json, StandardCharsets.UTF_8);
+                Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+                try {
+                    Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to write parse cache entry {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the memory tier and resets the counters.
+     *
+     * <p>The disk tier is left untouched.</p>
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        memoryHits.set(0);
+        diskHits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Gets the number of lookups served from the memory tier.
+     *
+     * @return the memory hit count
+     */
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Gets the number of lookups served from the disk tier.
+     *
+     * @return the disk hit count
+     */
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    /**
+     * Gets the total number of cache hits.
+     *
+     * @return the hit count across both tiers
+     */
+    public long getHitCount() {
+        return memoryHits.get() + diskHits.get();
+    }
+
+    /**
+     * Gets the number of lookups that required a full parse.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the current number of entries in the memory tier.
+     *
+     * @return the memory tier size
+     */
+    public int getMemorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Gets the maximum number of entries in the memory tier.
+     *
+     * @return the memory tier capacity
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private void putMemory(String key, String json) {
+        if (maxEntries == 0) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, json);
+        }
+    }
+
+    private static byte[] hashFile(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream is = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
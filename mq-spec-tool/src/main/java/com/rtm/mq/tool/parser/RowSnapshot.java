@@ -0,0 +1,289 @@
+package com.rtm.mq.tool.parser;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, value-only copy of a single spreadsheet row.
+ *
+ * <p>A snapshot carries exactly the information the parsing components read
+ * from a row: the cell type, the cached formula result type and the raw
+ * string, numeric or boolean value. Styles, comments and formula text are not
+ * retained, which keeps a snapshot a small fraction of the size of the
+ * corresponding XSSF DOM row.</p>
+ *
+ * <p>Snapshots are produced from two sources:</p>
+ * <ul>
+ *   <li>{@link #of(Row)} - copies a row of a fully loaded POI {@code Sheet}</li>
+ *   <li>{@link StreamingWorkbookReader} - builds rows directly from the sheet
+ *       XML without materializing a {@code Workbook}</li>
+ * </ul>
+ *
+ * <p>Both sources yield identical snapshots for identical cell content, so the
+ * parsing components behave the same regardless of how the workbook was
+ * read. Blank cells are omitted; every consumer treats a missing cell and a
+ * blank cell identically.</p>
+ */
+public final class RowSnapshot {
+
+    private final int rowNum;
+    private final List<CellSnapshot> cells;
+    private final CellSnapshot[] cellsByColumn;
+
+    /**
+     * Creates a snapshot from cells already sorted by column index.
+     *
+     * @param rowNum the 0-based row index
+     * @param cells the non-blank cells in ascending column order
+     */
+    RowSnapshot(int rowNum, List<CellSnapshot> cells) {
+        this.rowNum = rowNum;
+        this.cells = Collections.unmodifiableList(new ArrayList<>(cells));
+        int width = cells.isEmpty() ? 0 : cells.get(cells.size() - 1).getColumnIndex() + 1;
+        this.cellsByColumn = new CellSnapshot[width];
+        for (CellSnapshot cell : cells) {
+            cellsByColumn[cell.getColumnIndex()] = cell;
+        }
+    }
+
+    /**
+     * Copies the values of a POI row into a snapshot.
+     *
+     * @param row the row to copy (must not be null)
+     * @return the row snapshot
+     */
+    public static RowSnapshot of(Row row) {
+        List<CellSnapshot> cells = new ArrayList<>();
+        for (Cell cell : row) {
+            CellSnapshot snapshot = CellSnapshot.of(cell);
+            if (snapshot != null) {
+                cells.add(snapshot);
+            }
+        }
+        cells.sort((a, b) -> Integer.compare(a.getColumnIndex(), b.getColumnIndex()));
+        return new RowSnapshot(row.getRowNum(), cells);
+    }
+
+    /**
+     * Gets the 0-based row index.
+     *
+     * @return the row index
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * Gets the cell at the given column.
+     *
+     * @param columnIndex the 0-based column index
+     * @return the cell, or null if the cell is missing or blank
+     */
+    public CellSnapshot getCell(int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= cellsByColumn.length) {
+            return null;
+        }
+        return cellsByColumn[columnIndex];
+    }
+
+    /**
+     * Gets all non-blank cells in ascending column order.
+     *
+     * @return an unmodifiable list of cells
+     */
+    public List<CellSnapshot> getCells() {
+        return cells;
+    }
+
+    /**
+     * Value-only copy of a single cell.
+     *
+     * <p>Accessors follow the POI {@link Cell} contract for the cell types
+     * used by the parser: reading a string from a numeric cell (or the
+     * reverse) throws {@link IllegalStateException}, and formula cells answer
+     * according to their cached result type.</p>
+     */
+    public static final class CellSnapshot {
+
+        private final int columnIndex;
+        private final CellType cellType;
+        private final CellType cachedFormulaResultType;
+        private final String stringValue;
+        private final double numericValue;
+        private final boolean booleanValue;
+
+        CellSnapshot(int columnIndex, CellType cellType, CellType cachedFormulaResultType,
+                     String stringValue, double numericValue, boolean booleanValue) {
+            this.columnIndex = columnIndex;
+            this.cellType = cellType;
+            this.cachedFormulaResultType = cachedFormulaResultType;
+            this.stringValue = stringValue;
+            this.numericValue = numericValue;
+            this.booleanValue = booleanValue;
+        }
+
+        /**
+         * Creates a string cell.
+         *
+         * @param columnIndex the 0-based column index
+         * @param value the string value
+         * @return the cell snapshot
+         */
+        static CellSnapshot ofString(int columnIndex, String value) {
+            return new CellSnapshot(columnIndex, CellType.STRING, null, value, 0, false);
+        }
+
+        /**
+         * Creates a numeric cell.
+         *
+         * @param columnIndex the 0-based column index
+         * @param value the numeric value
+         * @return the cell snapshot
+         */
+        static CellSnapshot ofNumeric(int columnIndex, double value) {
+            return new CellSnapshot(columnIndex, CellType.NUMERIC, null, null, value, false);
+        }
+
+        /**
+         * Creates a boolean cell.
+         *
+         * @param columnIndex the 0-based column index
+         * @param value the boolean value
+         * @return the cell snapshot
+         */
+        static CellSnapshot ofBoolean(int columnIndex, boolean value) {
+            return new CellSnapshot(columnIndex, CellType.BOOLEAN, null, null, 0, value);
+        }
+
+        /**
+         * Creates an error cell.
+         *
+         * @param columnIndex the 0-based column index
+         * @return the cell snapshot
+         */
+        static CellSnapshot ofError(int columnIndex) {
+            return new CellSnapshot(columnIndex, CellType.ERROR, null, null, 0, false);
+        }
+
+        /**
+         * Wraps a value cell as a formula cell whose cached result is that value.
+         *
+         * @param cached the cached result
+         * @return the formula cell snapshot
+         */
+        static CellSnapshot ofFormula(CellSnapshot cached) {
+            return new CellSnapshot(cached.columnIndex, CellType.FORMULA, cached.cellType,
+                cached.stringValue, cached.numericValue, cached.booleanValue);
+        }
+
+        /**
+         * Copies a POI cell.
+         *
+         * @param cell the cell to copy
+         * @return the cell snapshot, or null for blank cells
+         */
+        static CellSnapshot of(Cell cell) {
+            int col = cell.getColumnIndex();
+            CellType type = cell.getCellType();
+            CellType valueType = type == CellType.FORMULA ? cell.getCachedFormulaResultType() : type;
+
+            CellSnapshot value;
+            switch (valueType) {
+                case STRING:
+                    value = ofString(col, cell.getStringCellValue());
+                    break;
+                case NUMERIC:
+                    value = ofNumeric(col, cell.getNumericCellValue());
+                    break;
+                case BOOLEAN:
+                    value = ofBoolean(col, cell.getBooleanCellValue());
+                    break;
+                case ERROR:
+                    value = ofError(col);
+                    break;
+                default:
+                    return null;
+            }
+            return type == CellType.FORMULA ? ofFormula(value) : value;
+        }
+
+        /**
+         * Gets the 0-based column index.
+         *
+         * @return the column index
+         */
+        public int getColumnIndex() {
+            return columnIndex;
+        }
+
+        /**
+         * Gets the cell type.
+         *
+         * @return the cell type (never BLANK)
+         */
+        public CellType getCellType() {
+            return cellType;
+        }
+
+        /**
+         * Gets the cached result type of a formula cell.
+         *
+         * @return the cached formula result type
+         * @throws IllegalStateException if this is not a formula cell
+         */
+        public CellType getCachedFormulaResultType() {
+            if (cellType != CellType.FORMULA) {
+                throw new IllegalStateException("Only formula cells have cached results");
+            }
+            return cachedFormulaResultType;
+        }
+
+        /**
+         * Gets the string value.
+         *
+         * @return the string value
+         * @throws IllegalStateException if the (cached) value is not a string
+         */
+        public String getStringCellValue() {
+            if (valueType() != CellType.STRING) {
+                throw new IllegalStateException("Cannot get a STRING value from a " + valueType() + " cell");
+            }
+            return stringValue;
+        }
+
+        /**
+         * Gets the numeric value.
+         *
+         * @return the numeric value
+         * @throws IllegalStateException if the (cached) value is not numeric
+         */
+        public double getNumericCellValue() {
+            if (valueType() != CellType.NUMERIC) {
+                throw new IllegalStateException("Cannot get a NUMERIC value from a " + valueType() + " cell");
+            }
+            return numericValue;
+        }
+
+        /**
+         * Gets the boolean value.
+         *
+         * @return the boolean value
+         * @throws IllegalStateException if the (cached) value is not boolean
+         */
+        public boolean getBooleanCellValue() {
+            if (valueType() != CellType.BOOLEAN) {
+                throw new IllegalStateException("Cannot get a BOOLEAN value from a " + valueType() + " cell");
+            }
+            return booleanValue;
+        }
+
+        private CellType valueType() {
+            return cellType == CellType.FORMULA ? cachedFormulaResultType : cellType;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.rtm.mq.tool.parser;
 import com.rtm.mq.tool.exception.ParseException;
 import com.rtm.mq.tool.model.FieldNode;
 import com.rtm.mq.tool.model.SourceMetadata;
-import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
@@ -23,6 +23,21 @@ import java.util.*;
  *   <li>Container nodes (objects/arrays) are pushed onto the stack</li>
  * </ul>
  *
+ * <p>Rows can be supplied either from a loaded {@link Sheet} via
+ * {@link #parseFields(Sheet)} or pushed one at a time via
+ * {@link #acceptRow(RowSnapshot)}, which lets a streaming reader build the
+ * tree without holding the workbook in memory. An instance keeps the
+ * incremental state of one sheet and is not thread-safe.</p>
+ *
+ * <p>When created with an {@link ObjectArrayDetector} and a
+ * {@link CamelCaseConverter}, the parser emits final nodes in a single pass:
+ * each row is read once and turned directly into its enhanced node
+ * (groupId/occurrenceCount marked transitory, object definitions resolved,
+ * camelCase names assigned). The only deferred decision is object versus
+ * array, which depends on the container's occurrenceCount child and is
+ * settled when the container is closed. Without them, nodes carry only the
+ * raw column values.</p>
+ *
  * <p>This implementation preserves field order exactly as defined in the
  * Excel specification, which is critical for message serialization.</p>
  *
@@ -36,6 +51,14 @@ public class SegLevelParser {
     private final NestingDepthValidator depthValidator;
     private final Map<String, Integer> columnMap;
     private final String sheetName;
+    private final ObjectArrayDetector detector;
+    private final CamelCaseConverter converter;
+
+    // Incremental parse state (one sheet at a time)
+    private final Deque<FieldNode> stack = new ArrayDeque<>();
+    private List<FieldNode> rootFields = new ArrayList<>();
+    private int previousLevel;
+    private int previousSegLevel;
 
     /**
      * Creates a parser with default nesting depth validation.
@@ -56,9 +79,26 @@ public class SegLevelParser {
      */
     public SegLevelParser(Map<String, Integer> columnMap, String sheetName,
                           NestingDepthValidator depthValidator) {
+        this(columnMap, sheetName, depthValidator, null, null);
+    }
+
+    /**
+     * Creates a parser that emits fully enhanced nodes in a single pass.
+     *
+     * @param columnMap the column name to index mapping
+     * @param sheetName the name of the source sheet (for error reporting)
+     * @param depthValidator the depth validator to use
+     * @param detector the object/array detector, or null to emit raw nodes
+     * @param converter the camelCase converter, or null to emit raw nodes
+     */
+    public SegLevelParser(Map<String, Integer> columnMap, String sheetName,
+                          NestingDepthValidator depthValidator,
+                          ObjectArrayDetector detector, CamelCaseConverter converter) {
         this.columnMap = columnMap;
         this.sheetName = sheetName;
         this.depthValidator = depthValidator;
+        this.detector = converter != null ? detector : null;
+        this.converter = detector != null ? converter : null;
     }
 
     /**
@@ -74,60 +114,144 @@ public class SegLevelParser {
      * @throws ParseException if Seg lvl is invalid or has illegal jumps
      */
     public List<FieldNode> parseFields(Sheet sheet) {
-        List<FieldNode> rootFields = new ArrayList<>();
-        Deque<FieldNode> stack = new ArrayDeque<>();
-
-        int previousLevel = 0;
-        int previousSegLevel = 0;
-
+        reset();
         for (int i = DATA_START_ROW; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
-            if (row == null || isEmptyRow(row)) {
-                continue;
+            if (row != null) {
+                acceptRow(RowSnapshot.of(row));
             }
+        }
+        return finish();
+    }
 
-            FieldNode node = createBasicFieldNode(row, i + 1);
-            if (node == null) {
-                continue;
-            }
+    /**
+     * Clears the incremental parse state so a new sheet can be fed through
+     * {@link #acceptRow(RowSnapshot)}.
+     */
+    public void reset() {
+        rootFields = new ArrayList<>();
+        stack.clear();
+        previousLevel = 0;
+        previousSegLevel = 0;
+    }
 
-            int segLevel = node.getSegLevel();
-            boolean isContainer = isContainerCandidate(node);
+    /**
+     * Feeds a single row into the incremental parse.
+     *
+     * <p>Rows must be supplied in ascending row order. Rows above the data
+     * area and rows with an empty Field Name are ignored, so a streaming
+     * reader may pass every row of the sheet straight through.</p>
+     *
+     * @param row the row snapshot
+     * @return the field node created for the row, or null if the row was skipped
+     * @throws ParseException if Seg lvl is invalid or has illegal jumps
+     */
+    public FieldNode acceptRow(RowSnapshot row) {
+        if (row.getRowNum() < DATA_START_ROW) {
+            return null;
+        }
 
-            validateSegLevel(segLevel, previousLevel, i + 1, node.getOriginalName());
-            depthValidator.validateDepth(segLevel, i + 1, node.getOriginalName());
+        int rowIndex = row.getRowNum() + 1;
+        FieldNode node = detector != null
+            ? createEnhancedFieldNode(row, rowIndex)
+            : createBasicFieldNode(row, rowIndex);
+        if (node == null) {
+            return null;
+        }
 
-            if (isContainer) {
-                while (!stack.isEmpty() && stack.peek().getSegLevel() >= segLevel) {
-                    stack.pop();
-                }
-            } else {
-                while (!stack.isEmpty() && stack.peek().getSegLevel() > segLevel) {
-                    stack.pop();
-                }
-                if (!stack.isEmpty() && stack.peek().getSegLevel() == segLevel
-                    && previousSegLevel > stack.peek().getSegLevel()) {
-                    stack.pop();
-                }
-            }
+        int segLevel = node.getSegLevel();
+        boolean isContainer = isContainerCandidate(node);
 
-            if (stack.isEmpty()) {
-                rootFields.add(node);
-            } else {
-                stack.peek().getChildren().add(node);
-            }
+        validateSegLevel(segLevel, previousLevel, rowIndex, node.getOriginalName());
+        depthValidator.validateDepth(segLevel, rowIndex, node.getOriginalName());
 
-            if (isContainer) {
-                stack.push(node);
+        if (isContainer) {
+            while (!stack.isEmpty() && stack.peek().getSegLevel() >= segLevel) {
+                closeContainer();
+            }
+        } else {
+            while (!stack.isEmpty() && stack.peek().getSegLevel() > segLevel) {
+                closeContainer();
+            }
+            if (!stack.isEmpty() && stack.peek().getSegLevel() == segLevel
+                && previousSegLevel > stack.peek().getSegLevel()) {
+                closeContainer();
             }
+        }
+
+        if (stack.isEmpty()) {
+            rootFields.add(node);
+        } else {
+            stack.peek().getChildren().add(node);
+        }
+
+        if (isContainer) {
+            stack.push(node);
+        }
+
+        previousLevel = segLevel;
+        previousSegLevel = segLevel;
+        return node;
+    }
 
-            previousLevel = segLevel;
-            previousSegLevel = segLevel;
+    /**
+     * Closes all containers still open after the last row.
+     *
+     * <p>Must be called once all rows of the sheet have been fed through
+     * {@link #acceptRow(RowSnapshot)} so that the object/array type of the
+     * trailing containers is settled.</p>
+     *
+     * @return list of root-level fields in specification order
+     */
+    public List<FieldNode> finish() {
+        while (!stack.isEmpty()) {
+            closeContainer();
         }
+        return rootFields;
+    }
 
+    /**
+     * Gets the root-level fields collected so far.
+     *
+     * @return list of root-level fields in specification order
+     */
+    public List<FieldNode> getRootFields() {
         return rootFields;
     }
 
+    /**
+     * Pops the innermost open container and settles its object/array type.
+     *
+     * <p>A container is always the last node of its parent's children (or of
+     * the root list) while it is on the stack, since new nodes are only ever
+     * attached to the stack top. If its occurrenceCount child marks it as an
+     * array, that last entry is replaced by the array node.</p>
+     */
+    private void closeContainer() {
+        FieldNode container = stack.pop();
+        if (detector == null || !container.isObject()) {
+            return;
+        }
+
+        ArrayInfo arrayInfo = detector.parsedArrayInfo(container);
+        if (arrayInfo != null && arrayInfo.isArray()) {
+            List<FieldNode> siblings = stack.isEmpty() ? rootFields : stack.peek().getChildren();
+            siblings.set(siblings.size() - 1, FieldNode.builder()
+                .originalName(container.getOriginalName())
+                .camelCaseName(container.getCamelCaseName())
+                .className(container.getClassName())
+                .segLevel(container.getSegLevel())
+                .optionality(container.getOptionality())
+                .defaultValue(container.getDefaultValue())
+                .hardCodeValue(container.getHardCodeValue())
+                .isObject(false)
+                .isArray(true)
+                .children(container.getChildren())
+                .source(container.getSource())
+                .build());
+        }
+    }
+
     /**
      * Determines if a field node might be a container (object or array).
      *
@@ -183,18 +307,18 @@ public class SegLevelParser {
      * Additional processing (camelCase naming, object/array detection) is
      * handled by subsequent tasks.</p>
      *
-     * @param row the Excel row to parse
+     * @param row the row snapshot to parse
      * @param rowIndex the 1-based row index for error reporting
      * @return a FieldNode with basic metadata, or null if row should be skipped
      * @throws ParseException if required fields are missing or malformed
      */
-    private FieldNode createBasicFieldNode(Row row, int rowIndex) {
+    private FieldNode createBasicFieldNode(RowSnapshot row, int rowIndex) {
         String fieldName = getCellValue(row, ColumnNames.FIELD_NAME);
         if (fieldName == null || fieldName.trim().isEmpty()) {
             return null;  // Skip empty rows
         }
 
-        int segLevel = parseSegLevel(getCellValue(row, ColumnNames.SEG_LVL), rowIndex, fieldName);
+        int segLevel = readSegLevel(row, rowIndex, fieldName);
         String description = getCellValue(row, ColumnNames.DESCRIPTION);
         String length = getCellValue(row, ColumnNames.LENGTH);
         String dataType = getCellValue(row, ColumnNames.MESSAGING_DATATYPE);
@@ -228,6 +352,71 @@ public class SegLevelParser {
             .build();
     }
 
+    /**
+     * Creates the final, enhanced FieldNode for an Excel row.
+     *
+     * <p>Produces the same node that {@link ObjectArrayDetector#detect} and
+     * camelCase naming would derive from the basic node, without building the
+     * basic node first:</p>
+     * <ul>
+     *   <li>groupId / occurrenceCount - transitory, lowercase name, value from Description</li>
+     *   <li>Object definition - object container named after its class part</li>
+     *   <li>Other fields - camelCase name of the field name</li>
+     * </ul>
+     *
+     * @param row the row snapshot to parse
+     * @param rowIndex the 1-based row index for error reporting
+     * @return the enhanced FieldNode, or null if row should be skipped
+     * @throws ParseException if required fields are missing or malformed
+     */
+    private FieldNode createEnhancedFieldNode(RowSnapshot row, int rowIndex) {
+        String fieldName = getCellValue(row, ColumnNames.FIELD_NAME);
+        if (fieldName == null || fieldName.trim().isEmpty()) {
+            return null;  // Skip empty rows
+        }
+
+        String trimmedFieldName = fieldName.trim();
+        int segLevel = readSegLevel(row, rowIndex, fieldName);
+        String length = getCellValue(row, ColumnNames.LENGTH);
+        String dataType = getCellValue(row, ColumnNames.MESSAGING_DATATYPE);
+        String optionality = getCellValue(row, ColumnNames.OPTIONALITY);
+
+        SourceMetadata source = new SourceMetadata();
+        source.setSheetName(sheetName);
+        source.setRowIndex(rowIndex);
+
+        FieldNode.Builder builder = FieldNode.builder()
+            .originalName(trimmedFieldName)
+            .segLevel(segLevel)
+            .optionality(optionality != null ? optionality.trim() : null)
+            .source(source);
+
+        boolean groupIdField = detector.isGroupIdField(trimmedFieldName);
+        if (groupIdField || detector.isOccurrenceCountField(trimmedFieldName)) {
+            String description = detector.getDescription(row);
+            String value = description != null ? description.trim() : null;
+            builder.camelCaseName(trimmedFieldName.toLowerCase())
+                .length(parseLength(length))
+                .dataType(dataType != null ? dataType.trim() : null)
+                .isTransitory(true);
+            return groupIdField ? builder.groupId(value).build() : builder.occurrenceCount(value).build();
+        }
+
+        if (detector.isObjectDefinition(trimmedFieldName, length, dataType)) {
+            // Object until closeContainer() finds an array occurrenceCount child
+            ObjectDefinition objDef = detector.parseObjectDefinition(trimmedFieldName);
+            return builder.camelCaseName(converter.toCamelCase(objDef.getFieldName()))
+                .className(objDef.getClassName())
+                .isObject(true)
+                .build();
+        }
+
+        return builder.camelCaseName(converter.toCamelCase(trimmedFieldName))
+            .length(parseLength(length))
+            .dataType(dataType != null ? dataType.trim() : null)
+            .build();
+    }
+
     /**
      * Checks if the field name represents a groupId field.
      *
@@ -252,6 +441,31 @@ public class SegLevelParser {
                "occurrenceCount".equalsIgnoreCase(fieldName);
     }
 
+    /**
+     * Reads the Seg lvl of a row.
+     *
+     * <p>Whole numeric cells are taken as they are, without the string
+     * round trip of {@link #getCellValue}; all other cells go through
+     * {@link #parseSegLevel}, so errors are reported as before.</p>
+     *
+     * @param row the row snapshot
+     * @param rowIndex the 1-based row index for error reporting
+     * @param fieldName the field name for error reporting
+     * @return the parsed segment level
+     * @throws ParseException if the value is empty or not a valid integer
+     */
+    private int readSegLevel(RowSnapshot row, int rowIndex, String fieldName) {
+        Integer colIndex = columnMap.get(ColumnNames.SEG_LVL);
+        RowSnapshot.CellSnapshot cell = colIndex != null ? row.getCell(colIndex) : null;
+        if (cell != null && cell.getCellType() == CellType.NUMERIC) {
+            double num = cell.getNumericCellValue();
+            if (num == Math.floor(num)) {
+                return (int) num;
+            }
+        }
+        return parseSegLevel(getCellValue(row, ColumnNames.SEG_LVL), rowIndex, fieldName);
+    }
+
     /**
      * Parses the Seg lvl value from a cell.
      *
@@ -307,13 +521,13 @@ public class SegLevelParser {
      * @param columnName the name of the column to read
      * @return the cell value as a string, or null if cell is empty or missing
      */
-    private String getCellValue(Row row, String columnName) {
+    private String getCellValue(RowSnapshot row, String columnName) {
         Integer colIndex = columnMap.get(columnName);
         if (colIndex == null) {
             return null;
         }
 
-        Cell cell = row.getCell(colIndex);
+        RowSnapshot.CellSnapshot cell = row.getCell(colIndex);
         if (cell == null) {
             return null;
         }
@@ -331,17 +545,4 @@ public class SegLevelParser {
                 return null;
         }
     }
-
-    /**
-     * Checks if a row is empty (should be skipped).
-     *
-     * <p>A row is considered empty if the Field Name column is null or blank.</p>
-     *
-     * @param row the row to check
-     * @return true if the row should be skipped
-     */
-    private boolean isEmptyRow(Row row) {
-        String fieldName = getCellValue(row, ColumnNames.FIELD_NAME);
-        return fieldName == null || fieldName.trim().isEmpty();
-    }
 }
@@ -20,6 +20,11 @@ import org.apache.poi.ss.usermodel.Workbook;
  *   <li>Response - Contains response message field definitions (some messages are request-only)</li>
  *   <li>Shared Header - Contains common header field definitions</li>
  * </ul>
+ *
+ * <p>Discovery works either on a fully loaded {@link Workbook} or, for XLSX
+ * files, on the sheet index of a {@link StreamingWorkbookReader}; the latter
+ * returns {@link LazySheet} handles that inflate only the sheets actually
+ * parsed.</p>
  */
 public class SheetDiscovery {
 
@@ -55,6 +60,37 @@ public class SheetDiscovery {
         return sheets;
     }
 
+    /**
+     * Discovers sheets from the sheet index of a streamed workbook.
+     *
+     * <p>Only the sheet names recorded in the workbook part are consulted.
+     * The returned handles inflate their worksheet part on demand, so
+     * auxiliary sheets (change logs, code tables, pivots) are never read.
+     * Lookup and validation rules are identical to
+     * {@link #discoverSheets(Workbook)}.</p>
+     *
+     * @param reader the streaming reader positioned on the workbook
+     * @return a LazySheetSet containing handles to the discovered sheets
+     * @throws ParseException if the required Request sheet is not found
+     */
+    public LazySheetSet discoverSheets(StreamingWorkbookReader reader) {
+        LazySheetSet sheets = new LazySheetSet();
+
+        // Required: Request sheet
+        sheets.setRequest(findLazySheet(reader, REQUEST_SHEET));
+        if (sheets.getRequest() == null) {
+            throw new ParseException("Required sheet '" + REQUEST_SHEET + "' not found");
+        }
+
+        // Optional: Response sheet (some messages are request-only)
+        sheets.setResponse(findLazySheet(reader, RESPONSE_SHEET));
+
+        // Optional: Shared Header sheet
+        sheets.setSharedHeader(findLazySheet(reader, SHARED_HEADER_SHEET));
+
+        return sheets;
+    }
+
     /**
      * Discovers the Shared Header sheet from a separate workbook.
      *
@@ -93,4 +129,27 @@ public class SheetDiscovery {
 
         return null;
     }
+
+    /**
+     * Finds a sheet in the workbook index, with case-insensitive fallback.
+     *
+     * @param reader the streaming reader
+     * @param sheetName the expected sheet name
+     * @return a lazy handle to the found sheet, or null if not found
+     */
+    private LazySheet findLazySheet(StreamingWorkbookReader reader, String sheetName) {
+        // Try exact match first
+        if (reader.hasSheet(sheetName)) {
+            return new LazySheet(reader, sheetName);
+        }
+
+        // Fallback: case-insensitive search
+        for (String name : reader.getSheetNames()) {
+            if (name != null && name.equalsIgnoreCase(sheetName)) {
+                return new LazySheet(reader, name);
+            }
+        }
+
+        return null;
+    }
 }
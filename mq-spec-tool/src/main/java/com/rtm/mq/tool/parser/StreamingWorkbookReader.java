@@ -0,0 +1,348 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.exception.ParseException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Event-model (SAX) reader for XLSX workbooks.
+ *
+ * <p>Unlike {@code WorkbookFactory.create}, this reader never builds the XSSF
+ * DOM. The package is opened read-only, the shared strings table is loaded
+ * once on first use, and each requested sheet part is streamed through a SAX
+ * handler that emits one {@link RowSnapshot} per {@code <row>} element. Heap
+ * usage is therefore bounded by the shared strings table plus whatever the
+ * row consumer chooses to retain, independent of the number of styled rows.</p>
+ *
+ * <p>Cell values are decoded with the same typing rules as XSSF:</p>
+ * <ul>
+ *   <li>{@code t="s"} - shared string lookup (phonetic runs excluded)</li>
+ *   <li>{@code t="inlineStr"} - inline rich text (phonetic runs excluded)</li>
+ *   <li>{@code t="str"} - string formula result</li>
+ *   <li>{@code t="b"} / {@code t="e"} - boolean / error</li>
+ *   <li>otherwise - numeric when a value is present, blank when not</li>
+ * </ul>
+ *
+ * <p>Only OOXML files ({@code .xlsx}, {@code .xlsm}) are supported; legacy
+ * {@code .xls} files must be read through the usermodel API.</p>
+ *
+ * <p>Different sheets may be read concurrently: every {@link #readSheet}
+ * call opens its own part stream and SAX handler, and the shared strings
+ * table is loaded once under a lock and only read afterwards. Instances must
+ * be closed after use, once all reads have completed.</p>
+ *
+ * @see RowSnapshot
+ * @see ExcelParser
+ */
+public class StreamingWorkbookReader implements AutoCloseable {
+
+    private final OPCPackage pkg;
+    private final Map<String, PackagePart> sheetParts;
+    private ReadOnlySharedStringsTable sharedStrings;
+
+    private StreamingWorkbookReader(OPCPackage pkg, Map<String, PackagePart> sheetParts) {
+        this.pkg = pkg;
+        this.sheetParts = sheetParts;
+    }
+
+    /**
+     * Opens a workbook for streaming access.
+     *
+     * <p>Only the workbook part (the sheet index) is read at this point. The
+     * shared strings table is loaded on the first {@link #readSheet} call and
+     * each worksheet part is inflated only when it is read, so auxiliary
+     * sheets that are never requested cost nothing beyond their index entry.</p>
+     *
+     * @param file the XLSX file to open
+     * @return the reader
+     * @throws IOException if the file cannot be read
+     * @throws ParseException if the file is not a valid OOXML workbook
+     */
+    public static StreamingWorkbookReader open(Path file) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new ParseException("Invalid XLSX package: " + file, e);
+        }
+
+        try {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+
+            Map<String, PackagePart> parts = new LinkedHashMap<>();
+            XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            while (it.hasNext()) {
+                // Opening the part stream does not inflate it; close it straight away
+                try (InputStream ignored = it.next()) {
+                    parts.put(it.getSheetName(), it.getSheetPart());
+                }
+            }
+            return new StreamingWorkbookReader(pkg, parts);
+        } catch (OpenXML4JException e) {
+            pkg.revert();
+            throw new ParseException("Failed to read workbook structure: " + file, e);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the sheet names in workbook order.
+     *
+     * @return an unmodifiable list of sheet names
+     */
+    public List<String> getSheetNames() {
+        return Collections.unmodifiableList(new ArrayList<>(sheetParts.keySet()));
+    }
+
+    /**
+     * Checks whether the workbook contains a sheet with exactly this name.
+     *
+     * @param sheetName the sheet name
+     * @return true if the sheet exists
+     */
+    public boolean hasSheet(String sheetName) {
+        return sheetParts.containsKey(sheetName);
+    }
+
+    /**
+     * Streams every row of a sheet to the consumer in document order.
+     *
+     * @param sheetName the exact sheet name
+     * @param rowConsumer receives one snapshot per row
+     * @throws IOException if the sheet part cannot be read
+     * @throws ParseException if the sheet does not exist or its XML is malformed
+     */
+    public void readSheet(String sheetName, Consumer<RowSnapshot> rowConsumer) throws IOException {
+        readSheet(sheetName, Integer.MAX_VALUE, rowConsumer);
+    }
+
+    /**
+     * Streams the rows of a sheet up to and including {@code lastRowNum}.
+     *
+     * <p>Parsing stops as soon as a row beyond {@code lastRowNum} is
+     * encountered, so reading only the metadata block of a large sheet does
+     * not inflate the remainder of the part.</p>
+     *
+     * @param sheetName the exact sheet name
+     * @param lastRowNum the last 0-based row index to deliver
+     * @param rowConsumer receives one snapshot per row
+     * @throws IOException if the sheet part cannot be read
+     * @throws ParseException if the sheet does not exist or its XML is malformed
+     */
+    public void readSheet(String sheetName, int lastRowNum, Consumer<RowSnapshot> rowConsumer)
+            throws IOException {
+        PackagePart part = sheetParts.get(sheetName);
+        if (part == null) {
+            throw new ParseException("Sheet '" + sheetName + "' not found");
+        }
+
+        try (InputStream is = part.getInputStream()) {
+            loadSharedStrings();
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new SheetHandler(lastRowNum, rowConsumer));
+            xmlReader.parse(new InputSource(is));
+        } catch (StopParsingException e) {
+            // Requested row range fully delivered
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new ParseException("Failed to stream sheet '" + sheetName + "'", e);
+        }
+    }
+
+    /**
+     * Loads the shared strings table on first use.
+     *
+     * @throws IOException if the shared strings part cannot be read
+     * @throws SAXException if the shared strings XML is malformed
+     */
+    private synchronized void loadSharedStrings() throws IOException, SAXException {
+        if (sharedStrings == null) {
+            // Exclude phonetic runs (furigana, pinyin), as XSSF's SharedStringsTable does
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Opened read-only: revert releases the file handle without writing
+        pkg.revert();
+    }
+
+    /**
+     * Signals that the requested row range has been delivered.
+     */
+    private static final class StopParsingException extends SAXException {
+        private static final long serialVersionUID = 1L;
+
+        StopParsingException() {
+            super("Row limit reached");
+        }
+    }
+
+    /**
+     * SAX handler translating {@code sheetData} elements into row snapshots.
+     */
+    private final class SheetHandler extends DefaultHandler {
+
+        private final int lastRowNum;
+        private final Consumer<RowSnapshot> rowConsumer;
+
+        private final StringBuilder text = new StringBuilder();
+        private List<RowSnapshot.CellSnapshot> cells;
+        private int rowNum = -1;
+        private int columnIndex = -1;
+        private String cellType;
+        private boolean hasFormula;
+        private boolean hasValue;
+        private boolean inValue;
+        private boolean inInlineString;
+        private boolean inPhonetic;
+
+        SheetHandler(int lastRowNum, Consumer<RowSnapshot> rowConsumer) {
+            this.lastRowNum = lastRowNum;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attrs)
+                throws SAXException {
+            switch (localName) {
+                case "row":
+                    String r = attrs.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    if (rowNum > lastRowNum) {
+                        throw new StopParsingException();
+                    }
+                    cells = new ArrayList<>();
+                    columnIndex = -1;
+                    break;
+                case "c":
+                    String ref = attrs.getValue("r");
+                    columnIndex = ref != null ? new CellReference(ref).getCol() : columnIndex + 1;
+                    cellType = attrs.getValue("t");
+                    hasFormula = false;
+                    hasValue = false;
+                    text.setLength(0);
+                    break;
+                case "f":
+                    hasFormula = true;
+                    break;
+                case "v":
+                    inValue = true;
+                    hasValue = true;
+                    text.setLength(0);
+                    break;
+                case "is":
+                    inInlineString = true;
+                    hasValue = true;
+                    text.setLength(0);
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue || (inInlineString && !inPhonetic)) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                    inValue = false;
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                case "c":
+                    RowSnapshot.CellSnapshot cell = buildCell();
+                    if (cell != null) {
+                        cells.add(cell);
+                    }
+                    break;
+                case "row":
+                    cells.sort((a, b) -> Integer.compare(a.getColumnIndex(), b.getColumnIndex()));
+                    rowConsumer.accept(new RowSnapshot(rowNum, cells));
+                    cells = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Builds a cell snapshot from the collected element state.
+         *
+         * @return the cell, or null for blank cells
+         */
+        private RowSnapshot.CellSnapshot buildCell() {
+            String value = text.toString();
+            RowSnapshot.CellSnapshot cell;
+
+            if ("s".equals(cellType)) {
+                if (!hasValue || value.isEmpty()) {
+                    return null;
+                }
+                String str = sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+                cell = RowSnapshot.CellSnapshot.ofString(columnIndex, str);
+            } else if ("inlineStr".equals(cellType) || "str".equals(cellType) || "d".equals(cellType)) {
+                if (!hasValue && !hasFormula) {
+                    return null;
+                }
+                cell = RowSnapshot.CellSnapshot.ofString(columnIndex, value);
+            } else if ("b".equals(cellType)) {
+                if (!hasValue) {
+                    return null;
+                }
+                cell = RowSnapshot.CellSnapshot.ofBoolean(columnIndex, "1".equals(value.trim())
+                    || "true".equalsIgnoreCase(value.trim()));
+            } else if ("e".equals(cellType)) {
+                cell = RowSnapshot.CellSnapshot.ofError(columnIndex);
+            } else {
+                if (!hasValue || value.isEmpty()) {
+                    if (!hasFormula) {
+                        return null;
+                    }
+                    cell = RowSnapshot.CellSnapshot.ofNumeric(columnIndex, 0);
+                } else {
+                    cell = RowSnapshot.CellSnapshot.ofNumeric(columnIndex, Double.parseDouble(value));
+                }
+            }
+
+            return hasFormula ? RowSnapshot.CellSnapshot.ofFormula(cell) : cell;
+        }
+    }
+}
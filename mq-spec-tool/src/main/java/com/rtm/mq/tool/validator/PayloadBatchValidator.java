@@ -0,0 +1,539 @@
+package com.rtm.mq.tool.validator;
+
+import com.rtm.mq.tool.codec.DecodePlan;
+import com.rtm.mq.tool.codec.FieldSlot;
+import com.rtm.mq.tool.codec.FieldValue;
+import com.rtm.mq.tool.codec.FieldVisitor;
+import com.rtm.mq.tool.codec.MessageDecoder;
+import com.rtm.mq.tool.config.ValidationConfig;
+import com.rtm.mq.tool.exception.ValidationException;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.model.ValidationError;
+import com.rtm.mq.tool.model.ValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Validates a capture file of fixed-length payloads against a message spec.
+ *
+ * <p>The capture file is memory-mapped in windows and split into chunks
+ * that are validated in parallel. Every chunk aggregates its findings into
+ * per-field counters, which are merged once all chunks are done, so heap
+ * usage depends on the number of fields in the spec, not on the size of
+ * the file.</p>
+ *
+ * <p>Validation checks performed (architecture sections 8.4 and 8.6):</p>
+ * <ol>
+ *   <li>VR-201: record length differs from the spec length; field checks
+ *       are skipped for short records</li>
+ *   <li>VR-203: a mandatory field carries no value (all spaces)</li>
+ *   <li>VR-204: a field with a hard-code value, default value or group id
+ *       holds a different value. Values are compared without surrounding
+ *       spaces, numerically for numeric expectations, and {@code BLANK}
+ *       expects an all-space field. Optional fields may be blank.</li>
+ * </ol>
+ *
+ * <p>Each rule is reported once per field with the number of offending
+ * occurrences and the byte offset of the first offending record. Actual
+ * payload values appear only when {@link ValidationConfig#isRedactPayload()}
+ * is false.</p>
+ *
+ * @see Validator
+ */
+public class PayloadBatchValidator implements Validator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadBatchValidator.class);
+
+    /** Error code for record length mismatch. */
+    public static final String ERR_RECORD_LENGTH = "VR-201";
+
+    /** Error code for blank mandatory field. */
+    public static final String ERR_MANDATORY_BLANK = "VR-203";
+
+    /** Error code for default/hard-code value mismatch. */
+    public static final String ERR_VALUE_MISMATCH = "VR-204";
+
+    /** Replacement for payload values when redaction is enabled. */
+    static final String REDACTED = "***REDACTED***";
+
+    /** Bytes of the capture file handled by one task. */
+    private static final long CHUNK_SIZE = 64L << 20;
+
+    /**
+     * How records are delimited in a capture file.
+     */
+    public enum Framing {
+        /** One record per line, terminated by LF or CR LF. */
+        LINES,
+        /** Records of exactly the spec length, back to back. */
+        FIXED
+    }
+
+    private final DecodePlan plan;
+    private final MessageDecoder decoder;
+    private final Framing framing;
+    private final boolean redactPayload;
+    private final int parallelism;
+
+    private final boolean[] mandatory;
+    private final boolean[] optional;
+    private final String[] expected;
+    private final boolean[] expectBlank;
+    private final boolean[] expectNumeric;
+    private final long[] expectedNumbers;
+
+    /**
+     * Creates a validator for one message type of a model.
+     *
+     * @param model the parsed spec
+     * @param messageType "request" or "response"
+     * @param config the validation settings (redaction)
+     * @param framing how records are delimited
+     * @param parallelism the number of worker threads; non-positive uses the number of processors
+     * @throws ValidationException if the message type is unknown or the spec-tree is invalid
+     */
+    public PayloadBatchValidator(MessageModel model, String messageType, ValidationConfig config,
+                                 Framing framing, int parallelism) {
+        FieldGroup fieldGroup;
+        if ("request".equalsIgnoreCase(messageType)) {
+            fieldGroup = model.getRequest();
+        } else if ("response".equalsIgnoreCase(messageType)) {
+            fieldGroup = model.getResponse();
+        } else {
+            throw new ValidationException("Unknown message type '" + messageType
+                    + "'. Expected 'request' or 'response'");
+        }
+
+        this.plan = DecodePlan.compile(messageType.toLowerCase(), fieldGroup);
+        if (plan.getTotalLength() == 0) {
+            throw new ValidationException("Message type '" + messageType + "' has no fixed-length fields");
+        }
+        this.decoder = new MessageDecoder(plan);
+        this.framing = framing;
+        this.redactPayload = config == null || config.isRedactPayload();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        List<FieldSlot> slots = plan.getSlots();
+        this.mandatory = new boolean[slots.size()];
+        this.optional = new boolean[slots.size()];
+        this.expected = new String[slots.size()];
+        this.expectBlank = new boolean[slots.size()];
+        this.expectNumeric = new boolean[slots.size()];
+        this.expectedNumbers = new long[slots.size()];
+        for (FieldSlot slot : slots) {
+            FieldNode node = slot.getField();
+            if (node == null || slot.isGroup()) {
+                continue;
+            }
+            int id = slot.getId();
+            String optionality = node.getOptionality() != null ? node.getOptionality().trim() : "";
+            mandatory[id] = !node.isTransitory() && "M".equalsIgnoreCase(optionality);
+            optional[id] = !node.isTransitory() && "O".equalsIgnoreCase(optionality);
+
+            String value = getExpectedValue(node);
+            if (value != null && !value.trim().isEmpty()) {
+                expected[id] = value.trim();
+                expectBlank[id] = "BLANK".equalsIgnoreCase(expected[id]);
+                try {
+                    expectedNumbers[id] = Long.parseLong(expected[id]);
+                    expectNumeric[id] = true;
+                } catch (NumberFormatException e) {
+                    // Compared as text only
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the value a field is expected to hold.
+     */
+    private static String getExpectedValue(FieldNode node) {
+        if (node.isTransitory()) {
+            return node.getGroupId();
+        }
+        return node.getHardCodeValue() != null ? node.getHardCodeValue() : node.getDefaultValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationResult validate(Path targetPath) {
+        return toResult(validateCapture(targetPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getType() {
+        return "payload";
+    }
+
+    /**
+     * Validates a capture file and returns the aggregated statistics.
+     *
+     * @param captureFile the capture file
+     * @return the statistics over all records
+     * @throws ValidationException if the file cannot be read
+     */
+    public Statistics validateCapture(Path captureFile) {
+        if (!Files.isRegularFile(captureFile)) {
+            throw new ValidationException("Capture file not found: " + captureFile.toAbsolutePath());
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(captureFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long chunkSize = framing == Framing.FIXED
+                    ? Math.max(1, CHUNK_SIZE / plan.getTotalLength()) * plan.getTotalLength()
+                    : CHUNK_SIZE;
+
+            List<Callable<Statistics>> tasks = new ArrayList<>();
+            for (long chunkStart = 0; chunkStart < fileSize; chunkStart += chunkSize) {
+                long from = chunkStart;
+                long to = Math.min(fileSize, chunkStart + chunkSize);
+                tasks.add(() -> new ChunkValidator(channel, fileSize).run(from, to));
+            }
+
+            Statistics total = new Statistics(plan.getSlots().size(), plan.getTotalLength());
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (Future<Statistics> future : pool.invokeAll(tasks)) {
+                    total.merge(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValidationException("Payload validation interrupted: " + captureFile);
+            } catch (ExecutionException e) {
+                throw new ValidationException("Failed to validate capture file " + captureFile + ": "
+                        + e.getCause().getMessage());
+            } finally {
+                pool.shutdown();
+            }
+
+            logger.info("Validated {} records ({} bytes) of '{}' in {} ms",
+                    total.getRecordCount(), fileSize, plan.getMessageType(), (System.nanoTime() - start) / 1_000_000);
+            return total;
+        } catch (IOException e) {
+            throw new ValidationException("Failed to read capture file " + captureFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converts statistics into a validation result, one issue per rule and field.
+     *
+     * @param stats the aggregated statistics
+     * @return the validation result
+     */
+    public ValidationResult toResult(Statistics stats) {
+        ValidationResult result = new ValidationResult();
+
+        if (stats.lengthViolations > 0) {
+            result.addError(new ValidationError(
+                ERR_RECORD_LENGTH,
+                "Record length does not match spec",
+                "records=" + stats.lengthViolations + " of " + stats.recordCount
+                    + ", expected=" + plan.getTotalLength()
+                    + ", short=" + stats.shortRecords
+                    + ", long=" + (stats.lengthViolations - stats.shortRecords)
+                    + ", firstOffset=" + stats.firstLengthViolation
+            ));
+        }
+
+        for (FieldSlot slot : plan.getSlots()) {
+            int id = slot.getId();
+            if (stats.mandatoryBlank[id] > 0) {
+                result.addError(new ValidationError(
+                    ERR_MANDATORY_BLANK,
+                    "Mandatory field is blank",
+                    "field=" + slot.getPath()
+                        + ", occurrences=" + stats.mandatoryBlank[id]
+                        + ", firstOffset=" + stats.firstMandatoryBlank[id]
+                ));
+            }
+        }
+
+        for (FieldSlot slot : plan.getSlots()) {
+            int id = slot.getId();
+            if (stats.mismatches[id] > 0) {
+                result.addError(new ValidationError(
+                    ERR_VALUE_MISMATCH,
+                    "Default value mismatch",
+                    "field=" + slot.getPath()
+                        + ", expected='" + expected[id] + "'"
+                        + ", occurrences=" + stats.mismatches[id]
+                        + ", firstOffset=" + stats.firstMismatch[id]
+                        + ", actual='" + stats.sampleMismatch[id] + "'"
+                ));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks a field against its expected value.
+     */
+    private boolean matchesExpected(FieldValue value, int id) {
+        if (value.isBlank()) {
+            return expectBlank[id] || optional[id];
+        }
+        if (expectBlank[id]) {
+            return false;
+        }
+        if (value.trimmedContentEquals(expected[id])) {
+            return true;
+        }
+        if (expectNumeric[id]) {
+            try {
+                return value.getLong() == expectedNumbers[id];
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates the records starting in one chunk of the capture file.
+     *
+     * <p>A chunk owns every record that starts inside it; the last record may
+     * extend into the next chunk. The file is mapped through a sliding window
+     * that is re-mapped when a record leaves it.</p>
+     */
+    private final class ChunkValidator implements FieldVisitor {
+
+        private static final int WINDOW_SIZE = 8 << 20;
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private final Statistics stats;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long windowEnd;
+        private long recordOffset;
+
+        ChunkValidator(FileChannel channel, long fileSize) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.stats = new Statistics(plan.getSlots().size(), plan.getTotalLength());
+        }
+
+        Statistics run(long chunkStart, long chunkEnd) throws IOException {
+            if (framing == Framing.FIXED) {
+                int length = plan.getTotalLength();
+                for (long pos = chunkStart; pos < chunkEnd; pos += length) {
+                    validateRecord(pos, Math.min(fileSize, pos + length));
+                }
+                return stats;
+            }
+
+            // A record starts at 0 or right after a line feed
+            long pos = chunkStart == 0 ? 0 : findLineFeed(chunkStart - 1) + 1;
+            while (pos < chunkEnd && pos < fileSize) {
+                long lineFeed = findLineFeed(pos);
+                long end = lineFeed;
+                if (end > pos && byteAt(end - 1) == '\r') {
+                    end--;
+                }
+                validateRecord(pos, end);
+                pos = lineFeed + 1;
+            }
+            return stats;
+        }
+
+        private void validateRecord(long from, long to) throws IOException {
+            stats.recordCount++;
+            long length = to - from;
+            if (length != plan.getTotalLength()) {
+                stats.lengthViolation(from, length < plan.getTotalLength());
+                if (length < plan.getTotalLength()) {
+                    return;
+                }
+            }
+
+            int size = plan.getTotalLength();
+            map(from, size);
+            int position = (int) (from - windowStart);
+            window.limit(position + size).position(position);
+            recordOffset = from;
+            decoder.decode(window, this);
+            window.clear();
+        }
+
+        @Override
+        public void visit(FieldValue value) {
+            int id = value.getSlot().getId();
+            if (mandatory[id] && value.isBlank()) {
+                if (stats.mandatoryBlank[id]++ == 0) {
+                    stats.firstMandatoryBlank[id] = recordOffset;
+                }
+            }
+            if (expected[id] != null && !matchesExpected(value, id)) {
+                if (stats.mismatches[id]++ == 0) {
+                    stats.firstMismatch[id] = recordOffset;
+                    stats.sampleMismatch[id] = redactPayload ? REDACTED : value.getString();
+                }
+            }
+        }
+
+        /**
+         * Finds the next line feed at or after a position.
+         *
+         * @return the line feed position, or the file size if there is none
+         */
+        private long findLineFeed(long from) throws IOException {
+            for (long pos = from; pos < fileSize; pos++) {
+                if (byteAt(pos) == '\n') {
+                    return pos;
+                }
+            }
+            return fileSize;
+        }
+
+        private byte byteAt(long pos) throws IOException {
+            if (pos < windowStart || pos >= windowEnd) {
+                map(pos, 1);
+            }
+            return window.get((int) (pos - windowStart));
+        }
+
+        /**
+         * Ensures [from, from + length) is mapped.
+         */
+        private void map(long from, int length) throws IOException {
+            if (window != null && from >= windowStart && from + length <= windowEnd) {
+                return;
+            }
+            long size = Math.min(fileSize - from, Math.max(WINDOW_SIZE, length));
+            window = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+            windowStart = from;
+            windowEnd = from + size;
+        }
+    }
+
+    /**
+     * Aggregated counters of a payload validation run.
+     *
+     * <p>Field counters are indexed by {@link FieldSlot#getId()} and count
+     * occurrences, so a field inside a repeating group may be counted
+     * several times per record.</p>
+     */
+    public static final class Statistics {
+
+        private final int recordLength;
+        private long recordCount;
+        private long lengthViolations;
+        private long shortRecords;
+        private long firstLengthViolation = -1;
+        private final long[] mandatoryBlank;
+        private final long[] firstMandatoryBlank;
+        private final long[] mismatches;
+        private final long[] firstMismatch;
+        private final String[] sampleMismatch;
+
+        Statistics(int slotCount, int recordLength) {
+            this.recordLength = recordLength;
+            this.mandatoryBlank = new long[slotCount];
+            this.firstMandatoryBlank = new long[slotCount];
+            this.mismatches = new long[slotCount];
+            this.firstMismatch = new long[slotCount];
+            this.sampleMismatch = new String[slotCount];
+        }
+
+        void lengthViolation(long offset, boolean tooShort) {
+            if (lengthViolations++ == 0) {
+                firstLengthViolation = offset;
+            }
+            if (tooShort) {
+                shortRecords++;
+            }
+        }
+
+        /**
+         * Adds the counters of a later chunk.
+         */
+        void merge(Statistics other) {
+            recordCount += other.recordCount;
+            if (lengthViolations == 0) {
+                firstLengthViolation = other.firstLengthViolation;
+            }
+            lengthViolations += other.lengthViolations;
+            shortRecords += other.shortRecords;
+            for (int i = 0; i < mismatches.length; i++) {
+                if (mandatoryBlank[i] == 0) {
+                    firstMandatoryBlank[i] = other.firstMandatoryBlank[i];
+                }
+                mandatoryBlank[i] += other.mandatoryBlank[i];
+                if (mismatches[i] == 0) {
+                    firstMismatch[i] = other.firstMismatch[i];
+                    sampleMismatch[i] = other.sampleMismatch[i];
+                }
+                mismatches[i] += other.mismatches[i];
+            }
+        }
+
+        /**
+         * Gets the expected record length.
+         *
+         * @return the spec length in bytes
+         */
+        public int getRecordLength() {
+            return recordLength;
+        }
+
+        /**
+         * Gets the number of records read.
+         *
+         * @return the record count
+         */
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * Gets the number of records whose length differs from the spec (VR-201).
+         *
+         * @return the length violation count
+         */
+        public long getLengthViolationCount() {
+            return lengthViolations;
+        }
+
+        /**
+         * Gets the number of blank occurrences of a mandatory field (VR-203).
+         *
+         * @param slotId the field slot id
+         * @return the blank count
+         */
+        public long getMandatoryBlankCount(int slotId) {
+            return mandatoryBlank[slotId];
+        }
+
+        /**
+         * Gets the number of occurrences of a field not holding its expected value (VR-204).
+         *
+         * @param slotId the field slot id
+         * @return the mismatch count
+         */
+        public long getMismatchCount(int slotId) {
+            return mismatches[slotId];
+        }
+    }
+}
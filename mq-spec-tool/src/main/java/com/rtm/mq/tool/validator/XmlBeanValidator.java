@@ -4,21 +4,30 @@ import com.rtm.mq.tool.exception.ValidationException;
 import com.rtm.mq.tool.generator.xml.XmlFieldType;
 import com.rtm.mq.tool.model.ValidationError;
 import com.rtm.mq.tool.model.ValidationResult;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Validates XML bean definition files for structural correctness.
@@ -39,10 +48,21 @@ import java.util.regex.Pattern;
  *   <li>XML type mapping: declared XML type is resolvable</li>
  * </ol>
  *
+ * <p>Files are checked in a single forward StAX pass with memory independent
+ * of the document size: the xpath of the current element is kept in one
+ * reusable buffer, and the content of DataField elements is skipped. Findings
+ * are reported only for documents that parse completely, so a malformed file
+ * yields its parse error alone. DOCTYPE declarations are rejected.</p>
+ *
+ * <p>When the target is a directory, every {@code .xml} file below it is
+ * validated in parallel and the findings are merged in path order.</p>
+ *
  * @see Validator
  */
 public class XmlBeanValidator implements Validator {
 
+    private static final Logger logger = LoggerFactory.getLogger(XmlBeanValidator.class);
+
     /** Error code for file not found. */
     public static final String ERR_FILE_NOT_FOUND = "XML-001";
 
@@ -94,11 +114,111 @@ public class XmlBeanValidator implements Validator {
         }
     }
 
+    /**
+     * Shared reader factory; configured once, then only used to create readers.
+     *
+     * <p>Namespace processing is off so element and attribute names are the
+     * qualified names as written, e.g. {@code beans:beans}.</p>
+     */
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final int parallelism;
+
+    /**
+     * Creates a validator using one thread per processor for directories.
+     */
+    public XmlBeanValidator() {
+        this(0);
+    }
+
+    /**
+     * Creates a validator.
+     *
+     * @param parallelism the number of threads validating a directory;
+     *                    non-positive uses the number of processors
+     */
+    public XmlBeanValidator(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        // Disable DTDs and external entities for security
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     /**
      * {@inheritDoc}
+     *
+     * <p>A directory is validated with {@link #validateDirectory(Path)}.</p>
      */
     @Override
     public ValidationResult validate(Path targetPath) {
+        if (Files.isDirectory(targetPath)) {
+            return validateDirectory(targetPath);
+        }
+        return validateFile(targetPath);
+    }
+
+    /**
+     * Validates every {@code .xml} file below a directory in parallel.
+     *
+     * @param directory the directory, searched recursively
+     * @return the findings of all files, in path order
+     * @throws ValidationException if validation is interrupted or a file cannot be validated
+     */
+    public ValidationResult validateDirectory(Path directory) {
+        ValidationResult result = new ValidationResult();
+        List<Path> files;
+        try {
+            files = findXmlFiles(directory);
+        } catch (IOException e) {
+            result.addError(new ValidationError(
+                ERR_FILE_NOT_FOUND,
+                "Cannot read directory",
+                "filePath=" + directory.toAbsolutePath() + ", error=" + e.getMessage()
+            ));
+            return result;
+        }
+
+        List<Callable<ValidationResult>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(() -> validateFile(file));
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<ValidationResult> future : pool.invokeAll(tasks)) {
+                for (ValidationError error : future.get().getErrors()) {
+                    result.addError(error);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("XML validation interrupted: " + directory);
+        } catch (ExecutionException e) {
+            throw new ValidationException("Failed to validate XML files in " + directory + ": "
+                    + e.getCause().getMessage());
+        } finally {
+            pool.shutdown();
+        }
+
+        logger.info("Validated {} XML files in '{}' in {} ms: {} errors",
+                files.size(), directory, (System.nanoTime() - start) / 1_000_000, result.getErrors().size());
+        return result;
+    }
+
+    /**
+     * Validates a single XML bean file.
+     *
+     * @param targetPath the file
+     * @return the validation result
+     */
+    public ValidationResult validateFile(Path targetPath) {
         ValidationResult result = new ValidationResult();
 
         // 1. File existence check
@@ -130,114 +250,48 @@ public class XmlBeanValidator implements Validator {
             return result;
         }
 
-        // 3. Parse XML
-        Document document;
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            // Disable external entities for security
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            document = builder.parse(targetPath.toFile());
-        } catch (ParserConfigurationException e) {
-            throw new ValidationException("XML parser configuration error: " + e.getMessage());
-        } catch (SAXException e) {
-            result.addError(new ValidationError(
-                ERR_PARSE_FAILED,
-                "XML parse error",
-                "filePath=" + targetPath.toAbsolutePath() + ", error=" + e.getMessage()
-            ));
+        // 3. Parse XML and validate root and field nodes in one pass
+        String filePath = targetPath.toAbsolutePath().toString();
+        List<ValidationError> errors = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(targetPath)) {
+            new DocumentScanner(filePath, errors).scan(in);
+        } catch (XMLStreamException e) {
+            if (e.getNestedException() instanceof IOException) {
+                result.addError(new ValidationError(
+                    ERR_FILE_NOT_FOUND,
+                    "Cannot read file",
+                    "filePath=" + filePath + ", error=" + e.getNestedException().getMessage()
+                ));
+            } else {
+                result.addError(new ValidationError(
+                    ERR_PARSE_FAILED,
+                    "XML parse error",
+                    "filePath=" + filePath + ", error=" + e.getMessage()
+                ));
+            }
             return result;
         } catch (IOException e) {
             result.addError(new ValidationError(
                 ERR_FILE_NOT_FOUND,
                 "Cannot read file",
-                "filePath=" + targetPath.toAbsolutePath() + ", error=" + e.getMessage()
+                "filePath=" + filePath + ", error=" + e.getMessage()
             ));
             return result;
         }
 
-        // 4. Root element validation
-        Element root = document.getDocumentElement();
-        if (root == null) {
-            result.addError(new ValidationError(
-                ERR_ROOT_MISSING,
-                "Missing root element",
-                "filePath=" + targetPath.toAbsolutePath()
-            ));
-            return result;
+        for (ValidationError error : errors) {
+            result.addError(error);
         }
-
-        String filePath = targetPath.toAbsolutePath().toString();
-        String rootTagName = root.getTagName();
-
-        // 5. Required root attributes
-        validateRequiredAttribute(root, ATTR_MESSAGE_TYPE, filePath, rootTagName, result);
-        validateRequiredAttribute(root, ATTR_VERSION, filePath, rootTagName, result);
-
-        // 6. Validate field nodes
-        validateFieldNodes(root, filePath, "/" + rootTagName, result);
-
         return result;
     }
 
-    /**
-     * Validates that a required attribute exists and is non-empty.
-     *
-     * @param element the element to check
-     * @param attrName the attribute name
-     * @param filePath the file path for error reporting
-     * @param elementName the element name for error reporting
-     * @param result the validation result to add errors to
-     */
-    private void validateRequiredAttribute(Element element, String attrName,
-            String filePath, String elementName, ValidationResult result) {
-        String value = element.getAttribute(attrName);
-        if (value == null || value.trim().isEmpty()) {
-            result.addError(new ValidationError(
-                ERR_ATTR_MISSING,
-                "Missing required attribute: " + attrName,
-                "filePath=" + filePath + ", element=" + elementName
-            ));
-        }
-    }
-
-    /**
-     * Recursively validates field nodes in the XML document.
-     *
-     * @param parent the parent element
-     * @param filePath the file path for error reporting
-     * @param parentXpath the parent XPath for error reporting
-     * @param result the validation result to add errors to
-     */
-    private void validateFieldNodes(Element parent, String filePath,
-            String parentXpath, ValidationResult result) {
-        NodeList children = parent.getChildNodes();
-
-        for (int i = 0; i < children.getLength(); i++) {
-            Node node = children.item(i);
-            if (node.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            Element element = (Element) node;
-            String tagName = element.getTagName();
-
-            // Only validate field elements
-            if (isFieldElement(tagName)) {
-                String xpath = parentXpath + "/" + tagName;
-                validateFieldElement(element, filePath, xpath, result);
-
-                // Recurse into composite/repeating fields
-                if (TAG_COMPOSITE_FIELD.equals(tagName) || TAG_REPEATING_FIELD.equals(tagName)) {
-                    validateFieldNodes(element, filePath, xpath, result);
-                }
-            } else {
-                // Recurse into other container elements (e.g., beans, bean)
-                String xpath = parentXpath + "/" + tagName;
-                validateFieldNodes(element, filePath, xpath, result);
-            }
+    private static List<Path> findXmlFiles(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream
+                .filter(Files::isRegularFile)
+                .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xml"))
+                .sorted()
+                .collect(Collectors.toList());
         }
     }
 
@@ -247,57 +301,12 @@ public class XmlBeanValidator implements Validator {
      * @param tagName the tag name
      * @return true if this is a field element
      */
-    private boolean isFieldElement(String tagName) {
+    private static boolean isFieldElement(String tagName) {
         return TAG_DATA_FIELD.equals(tagName) ||
                TAG_COMPOSITE_FIELD.equals(tagName) ||
                TAG_REPEATING_FIELD.equals(tagName);
     }
 
-    /**
-     * Validates a single field element.
-     *
-     * @param element the field element
-     * @param filePath the file path for error reporting
-     * @param xpath the XPath for error reporting
-     * @param result the validation result to add errors to
-     */
-    private void validateFieldElement(Element element, String filePath,
-            String xpath, ValidationResult result) {
-        String tagName = element.getTagName();
-
-        // Validate type is resolvable
-        if (!VALID_FIELD_TYPES.contains(tagName)) {
-            result.addError(new ValidationError(
-                ERR_TYPE_UNKNOWN,
-                "Unknown XML field type: " + tagName,
-                "filePath=" + filePath + ", xpath=" + xpath
-            ));
-        }
-
-        // Validate name attribute for non-transitory fields
-        // Note: transitory fields may not have name attribute
-        String name = element.getAttribute(ATTR_NAME);
-        String transitory = element.getAttribute("transitory");
-        boolean isTransitory = "true".equalsIgnoreCase(transitory);
-
-        // Only validate name for non-transitory fields
-        if (!isTransitory) {
-            if (name == null || name.trim().isEmpty()) {
-                result.addError(new ValidationError(
-                    ERR_NAME_MISSING,
-                    "Missing name attribute",
-                    "filePath=" + filePath + ", xpath=" + xpath
-                ));
-            } else if (!isValidCamelCase(name)) {
-                result.addError(new ValidationError(
-                    ERR_NAME_INVALID,
-                    "Invalid camelCase name: " + name,
-                    "filePath=" + filePath + ", xpath=" + xpath
-                ));
-            }
-        }
-    }
-
     /**
      * Checks if a name is valid camelCase.
      *
@@ -310,13 +319,37 @@ public class XmlBeanValidator implements Validator {
      * @param name the name to check
      * @return true if valid camelCase
      */
-    private boolean isValidCamelCase(String name) {
+    private static boolean isValidCamelCase(String name) {
         if (name == null || name.isEmpty()) {
             return false;
         }
         return CAMEL_CASE_PATTERN.matcher(name).matches();
     }
 
+    /**
+     * Gets an attribute by qualified name.
+     *
+     * @param reader the reader positioned on a start element
+     * @param qualifiedName the attribute name as written, e.g. {@code xsi:type}
+     * @return the value, or an empty string if the attribute is absent
+     */
+    private static String getAttribute(XMLStreamReader reader, String qualifiedName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String localName = reader.getAttributeLocalName(i);
+            boolean matches = prefix == null || prefix.isEmpty()
+                    ? qualifiedName.equals(localName)
+                    : qualifiedName.length() == prefix.length() + 1 + localName.length()
+                            && qualifiedName.startsWith(prefix)
+                            && qualifiedName.charAt(prefix.length()) == ':'
+                            && qualifiedName.endsWith(localName);
+            if (matches) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return "";
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -324,4 +357,159 @@ public class XmlBeanValidator implements Validator {
     public String getType() {
         return "xml";
     }
+
+    /**
+     * Single forward pass over one document.
+     *
+     * <p>The xpath of the current element is kept in a buffer that grows and
+     * shrinks with the element depth; it is only turned into a string when
+     * an error is reported.</p>
+     */
+    private static final class DocumentScanner {
+
+        private final String filePath;
+        private final List<ValidationError> errors;
+        private final StringBuilder xpath = new StringBuilder(128);
+        private int[] xpathLengths = new int[16];
+        private int depth;
+        /** Depth of the DataField whose content is being skipped, 0 if none. */
+        private int skipDepth;
+        private boolean rootSeen;
+
+        DocumentScanner(String filePath, List<ValidationError> errors) {
+            this.filePath = filePath;
+            this.errors = errors;
+        }
+
+        /**
+         * Reads a document to its end.
+         *
+         * @param in the document bytes
+         * @throws XMLStreamException if the document is malformed or declares a DOCTYPE
+         */
+        void scan(InputStream in) throws XMLStreamException {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.DTD:
+                            throw new XMLStreamException("DOCTYPE is disallowed", reader.getLocation());
+                        case XMLStreamConstants.START_ELEMENT:
+                            startElement(reader);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            endElement();
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+
+            // 4. Root element validation
+            if (!rootSeen) {
+                errors.add(new ValidationError(
+                    ERR_ROOT_MISSING,
+                    "Missing root element",
+                    "filePath=" + filePath
+                ));
+            }
+        }
+
+        private void startElement(XMLStreamReader reader) {
+            // Qualified name, as namespace processing is off
+            String tagName = reader.getLocalName();
+            if (depth == xpathLengths.length) {
+                xpathLengths = Arrays.copyOf(xpathLengths, depth * 2);
+            }
+            xpathLengths[depth++] = xpath.length();
+            xpath.append('/').append(tagName);
+
+            if (skipDepth > 0) {
+                return;
+            }
+            if (depth == 1) {
+                // 5. Required root attributes
+                rootSeen = true;
+                validateRequiredAttribute(reader, ATTR_MESSAGE_TYPE, tagName);
+                validateRequiredAttribute(reader, ATTR_VERSION, tagName);
+                return;
+            }
+
+            // 6. Validate field nodes; other elements (e.g., beans, bean) are containers
+            if (isFieldElement(tagName)) {
+                validateFieldElement(reader, tagName);
+                // Only composite/repeating fields have field content
+                if (TAG_DATA_FIELD.equals(tagName)) {
+                    skipDepth = depth;
+                }
+            }
+        }
+
+        private void endElement() {
+            if (skipDepth == depth) {
+                skipDepth = 0;
+            }
+            xpath.setLength(xpathLengths[--depth]);
+        }
+
+        /**
+         * Validates that a required attribute exists and is non-empty.
+         *
+         * @param reader the reader positioned on the element
+         * @param attrName the attribute name
+         * @param elementName the element name for error reporting
+         */
+        private void validateRequiredAttribute(XMLStreamReader reader, String attrName, String elementName) {
+            String value = getAttribute(reader, attrName);
+            if (value.trim().isEmpty()) {
+                errors.add(new ValidationError(
+                    ERR_ATTR_MISSING,
+                    "Missing required attribute: " + attrName,
+                    "filePath=" + filePath + ", element=" + elementName
+                ));
+            }
+        }
+
+        /**
+         * Validates a single field element.
+         *
+         * @param reader the reader positioned on the field element
+         * @param tagName the tag name
+         */
+        private void validateFieldElement(XMLStreamReader reader, String tagName) {
+            // Validate type is resolvable
+            if (!VALID_FIELD_TYPES.contains(tagName)) {
+                errors.add(new ValidationError(
+                    ERR_TYPE_UNKNOWN,
+                    "Unknown XML field type: " + tagName,
+                    "filePath=" + filePath + ", xpath=" + xpath
+                ));
+            }
+
+            // Validate name attribute for non-transitory fields
+            // Note: transitory fields may not have name attribute
+            String name = getAttribute(reader, ATTR_NAME);
+            boolean isTransitory = "true".equalsIgnoreCase(getAttribute(reader, "transitory"));
+
+            // Only validate name for non-transitory fields
+            if (!isTransitory) {
+                if (name.trim().isEmpty()) {
+                    errors.add(new ValidationError(
+                        ERR_NAME_MISSING,
+                        "Missing name attribute",
+                        "filePath=" + filePath + ", xpath=" + xpath
+                    ));
+                } else if (!isValidCamelCase(name)) {
+                    errors.add(new ValidationError(
+                        ERR_NAME_INVALID,
+                        "Invalid camelCase name: " + name,
+                        "filePath=" + filePath + ", xpath=" + xpath
+                    ));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.rtm.mq.tool;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Repeatable timing loop for the {@code *Benchmark} programs under
+ * {@code src/test/java}.
+ *
+ * <p>Benchmarks are plain {@code main} programs, so surefire does not run
+ * them. Run one from the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes:<deps> com.rtm.mq.tool.codec.MessageDecoderBenchmark}.
+ * Each case is run for a fixed number of warm-up and measured rounds over
+ * fixed inputs, and the median round is reported, so repeated runs on the
+ * same machine give comparable numbers.</p>
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 7;
+
+    /** Results of every operation are folded in here so the JIT cannot drop them. */
+    private static volatile long sink;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Times an operation and prints the median time per call.
+     *
+     * @param name the case name
+     * @param calls the number of calls per round
+     * @param operation the operation; its result is consumed
+     * @return the median nanoseconds per call
+     */
+    public static double run(String name, int calls, LongSupplier operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            time(calls, operation);
+        }
+        double[] rounds = new double[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            rounds[round] = time(calls, operation);
+        }
+        Arrays.sort(rounds);
+        double median = rounds[MEASURED_ROUNDS / 2];
+        System.out.printf("%-48s %12.1f ns/op %14.0f ops/s%n", name, median, 1e9 / median);
+        return median;
+    }
+
+    /**
+     * Times an allocating operation and prints the bytes allocated per call.
+     *
+     * <p>Uses the HotSpot per-thread allocation counter; prints nothing on
+     * JVMs without it.</p>
+     *
+     * @param name the case name
+     * @param calls the number of calls to measure
+     * @param operation the operation; its result is consumed
+     * @return the bytes allocated per call, or -1 if not available
+     */
+    public static double allocation(String name, int calls, LongSupplier operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            time(calls, operation);
+        }
+        Object threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof ThreadMXBean)) {
+            return -1;
+        }
+        ThreadMXBean hotspot = (ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+        long before = hotspot.getThreadAllocatedBytes(thread);
+        time(calls, operation);
+        double perCall = (hotspot.getThreadAllocatedBytes(thread) - before) / (double) calls;
+        System.out.printf("%-48s %12.0f B/op%n", name, perCall);
+        return perCall;
+    }
+
+    private static double time(int calls, LongSupplier operation) {
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            result += operation.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += result;
+        return elapsed / (double) calls;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.Benchmarks;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Table-driven decoding against {@code new String(bytes, charset)}: fifty
+ * 20-byte CCSID 037 fields, and twenty 30-byte fields of the mixed code
+ * page x-IBM935 holding SO/SI delimited Chinese text.
+ *
+ * <p>Fields are decoded by offset, without the decoder walk, so only the
+ * byte-to-character step is compared. The "without decoding" cases are the
+ * blank check and numeric parse a consumer would otherwise do on a decoded
+ * string. See {@link Benchmarks} for how to run it.</p>
+ */
+public final class CodePageBenchmark {
+
+    private static final int CALLS = 100_000;
+
+    private CodePageBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Charset ebcdic = Charset.forName("IBM037");
+        CodePage page = CodePage.forCcsid(37);
+        byte[] text = "   1234567 AB CD  ".getBytes(ebcdic);
+        byte[] single = new byte[50 * 20];
+        for (int i = 0; i < single.length; i++) {
+            single[i] = text[i % text.length];
+        }
+        char[] chars = new char[20];
+
+        Benchmarks.run("037: decode to String", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < single.length; offset += 20) {
+                n += page.decode(single, offset, 20).length();
+            }
+            return n;
+        });
+        Benchmarks.run("037: decode into a reused char[]", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < single.length; offset += 20) {
+                n += page.decode(single, offset, 20, chars, 0) + chars[3];
+            }
+            return n;
+        });
+        Benchmarks.run("037: digit bytes without decoding", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < single.length; offset += 20) {
+                for (int i = offset; i < offset + 20; i++) {
+                    int digit = page.digitValue(single[i]);
+                    n += digit >= 0 ? digit : single[i] == page.getSpace() ? 1 : 0;
+                }
+            }
+            return n;
+        });
+        Benchmarks.run("037 baseline: new String(bytes, IBM037)", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < single.length; offset += 20) {
+                n += new String(single, offset, 20, ebcdic).length();
+            }
+            return n;
+        });
+        Benchmarks.run("037 baseline: new String, trim, check digits", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < single.length; offset += 20) {
+                String s = new String(single, offset, 20, ebcdic);
+                for (int i = 0; i < s.length(); i++) {
+                    char c = s.charAt(i);
+                    n += c >= '0' && c <= '9' ? c - '0' : c == ' ' ? 1 : 0;
+                }
+            }
+            return n;
+        });
+
+        Charset mixed = Charset.forName("x-IBM935");
+        CodePage mixedPage = CodePage.forCharset(mixed);
+        byte[] field = new byte[30];
+        Arrays.fill(field, (byte) 0x40);
+        byte[] han = "AB中文测试汉字 x".getBytes(mixed);
+        System.arraycopy(han, 0, field, 0, han.length);
+        byte[] nls = new byte[20 * 30];
+        for (int i = 0; i < 20; i++) {
+            System.arraycopy(field, 0, nls, i * 30, 30);
+        }
+
+        Benchmarks.run("935: decodeMixed to String", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < nls.length; offset += 30) {
+                n += mixedPage.decodeMixed(nls, offset, 30).length();
+            }
+            return n;
+        });
+        Benchmarks.run("935 baseline: new String(bytes, x-IBM935)", CALLS, () -> {
+            long n = 0;
+            for (int offset = 0; offset < nls.length; offset += 30) {
+                n += new String(nls, offset, 30, mixed).length();
+            }
+            return n;
+        });
+    }
+}
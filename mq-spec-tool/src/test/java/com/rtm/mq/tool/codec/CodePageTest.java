@@ -0,0 +1,137 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the lookup tables against JDK charset decoding.
+ */
+class CodePageTest {
+
+    private static final String HAN = "中文测试汉字编码解码银行账户客户名称地址电话号码";
+
+    @Test
+    void mapsIsoLatin1ToTheSharedInstance() {
+        assertSame(CodePage.ISO_8859_1, CodePage.forCcsid(819));
+        assertSame(CodePage.ISO_8859_1, CodePage.forCharset(StandardCharsets.ISO_8859_1));
+        assertSame(CodePage.forCcsid(37), CodePage.forCcsid(37));
+    }
+
+    @Test
+    void decodesEbcdicLikeTheJdkCharset() {
+        CodePage page = CodePage.forCcsid(37);
+        byte[] bytes = "Hello, World 123 +-".getBytes(Charset.forName("IBM037"));
+
+        assertEquals("Hello, World 123 +-", page.decode(bytes, 0, bytes.length));
+        assertEquals("World", page.decodeMixed(bytes, 7, 5));
+    }
+
+    @Test
+    void decodesEverySingleByteLikeTheJdkCharset() {
+        byte[] all = new byte[256];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = (byte) i;
+        }
+
+        for (CodePage page : new CodePage[] {CodePage.forCcsid(37), CodePage.ISO_8859_1}) {
+            String expected = new String(all, page.getCharset());
+            char[] chars = new char[all.length];
+            StringBuilder appended = new StringBuilder();
+            for (byte b : all) {
+                appended.append(page.toChar(b));
+            }
+
+            assertEquals(expected, page.decode(all, 0, all.length));
+            assertEquals(all.length, page.decode(all, 0, all.length, chars, 0));
+            assertEquals(expected, new String(chars));
+            assertEquals(expected, appended.toString());
+        }
+    }
+
+    @Test
+    void decodesShiftedDoubleByteTextLikeTheJdkCharset() {
+        Charset charset = Charset.forName("x-IBM935");
+        CodePage page = CodePage.forCharset(charset);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < 8; j++) {
+                text.append(random.nextBoolean() ? (char) ('A' + random.nextInt(26)) : HAN.charAt(random.nextInt(HAN.length())));
+            }
+            byte[] bytes = text.toString().getBytes(charset);
+            assertEquals(new String(bytes, charset), page.decodeMixed(bytes, 0, bytes.length), text.toString());
+        }
+    }
+
+    @Test
+    void decodesOnlyNlsFieldsWithTheDoubleByteTable() {
+        Charset charset = Charset.forName("x-IBM935");
+        DecodePlan plan = DecodePlan.compile(new OffsetCalculator().calculate("m", Arrays.asList(
+            FieldNode.builder().originalName("t").length(20).dataType("A/N").build(),
+            FieldNode.builder().originalName("n").length(8).dataType("N").build(),
+            FieldNode.builder().originalName("z").length(30).dataType("NLS String").build())));
+        byte[] record = new byte[58];
+        Arrays.fill(record, (byte) 0x40);
+        put(record, 0, "  Hello World".getBytes(charset));
+        put(record, 20, "-0001234".getBytes(charset));
+        put(record, 28, "AB中文测试 x".getBytes(charset));
+
+        DecodedMessage message = new MessageDecoder(plan, CodePage.forCharset(charset)).wrap(record);
+
+        assertEquals("Hello World", message.getTrimmedString("t"));
+        assertEquals(-1234, message.getLong("n"));
+        assertEquals("AB中文测试 x", message.getTrimmedString("z"));
+        assertEquals(new String(record, 28, 30, charset), message.getString("z"));
+        assertTrue(message.getField("z").trimmedContentEquals("AB中文测试 x"));
+    }
+
+    @Test
+    void keepsSingleBytePagesOffTheDoubleBytePath() {
+        assertFalse(CodePage.forCcsid(37).isMixed());
+        assertTrue(CodePage.forCharset(Charset.forName("x-IBM935")).isMixed());
+    }
+
+    @Test
+    void knowsTheSpaceSignAndDigitBytes() {
+        CodePage page = CodePage.forCcsid(37);
+
+        assertEquals((byte) 0x40, page.getSpace());
+        assertEquals((byte) 0x4e, page.getPlus());
+        assertEquals((byte) 0x60, page.getMinus());
+        assertEquals(7, page.digitValue((byte) 0xf7));
+        assertEquals(-1, page.digitValue((byte) 0xc1));
+        assertEquals('A', page.toChar((byte) 0xc1));
+    }
+
+    @Test
+    void decodesIntoCharArrays() {
+        byte[] bytes = {0x41, 0x42, 0x43};
+        char[] chars = new char[4];
+
+        assertEquals(3, CodePage.ISO_8859_1.decode(bytes, 0, 3, chars, 1));
+        assertEquals("\0ABC", new String(chars));
+    }
+
+    @Test
+    void rejectsUnknownCcsids() {
+        assertThrows(IllegalArgumentException.class, () -> CodePage.forCcsid(99999));
+        assertThrows(IllegalArgumentException.class, () -> CodePage.forCharset(StandardCharsets.UTF_8));
+    }
+
+    private static void put(byte[] record, int offset, byte[] bytes) {
+        System.arraycopy(bytes, 0, record, offset, bytes.length);
+    }
+}
@@ -0,0 +1,132 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.Benchmarks;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Amount parsing and formatting on a record of twenty 18-byte display
+ * amounts and twenty 10-byte packed amounts.
+ *
+ * <p>Compares the byte-level paths with the trimmed-string
+ * {@code new BigDecimal(text)} parsing and {@code toPlainString} padding
+ * they replace. See {@link Benchmarks} for how to run it.</p>
+ */
+public final class DecimalsBenchmark {
+
+    private static final int CALLS = 200_000;
+    private static final int FIELDS = 20;
+
+    private DecimalsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<FieldNode> fields = new ArrayList<>();
+        for (int i = 0; i < FIELDS; i++) {
+            fields.add(FieldNode.builder().originalName("amt" + i).length(18).dataType("Amount").build());
+        }
+        for (int i = 0; i < FIELDS; i++) {
+            fields.add(FieldNode.builder().originalName("pk" + i).length(10).build());
+        }
+        FieldGroup group = new FieldGroup();
+        group.setFields(fields);
+        DecodePlan plan = DecodePlan.compile("request", group);
+        MessageEncoder encoder = new MessageEncoder(plan);
+        MessageDecoder decoder = new MessageDecoder(plan);
+
+        BigDecimal[] amounts = new BigDecimal[FIELDS];
+        byte[] record;
+        try (RecordWriter writer = encoder.newRecord()) {
+            for (int i = 0; i < FIELDS; i++) {
+                amounts[i] = BigDecimal.valueOf(-123_456_789L * (i + 1), 2);
+                writer.setDecimal("amt" + i, amounts[i]);
+                writer.setPacked("pk" + i, amounts[i].unscaledValue().longValue());
+            }
+            record = writer.toByteArray();
+        }
+        FieldSlot[] slots = plan.slots();
+        int[] offsets = new int[FIELDS];
+        for (int i = 0; i < FIELDS; i++) {
+            offsets[i] = slots[i].getOffset();
+        }
+        String[] amountPaths = new String[FIELDS];
+        for (int i = 0; i < FIELDS; i++) {
+            amountPaths[i] = "amt" + i;
+        }
+        long[] sum = new long[1];
+        FieldVisitor unscaled = value -> {
+            if (value.getSlot().getId() < FIELDS) {
+                sum[0] += value.getUnscaled(2);
+            }
+        };
+        FieldVisitor decimal = value -> {
+            if (value.getSlot().getId() < FIELDS) {
+                sum[0] += value.getDecimal().scale();
+            }
+        };
+        FieldVisitor packed = value -> {
+            if (value.getSlot().getId() >= FIELDS) {
+                sum[0] += value.getPacked();
+            }
+        };
+
+        Benchmarks.run("display amounts, getUnscaled(2)", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, unscaled);
+            return sum[0];
+        });
+        Benchmarks.run("display amounts, getDecimal", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, decimal);
+            return sum[0];
+        });
+        Benchmarks.run("baseline: new BigDecimal(trimmed text)", CALLS, () -> {
+            long total = 0;
+            for (int offset : offsets) {
+                total += new BigDecimal(new String(record, offset, 18, StandardCharsets.ISO_8859_1).trim()).scale();
+            }
+            return total;
+        });
+        Benchmarks.run("packed amounts, getPacked", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, packed);
+            return sum[0];
+        });
+        Benchmarks.run("display amounts, setDecimal", CALLS, () -> {
+            try (RecordWriter writer = encoder.newRecord()) {
+                for (int i = 0; i < FIELDS; i++) {
+                    writer.setDecimal(amountPaths[i], amounts[i]);
+                }
+                return writer.toByteArray().length;
+            }
+        });
+        Benchmarks.run("baseline: toPlainString + pad", CALLS, () -> {
+            StringBuilder text = new StringBuilder(FIELDS * 18);
+            for (BigDecimal amount : amounts) {
+                String plain = amount.toPlainString();
+                text.append(plain);
+                for (int pad = plain.length(); pad < 18; pad++) {
+                    text.append(' ');
+                }
+            }
+            return text.toString().getBytes(StandardCharsets.ISO_8859_1).length;
+        });
+        Benchmarks.allocation("display amounts, getUnscaled(2)", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, unscaled);
+            return sum[0];
+        });
+        Benchmarks.allocation("baseline: new BigDecimal(trimmed text)", CALLS, () -> {
+            long total = 0;
+            for (int offset : offsets) {
+                total += new BigDecimal(new String(record, offset, 18, StandardCharsets.ISO_8859_1).trim()).scale();
+            }
+            return total;
+        });
+    }
+}
@@ -0,0 +1,319 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the byte-level numeric paths against {@code BigDecimal} text
+ * parsing and formatting, and against hand-built packed and zoned images.
+ */
+class DecimalsTest {
+
+    private static final int RUNS = 20_000;
+
+    private static final DecodePlan PLAN = DecodePlan.compile("request", spec());
+    private static final MessageDecoder DECODER = new MessageDecoder(PLAN);
+    private static final MessageEncoder ENCODER = new MessageEncoder(PLAN);
+
+    @Test
+    void writesAndParsesPackedDecimals() {
+        byte[] field = new byte[3];
+
+        Decimals.writePacked(field, 0, 3, -12345, "amount");
+
+        assertArrayEquals(new byte[] {0x12, 0x34, 0x5d}, field);
+        assertEquals(-12345, Decimals.parsePacked(field, 0, 3, "amount"));
+    }
+
+    @Test
+    void writesAndParsesZonedDecimals() {
+        byte[] field = new byte[4];
+
+        Decimals.writeZoned(field, 0, 4, -42, "amount");
+
+        assertArrayEquals(new byte[] {0x30, 0x30, 0x34, 0x72}, field);
+        assertEquals(-42, Decimals.parseZoned(field, 0, 4, "amount"));
+    }
+
+    @Test
+    void acceptsEbcdicZonesAndPositiveSignNibbles() {
+        assertEquals(123, Decimals.parseZoned(new byte[] {(byte) 0xf1, (byte) 0xf2, (byte) 0xc3}, 0, 3, "n"));
+        assertEquals(-123, Decimals.parseZoned(new byte[] {(byte) 0xf1, (byte) 0xf2, (byte) 0xd3}, 0, 3, "n"));
+        assertEquals(123, Decimals.parsePacked(new byte[] {0x12, 0x3f}, 0, 2, "n"));
+    }
+
+    @Test
+    void roundTripsTheLongRange() {
+        byte[] packed = new byte[10];
+        Decimals.writePacked(packed, 0, packed.length, Long.MIN_VALUE, "n");
+        assertEquals(Long.MIN_VALUE, Decimals.parsePacked(packed, 0, packed.length, "n"));
+
+        byte[] zoned = new byte[19];
+        Decimals.writeZoned(zoned, 0, zoned.length, Long.MAX_VALUE, "n");
+        assertEquals(Long.MAX_VALUE, Decimals.parseZoned(zoned, 0, zoned.length, "n"));
+    }
+
+    @Test
+    void rejectsValuesThatDoNotFit() {
+        assertThrows(IllegalArgumentException.class, () -> Decimals.writePacked(new byte[2], 0, 2, 1000, "n"));
+        assertThrows(IllegalArgumentException.class, () -> Decimals.writeZoned(new byte[2], 0, 2, 100, "n"));
+        assertThrows(IllegalArgumentException.class,
+            () -> Decimals.unscaled(new BigDecimal("1.234"), 2, "n"));
+    }
+
+    @Test
+    void rejectsInvalidNibblesAndOverflow() {
+        assertThrows(NumberFormatException.class, () -> Decimals.parsePacked(new byte[] {(byte) 0xa1, 0x0c}, 0, 2, "n"));
+        byte[] twenty = new byte[20];
+        Arrays.fill(twenty, (byte) 0x39);
+        assertThrows(NumberFormatException.class, () -> Decimals.parseZoned(twenty, 0, twenty.length, "n"));
+    }
+
+    @Test
+    void convertsBetweenDecimalsAndUnscaledValues() {
+        assertEquals(12345, Decimals.unscaled(new BigDecimal("123.45"), 2, "n"));
+        assertEquals(12300, Decimals.unscaled(new BigDecimal("123"), 2, "n"));
+        assertEquals(new BigDecimal("-1.05"), Decimals.toDecimal(-105, 2));
+    }
+
+    @Test
+    void parsesDisplayDecimalsLikeBigDecimalText() {
+        Random random = new Random(21);
+        for (int run = 0; run < RUNS; run++) {
+            byte[] record = blankRecord();
+            byte[] text = randomText(random).getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(text, 0, record, 0, Math.min(22, text.length));
+            String field = new String(record, 0, 22, StandardCharsets.ISO_8859_1);
+            ByteBuffer direct = ByteBuffer.allocateDirect(record.length).put(record);
+            direct.flip();
+
+            BigDecimal expected = parseText(field);
+            if (expected == null) {
+                assertThrows(NumberFormatException.class, () -> DECODER.wrap(record).getDecimal("amt"), field);
+                continue;
+            }
+            assertEquals(expected, DECODER.wrap(record).getDecimal("amt"), field);
+            assertEquals(expected, DECODER.wrap(direct).getField("amt").getDecimal(), field);
+
+            // Without a decimal point the digits are the unscaled value at the implied scale
+            int scale = random.nextInt(6);
+            BigDecimal scaled = field.indexOf('.') >= 0 ? expected : new BigDecimal(expected.unscaledValue(), scale);
+            Long unscaled = unscaledExact(scaled, scale);
+            if (unscaled == null) {
+                assertThrows(NumberFormatException.class, () -> DECODER.wrap(record).getField("amt").getUnscaled(scale));
+            } else {
+                assertEquals(unscaled.longValue(), DECODER.wrap(record).getField("amt").getUnscaled(scale), field);
+            }
+        }
+    }
+
+    @Test
+    void writesDisplayDecimalsLikeToPlainString() {
+        Random random = new Random(22);
+        for (int run = 0; run < RUNS; run++) {
+            BigDecimal value = new BigDecimal(
+                BigInteger.valueOf(randomLong(random)).divide(BigInteger.TEN.pow(random.nextInt(10))),
+                random.nextInt(9) - 1);
+            String plain = value.toPlainString();
+            String abs = value.abs().toPlainString();
+
+            try (RecordWriter writer = ENCODER.newRecord()) {
+                if (plain.length() > 22) {
+                    assertThrows(IllegalArgumentException.class, () -> writer.setDecimal("amt", value));
+                } else {
+                    writer.setDecimal("amt", value);
+                    byte[] record = writer.toByteArray();
+                    assertEquals(padRight(plain, 22), new String(record, 0, 22, StandardCharsets.ISO_8859_1));
+                    assertEquals(0, value.compareTo(DECODER.wrap(record).getDecimal("amt")), plain);
+                }
+
+                // Right-aligned numeric fields are zero padded after the sign
+                if (plain.length() > 12) {
+                    assertThrows(IllegalArgumentException.class, () -> writer.setDecimal("num", value));
+                } else {
+                    writer.setDecimal("num", value);
+                    byte[] record = writer.toByteArray();
+                    String sign = value.signum() < 0 ? "-" : "";
+                    assertEquals(sign + zeros(12 - sign.length() - abs.length()) + abs,
+                        new String(record, 22, 12, StandardCharsets.ISO_8859_1));
+                    assertEquals(0, value.compareTo(DECODER.wrap(record).getDecimal("num")), plain);
+                }
+            }
+        }
+    }
+
+    @Test
+    void writesPackedAndZonedLikeTheirDigitStrings() {
+        Random random = new Random(23);
+        for (int run = 0; run < RUNS; run++) {
+            long value = randomLong(random);
+            String digits = value == Long.MIN_VALUE ? "9223372036854775808" : Long.toString(Math.abs(value));
+
+            for (String path : new String[] {"pk", "pk4"}) {
+                int length = PLAN.getPathIndex().getLength(PLAN.getPathIndex().find(path));
+                int nibbles = 2 * length - 1;
+                try (RecordWriter writer = ENCODER.newRecord()) {
+                    if (digits.length() > nibbles) {
+                        assertThrows(IllegalArgumentException.class, () -> writer.setPacked(path, value));
+                        continue;
+                    }
+                    writer.setPacked(path, value);
+                    byte[] record = writer.toByteArray();
+                    int offset = PLAN.resolveOffset(path);
+
+                    assertEquals(zeros(nibbles - digits.length()) + digits + (value < 0 ? "D" : "C"),
+                        hex(record, offset, length), path + " " + value);
+                    assertEquals(value, DECODER.wrap(record).getField(path).getPacked());
+                }
+            }
+
+            for (String path : new String[] {"zn", "zn6"}) {
+                int length = PLAN.getPathIndex().getLength(PLAN.getPathIndex().find(path));
+                try (RecordWriter writer = ENCODER.newRecord()) {
+                    if (digits.length() > length) {
+                        assertThrows(IllegalArgumentException.class, () -> writer.setZoned(path, value));
+                        continue;
+                    }
+                    writer.setZoned(path, value);
+                    byte[] record = writer.toByteArray();
+                    int offset = PLAN.resolveOffset(path);
+
+                    byte[] expected = (zeros(length - digits.length()) + digits).getBytes(StandardCharsets.ISO_8859_1);
+                    if (value < 0) {
+                        expected[length - 1] = (byte) (0x70 | (expected[length - 1] & 0x0f));
+                    }
+                    assertArrayEquals(expected, Arrays.copyOfRange(record, offset, offset + length), path + " " + value);
+                    assertEquals(value, DECODER.wrap(record).getField(path).getZoned());
+
+                    // The same digits with EBCDIC zones
+                    for (int i = 0; i < length; i++) {
+                        record[offset + i] = (byte) (0xf0 | (record[offset + i] & 0x0f));
+                    }
+                    if (value < 0) {
+                        record[offset + length - 1] = (byte) (0xd0 | (record[offset + length - 1] & 0x0f));
+                    }
+                    assertEquals(value, DECODER.wrap(record).getField(path).getZoned());
+                }
+            }
+        }
+    }
+
+    @Test
+    void writesAndReadsDecimalsAtAnImpliedScale() {
+        try (RecordWriter writer = ENCODER.newRecord()) {
+            writer.setPacked("pk", new BigDecimal("-1234.5"), 2)
+                .setZoned("zn6", new BigDecimal("12.34"), 2)
+                .setDecimal("num", new BigDecimal("7.5"), 2);
+            DecodedMessage message = DECODER.wrap(writer.toByteArray());
+
+            assertEquals(new BigDecimal("-1234.50"), message.getField("pk").getPackedDecimal(2));
+            assertEquals(new BigDecimal("12.34"), message.getField("zn6").getZonedDecimal(2));
+            assertEquals("000000000750", message.getString("num"));
+            assertEquals(new BigDecimal("7.50"), message.getField("num").getDecimal(2));
+            assertThrows(IllegalArgumentException.class, () -> writer.setPacked("pk", new BigDecimal("1.234"), 2));
+        }
+    }
+
+    private static BigDecimal parseText(String field) {
+        String trimmed = field.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(trimmed);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long unscaledExact(BigDecimal value, int scale) {
+        try {
+            return value.setScale(scale).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static String randomText(Random random) {
+        String[] alphabet = {"0", "1", "9", ".", "-", "+", " ", "x"};
+        StringBuilder text = new StringBuilder();
+        int length = random.nextInt(23);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet[random.nextInt(random.nextInt(4) == 0 ? alphabet.length : 3)]);
+        }
+        return text.toString();
+    }
+
+    private static long randomLong(Random random) {
+        if (random.nextInt(50) == 0) {
+            return random.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        int digits = random.nextInt(20);
+        long value = 0;
+        for (int i = 0; i < digits; i++) {
+            value = value * 10 + random.nextInt(10);
+        }
+        if (digits == 19 && random.nextBoolean()) {
+            value = random.nextLong();
+        }
+        return random.nextBoolean() && value != Long.MIN_VALUE ? -value : value;
+    }
+
+    private static byte[] blankRecord() {
+        byte[] record = new byte[PLAN.getTotalLength()];
+        Arrays.fill(record, (byte) ' ');
+        return record;
+    }
+
+    private static String padRight(String text, int length) {
+        StringBuilder padded = new StringBuilder(text);
+        while (padded.length() < length) {
+            padded.append(' ');
+        }
+        return padded.toString();
+    }
+
+    private static String zeros(int count) {
+        char[] zeros = new char[Math.max(0, count)];
+        Arrays.fill(zeros, '0');
+        return new String(zeros);
+    }
+
+    private static String hex(byte[] bytes, int offset, int length) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = offset; i < offset + length; i++) {
+            hex.append(Character.toUpperCase(Character.forDigit((bytes[i] >> 4) & 0x0f, 16)))
+                .append(Character.toUpperCase(Character.forDigit(bytes[i] & 0x0f, 16)));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A display amount, a right-aligned number and packed and zoned fields
+     * of two lengths each.
+     */
+    private static FieldGroup spec() {
+        FieldGroup group = new FieldGroup();
+        group.setFields(Arrays.asList(
+            field("amt", 22, "Amount"), field("num", 12, "N"),
+            field("pk", 10, null), field("pk4", 4, null),
+            field("zn", 19, null), field("zn6", 6, null)));
+        return group;
+    }
+
+    private static FieldNode field(String name, int length, String dataType) {
+        return FieldNode.builder().originalName(name).camelCaseName(name).length(length).dataType(dataType).build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.Benchmarks;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetEntry;
+import com.rtm.mq.tool.offset.OffsetTable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decoder throughput on a 2.9 KB record: ten 10-byte header fields and a
+ * 0..20 group of ten 14-byte fields (210 fields).
+ *
+ * <p>Compares visiting every field, touching a single field and the
+ * hand-rolled {@code substring} slicing the decoder replaces. See
+ * {@link Benchmarks} for how to run it.</p>
+ */
+public final class MessageDecoderBenchmark {
+
+    private static final int CALLS = 200_000;
+
+    private MessageDecoderBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<FieldNode> roots = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            roots.add(FieldNode.builder().originalName("h" + i).length(10).build());
+        }
+        List<FieldNode> children = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            children.add(FieldNode.builder().originalName("c" + i).length(14).build());
+        }
+        roots.add(FieldNode.builder().originalName("g").occurrenceCount("0..20").children(children).build());
+        OffsetTable table = new OffsetCalculator().calculate("m", roots);
+        DecodePlan plan = DecodePlan.compile(table);
+        MessageDecoder decoder = new MessageDecoder(plan);
+
+        byte[] record = new byte[plan.getTotalLength()];
+        Arrays.fill(record, (byte) '1');
+        int[] offsets = table.getEntries().stream().mapToInt(entry -> (int) entry.getOffset()).toArray();
+        int[] lengths = table.getEntries().stream().mapToInt(OffsetEntry::getLength).toArray();
+        long[] sum = new long[1];
+
+        System.out.printf("record %d bytes, %d fields%n", record.length, offsets.length);
+        Benchmarks.run("decode, blank check on every field", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, value -> sum[0] += value.isBlank() ? 0 : 1);
+            return sum[0];
+        });
+        Benchmarks.run("decode, parse the first field", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, value -> {
+                if (value.getSlot().getId() == 0) {
+                    sum[0] += value.getLong();
+                }
+            });
+            return sum[0];
+        });
+        Benchmarks.run("wrap, read one group field by path", CALLS,
+            () -> decoder.wrap(record).getLong("g[7].c3"));
+        Benchmarks.run("baseline: new String + substring per field", CALLS, () -> {
+            String text = new String(record, StandardCharsets.ISO_8859_1);
+            long blank = 0;
+            for (int i = 0; i < offsets.length; i++) {
+                blank += text.substring(offsets[i], offsets[i] + lengths[i]).trim().isEmpty() ? 0 : 1;
+            }
+            return blank;
+        });
+        Benchmarks.allocation("decode, blank check on every field", CALLS, () -> {
+            sum[0] = 0;
+            decoder.decode(record, value -> sum[0] += value.isBlank() ? 0 : 1);
+            return sum[0];
+        });
+    }
+}
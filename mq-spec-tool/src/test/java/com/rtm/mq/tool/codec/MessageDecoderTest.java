@@ -0,0 +1,157 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetEntry;
+import com.rtm.mq.tool.offset.OffsetTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the decoder against the expanded entries of {@link OffsetTable},
+ * sliced with {@code new String}, on random field trees.
+ */
+class MessageDecoderTest {
+
+    private static final int TREES = 500;
+
+    @Test
+    void visitsEveryOffsetTableEntryOnRandomTrees() {
+        Random random = new Random(7);
+        for (int tree = 0; tree < TREES; tree++) {
+            OffsetTable table = new OffsetCalculator().calculate("m", randomRoots(random));
+            MessageDecoder decoder = new MessageDecoder(DecodePlan.compile(table));
+            byte[] record = randomRecord(random, (int) table.getTotalLength() + 3);
+
+            List<String> expected = new ArrayList<>();
+            for (OffsetEntry entry : table.getEntries()) {
+                expected.add(entry.getFieldPath() + "@" + entry.getOffset() + ":"
+                    + new String(record, (int) entry.getOffset(), entry.getLength(), StandardCharsets.ISO_8859_1));
+            }
+
+            List<String> fromArray = new ArrayList<>();
+            decoder.decode(record, value -> fromArray.add(describe(value)));
+            List<String> fromDirectBuffer = new ArrayList<>();
+            ByteBuffer direct = ByteBuffer.allocateDirect(record.length).put(record);
+            direct.flip();
+            decoder.decode(direct, value -> fromDirectBuffer.add(describe(value)));
+
+            assertEquals(expected, fromArray, "tree " + tree);
+            assertEquals(expected, fromDirectBuffer, "tree " + tree);
+        }
+    }
+
+    @Test
+    void resolvesEveryOffsetTableEntryByPath() {
+        Random random = new Random(11);
+        for (int tree = 0; tree < TREES; tree++) {
+            OffsetTable table = new OffsetCalculator().calculate("m", randomRoots(random));
+            byte[] record = randomRecord(random, (int) table.getTotalLength());
+            DecodedMessage message = new MessageDecoder(DecodePlan.compile(table)).wrap(record);
+
+            for (OffsetEntry entry : table.getEntries()) {
+                String path = entry.getFieldPath();
+                assertEquals(new String(record, (int) entry.getOffset(), entry.getLength(), StandardCharsets.ISO_8859_1),
+                    message.getString(path), path);
+                assertEquals(path, message.getField(path).getPath());
+            }
+        }
+    }
+
+    @Test
+    void reusesOneValuePerThreadAndAFreshOneWhenNested() {
+        MessageDecoder decoder = new MessageDecoder(DecodePlan.compile(
+            new OffsetCalculator().calculate("m", Arrays.asList(leaf("a", 2), leaf("b", 3)))));
+        byte[] record = "aabbb".getBytes(StandardCharsets.ISO_8859_1);
+        FieldValue[] seen = new FieldValue[3];
+
+        decoder.decode(record, value -> seen[0] = value);
+        decoder.decode(record, value -> {
+            seen[1] = value;
+            decoder.decode(record, inner -> seen[2] = inner);
+        });
+
+        assertSame(seen[0], seen[1]);
+        assertNotSame(seen[1], seen[2]);
+    }
+
+    @Test
+    void parsesSignedDisplayNumbers() {
+        DecodePlan plan = DecodePlan.compile(new OffsetCalculator().calculate("m", Arrays.asList(leaf("n", 12))));
+
+        DecodedMessage message = new MessageDecoder(plan).wrap("  -000012345".getBytes(StandardCharsets.ISO_8859_1));
+
+        assertEquals(-12345, message.getLong("n"));
+    }
+
+    @Test
+    void rejectsShortRecords() {
+        MessageDecoder decoder = new MessageDecoder(DecodePlan.compile(
+            new OffsetCalculator().calculate("m", Arrays.asList(leaf("a", 4)))));
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[3], value -> { }));
+        assertThrows(IllegalArgumentException.class, () -> decoder.wrap(new byte[3]));
+    }
+
+    private static String describe(FieldValue value) {
+        return value.getPath() + "@" + value.getOffset() + ":" + value.getString();
+    }
+
+    private static byte[] randomRecord(Random random, int length) {
+        byte[] record = new byte[length];
+        for (int i = 0; i < length; i++) {
+            record[i] = (byte) ('A' + random.nextInt(26));
+        }
+        return record;
+    }
+
+    /**
+     * Random trees of up to four levels, with repeating groups of 0..4 and
+     * zero-length leaves.
+     */
+    static List<FieldNode> randomRoots(Random random) {
+        int[] ids = {0};
+        List<FieldNode> roots = new ArrayList<>();
+        int count = random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            roots.add(randomNode(random, 0, ids));
+        }
+        return roots;
+    }
+
+    private static FieldNode randomNode(Random random, int depth, int[] ids) {
+        FieldNode.Builder builder = FieldNode.builder().originalName("f" + ids[0]++);
+        if (random.nextInt(4) == 0) {
+            builder.occurrenceCount("0.." + (random.nextInt(6) == 0 ? 0 : random.nextInt(4) + 1));
+        }
+        if (depth < 3 && random.nextInt(3) == 0) {
+            List<FieldNode> children = new ArrayList<>();
+            int count = random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                children.add(randomNode(random, depth + 1, ids));
+            }
+            builder.children(children);
+            if (count == 0) {
+                builder.length(random.nextInt(5) + 1);
+            }
+        } else {
+            builder.length(random.nextInt(6));
+        }
+        return builder.build();
+    }
+
+    private static FieldNode leaf(String name, int length) {
+        return FieldNode.builder().originalName(name).length(length).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageEncoderTest {
+
+    @Test
+    void padsAndJustifiesLikeTheConverterXml() {
+        DecodePlan plan = DecodePlan.compile("request", spec());
+
+        byte[] record = new MessageEncoder(plan).encode(new LinkedHashMap<>());
+
+        // name (default X), note (BLANK), amt, then 3 x (groupid, counter, productId, qty)
+        String element = "CBADEL    0003     000000";
+        assertEquals("X       " + "     " + "          " + element + element + element,
+            new String(record, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void roundTripsValuesThroughTheDecoder() {
+        DecodePlan plan = DecodePlan.compile("request", spec());
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("name", "abc");
+        values.put("amt", new BigDecimal("12.50"));
+        values.put("productDel[1].qty", -42L);
+        values.put("productDel[2].produtID", "AB");
+
+        byte[] record = new MessageEncoder(plan).encode(values);
+
+        assertEquals(plan.getTotalLength(), record.length);
+        DecodedMessage message = new MessageDecoder(plan).wrap(record);
+        assertEquals("abc", message.getTrimmedString("name"));
+        assertEquals(new BigDecimal("12.50"), message.getDecimal("amt"));
+        assertEquals("-00042", message.getString("productDel[1].qty"));
+        assertEquals(-42, message.getLong("productDel[1].qty"));
+        assertEquals("AB   ", message.getString("productDel[2].produtID"));
+        assertEquals(3, message.getLong("productDel[2].occurenceCount"));
+        assertTrue(message.getField("note").isBlank());
+    }
+
+    @Test
+    void visitsFieldsInRecordOrder() {
+        DecodePlan plan = DecodePlan.compile("request", spec());
+        byte[] record = new MessageEncoder(plan).encode(new LinkedHashMap<>());
+
+        List<String> paths = new ArrayList<>();
+        new MessageDecoder(plan).decode(record, value -> paths.add(value.getPath()));
+
+        assertEquals(3 + 3 * 4, paths.size());
+        assertEquals(Arrays.asList("name", "note", "amt", "productDel[0].groupid"), paths.subList(0, 4));
+        assertEquals("productDel[2].qty", paths.get(paths.size() - 1));
+    }
+
+    @Test
+    void returnsRecordBuffersToThePool() {
+        MessageEncoder encoder = new MessageEncoder(DecodePlan.compile("request", spec()));
+
+        try (RecordWriter record = encoder.newRecord()) {
+            record.setLong("productDel[0].qty", 123456).set("name", "abcdefgh");
+            assertEquals(123456, new MessageDecoder(encoder.getPlan()).wrap(record.array()).getLong("productDel[0].qty"));
+        }
+
+        assertEquals(1, encoder.getPool().getIdleCount());
+    }
+
+    @Test
+    void rejectsUnknownPathsAndOversizedValues() {
+        MessageEncoder encoder = new MessageEncoder(DecodePlan.compile("request", spec()));
+        Map<String, Object> unknown = new LinkedHashMap<>();
+        unknown.put("productDel[3].qty", 1);
+        Map<String, Object> oversized = new LinkedHashMap<>();
+        oversized.put("productDel[0].qty", 1234567);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(unknown));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(oversized));
+        try (RecordWriter record = encoder.newRecord()) {
+            assertThrows(IllegalArgumentException.class, () -> record.setLong("productDel[0].qty", Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * A request with a default, a BLANK default, an amount and a 0..3
+     * group carrying its group id and counter.
+     */
+    private static FieldGroup spec() {
+        List<FieldNode> children = new ArrayList<>();
+        children.add(FieldNode.builder().originalName("groupid").camelCaseName("groupid").length(10)
+            .groupId("CBADEL").isTransitory(true).build());
+        children.add(FieldNode.builder().originalName("occurenceCount").camelCaseName("occurenceCount").length(4)
+            .occurrenceCount("0..3").isTransitory(true).build());
+        children.add(leaf("produtID", 5, "String").build());
+        children.add(leaf("qty", 6, "Number").build());
+
+        FieldGroup group = new FieldGroup();
+        group.setFields(Arrays.asList(
+            leaf("name", 8, "String").defaultValue("X").build(),
+            leaf("note", 5, "String").defaultValue("BLANK").build(),
+            leaf("amt", 10, "Amount").build(),
+            FieldNode.builder().originalName("ProductDel").camelCaseName("productDel").occurrenceCount("0..3")
+                .isArray(true).children(children).build()));
+        return group;
+    }
+
+    private static FieldNode.Builder leaf(String name, int length, String dataType) {
+        return FieldNode.builder().originalName(name).camelCaseName(name).length(length).dataType(dataType);
+    }
+}
@@ -0,0 +1,85 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.Benchmarks;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetEntry;
+import com.rtm.mq.tool.offset.OffsetTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path lookup cost on a 4 KB layout of twenty header fields and a 0..25
+ * group of twelve fields (320 paths).
+ *
+ * <p>Compares the perfect-hash index with a {@code HashMap} from path to
+ * entry and with a scan of the {@link OffsetTable} entries, and times
+ * building the index. See {@link Benchmarks} for how to run it.</p>
+ */
+public final class PathIndexBenchmark {
+
+    private static final int CALLS = 1_000_000;
+
+    private PathIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<FieldNode> roots = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            roots.add(FieldNode.builder().originalName("header" + i).length(12).build());
+        }
+        List<FieldNode> children = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            children.add(FieldNode.builder().originalName("item" + i).length(12).build());
+        }
+        roots.add(FieldNode.builder().originalName("items").occurrenceCount("0..25").children(children).build());
+        OffsetTable table = new OffsetCalculator().calculate("m", roots);
+        DecodePlan plan = DecodePlan.compile(table);
+        PathIndex index = plan.getPathIndex();
+
+        Map<String, OffsetEntry> byPath = new HashMap<>();
+        for (OffsetEntry entry : table.getEntries()) {
+            byPath.put(entry.getFieldPath(), entry);
+        }
+        String[] paths = {"header3", "items[17].item5", "header19"};
+
+        System.out.printf("%d bytes, %d paths%n", table.getTotalLength(), index.size());
+        Benchmarks.run("PathIndex.offsetOf, three paths", CALLS, () -> {
+            long sum = 0;
+            for (String path : paths) {
+                sum += index.offsetOf(path);
+            }
+            return sum;
+        });
+        Benchmarks.run("HashMap<String, OffsetEntry>, three paths", CALLS, () -> {
+            long sum = 0;
+            for (String path : paths) {
+                sum += byPath.get(path).getOffset();
+            }
+            return sum;
+        });
+        Benchmarks.run("scan OffsetTable entries, three paths", CALLS / 100, () -> {
+            long sum = 0;
+            for (String path : paths) {
+                for (OffsetEntry entry : table.getEntries()) {
+                    if (entry.getFieldPath().equals(path)) {
+                        sum += entry.getOffset();
+                        break;
+                    }
+                }
+            }
+            return sum;
+        });
+        Benchmarks.run("PathIndex.build", CALLS / 1000, () -> PathIndex.build(plan).size());
+        Benchmarks.allocation("PathIndex.offsetOf, three paths", CALLS, () -> {
+            long sum = 0;
+            for (String path : paths) {
+                sum += index.offsetOf(path);
+            }
+            return sum;
+        });
+    }
+}
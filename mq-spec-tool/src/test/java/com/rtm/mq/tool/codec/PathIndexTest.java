@@ -0,0 +1,109 @@
+package com.rtm.mq.tool.codec;
+
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.offset.OffsetCalculator;
+import com.rtm.mq.tool.offset.OffsetEntry;
+import com.rtm.mq.tool.offset.OffsetTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PathIndexTest {
+
+    @Test
+    void matchesEveryOffsetTableEntryOnRandomTrees() {
+        Random random = new Random(13);
+        for (int tree = 0; tree < 500; tree++) {
+            OffsetTable table = new OffsetCalculator().calculate("m", MessageDecoderTest.randomRoots(random));
+            PathIndex index = DecodePlan.compile(table).getPathIndex();
+
+            assertEquals(table.size(), index.size(), "tree " + tree);
+            for (OffsetEntry entry : table.getEntries()) {
+                int found = index.find(entry.getFieldPath());
+                assertEquals(entry.getFieldPath(), index.getPath(found));
+                assertEquals(entry.getOffset(), index.getOffset(found), entry.getFieldPath());
+                assertEquals(entry.getLength(), index.getLength(found), entry.getFieldPath());
+            }
+        }
+    }
+
+    @Test
+    void indexesEveryLeafOccurrence() {
+        PathIndex index = PathIndex.build(DecodePlan.compile("request", spec()));
+
+        // msgId, then name and qty of three items
+        assertEquals(1 + 3 * 2, index.size());
+        assertEquals(0, index.offsetOf("header.msgId"));
+        assertEquals(8, index.offsetOf("items[0].name"));
+        assertEquals(8 + 6, index.offsetOf("items[0].qty"));
+        assertEquals(8 + 2 * 9 + 6, index.offsetOf("items[2].qty"));
+    }
+
+    @Test
+    void resolvesEntriesToTheirSlots() {
+        PathIndex index = PathIndex.build(DecodePlan.compile("request", spec()));
+
+        int entry = index.find("items[1].name");
+
+        assertEquals("items[1].name", index.getPath(entry));
+        assertEquals(8 + 9, index.getOffset(entry));
+        assertEquals(6, index.getLength(entry));
+        assertEquals("name", index.getSlot(entry).getName());
+    }
+
+    @Test
+    void missesUnknownPaths() {
+        PathIndex index = PathIndex.build(DecodePlan.compile("request", spec()));
+
+        assertEquals(-1, index.find("items[3].name"));
+        assertEquals(-1, index.find("items"));
+        assertEquals(-1, index.find(null));
+        assertEquals(-1, index.offsetOf("header.unknown"));
+    }
+
+    @Test
+    void separatesPathsWithEqualHashCodes() {
+        FieldGroup group = new FieldGroup();
+        group.setFields(Arrays.asList(leaf("Aa", 2, "A/N", 1), leaf("BB", 3, "A/N", 1), leaf("C", 1, "A/N", 1)));
+        PathIndex index = PathIndex.build(DecodePlan.compile("request", group));
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(0, index.offsetOf("Aa"));
+        assertEquals(2, index.offsetOf("BB"));
+        assertEquals(5, index.offsetOf("C"));
+        assertEquals(-1, index.offsetOf("C#"));
+    }
+
+    @Test
+    void isBuiltOncePerPlan() {
+        DecodePlan plan = DecodePlan.compile("request", spec());
+
+        assertSame(plan.getPathIndex(), plan.getPathIndex());
+        assertSame(plan, plan.getPathIndex().getPlan());
+    }
+
+    static FieldGroup spec() {
+        FieldNode header = FieldNode.builder()
+            .originalName("Header").camelCaseName("header").isObject(true).segLevel(1)
+            .children(Arrays.asList(leaf("msgId", 8, "A/N", 2)))
+            .build();
+        FieldNode items = FieldNode.builder()
+            .originalName("items").camelCaseName("items").isArray(true).occurrenceCount("0..3").segLevel(1)
+            .children(Arrays.asList(leaf("name", 6, "A/N", 2), leaf("qty", 3, "N", 2)))
+            .build();
+        FieldGroup group = new FieldGroup();
+        group.setFields(Arrays.asList(header, items));
+        return group;
+    }
+
+    static FieldNode leaf(String name, int length, String dataType, int segLevel) {
+        return FieldNode.builder()
+            .originalName(name).camelCaseName(name).length(length).dataType(dataType).segLevel(segLevel)
+            .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.rtm.mq.tool.generator.xml;
+
+import com.rtm.mq.tool.Benchmarks;
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Attribute mapping and outbound XML generation for a spec of 300 fields
+ * with twelve repeating groups, using five data types and six lengths.
+ *
+ * <p>Uses only API that predates memoization, so the same main can be run
+ * against an older build for comparison. See {@link Benchmarks} for how
+ * to run it.</p>
+ */
+public final class XmlTypeMapperBenchmark {
+
+    private static final int CALLS = 2_000;
+
+    private XmlTypeMapperBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Config config = new Config();
+        config.setDefaults();
+        config.getXml().getProject().setGroupId("com.rtm");
+        config.getXml().getProject().setArtifactId("mq");
+        XmlTemplateEngine engine = new XmlTemplateEngine(config);
+        XmlTypeMapper mapper = engine.getTypeMapper();
+
+        String[] dataTypes = {"String", "Number", "Amount", "A/N", "Date"};
+        int[] lengths = {1, 2, 8, 10, 18, 35};
+        Random random = new Random(3);
+        List<FieldNode> fields = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            FieldNode.Builder builder = FieldNode.builder().camelCaseName("f" + i)
+                .dataType(dataTypes[random.nextInt(dataTypes.length)]).length(lengths[random.nextInt(lengths.length)]);
+            if (i % 25 == 0) {
+                List<FieldNode> children = new ArrayList<>();
+                children.add(FieldNode.builder().camelCaseName("groupid" + i).isTransitory(true)
+                    .groupId("CBADEL").length(10).build());
+                children.add(FieldNode.builder().camelCaseName("occurenceCount" + i).isTransitory(true)
+                    .occurrenceCount("0..9").length(4).build());
+                for (int k = 0; k < 8; k++) {
+                    children.add(FieldNode.builder().camelCaseName("e" + i + "_" + k)
+                        .dataType(dataTypes[k % dataTypes.length]).length(lengths[k % lengths.length]).build());
+                }
+                builder.isArray(true).occurrenceCount("0..9").className("Item" + i).children(children);
+            }
+            fields.add(builder.build());
+        }
+        FieldGroup group = new FieldGroup();
+        group.setFields(fields);
+        List<FieldNode> nodes = new ArrayList<>();
+        flatten(fields, nodes);
+
+        System.out.printf("%d nodes%n", nodes.size());
+        Benchmarks.run("XmlTypeMapper.map, every node", CALLS * 10, () -> {
+            long size = 0;
+            for (FieldNode node : nodes) {
+                size += mapper.map(node).getAttributes().size();
+            }
+            return size;
+        });
+        Benchmarks.run("XmlTemplateEngine.generateOutbound", CALLS, () -> engine.generateOutbound(group, "op").length());
+        Benchmarks.allocation("XmlTypeMapper.map, every node", CALLS * 10, () -> {
+            long size = 0;
+            for (FieldNode node : nodes) {
+                size += mapper.map(node).getAttributes().size();
+            }
+            return size;
+        });
+    }
+
+    private static void flatten(List<FieldNode> fields, List<FieldNode> out) {
+        for (FieldNode field : fields) {
+            out.add(field);
+            flatten(field.getChildren(), out);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.rtm.mq.tool.generator.xml;
+
+import com.rtm.mq.tool.config.Config;
+import com.rtm.mq.tool.exception.ParseException;
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pins the attribute sets of each mapping rule to the output of the mapper
+ * before memoization, and checks that memoized sets equal freshly computed
+ * ones on random field trees.
+ */
+class XmlTypeMapperTest {
+
+    private static final String[] DATA_TYPES =
+        {"String", "A/N", "Number", "N", "Unsigned Integer", " amount ", "Currency", "NLS String", "Date", null};
+
+    @Test
+    void mapsEachRuleAsBeforeMemoization() {
+        XmlTypeMapper mapper = new XmlTypeMapper(config());
+
+        assertEquals("DATA_FIELD {name=groupid, length=10, fixedLength=true, transitory=true, defaultValue=CBADEL, "
+                + "converter=stringFieldConverter, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("groupid").isTransitory(true).groupId("CBADEL").build())));
+        assertEquals("DATA_FIELD {name=occurenceCount, length=4, fixedLength=true, transitory=true, defaultValue=9, "
+                + "pad=0, alignRight=true, converter=counterFieldConverter, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("occurenceCount").isTransitory(true)
+                .occurrenceCount("0..9").length(4).build())));
+        assertEquals("REPEATING_FIELD {name=items, fixedCount=20, forType=com.rtm.mq.Item, type=RepeatingField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("items").isArray(true)
+                .occurrenceCount("0..20").className("Item").build())));
+        assertEquals("COMPOSITE_FIELD {name=header, forType=com.rtm.mq.Header, type=CompositeField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("header").isObject(true).className("Header").build())));
+        assertEquals("DATA_FIELD {name=f, length=12, nullPad= , converter=stringFieldConverter, "
+                + "forType=java.lang.String, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("f").dataType("A/N").length(12).build())));
+        assertEquals("DATA_FIELD {name=f, length=3, defaultValue=001, pad=0, alignRight=true, "
+                + "converter=stringFieldConverter, forType=java.lang.String, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("f").dataType("N").length(3).defaultValue("001").build())));
+        assertEquals("DATA_FIELD {name=f, length=12, nullPad= , converter=OHcurrencyamountFieldConverter, "
+                + "forType=java.math.BigDecimal, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("f").dataType(" amount ").length(12).build())));
+        assertEquals("DATA_FIELD {name=f, nullPad= , converter=stringFieldConverter, forType=java.lang.String, type=DataField}",
+            describe(mapper.map(FieldNode.builder().camelCaseName("f").build())));
+    }
+
+    @Test
+    void memoizedAttributesEqualFreshOnesOnRandomTrees() {
+        Config config = config();
+        XmlTypeMapper shared = new XmlTypeMapper(config);
+        Random random = new Random(7);
+        int[] ids = {0};
+        for (int tree = 0; tree < 200; tree++) {
+            List<FieldNode> nodes = new ArrayList<>();
+            flatten(randomFields(random, 0, ids), nodes);
+            for (FieldNode node : nodes) {
+                XmlFieldAttributes fresh = new XmlTypeMapper(config).map(node);
+                XmlFieldAttributes memoized = shared.map(node);
+
+                assertEquals(describe(fresh), describe(memoized), node.getCamelCaseName());
+                assertEquals(new ArrayList<>(fresh.getAttributes().entrySet()),
+                    new ArrayList<>(memoized.getAttributes().entrySet()), node.getCamelCaseName());
+            }
+        }
+    }
+
+    @Test
+    void sharesOneAttributeSetBetweenFieldNames() {
+        XmlTypeMapper mapper = new XmlTypeMapper(config());
+
+        Map<String, String> first = mapper.map(FieldNode.builder().camelCaseName("a").dataType("N").length(5).build())
+            .getAttributes();
+        Map<String, String> second = mapper.map(FieldNode.builder().camelCaseName("b").dataType("N").length(5).build())
+            .getAttributes();
+
+        assertEquals("a", first.get("name"));
+        assertEquals("b", second.get("name"));
+        assertEquals(first.size(), second.size());
+        assertEquals(first.get("pad"), second.get("pad"));
+        assertThrows(UnsupportedOperationException.class, () -> first.put("length", "6"));
+    }
+
+    @Test
+    void rejectsInvalidOccurrenceCountsOnEveryCall() {
+        XmlTypeMapper mapper = new XmlTypeMapper(config());
+        FieldNode node = FieldNode.builder().camelCaseName("items").isArray(true)
+            .occurrenceCount("many").className("Item").build();
+
+        assertThrows(ParseException.class, () -> mapper.map(node));
+        assertThrows(ParseException.class, () -> mapper.map(node));
+    }
+
+    private static String describe(XmlFieldAttributes attributes) {
+        return attributes.getType() + " " + attributes.getAttributes();
+    }
+
+    private static Config config() {
+        Config config = new Config();
+        config.setDefaults();
+        config.getXml().getProject().setGroupId("com.rtm");
+        config.getXml().getProject().setArtifactId("mq");
+        return config;
+    }
+
+    private static void flatten(List<FieldNode> fields, List<FieldNode> out) {
+        for (FieldNode field : fields) {
+            out.add(field);
+            flatten(field.getChildren(), out);
+        }
+    }
+
+    /**
+     * Random fields of every rule, with names that vary per node and a small
+     * vocabulary of lengths, data types and defaults.
+     */
+    private static List<FieldNode> randomFields(Random random, int depth, int[] ids) {
+        List<FieldNode> fields = new ArrayList<>();
+        int count = random.nextInt(depth == 0 ? 12 : 5);
+        for (int i = 0; i < count; i++) {
+            String name = "f" + ids[0]++;
+            FieldNode.Builder builder = FieldNode.builder().originalName(name).camelCaseName(name)
+                .length(random.nextInt(4) == 0 ? null : random.nextInt(20))
+                .dataType(DATA_TYPES[random.nextInt(DATA_TYPES.length)]);
+            if (random.nextInt(3) == 0) {
+                builder.defaultValue(random.nextBoolean() ? "0" : "BLANK");
+            }
+            int kind = random.nextInt(8);
+            if (kind == 0) {
+                builder.isTransitory(true).groupId(random.nextBoolean() ? "CBADEL" : "CBAPRD");
+            } else if (kind == 1) {
+                builder.isTransitory(true).occurrenceCount("0.." + (1 + random.nextInt(9)));
+            } else if (kind < 4 && depth < 3) {
+                builder.isObject(true).className("C" + random.nextInt(4)).children(randomFields(random, depth + 1, ids));
+            } else if (kind < 6 && depth < 3) {
+                builder.isArray(true).className("A" + random.nextInt(4)).occurrenceCount("1.." + (1 + random.nextInt(5)))
+                    .children(randomFields(random, depth + 1, ids));
+            }
+            fields.add(builder.build());
+        }
+        return fields;
+    }
+}
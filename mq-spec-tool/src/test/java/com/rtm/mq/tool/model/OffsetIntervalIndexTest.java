@@ -0,0 +1,73 @@
+package com.rtm.mq.tool.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks lookups on nested layouts, where a group's interval encloses its
+ * fields and the fields leave gaps that only the group covers.
+ */
+class OffsetIntervalIndexTest {
+
+    // header [0, 10), group [10, 50) holding a [10, 14), b [20, 24), c [30, 34), trailer [50, 55)
+    private final OffsetIntervalIndex index = OffsetIntervalIndex.build(Arrays.asList(
+        field("header", 0, 10),
+        group("group", 10, 40, field("a", 10, 4), field("b", 20, 4), field("c", 30, 4)),
+        field("trailer", 50, 5)));
+
+    @Test
+    void findsTheInnermostFieldOwningAByte() {
+        assertEquals("header", name(index.findContaining(9)));
+        assertEquals("a", name(index.findContaining(10)));
+        assertEquals("b", name(index.findContaining(23)));
+        assertEquals("trailer", name(index.findContaining(54)));
+        assertNull(index.findContaining(55));
+        assertNull(index.findContaining(-1));
+    }
+
+    @Test
+    void attributesGapsInsideAGroupToTheGroup() {
+        assertEquals("group", name(index.findContaining(14)));
+        assertEquals("group", name(index.findContaining(34)));
+        assertEquals("group", name(index.findContaining(49)));
+    }
+
+    @Test
+    void findsOverlappingFieldsInOffsetOrder() {
+        assertEquals(Arrays.asList("group", "b", "c"), names(index.findOverlapping(22, 31)));
+        assertEquals(Arrays.asList("header", "group", "a"), names(index.findOverlapping(5, 10)));
+        assertEquals(Arrays.asList("group", "trailer"), names(index.findOverlapping(40, 60)));
+        assertEquals(List.of(), index.findOverlapping(31, 30));
+    }
+
+    private static FieldNode field(String name, int offset, int length) {
+        SourceMetadata source = new SourceMetadata();
+        source.setByteOffset(offset);
+        return FieldNode.builder().camelCaseName(name).length(length).source(source).build();
+    }
+
+    private static FieldNode group(String name, int offset, int length, FieldNode... children) {
+        SourceMetadata source = new SourceMetadata();
+        source.setByteOffset(offset);
+        return FieldNode.builder().camelCaseName(name).length(length).source(source)
+            .children(new ArrayList<>(Arrays.asList(children))).build();
+    }
+
+    private static String name(FieldNode field) {
+        return field != null ? field.getCamelCaseName() : null;
+    }
+
+    private static List<String> names(List<FieldNode> fields) {
+        List<String> names = new ArrayList<>();
+        for (FieldNode field : fields) {
+            names.add(field.getCamelCaseName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,105 @@
+package com.rtm.mq.tool.offset;
+
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the record lengths produced by the two occurrence rules for repeating
+ * groups: a transitory occurrenceCount counter is laid out once per element,
+ * and an array without a count of its own takes its counter child's count,
+ * as arrays built by the parser do. Each test notes the length the former
+ * per-occurrence layout reported for the same tree.
+ */
+class OffsetCalculatorTest {
+
+    private final OffsetCalculator calculator = new OffsetCalculator();
+
+    @Test
+    void laysOutATransitoryCounterOncePerElement() {
+        // Formerly 5 * (10 + 9 * 4 + 3) = 245 with 55 entries
+        OffsetTable table = calculator.calculate("request", Collections.singletonList(
+            array("item", "1..5", groupId("ITEM"), counter("0..9", 4), leaf("code", 3))));
+
+        assertEquals(5 * (10 + 4 + 3), table.getTotalLength());
+        assertEquals(15, table.getEntries().size());
+        assertEntry(table.getEntries().get(4), "item[1].occurenceCount", 17 + 10, 4);
+    }
+
+    @Test
+    void takesTheCountOfAnArrayWithoutOwnCountFromItsCounter() {
+        // Formerly 10 + 3 * 4 + 3 = 25: the array was laid out once
+        OffsetTable table = calculator.calculate("request", Collections.singletonList(
+            array("item", null, groupId("ITEM"), counter("0..3", 4), leaf("code", 3))));
+
+        assertEquals(3 * (10 + 4 + 3), table.getTotalLength());
+        assertEquals(9, table.getEntries().size());
+        assertEntry(table.getEntries().get(8), "item[2].code", 2 * 17 + 14, 3);
+    }
+
+    @Test
+    void prefersTheArraysOwnCountOverItsCounter() {
+        // Formerly 2 * (10 + 3 * 4 + 3) = 50
+        OffsetTable table = calculator.calculate("request", Collections.singletonList(
+            array("item", "1..2", groupId("ITEM"), counter("0..3", 4), leaf("code", 3))));
+
+        assertEquals(2 * (10 + 4 + 3), table.getTotalLength());
+    }
+
+    @Test
+    void repeatsACounterOnlyArrayAtTheCountersMaximum() {
+        // Formerly item.occurenceCount[0..2]; the length was the same
+        OffsetTable table = calculator.calculate("request", Collections.singletonList(
+            array("item", null, counter("0..3", 4))));
+
+        assertEquals(12, table.getTotalLength());
+        assertEquals(3, table.getEntries().size());
+        for (int i = 0; i < 3; i++) {
+            assertEntry(table.getEntries().get(i), "item[" + i + "].occurenceCount", i * 4, 4);
+        }
+    }
+
+    @Test
+    void laysOutNestedParsedArraysAtTheirMaximumCounts() {
+        // Formerly 10 + (10 + 3 * 4 + 20 + (10 + 5 * 2 + 3)) = 75
+        List<FieldNode> roots = Arrays.asList(
+            leaf("msgId", 10),
+            array("item", null, groupId("ITEM"), counter("0..3", 4), leaf("name", 20),
+                array("sub", null, groupId("SUB"), counter("1..5", 2), leaf("code", 3))));
+
+        OffsetTable table = calculator.calculate("request", roots);
+
+        assertEquals(10 + 3 * (10 + 4 + 20 + 5 * (10 + 2 + 3)), table.getTotalLength());
+        assertEquals(1 + 3 * (3 + 5 * 3), table.getEntries().size());
+    }
+
+    private static void assertEntry(OffsetEntry entry, String path, long offset, int length) {
+        assertEquals(path, entry.getFieldPath());
+        assertEquals(offset, entry.getOffset(), path);
+        assertEquals(length, entry.getLength(), path);
+    }
+
+    private static FieldNode leaf(String name, int length) {
+        return FieldNode.builder().camelCaseName(name).length(length).build();
+    }
+
+    private static FieldNode groupId(String value) {
+        return FieldNode.builder().camelCaseName("groupId").isTransitory(true).groupId(value).length(10).build();
+    }
+
+    private static FieldNode counter(String occurrenceCount, int length) {
+        return FieldNode.builder().camelCaseName("occurenceCount").isTransitory(true)
+            .occurrenceCount(occurrenceCount).length(length).build();
+    }
+
+    private static FieldNode array(String name, String occurrenceCount, FieldNode... children) {
+        return FieldNode.builder().camelCaseName(name).isArray(true).occurrenceCount(occurrenceCount)
+            .children(new ArrayList<>(Arrays.asList(children))).build();
+    }
+}
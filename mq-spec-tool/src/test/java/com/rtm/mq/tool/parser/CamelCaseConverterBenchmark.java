@@ -0,0 +1,68 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.Benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Name conversion for a vocabulary of 400 random field names of letters,
+ * separators, punctuation and CJK characters, a sixth of them long enough
+ * to be truncated with a hash suffix.
+ *
+ * <p>Compares memo hits, the rewritten conversion without the memo and the
+ * regex-based {@link CamelCaseConverterTest.Baseline}. Pinyin lookups cost
+ * what the pinyin4j on the class path costs. See {@link Benchmarks} for
+ * how to run it.</p>
+ */
+public final class CamelCaseConverterBenchmark {
+
+    private static final int CALLS = 2_000;
+
+    private CamelCaseConverterBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<String> names = CamelCaseConverterTest.randomInputs(new Random(6), 400);
+        CamelCaseConverter warm = new CamelCaseConverter();
+        CamelCaseConverterTest.Baseline baseline = new CamelCaseConverterTest.Baseline(50);
+
+        Benchmarks.run("toCamelCase, memo hits", CALLS, () -> {
+            long length = 0;
+            for (String name : names) {
+                length += warm.toCamelCase(name).length();
+            }
+            return length;
+        });
+        Benchmarks.run("toCamelCase, new converter per pass", CALLS, () -> {
+            CamelCaseConverter cold = new CamelCaseConverter();
+            long length = 0;
+            for (String name : names) {
+                length += cold.toCamelCase(name).length();
+            }
+            return length;
+        });
+        Benchmarks.run("baseline: regex replace and split", CALLS, () -> {
+            long length = 0;
+            for (String name : names) {
+                length += baseline.toCamelCase(name).length();
+            }
+            return length;
+        });
+        Benchmarks.allocation("toCamelCase, new converter per pass", CALLS, () -> {
+            CamelCaseConverter cold = new CamelCaseConverter();
+            long length = 0;
+            for (String name : names) {
+                length += cold.toCamelCase(name).length();
+            }
+            return length;
+        });
+        Benchmarks.allocation("baseline: regex replace and split", CALLS, () -> {
+            long length = 0;
+            for (String name : names) {
+                length += baseline.toCamelCase(name).length();
+            }
+            return length;
+        });
+    }
+}
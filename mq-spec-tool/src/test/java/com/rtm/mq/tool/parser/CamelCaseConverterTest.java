@@ -0,0 +1,196 @@
+package com.rtm.mq.tool.parser;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pins converted names to the output of the converter before it was
+ * rewritten, and compares the rewrite with that regex-based algorithm,
+ * kept here as {@link Baseline}, on random inputs.
+ */
+class CamelCaseConverterTest {
+
+    private static final int RUNS = 20_000;
+
+    /** Letters, digits, separators, punctuation, accented letters, CJK and a surrogate pair. */
+    private static final String[] ALPHABET = {
+        "a", "B", "z", "Q", "0", "7", "_", "-", "__", " ", "!", "#", ".", "é", "ü",
+        "客", "户", "名", "称", "一", "龥", "㐀", "𠀀"
+    };
+
+    @Test
+    void convertsAsBeforeTheRewrite() {
+        CamelCaseConverter converter = new CamelCaseConverter();
+        CamelCaseConverter short12 = new CamelCaseConverter(12);
+
+        assertEquals("dOMICILEBranch", converter.toCamelCase("DOMICILE_BRANCH"));
+        assertEquals("responseCode", converter.toCamelCase("response-code"));
+        assertEquals("responseCode", converter.toCamelCase("ResponseCode"));
+        assertEquals("field123Field", converter.toCamelCase("123Field"));
+        assertEquals("specialchars", converter.toCamelCase("special!@#chars"));
+        assertEquals("aBC", converter.toCamelCase("__a__B-c"));
+        assertEquals("aBCDef", converter.toCamelCase("aBC_dEF"));
+        assertEquals("field6dd0", converter.toCamelCase("!!!"));
+        assertEquals("cREATEAppDomicileBranchCodeForThePrimaryAccoun054a",
+            converter.toCamelCase("CREATE_APP_DOMICILE_BRANCH_CODE_FOR_THE_PRIMARY_ACCOUNT_HOLDER"));
+        assertEquals("dOMICILEd1b1", short12.toCamelCase("DOMICILE_BRANCH"));
+        assertEquals("field1232cbf", short12.toCamelCase("123Field"));
+        assertEquals("", converter.toCamelCase(""));
+        assertNull(converter.toCamelCase(null));
+    }
+
+    @Test
+    void matchesTheBaselineOnRandomInputs() {
+        Random random = new Random(6);
+        for (int maxLength : new int[] {50, 12}) {
+            CamelCaseConverter memoized = new CamelCaseConverter(maxLength);
+            Baseline baseline = new Baseline(maxLength);
+            List<String> inputs = randomInputs(random, RUNS);
+            for (String input : inputs) {
+                assertEquals(baseline.toCamelCase(input), memoized.toCamelCase(input), input);
+            }
+            // Second pass answers from the memo
+            for (String input : inputs) {
+                assertEquals(baseline.toCamelCase(input), memoized.toCamelCase(input), input);
+            }
+        }
+    }
+
+    @Test
+    void matchesTheBaselineFromConcurrentThreads() throws InterruptedException, ExecutionException {
+        CamelCaseConverter shared = new CamelCaseConverter();
+        Baseline baseline = new Baseline(50);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<String> inputs = randomInputs(new Random(60 + t), RUNS / 4);
+                futures.add(pool.submit(() -> {
+                    for (String input : inputs) {
+                        assertEquals(baseline.toCamelCase(input), shared.toCamelCase(input), input);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static List<String> randomInputs(Random random, int count) {
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = 1 + random.nextInt(random.nextInt(8) == 0 ? 70 : 16);
+            for (int k = 0; k < length; k++) {
+                input.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            inputs.add(input.toString());
+        }
+        return inputs;
+    }
+
+    /**
+     * The converter as it was before memoization and the single-scan
+     * rewrite: regex replace and split, pinyin per call and a new MD5
+     * digest per hash.
+     */
+    static final class Baseline {
+
+        private final int maxLength;
+        private final HanyuPinyinOutputFormat pinyinFormat = new HanyuPinyinOutputFormat();
+
+        Baseline(int maxLength) {
+            this.maxLength = maxLength;
+            pinyinFormat.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+            pinyinFormat.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        }
+
+        String toCamelCase(String input) {
+            if (input == null || input.isEmpty()) {
+                return input;
+            }
+            String cleaned = convertCJKToPinyin(input).replaceAll("[^a-zA-Z0-9_\\-]", "");
+            StringBuilder result = new StringBuilder();
+            for (String part : cleaned.split("[_\\-]")) {
+                if (part.isEmpty()) {
+                    continue;
+                }
+                result.append(result.length() == 0 ? toLowerFirst(part) : toUpperFirst(part));
+            }
+            String camelCase = result.toString();
+            if (!camelCase.isEmpty() && Character.isDigit(camelCase.charAt(0))) {
+                camelCase = "field" + camelCase;
+            }
+            if (camelCase.isEmpty()) {
+                camelCase = "field" + generateHash(input);
+            }
+            if (camelCase.length() > maxLength) {
+                camelCase = camelCase.substring(0, maxLength - 4) + generateHash(camelCase);
+            }
+            return camelCase;
+        }
+
+        private String convertCJKToPinyin(String input) {
+            StringBuilder pinyin = new StringBuilder();
+            boolean lastWasCJK = false;
+            for (char ch : input.toCharArray()) {
+                Character.UnicodeBlock block = Character.UnicodeBlock.of(ch);
+                if (block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                        || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+                        || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B) {
+                    try {
+                        String[] readings = PinyinHelper.toHanyuPinyinStringArray(ch, pinyinFormat);
+                        if (readings != null && readings.length > 0) {
+                            pinyin.append(lastWasCJK && pinyin.length() > 0 ? toUpperFirst(readings[0]) : readings[0]);
+                        } else {
+                            pinyin.append(ch);
+                        }
+                    } catch (Exception e) {
+                        pinyin.append(ch);
+                    }
+                    lastWasCJK = true;
+                } else {
+                    pinyin.append(ch);
+                    lastWasCJK = false;
+                }
+            }
+            return pinyin.toString();
+        }
+
+        private static String toLowerFirst(String str) {
+            return Character.toLowerCase(str.charAt(0)) + (str.length() > 1 ? str.substring(1) : "");
+        }
+
+        private static String toUpperFirst(String str) {
+            return Character.toUpperCase(str.charAt(0)) + (str.length() > 1 ? str.substring(1).toLowerCase() : "");
+        }
+
+        private static String generateHash(String input) {
+            try {
+                byte[] hash = MessageDigest.getInstance("MD5").digest(input.getBytes());
+                return String.format("%02x%02x", hash[0] & 0xff, hash[1] & 0xff);
+            } catch (NoSuchAlgorithmException e) {
+                return "0000";
+            }
+        }
+    }
+}
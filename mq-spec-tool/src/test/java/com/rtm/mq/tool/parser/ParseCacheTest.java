@@ -0,0 +1,142 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.config.ParserConfig;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import com.rtm.mq.tool.model.MessageModel;
+import com.rtm.mq.tool.model.Metadata;
+import com.rtm.mq.tool.model.SourceMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Round-trips models through both tiers of {@link ParseCache} and checks
+ * that cache hits served by {@link CachingParser} look like fresh parses.
+ */
+class ParseCacheTest {
+
+    private static final String STALE_TIMESTAMP = "2000-01-01T00:00:00Z";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void memoryTierRestoresEnumConstraintAndByteOffset() {
+        ParseCache cache = new ParseCache(4, null);
+        MessageModel model = sampleModel();
+
+        cache.put("k", model);
+
+        assertRoundTrip(model, cache.get("k"));
+    }
+
+    @Test
+    void diskTierRestoresEnumConstraintAndByteOffset() {
+        MessageModel model = sampleModel();
+        new ParseCache(4, tempDir).put("k", model);
+
+        ParseCache diskOnly = new ParseCache(0, tempDir);
+        MessageModel restored = diskOnly.get("k");
+
+        assertEquals(1, diskOnly.getDiskHitCount());
+        assertRoundTrip(model, restored);
+    }
+
+    @Test
+    void specTreeLeavesOutRuntimeFields() {
+        String json = new DeterministicJsonWriter().serialize(sampleModel());
+
+        assertFalse(json.contains("enumConstraint"), json);
+        assertFalse(json.contains("byteOffset"), json);
+    }
+
+    @Test
+    void keyIsTheLowercaseHexOfTheDigest() throws Exception {
+        Path spec = Files.write(tempDir.resolve("spec.xlsx"), new byte[] {1, 2, (byte) 0xff});
+
+        String key = new ParseCache(4, null).computeKey(spec, null, "1.0", "settings");
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(MessageDigest.getInstance("SHA-256").digest(new byte[] {1, 2, (byte) 0xff}));
+        digest.update((byte) 0);
+        digest.update("-".getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update("1.0".getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update("settings".getBytes(StandardCharsets.UTF_8));
+        assertEquals(HexFormat.of().formatHex(digest.digest()), key);
+    }
+
+    @Test
+    void cacheHitIsStampedWithTheCurrentParseTime() throws Exception {
+        Path spec = Files.write(tempDir.resolve("spec.xlsx"), new byte[] {42});
+        Path copy = Files.write(tempDir.resolve("copy.xlsx"), new byte[] {42});
+        CachingParser parser = new CachingParser((specFile, mqMessageFile) -> sampleModel(),
+            new ParseCache(4, null), new ParserConfig());
+
+        parser.parse(spec, null);
+        MessageModel hit = parser.parse(copy, null);
+
+        assertEquals(1, parser.getCache().getHitCount());
+        assertNotEquals(STALE_TIMESTAMP, hit.getMetadata().getParseTimestamp());
+        assertEquals(copy.toAbsolutePath().toString(), hit.getMetadata().getSourceFile());
+    }
+
+    private static void assertRoundTrip(MessageModel expected, MessageModel actual) {
+        assertNotNull(actual);
+        FieldNode status = actual.getRequest().getFields().get(0);
+        assertEquals("ACTIVE|CLOSED", status.getEnumConstraint());
+        assertEquals(Integer.valueOf(16), status.getSource().getByteOffset());
+        DeterministicJsonWriter writer = DeterministicJsonWriter.forCache();
+        assertEquals(writer.serialize(expected), writer.serialize(actual));
+    }
+
+    private static MessageModel sampleModel() {
+        Metadata metadata = new Metadata();
+        metadata.setSourceFile("/specs/spec.xlsx");
+        metadata.setParseTimestamp(STALE_TIMESTAMP);
+        metadata.setOperationId("CreateApp");
+
+        SourceMetadata source = new SourceMetadata();
+        source.setSheetName("Request");
+        source.setRowIndex(9);
+        source.setByteOffset(16);
+        FieldNode status = FieldNode.builder()
+            .originalName("Status")
+            .camelCaseName("status")
+            .segLevel(1)
+            .length(6)
+            .dataType("A/N")
+            .enumConstraint("ACTIVE|CLOSED")
+            .source(source)
+            .build();
+        FieldNode plain = FieldNode.builder()
+            .originalName("Name")
+            .camelCaseName("name")
+            .segLevel(1)
+            .length(20)
+            .build();
+
+        FieldGroup request = new FieldGroup();
+        request.setFields(new ArrayList<>(Arrays.asList(status, plain)));
+
+        MessageModel model = new MessageModel();
+        model.setMetadata(metadata);
+        model.setRequest(request);
+        model.setResponse(new FieldGroup());
+        return model;
+    }
+}
@@ -0,0 +1,134 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.codec.DecodePlan;
+import com.rtm.mq.tool.codec.MessageDecoder;
+import com.rtm.mq.tool.codec.MessageEncoder;
+import com.rtm.mq.tool.model.FieldGroup;
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiles decode plans for a spec tree produced by {@link SegLevelParser},
+ * where an array's count lives only on its transitory occurrenceCount child.
+ */
+class ParsedSpecDecodePlanTest {
+
+    private static final String[] COLUMNS = {
+        ColumnNames.SEG_LVL, ColumnNames.FIELD_NAME, ColumnNames.DESCRIPTION,
+        ColumnNames.LENGTH, ColumnNames.MESSAGING_DATATYPE, ColumnNames.OPTIONALITY
+    };
+
+    /** header.msgId (10), then items 0..3 of groupId (10), counter (4), name (20), subs 1..5 of 15. */
+    private static final int ELEMENT_WITH_ONE_SUB = 10 + 4 + 20 + 15;
+
+    @Test
+    void parsedArrayCarriesItsCountOnTheCounterChildOnly() {
+        FieldNode items = parse().getFields().get(1);
+
+        assertTrue(items.isArray());
+        assertNull(items.getOccurrenceCount());
+    }
+
+    @Test
+    void fixedPlanLaysOutParsedArraysAtTheirMaximumCount() {
+        DecodePlan plan = DecodePlan.compile("request", parse());
+
+        assertFalse(plan.isVariable());
+        assertEquals(10 + 3 * (10 + 4 + 20 + 5 * 15), plan.getTotalLength());
+    }
+
+    @Test
+    void variablePlanReadsTheCountersOfParsedArrays() {
+        FieldGroup spec = parse();
+        DecodePlan variable = DecodePlan.compile("request", spec, DecodePlan.LayoutMode.VARIABLE);
+        assertTrue(variable.isVariable());
+
+        // One item with one sub: the leading bytes of the maximum layout
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("header.msgId", "M1");
+        values.put("item[0].occurencecount", "1");
+        values.put("item[0].name", "first");
+        values.put("item[0].sub[0].occurencecount", "1");
+        values.put("item[0].sub[0].code", "X");
+        byte[] padded = new MessageEncoder(DecodePlan.compile("request", spec)).encode(values);
+        byte[] record = Arrays.copyOf(padded, 10 + ELEMENT_WITH_ONE_SUB);
+
+        MessageDecoder decoder = new MessageDecoder(variable);
+        assertEquals(record.length, decoder.recordLength(record, 0, record.length));
+
+        Map<String, String> decoded = new HashMap<>();
+        decoder.decode(record, value -> decoded.put(value.getPath(), value.getTrimmedString()));
+        assertEquals("first", decoded.get("item[0].name"));
+        assertEquals("X", decoded.get("item[0].sub[0].code"));
+    }
+
+    @Test
+    void variablePlanPadsAnEmptyParsedArrayToOneMaximumElement() {
+        FieldGroup spec = parse();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("item[0].occurencecount", "0");
+        byte[] padded = new MessageEncoder(DecodePlan.compile("request", spec)).encode(values);
+
+        MessageDecoder decoder = new MessageDecoder(
+            DecodePlan.compile("request", spec, DecodePlan.LayoutMode.VARIABLE));
+
+        assertEquals(10 + 10 + 4 + 20 + 5 * 15, decoder.recordLength(padded, 0, padded.length));
+    }
+
+    private static FieldGroup parse() {
+        Map<String, Integer> columnMap = new HashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columnMap.put(COLUMNS[i], i);
+        }
+        SegLevelParser parser = new SegLevelParser(columnMap, "Request", new NestingDepthValidator(),
+            new ObjectArrayDetector(columnMap), new CamelCaseConverter());
+
+        List<RowSnapshot> rows = new ArrayList<>();
+        row(rows, 1, "Header:Header", null, null, null);
+        row(rows, 2, "msgId", null, "10", "A/N");
+        row(rows, 1, "item:Item", null, null, null);
+        row(rows, 2, "groupId", "ITEM", "10", "A/N");
+        row(rows, 2, "occurenceCount", "0..3", "4", "N");
+        row(rows, 2, "name", null, "20", "A/N");
+        row(rows, 2, "sub:Sub", null, null, null);
+        row(rows, 3, "groupId", "SUB", "10", "A/N");
+        row(rows, 3, "occurenceCount", "1..5", "2", "N");
+        row(rows, 3, "code", null, "3", "A/N");
+        rows.forEach(parser::acceptRow);
+
+        FieldGroup group = new FieldGroup();
+        group.setFields(parser.finish());
+        return group;
+    }
+
+    private static void row(List<RowSnapshot> rows, int segLevel, String fieldName, String description,
+                            String length, String dataType) {
+        List<RowSnapshot.CellSnapshot> cells = new ArrayList<>();
+        cells.add(RowSnapshot.CellSnapshot.ofNumeric(0, segLevel));
+        cells.add(RowSnapshot.CellSnapshot.ofString(1, fieldName));
+        if (description != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(2, description));
+        }
+        if (length != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(3, length));
+        }
+        if (dataType != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(4, dataType));
+        }
+        cells.add(RowSnapshot.CellSnapshot.ofString(5, "M"));
+        // Data rows start at row 9 (0-based index 8)
+        rows.add(new RowSnapshot(8 + rows.size(), cells));
+    }
+}
@@ -0,0 +1,84 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.Benchmarks;
+import com.rtm.mq.tool.model.FieldNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Time and allocation of building the field tree of a sheet, single pass
+ * against the former basic parse plus {@link SegLevelParserTest#enhanceWalk}.
+ *
+ * <p>Rows are twenty random sheets of {@link SegLevelParserTest} that parse
+ * without errors. Both sides share one warm camelCase converter, as
+ * {@code ExcelParser} does, so only building the tree is compared. See
+ * {@link Benchmarks} for how to run it.</p>
+ */
+public final class SegLevelParserBenchmark {
+
+    private static final int CALLS = 2_000;
+
+    private SegLevelParserBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<List<RowSnapshot>> sheets = new ArrayList<>();
+        int rowCount = 0;
+        for (int seed = 0; sheets.size() < 20; seed++) {
+            List<RowSnapshot> rows = SegLevelParserTest.randomRows(new Random(seed));
+            try {
+                SegLevelParserTest.parseFused(rows);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            sheets.add(rows);
+            rowCount += rows.size();
+        }
+        Map<String, Integer> columnMap = SegLevelParserTest.columnMap();
+        CamelCaseConverter converter = new CamelCaseConverter();
+
+        System.out.printf("%d sheets, %d rows%n", sheets.size(), rowCount);
+        Benchmarks.run("single pass", CALLS, () -> fused(sheets, columnMap, converter));
+        Benchmarks.run("baseline: basic parse + enhance walk", CALLS, () -> twoPass(sheets, columnMap, converter));
+        Benchmarks.allocation("single pass", CALLS, () -> fused(sheets, columnMap, converter));
+        Benchmarks.allocation("baseline: basic parse + enhance walk", CALLS,
+            () -> twoPass(sheets, columnMap, converter));
+    }
+
+    private static long fused(List<List<RowSnapshot>> sheets, Map<String, Integer> columnMap,
+                              CamelCaseConverter converter) {
+        ObjectArrayDetector detector = new ObjectArrayDetector(columnMap);
+        long nodes = 0;
+        for (List<RowSnapshot> rows : sheets) {
+            SegLevelParser parser = new SegLevelParser(columnMap, "Request", new NestingDepthValidator(),
+                detector, converter);
+            for (RowSnapshot row : rows) {
+                parser.acceptRow(row);
+            }
+            nodes += parser.finish().size();
+        }
+        return nodes;
+    }
+
+    private static long twoPass(List<List<RowSnapshot>> sheets, Map<String, Integer> columnMap,
+                                CamelCaseConverter converter) {
+        ObjectArrayDetector detector = new ObjectArrayDetector(columnMap);
+        long nodes = 0;
+        for (List<RowSnapshot> rows : sheets) {
+            SegLevelParser parser = new SegLevelParser(columnMap, "Request", new NestingDepthValidator());
+            Map<Integer, RowSnapshot> rowsByIndex = new HashMap<>();
+            for (RowSnapshot row : rows) {
+                rowsByIndex.put(row.getRowNum() + 1, row);
+                parser.acceptRow(row);
+            }
+            List<FieldNode> fields = parser.finish();
+            SegLevelParserTest.enhanceWalk(fields, rowsByIndex, detector, converter);
+            nodes += fields.size();
+        }
+        return nodes;
+    }
+}
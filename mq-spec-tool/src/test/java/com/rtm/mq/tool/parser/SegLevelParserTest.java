@@ -0,0 +1,293 @@
+package com.rtm.mq.tool.parser;
+
+import com.rtm.mq.tool.exception.ParseException;
+import com.rtm.mq.tool.model.FieldNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the single-pass parser builds the same tree as the former
+ * pipeline: basic nodes from {@link SegLevelParser}, then a second walk
+ * that looked up each row again, ran {@link ObjectArrayDetector#detect}
+ * and copied each node to add its camelCase name. That walk is kept here
+ * as {@link #enhanceWalk}.
+ */
+class SegLevelParserTest {
+
+    private static final String[] COLUMNS = {
+        ColumnNames.SEG_LVL, ColumnNames.FIELD_NAME, ColumnNames.DESCRIPTION,
+        ColumnNames.LENGTH, ColumnNames.MESSAGING_DATATYPE, ColumnNames.OPTIONALITY
+    };
+
+    private static final String[] NAMES =
+        {"msgId", "DOMICILE_BRANCH", "response-code", "amt", "name", "x_y", "123abc", "Code", "ID", "Cust Name#"};
+
+    private static final String[] DATA_TYPES = {"A/N", "N", "Amount", "String", "Number", null, ""};
+
+    @Test
+    void buildsTheTreeOfTheFormerPipeline() {
+        List<RowSnapshot> rows = new ArrayList<>();
+        row(rows, 1, "CreateApp:CreateApp", null, null, null, "M");
+        row(rows, 2, "DOMICILE_BRANCH", "branch", "5", "A/N", " M ");
+        row(rows, 2, "Cust Name#", null, "20", "NLS String", "O");
+        row(rows, 2, "productDel:ProductDel", null, null, null, null);
+        row(rows, 3, "groupId", "CBADEL", "10", "A/N", "M");
+        row(rows, 3, "occurenceCount", "0..3", "4", "N", "M");
+        row(rows, 3, "produtID", null, "5", "String", "M");
+        row(rows, 3, "fees:Fee", null, null, null, null);
+        row(rows, 4, "GROUPID", " FEE ", "10", "A/N", null);
+        row(rows, 4, "occurrenceCount", "0..2", "4", "N", null);
+        row(rows, 4, "fee-amount", null, "18", "Amount", "O");
+        row(rows, 3, "qty", null, "6", "Number", "M");
+        row(rows, 2, "single:Single", null, null, null, null);
+        row(rows, 3, "occurenceCount", "1..1", "4", "N", null);
+        row(rows, 3, "123code", null, "3", null, null);
+        row(rows, 1, "   ", null, null, null, null);
+        row(rows, 1, ":Trailer", null, null, null, null);
+        row(rows, 2, "response-code", null, "2", "N", "M");
+
+        // Output of the former pipeline for these rows
+        assertEquals(Arrays.asList(
+            "CreateApp:CreateApp -> createApp class=CreateApp opt=M object level=1 row=9",
+            "  DOMICILE_BRANCH -> dOMICILEBranch length=5 type=A/N opt=M level=2 row=10",
+            "  Cust Name# -> custName length=20 type=NLS String opt=O level=2 row=11",
+            "  productDel:ProductDel -> productDel class=ProductDel array level=2 row=12",
+            "    groupId -> groupid length=10 type=A/N opt=M groupId=CBADEL transitory level=3 row=13",
+            "    occurenceCount -> occurencecount length=4 type=N opt=M count=0..3 transitory level=3 row=14",
+            "    produtID -> produtID length=5 type=String opt=M level=3 row=15",
+            "    fees:Fee -> fee class=Fee array level=3 row=16",
+            "      GROUPID -> groupid length=10 type=A/N groupId=FEE transitory level=4 row=17",
+            "      occurrenceCount -> occurrencecount length=4 type=N count=0..2 transitory level=4 row=18",
+            "      fee-amount -> feeAmount length=18 type=Amount opt=O level=4 row=19",
+            "    qty -> qty length=6 type=Number opt=M level=3 row=20",
+            "  single:Single -> single class=Single object level=2 row=21",
+            "    occurenceCount -> occurencecount length=4 type=N count=1..1 transitory level=3 row=22",
+            "    123code -> field123code length=3 level=3 row=23",
+            ":Trailer -> trailer class=Trailer object level=1 row=25",
+            "  response-code -> responseCode length=2 type=N opt=M level=2 row=26"),
+            describe(parseFused(rows)));
+        assertEquals(describe(parseFused(rows)), describe(parseWithEnhanceWalk(rows)));
+    }
+
+    @Test
+    void matchesTheFormerPipelineOnRandomSpecs() {
+        int parsed = 0;
+        for (int spec = 0; spec < 2000; spec++) {
+            List<RowSnapshot> rows = randomRows(new Random(spec));
+            List<String> expected;
+            try {
+                expected = describe(parseWithEnhanceWalk(rows));
+            } catch (ParseException e) {
+                // Errors may surface in a different order; a spec with one error fails either way
+                assertThrows(ParseException.class, () -> parseFused(rows), "spec " + spec);
+                continue;
+            }
+            assertEquals(expected, describe(parseFused(rows)), "spec " + spec);
+            parsed++;
+        }
+        assertTrue(parsed > 1500, parsed + " specs parsed");
+    }
+
+    @Test
+    void reportsMalformedDefinitionsWithTheFormerMessages() {
+        List<RowSnapshot> badDefinition = new ArrayList<>();
+        row(badDefinition, 1, "bad:", null, null, null, null);
+        row(badDefinition, 2, "code", null, "3", "A/N", null);
+        List<RowSnapshot> badCount = new ArrayList<>();
+        row(badCount, 1, "items:Item", null, null, null, null);
+        row(badCount, 2, "occurenceCount", "x..y", "4", "N", null);
+        row(badCount, 2, "code", null, "3", "A/N", null);
+
+        for (List<RowSnapshot> rows : Arrays.asList(badDefinition, badCount)) {
+            ParseException expected = assertThrows(ParseException.class, () -> parseWithEnhanceWalk(rows));
+            ParseException actual = assertThrows(ParseException.class, () -> parseFused(rows));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    static Map<String, Integer> columnMap() {
+        Map<String, Integer> columnMap = new HashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columnMap.put(COLUMNS[i], i);
+        }
+        return columnMap;
+    }
+
+    static List<FieldNode> parseFused(List<RowSnapshot> rows) {
+        Map<String, Integer> columnMap = columnMap();
+        SegLevelParser parser = new SegLevelParser(columnMap, "Request", new NestingDepthValidator(),
+            new ObjectArrayDetector(columnMap), new CamelCaseConverter());
+        for (RowSnapshot row : rows) {
+            parser.acceptRow(row);
+        }
+        List<FieldNode> fields = parser.finish();
+        new DuplicateDetector().detectDuplicates(fields);
+        return fields;
+    }
+
+    static List<FieldNode> parseWithEnhanceWalk(List<RowSnapshot> rows) {
+        Map<String, Integer> columnMap = columnMap();
+        SegLevelParser parser = new SegLevelParser(columnMap, "Request", new NestingDepthValidator());
+        Map<Integer, RowSnapshot> rowsByIndex = new HashMap<>();
+        for (RowSnapshot row : rows) {
+            rowsByIndex.put(row.getRowNum() + 1, row);
+            parser.acceptRow(row);
+        }
+        List<FieldNode> fields = parser.finish();
+        enhanceWalk(fields, rowsByIndex, new ObjectArrayDetector(columnMap), new CamelCaseConverter());
+        new DuplicateDetector().detectDuplicates(fields);
+        return fields;
+    }
+
+    /**
+     * The second pass of the former pipeline, as ExcelParser.enhanceFields ran it.
+     */
+    static void enhanceWalk(List<FieldNode> fields, Map<Integer, RowSnapshot> rowsByIndex,
+                            ObjectArrayDetector detector, CamelCaseConverter converter) {
+        for (int i = 0; i < fields.size(); i++) {
+            FieldNode node = fields.get(i);
+            FieldNode enhanced = detector.detect(node, rowsByIndex.get(node.getSource().getRowIndex()));
+            if (!enhanced.isTransitory() && enhanced.getCamelCaseName() == null) {
+                String camelName = enhanced.isObject() || enhanced.isArray()
+                    ? converter.toCamelCase(detector.parseObjectDefinition(enhanced.getOriginalName()).getFieldName())
+                    : converter.toCamelCase(enhanced.getOriginalName());
+                enhanced = FieldNode.builder()
+                    .originalName(enhanced.getOriginalName())
+                    .camelCaseName(camelName)
+                    .className(enhanced.getClassName())
+                    .segLevel(enhanced.getSegLevel())
+                    .length(enhanced.getLength())
+                    .dataType(enhanced.getDataType())
+                    .optionality(enhanced.getOptionality())
+                    .defaultValue(enhanced.getDefaultValue())
+                    .hardCodeValue(enhanced.getHardCodeValue())
+                    .groupId(enhanced.getGroupId())
+                    .occurrenceCount(enhanced.getOccurrenceCount())
+                    .isArray(enhanced.isArray())
+                    .isObject(enhanced.isObject())
+                    .isTransitory(enhanced.isTransitory())
+                    .children(enhanced.getChildren())
+                    .source(enhanced.getSource())
+                    .build();
+            }
+            fields.set(i, enhanced);
+            if (!enhanced.getChildren().isEmpty()) {
+                enhanceWalk(enhanced.getChildren(), rowsByIndex, detector, converter);
+            }
+        }
+    }
+
+    /**
+     * Random sheets of up to 40 rows: fields, nested object definitions with
+     * groupId and occurrenceCount rows, blank rows and a few malformed
+     * definitions, counts and duplicate names.
+     */
+    static List<RowSnapshot> randomRows(Random random) {
+        List<RowSnapshot> rows = new ArrayList<>();
+        int level = 1;
+        int count = 1 + random.nextInt(40);
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(12);
+            if (kind == 0 && level < 4) {
+                String name = random.nextInt(6) == 0 ? ":Cls" + i
+                    : random.nextInt(40) == 0 ? "bad:" : NAMES[random.nextInt(NAMES.length)] + i + ":C" + random.nextInt(5);
+                row(rows, level, name, null, null, null, null);
+                level++;
+                if (random.nextBoolean()) {
+                    row(rows, level, random.nextBoolean() ? "groupId" : "GROUPID", "G" + i, "10", "A/N", null);
+                    String occurrences = random.nextInt(5) == 0 ? "1..1"
+                        : random.nextInt(40) == 0 ? "x..y" : "0.." + (1 + random.nextInt(9));
+                    row(rows, level, random.nextBoolean() ? "occurenceCount" : "occurrenceCount", occurrences, "4", "N", null);
+                }
+                continue;
+            }
+            if (kind == 1 && level > 1) {
+                level -= 1 + random.nextInt(level - 1);
+            }
+            if (random.nextInt(30) == 0) {
+                row(rows, level, "  ", null, null, null, null);
+                continue;
+            }
+            String name = NAMES[random.nextInt(NAMES.length)] + (random.nextInt(25) == 0 ? "" : String.valueOf(i));
+            String length = random.nextInt(8) == 0 ? null : String.valueOf(1 + random.nextInt(30));
+            row(rows, level, name, random.nextBoolean() ? "desc" : null, length,
+                DATA_TYPES[random.nextInt(DATA_TYPES.length)], random.nextBoolean() ? "M" : null);
+        }
+        return rows;
+    }
+
+    private static void row(List<RowSnapshot> rows, int segLevel, String fieldName, String description,
+                            String length, String dataType, String optionality) {
+        List<RowSnapshot.CellSnapshot> cells = new ArrayList<>();
+        // Alternate numeric and text Seg lvl cells, as sheets mix both
+        cells.add(rows.size() % 2 == 0
+            ? RowSnapshot.CellSnapshot.ofNumeric(0, segLevel)
+            : RowSnapshot.CellSnapshot.ofString(0, String.valueOf(segLevel)));
+        cells.add(RowSnapshot.CellSnapshot.ofString(1, fieldName));
+        if (description != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(2, description));
+        }
+        if (length != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(3, length));
+        }
+        if (dataType != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(4, dataType));
+        }
+        if (optionality != null) {
+            cells.add(RowSnapshot.CellSnapshot.ofString(5, optionality));
+        }
+        // Data rows start at row 9 (0-based index 8)
+        rows.add(new RowSnapshot(8 + rows.size(), cells));
+    }
+
+    private static List<String> describe(List<FieldNode> fields) {
+        List<String> lines = new ArrayList<>();
+        describe(fields, "", lines);
+        return lines;
+    }
+
+    private static void describe(List<FieldNode> fields, String indent, List<String> lines) {
+        for (FieldNode field : fields) {
+            StringBuilder line = new StringBuilder(indent)
+                .append(field.getOriginalName()).append(" -> ").append(field.getCamelCaseName());
+            append(line, "class", field.getClassName());
+            append(line, "length", field.getLength());
+            append(line, "type", field.getDataType());
+            append(line, "opt", field.getOptionality());
+            append(line, "default", field.getDefaultValue());
+            append(line, "hardCode", field.getHardCodeValue());
+            append(line, "groupId", field.getGroupId());
+            append(line, "count", field.getOccurrenceCount());
+            append(line, "enum", field.getEnumConstraint());
+            if (field.isArray()) {
+                line.append(" array");
+            }
+            if (field.isObject()) {
+                line.append(" object");
+            }
+            if (field.isTransitory()) {
+                line.append(" transitory");
+            }
+            line.append(" level=").append(field.getSegLevel())
+                .append(" row=").append(field.getSource().getRowIndex());
+            lines.add(line.toString());
+            describe(field.getChildren(), indent + "  ", lines);
+        }
+    }
+
+    private static void append(StringBuilder line, String name, Object value) {
+        if (value != null) {
+            line.append(' ').append(name).append('=').append(value);
+        }
+    }
+}